@@ -2,6 +2,7 @@ package applicationMain;
 	
 import java.sql.SQLException;
 import database.Database;
+import database.DatabaseConfig;
 import javafx.application.Application;
 import javafx.stage.Stage;
 import javafx.scene.control.Alert;
@@ -86,10 +87,20 @@ public class FoundationsMain extends Application {
 			// Connect to the database
 			database.connectToDatabase();
 		} catch (SQLException e) {
-			// If the connection request fails, it usually means some other app is using it
+			// Say what failed.  Only in FILE mode does a second instance fail just because the
+			// first has the database open; AUTO_SERVER, the default, shares it.
+			DatabaseConfig.StorageMode mode = database.getConfig().getMode();
 			databaseInUse.setTitle("*** ERROR ***");
-			databaseInUse.setHeaderText("Database Is Already Being Used");
-			databaseInUse.setContentText("Please stop the other instance and try again!");
+			databaseInUse.setHeaderText("The Database Could Not Be Opened");
+			String advice = switch (mode) {
+				case FILE -> "In FILE mode only one instance can use the database.  Stop the "
+						+ "other instance, or start every instance with "
+						+ "-Dfoundations.db.mode=AUTO_SERVER so they share it.";
+				case SERVER -> "Check that the H2 server is running and can be reached.";
+				default -> "Check that the database files can be read and written.";
+			};
+			databaseInUse.setContentText("Opening the " + mode + " database failed: "
+					+ e.getMessage() + "\n\n" + advice);
 			databaseInUse.showAndWait();
 			System.exit(0);
 		}
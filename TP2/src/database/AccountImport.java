@@ -0,0 +1,527 @@
+package database;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+import entityClasses.User;
+import validators.Model;
+import validators.UserNameRecognizer;
+import validators.ValidationResult;
+
+/*******
+ * <p> Title: AccountImport Class. </p>
+ *
+ * <p> Description: Creates accounts in bulk from a file, for onboarding a whole course at once
+ * instead of through the New Account page one account at a time.  The import runs in four
+ * stages:</p>
+ *
+ * <p> 1. The file is parsed as a stream, one row at a time, so only the rows themselves are
+ * held in memory.  Every CHUNK_SIZE rows are handed to the next stage as soon as they are
+ * read, so validation overlaps with parsing.<br>
+ * 2. Each chunk is validated on the common fork-join pool, splitting until a task holds no
+ * more than SPLIT_THRESHOLD rows.  The username and password checks are the reentrant
+ * validators of the validators package, so the workers share nothing but the rows they are
+ * given.<br>
+ * 3. The rows that passed are checked for a userName used twice in the file, then against
+ * userDB with one query for the whole set.<br>
+ * 4. The remaining accounts are inserted with JDBC batches in one transaction.</p>
+ *
+ * <p> Every row that is left out gets a RowError in the report; a bad row never stops the
+ * others.  Only a file that cannot be read as CSV or JSON, or a failure of the insert, stops
+ * the import, and then no account is created.</p>
+ *
+ * <p> The file is CSV or JSON, told apart by its first character.  A CSV file starts with a
+ * header row naming its columns, in any order, from userName, password, firstName, middleName,
+ * lastName, preferredFirstName, emailAddress, adminRole, newRole1, and newRole2; names are
+ * matched ignoring case.  Fields may be quoted with double quotes, which lets them hold
+ * commas, line breaks, and doubled quotes.  A JSON file is an array of objects whose keys are
+ * the same names.  userName and password are required.  The role columns take true or false
+ * (or yes, no, 1, 0, or empty for false), and every account needs at least one role.</p>
+ *
+ * <p> Copyright: Lynn Robert Carter © 2025 </p>
+ *
+ * @author Team-25
+ *
+ * @version 1.00		2026-10-16 Initial version
+ */
+class AccountImport {
+
+	// Rows parsed before they are handed to the pool, and the most one task validates itself
+	static final int CHUNK_SIZE = 1024;
+	static final int SPLIT_THRESHOLD = 128;
+
+	// The fields of a row, in the order of the userDB columns
+	private static final String[] FIELDS = { "userName", "password", "firstName", "middleName",
+			"lastName", "preferredFirstName", "emailAddress", "adminRole", "newRole1",
+			"newRole2" };
+	private static final int USER_NAME = 0;
+	private static final int PASSWORD = 1;
+	private static final int ADMIN_ROLE = 7;
+
+	private final Database database;
+
+
+	/*******
+	 * <p> Method: AccountImport(Database database) </p>
+	 *
+	 * @param database is where the accounts are created
+	 */
+	AccountImport(Database database) {
+		this.database = database;
+	}
+
+
+	/*
+	 * One row of the file.  The parser fills in the values or a parse error, one validation
+	 * task fills in the account or an error, and after the tasks are joined only this thread
+	 * reads or writes it.
+	 */
+	private static final class Row {
+		final int row;						// Where the row is in the file
+		final String[] values;				// Indexed like FIELDS; null where not given
+		String error = null;				// Why the row is left out
+		User user = null;					// The account to create, once validated
+
+		Row(int row, String[] values, String error) {
+			this.row = row;
+			this.values = values;
+			this.error = error;
+		}
+
+		String userName() {
+			String userName = (values == null) ? null : values[USER_NAME];
+			return (userName == null) ? "" : userName;
+		}
+	}
+
+
+	/*******
+	 * <p> Method: AccountImportReport run(Reader in) </p>
+	 *
+	 * <p> Description: Run the four stages over a file.</p>
+	 *
+	 * @param in supplies the file; it is not closed
+	 *
+	 * @return the report
+	 *
+	 * @throws IOException when the file cannot be read as CSV or JSON
+	 *
+	 * @throws SQLException when the query or the insert fails
+	 */
+	AccountImportReport run(Reader in) throws IOException, SQLException {
+		// Stages 1 and 2: parse, handing each full chunk to the pool as soon as it is read.  A
+		// chunk is a list of its own, as the workers must not see rows being added to another.
+		List<Row> rows = new ArrayList<>();
+		List<ForkJoinTask<Void>> validations = new ArrayList<>();
+		RowSource source = open(in instanceof BufferedReader ? (BufferedReader) in
+				: new BufferedReader(in));
+		List<Row> chunk = new ArrayList<>(CHUNK_SIZE);
+		for (Row row = source.next(); row != null; row = source.next()) {
+			chunk.add(row);
+			if (chunk.size() == CHUNK_SIZE) {
+				validations.add(ForkJoinPool.commonPool().submit(new Validation(chunk)));
+				rows.addAll(chunk);
+				chunk = new ArrayList<>(CHUNK_SIZE);
+			}
+		}
+		if (!chunk.isEmpty()) {
+			validations.add(ForkJoinPool.commonPool().submit(new Validation(chunk)));
+			rows.addAll(chunk);
+		}
+		for (ForkJoinTask<Void> validation : validations) {
+			try {
+				validation.get();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new IOException("The import was interrupted", e);
+			} catch (ExecutionException e) {
+				throw new IllegalStateException("Validating the rows failed", e.getCause());
+			}
+		}
+
+		// Stage 3: a userName may be used once in the file and must not be taken already
+		Map<String, Row> first = new HashMap<>();
+		for (Row row : rows) {
+			if (row.error != null) continue;
+			Row earlier = first.putIfAbsent(row.user.getUserName(), row);
+			if (earlier != null)
+				row.error = "The userName is also used by row " + earlier.row + ".";
+		}
+		Set<String> taken = database.getExistingUserNames(first.keySet());
+
+		// Stage 4: create the accounts that are left, and list the rest
+		List<User> accounts = new ArrayList<>(first.size());
+		List<AccountImportReport.RowError> errors = new ArrayList<>();
+		for (Row row : rows) {
+			if (row.error == null && taken.contains(row.user.getUserName()))
+				row.error = "An account with this userName already exists.";
+			if (row.error == null)
+				accounts.add(row.user);
+			else
+				errors.add(new AccountImportReport.RowError(row.row, row.userName(), row.error));
+		}
+		int imported = accounts.isEmpty() ? 0 : database.registerBatch(accounts);
+		return new AccountImportReport(rows.size(), imported, errors);
+	}
+
+
+	/*
+	 * Validates a range of rows, splitting it in half until it is small enough to do directly
+	 */
+	private static final class Validation extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+		private final transient List<Row> rows;		// Tasks are never serialized
+
+		Validation(List<Row> rows) {
+			this.rows = rows;
+		}
+
+		@Override
+		protected void compute() {
+			int size = rows.size();
+			if (size <= SPLIT_THRESHOLD) {
+				for (Row row : rows) validate(row);
+				return;
+			}
+			invokeAll(new Validation(rows.subList(0, size / 2)),
+					new Validation(rows.subList(size / 2, size)));
+		}
+	}
+
+
+	/*
+	 * Check one row and build its account, or record why it cannot be imported.  Touches
+	 * nothing but the row, so any number of these run at once.
+	 */
+	private static void validate(Row row) {
+		if (row.error != null) return;
+		String[] values = row.values;
+		if (values[USER_NAME] == null || values[USER_NAME].isEmpty()) {
+			row.error = "The userName is missing.";
+			return;
+		}
+		ValidationResult result = UserNameRecognizer.validate(values[USER_NAME]);
+		if (!result.isValid()) {
+			row.error = result.getMessage();
+			return;
+		}
+		if (values[PASSWORD] == null || values[PASSWORD].isEmpty()) {
+			row.error = "The password is missing.";
+			return;
+		}
+		result = Model.validatePassword(values[PASSWORD]);
+		if (!result.isValid()) {
+			row.error = result.getMessage();
+			return;
+		}
+		boolean[] roles = new boolean[3];
+		for (int i = 0; i < roles.length; i++) {
+			String value = values[ADMIN_ROLE + i];
+			value = (value == null) ? "" : value.strip().toLowerCase(Locale.ROOT);
+			switch (value) {
+			case "true": case "yes": case "1":
+				roles[i] = true;
+				break;
+			case "false": case "no": case "0": case "":
+				roles[i] = false;
+				break;
+			default:
+				row.error = FIELDS[ADMIN_ROLE + i] + " must be true or false.";
+				return;
+			}
+		}
+		if (!roles[0] && !roles[1] && !roles[2]) {
+			row.error = "The account needs at least one role.";
+			return;
+		}
+		row.user = new User(values[USER_NAME], values[PASSWORD], orEmpty(values[2]),
+				orEmpty(values[3]), orEmpty(values[4]), orEmpty(values[5]), orEmpty(values[6]),
+				roles[0], roles[1], roles[2]);
+	}
+
+	private static String orEmpty(String value) {
+		return (value == null) ? "" : value;
+	}
+
+
+	/*
+	 * The index of a field name in FIELDS, ignoring case, or -1
+	 */
+	private static int fieldIndex(String name) {
+		for (int i = 0; i < FIELDS.length; i++)
+			if (FIELDS[i].equalsIgnoreCase(name.strip())) return i;
+		return -1;
+	}
+
+
+	/*-********************************************************************************************
+
+	Parsing
+
+	*/
+
+	/*
+	 * A parser that hands out the rows of a file one at a time
+	 */
+	private interface RowSource {
+		/* The next row, or null at the end of the file */
+		Row next() throws IOException;
+	}
+
+
+	/*
+	 * Look at the first character that is not white space, or a byte order mark, to choose the
+	 * parser; the character is left for the parser to read
+	 */
+	private static RowSource open(BufferedReader in) throws IOException {
+		while (true) {
+			in.mark(1);
+			int c = in.read();
+			if (c == -1) return () -> null;
+			if (c == '\uFEFF' || Character.isWhitespace(c)) continue;
+			in.reset();
+			return (c == '[') ? new JsonRows(in) : new CsvRows(in);
+		}
+	}
+
+
+	/*
+	 * Reads CSV as described in the class comment.  The header row maps each column to a field;
+	 * a row with a different number of fields than the header is reported and skipped.
+	 */
+	private static final class CsvRows implements RowSource {
+		private final BufferedReader in;
+		private final int[] columnField;			// The field of each column
+		private final StringBuilder field = new StringBuilder();
+		private final List<String> record = new ArrayList<>();
+		private int line = 1;						// The line the reader is on
+		private boolean ended = false;
+
+		CsvRows(BufferedReader in) throws IOException {
+			this.in = in;
+			if (!readRecord()) throw new IOException("The CSV file is empty");
+			columnField = new int[record.size()];
+			boolean[] seen = new boolean[FIELDS.length];
+			for (int i = 0; i < columnField.length; i++) {
+				int f = fieldIndex(record.get(i));
+				if (f < 0)
+					throw new IOException("Unknown CSV column \"" + record.get(i).strip() + "\"");
+				if (seen[f])
+					throw new IOException("The CSV column " + FIELDS[f] + " appears twice");
+				seen[f] = true;
+				columnField[i] = f;
+			}
+			if (!seen[USER_NAME] || !seen[PASSWORD])
+				throw new IOException("The CSV header must name the userName and password columns");
+		}
+
+		@Override
+		public Row next() throws IOException {
+			int start;
+			do {
+				start = line;
+				if (!readRecord()) return null;
+			} while (record.size() == 1 && record.get(0).isEmpty());	// A blank line
+
+			if (record.size() != columnField.length)
+				return new Row(start, null, "Expected " + columnField.length +
+						" fields but found " + record.size() + ".");
+			String[] values = new String[FIELDS.length];
+			for (int i = 0; i < columnField.length; i++) values[columnField[i]] = record.get(i);
+			return new Row(start, values, null);
+		}
+
+		/*
+		 * Read the fields of the next record into record; false at the end of the file
+		 */
+		private boolean readRecord() throws IOException {
+			record.clear();
+			if (ended) return false;
+			field.setLength(0);
+			boolean quoted = false;				// Inside a quoted field
+			boolean wasQuoted = false;			// The current field was quoted
+			int c = in.read();
+			if (c == -1) {
+				ended = true;
+				return false;
+			}
+			while (true) {
+				if (quoted) {
+					if (c == -1) throw new IOException("Line " + line + ": unterminated quote");
+					if (c == '"') {
+						in.mark(1);
+						int d = in.read();
+						if (d == '"') field.append('"');
+						else {
+							quoted = false;
+							if (d != -1) in.reset();
+						}
+					} else {
+						if (c == '\n') line++;
+						field.append((char) c);
+					}
+				} else if (c == '"' && field.toString().isBlank()) {
+					field.setLength(0);
+					quoted = true;
+					wasQuoted = true;
+				} else if (c == ',') {
+					endField(wasQuoted);
+					wasQuoted = false;
+				} else if (c == '\n' || c == '\r' || c == -1) {
+					endField(wasQuoted);
+					if (c == '\r') {
+						in.mark(1);
+						if (in.read() != '\n') in.reset();
+					}
+					if (c == -1) ended = true;
+					else line++;
+					return true;
+				} else {
+					field.append((char) c);
+				}
+				c = in.read();
+			}
+		}
+
+		private void endField(boolean wasQuoted) {
+			String value = field.toString();
+			record.add(wasQuoted ? value : value.strip());
+			field.setLength(0);
+		}
+	}
+
+
+	/*
+	 * Reads a JSON array of flat objects.  Values may be strings, numbers, true, false, or
+	 * null; numbers are kept as their text.  A key that is not a field is reported against its
+	 * row, but any other departure from that shape ends the import, as the parser cannot find
+	 * where the next row starts.
+	 */
+	private static final class JsonRows implements RowSource {
+		private final BufferedReader in;
+		private final StringBuilder text = new StringBuilder();
+		private int position = 0;					// The position of the object being read
+		private boolean ended = false;
+
+		JsonRows(BufferedReader in) throws IOException {
+			this.in = in;
+			expect('[');
+			in.mark(1);
+			if (skipWhitespace() == ']') ended = true;
+			else in.reset();
+		}
+
+		@Override
+		public Row next() throws IOException {
+			if (ended) return null;
+			position++;
+			expect('{');
+			String[] values = new String[FIELDS.length];
+			String error = null;
+			in.mark(1);
+			int c = skipWhitespace();
+			if (c != '}') {
+				in.reset();
+				do {
+					expect('"');
+					String key = readString();
+					expect(':');
+					String value = readValue();
+					int f = fieldIndex(key);
+					if (f >= 0) values[f] = value;
+					else if (error == null) error = "Unknown field \"" + key + "\".";
+					c = skipWhitespace();
+				} while (c == ',');
+				if (c != '}') throw syntax("expected , or }", c);
+			}
+			c = skipWhitespace();
+			if (c == ']') ended = true;
+			else if (c != ',') throw syntax("expected , or ]", c);
+			return new Row(position, values, error);
+		}
+
+		private int skipWhitespace() throws IOException {
+			int c;
+			do c = in.read(); while (c != -1 && Character.isWhitespace(c));
+			return c;
+		}
+
+		private void expect(char expected) throws IOException {
+			int c = skipWhitespace();
+			if (c != expected) throw syntax("expected " + expected, c);
+		}
+
+		/*
+		 * A string, true, false, null, or a number; null gives null
+		 */
+		private String readValue() throws IOException {
+			int c = skipWhitespace();
+			if (c == '"') return readString();
+			text.setLength(0);
+			while (c != -1 && c != ',' && c != '}' && !Character.isWhitespace(c)) {
+				if (c == '{' || c == '[' || c == '"') throw syntax("expected a simple value", c);
+				text.append((char) c);
+				in.mark(1);
+				c = in.read();
+			}
+			String value = text.toString();
+			if (value.isEmpty()) throw syntax("expected a value", c);
+			if (c != -1) in.reset();
+			if (value.equals("null")) return null;
+			return value;
+		}
+
+		/*
+		 * The rest of a string whose opening quote has been read
+		 */
+		private String readString() throws IOException {
+			text.setLength(0);
+			while (true) {
+				int c = in.read();
+				if (c == -1) throw syntax("unterminated string", c);
+				if (c == '"') return text.toString();
+				if (c != '\\') {
+					text.append((char) c);
+					continue;
+				}
+				c = in.read();
+				switch (c) {
+				case '"': case '\\': case '/': text.append((char) c); break;
+				case 'b': text.append('\b'); break;
+				case 'f': text.append('\f'); break;
+				case 'n': text.append('\n'); break;
+				case 'r': text.append('\r'); break;
+				case 't': text.append('\t'); break;
+				case 'u':
+					int code = 0;
+					for (int i = 0; i < 4; i++) {
+						int digit = Character.digit(in.read(), 16);
+						if (digit < 0) throw syntax("bad \\u escape", c);
+						code = code * 16 + digit;
+					}
+					text.append((char) code);
+					break;
+				default:
+					throw syntax("bad escape", c);
+				}
+			}
+		}
+
+		private IOException syntax(String problem, int found) {
+			return new IOException("JSON object " + position + ": " + problem + " but found " +
+					((found == -1) ? "the end of the file" : "'" + (char) found + "'"));
+		}
+	}
+}
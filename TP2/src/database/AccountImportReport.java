@@ -0,0 +1,141 @@
+package database;
+
+import java.util.Collections;
+import java.util.List;
+
+/*******
+ * <p> Title: AccountImportReport Class. </p>
+ *
+ * <p> Description: What a bulk account import did: how many rows the file held, how many
+ * accounts were created, and, for every row that was left out, where it is in the file and
+ * why.  A report is immutable.</p>
+ *
+ * <p> Copyright: Lynn Robert Carter © 2025 </p>
+ *
+ * @author Team-25
+ *
+ * @version 1.00		2026-10-16 Initial version
+ */
+public final class AccountImportReport {
+
+	/*******
+	 * <p> Title: RowError Class. </p>
+	 *
+	 * <p> Description: Why one row of the file was not imported.</p>
+	 */
+	public static final class RowError {
+		private final int row;
+		private final String userName;
+		private final String message;
+
+		RowError(int row, String userName, String message) {
+			this.row = row;
+			this.userName = userName;
+			this.message = message;
+		}
+
+		/*******
+		 * <p> Method: int getRow() </p>
+		 *
+		 * @return the line the row starts on in a CSV file, or the position of the object in
+		 * a JSON array, counting from 1
+		 */
+		public int getRow() { return row; }
+
+		/*******
+		 * <p> Method: String getUserName() </p>
+		 *
+		 * @return the userName the row gave, or an empty string if it gave none
+		 */
+		public String getUserName() { return userName; }
+
+		/*******
+		 * <p> Method: String getMessage() </p>
+		 *
+		 * @return why the row was left out
+		 */
+		public String getMessage() { return message; }
+
+		/*******
+		 * <p> Method: String toString() </p>
+		 *
+		 * @return the error as one line of the report
+		 */
+		@Override
+		public String toString() {
+			return "Row " + row + (userName.isEmpty() ? "" : " (" + userName + ")") + ": " +
+					message.strip().replace('\n', ' ');
+		}
+	}
+
+	private final int rowsRead;
+	private final int imported;
+	private final List<RowError> errors;
+
+
+	/*******
+	 * <p> Method: AccountImportReport(int rowsRead, int imported, List&lt;RowError&gt; errors)
+	 * </p>
+	 *
+	 * <p> Description: Establish a report.</p>
+	 *
+	 * @param rowsRead is the number of rows the file held
+	 *
+	 * @param imported is the number of accounts created
+	 *
+	 * @param errors are the rows left out, in file order
+	 */
+	AccountImportReport(int rowsRead, int imported, List<RowError> errors) {
+		this.rowsRead = rowsRead;
+		this.imported = imported;
+		this.errors = Collections.unmodifiableList(errors);
+	}
+
+
+	/*******
+	 * <p> Method: int getRowsRead() </p>
+	 *
+	 * @return the number of rows the file held
+	 */
+	public int getRowsRead() { return rowsRead; }
+
+
+	/*******
+	 * <p> Method: int getImported() </p>
+	 *
+	 * @return the number of accounts created
+	 */
+	public int getImported() { return imported; }
+
+
+	/*******
+	 * <p> Method: List&lt;RowError&gt; getErrors() </p>
+	 *
+	 * @return an error for every row left out, in file order
+	 */
+	public List<RowError> getErrors() { return errors; }
+
+
+	/*******
+	 * <p> Method: String getSummary() </p>
+	 *
+	 * @return one line that gives the counts
+	 */
+	public String getSummary() {
+		return imported + " of " + rowsRead + " accounts imported, " + errors.size() +
+				" rows left out";
+	}
+
+
+	/*******
+	 * <p> Method: String toString() </p>
+	 *
+	 * @return the summary followed by one line per error
+	 */
+	@Override
+	public String toString() {
+		StringBuilder report = new StringBuilder(getSummary());
+		for (RowError error : errors) report.append('\n').append(error);
+		return report.toString();
+	}
+}
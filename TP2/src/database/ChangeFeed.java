@@ -0,0 +1,314 @@
+package database;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/*******
+ * <p> Title: ChangeFeed Class. </p>
+ *
+ * <p> Description: Delivers the Database's changes to posts and replies to its
+ * DatabaseChangeListeners.  A change made through this process is handed to the listeners as
+ * soon as the Database has committed it.</p>
+ *
+ * <p> When the database is shared with other processes (AUTO_SERVER and SERVER modes) each
+ * change is also appended to the PostChange table, tagged with a number that identifies this
+ * process.  A daemon thread reads the rows added since its last look every POLL_MILLIS,
+ * skips this process's own, and delivers the rest, first letting the Database drop the cache
+ * entries they made stale.  The read is a range scan of the primary key, so it costs the same
+ * however large the Post and Reply tables are.  Rows older than RETENTION_HOURS are deleted
+ * when a process starts.</p>
+ *
+ * <p> Sequence numbers are handed out when a row is inserted, not when it is committed, so a
+ * transaction that takes a lower number can commit after one that took a higher number.  The
+ * poller therefore does not simply read past the highest number it has seen: a number missing
+ * below it is a gap, and the scan starts at the oldest gap until the row turns up or
+ * GAP_TIMEOUT_MILLIS passes.  By then the number almost certainly belongs to a transaction
+ * that rolled back, or was skipped by H2, and will never be filled.  Rows read again while a
+ * gap is open are recognized and not delivered twice.</p>
+ *
+ * <p> A change is logged after its write has committed, so a process that stops in between
+ * leaves no row; other processes then see the change the next time they read the data.</p>
+ *
+ * <p> Copyright: Lynn Robert Carter © 2025 </p>
+ *
+ * @author Team-25
+ *
+ * @version 1.00		2026-10-16 Initial version
+ */
+class ChangeFeed {
+
+	// How often other processes' changes are looked for, and how many are read at a time
+	static final long POLL_MILLIS = 1000;
+	static final int POLL_LIMIT = 1000;
+
+	// How long a logged change is kept for processes that have not read it yet
+	static final int RETENTION_HOURS = 24;
+
+	// How long a missing sequence number is waited for, and the most that are waited for at once
+	static final long GAP_TIMEOUT_MILLIS = 30_000;
+	static final int MAX_GAPS = 10_000;
+
+	private final List<DatabaseChangeListener> listeners = new CopyOnWriteArrayList<>();
+	private final long source = UUID.randomUUID().getMostSignificantBits();	// This process
+	private final Consumer<List<DatabaseChange>> onRemote;	// Runs before remote delivery
+
+	private volatile ConnectionPool pool = null;	// Set only while logging and polling
+	private long highestSeen = 0;					// Only used by the polling thread
+	private final TreeMap<Long, Long> gaps = new TreeMap<>();	// Missing seq -> when noticed
+	private ScheduledExecutorService poller = null;
+
+
+	/*******
+	 * <p> Method: ChangeFeed(Consumer&lt;List&lt;DatabaseChange&gt;&gt; onRemote) </p>
+	 *
+	 * @param onRemote is given the changes made by other processes before the listeners are,
+	 * so the Database can drop what they made stale
+	 */
+	ChangeFeed(Consumer<List<DatabaseChange>> onRemote) {
+		this.onRemote = onRemote;
+	}
+
+
+	/*******
+	 * <p> Method: void addListener(DatabaseChangeListener listener) </p>
+	 *
+	 * @param listener is told about every change from now on
+	 */
+	void addListener(DatabaseChangeListener listener) {
+		listeners.add(listener);
+	}
+
+
+	/*******
+	 * <p> Method: void removeListener(DatabaseChangeListener listener) </p>
+	 *
+	 * @param listener is no longer told about changes
+	 */
+	void removeListener(DatabaseChangeListener listener) {
+		listeners.remove(listener);
+	}
+
+
+	/*******
+	 * <p> Method: void share(ConnectionPool pool) </p>
+	 *
+	 * <p> Description: Start logging this process's changes to PostChange and polling it for
+	 * the changes of other processes.  Only the changes made from now on are delivered.</p>
+	 *
+	 * @param pool is the pool of the shared database
+	 *
+	 * @throws SQLException when PostChange cannot be read
+	 */
+	synchronized void share(ConnectionPool pool) throws SQLException {
+		try (Connection connection = pool.getConnection();
+				Statement statement = connection.createStatement()) {
+			statement.executeUpdate("DELETE FROM PostChange WHERE changedOn < "
+					+ "DATEADD('HOUR', -" + RETENTION_HOURS + ", CURRENT_TIMESTAMP)");
+			try (ResultSet rs = statement.executeQuery("SELECT MAX(seq) FROM PostChange")) {
+				highestSeen = rs.next() ? rs.getLong(1) : 0;
+				gaps.clear();
+			}
+		}
+		this.pool = pool;
+		poller = Executors.newSingleThreadScheduledExecutor(task -> {
+			Thread thread = new Thread(task, "Database change poller");
+			thread.setDaemon(true);
+			return thread;
+		});
+		poller.scheduleWithFixedDelay(this::poll, POLL_MILLIS, POLL_MILLIS,
+				TimeUnit.MILLISECONDS);
+	}
+
+
+	/*******
+	 * <p> Method: void close() </p>
+	 *
+	 * <p> Description: Stop logging and polling; the listeners stay registered.</p>
+	 */
+	synchronized void close() {
+		pool = null;
+		if (poller != null) poller.shutdownNow();
+		poller = null;
+	}
+
+
+	/*******
+	 * <p> Method: void record(DatabaseChange.Kind kind, DatabaseChange.Subject subject, int id,
+	 * 		int postID) </p>
+	 *
+	 * <p> Description: Log and deliver one committed change made by this process.</p>
+	 *
+	 * @param kind is what happened to the row
+	 *
+	 * @param subject is which table the row is in
+	 *
+	 * @param id is the id of the post or reply
+	 *
+	 * @param postID is the id of the post, or of the post the reply belongs to
+	 */
+	void record(DatabaseChange.Kind kind, DatabaseChange.Subject subject, int id, int postID) {
+		record(List.of(new DatabaseChange(kind, subject, id, postID, true)));
+	}
+
+
+	/*******
+	 * <p> Method: void record(List&lt;DatabaseChange&gt; changes) </p>
+	 *
+	 * <p> Description: Log and deliver the committed changes of one write made by this
+	 * process.  The write has already succeeded, so a failure to log it is reported rather
+	 * than thrown.  Logging borrows a connection from the pool, so call this only after the
+	 * write has closed its own.</p>
+	 *
+	 * @param changes are the changes, in the order they were made
+	 */
+	void record(List<DatabaseChange> changes) {
+		if (changes.isEmpty()) return;
+		ConnectionPool shared = pool;
+		if (shared != null) {
+			try {
+				log(shared, changes);
+			} catch (SQLException e) {
+				e.printStackTrace();
+			}
+		}
+		deliver(changes);
+	}
+
+
+	/*
+	 * Append the changes to PostChange in one transaction, BATCH_CHUNK_SIZE rows per round trip
+	 */
+	private void log(ConnectionPool shared, List<DatabaseChange> changes) throws SQLException {
+		String insert = "INSERT INTO PostChange (source, kind, subject, id, postID) "
+				+ "VALUES (?, ?, ?, ?, ?)";
+		try (Connection connection = shared.getConnection()) {
+			connection.setAutoCommit(false);
+			try (PreparedStatement pstmt = connection.prepareStatement(insert)) {
+				int pending = 0;
+				for (DatabaseChange change : changes) {
+					pstmt.setLong(1, source);
+					pstmt.setString(2, change.getKind().name().substring(0, 1));
+					pstmt.setString(3, change.getSubject().name().substring(0, 1));
+					pstmt.setInt(4, change.getID());
+					pstmt.setInt(5, change.getPostID());
+					pstmt.addBatch();
+					if (++pending == Database.BATCH_CHUNK_SIZE) {
+						pstmt.executeBatch();
+						pending = 0;
+					}
+				}
+				if (pending > 0) pstmt.executeBatch();
+				connection.commit();
+			} catch (SQLException | RuntimeException e) {
+				connection.rollback();
+				throw e;
+			} finally {
+				connection.setAutoCommit(true);
+			}
+		}
+	}
+
+
+	/*
+	 * Read the changes logged since the last poll, and any that filled a gap, and deliver those
+	 * other processes made.  Runs on the polling thread; a failure is reported, what was read
+	 * before it is delivered, and the next poll goes on from there.
+	 */
+	private void poll() {
+		ConnectionPool shared = pool;
+		if (shared == null) return;
+		String query = "SELECT seq, source, kind, subject, id, postID FROM PostChange "
+				+ "WHERE seq > ? ORDER BY seq LIMIT ?";
+		List<DatabaseChange> remote = new ArrayList<>();
+		try {
+			long now = System.currentTimeMillis();
+			gaps.values().removeIf(noticed -> now - noticed > GAP_TIMEOUT_MILLIS);
+			long cursor = gaps.isEmpty() ? highestSeen : gaps.firstKey() - 1;
+			int read;
+			do {
+				read = 0;
+				try (Connection connection = shared.getConnection();
+						PreparedStatement pstmt = connection.prepareStatement(query)) {
+					pstmt.setLong(1, cursor);
+					pstmt.setInt(2, POLL_LIMIT);
+					try (ResultSet rs = pstmt.executeQuery()) {
+						while (rs.next()) {
+							read++;
+							cursor = rs.getLong("seq");
+							if (!isNew(cursor, now) || rs.getLong("source") == source) continue;
+							remote.add(new DatabaseChange(kindOf(rs.getString("kind")),
+									subjectOf(rs.getString("subject")), rs.getInt("id"),
+									rs.getInt("postID"), false));
+						}
+					}
+				}
+			} while (read == POLL_LIMIT);
+		} catch (SQLException | RuntimeException e) {
+			e.printStackTrace();
+		}
+
+		if (remote.isEmpty()) return;
+		try {
+			onRemote.accept(remote);
+		} catch (RuntimeException e) {
+			e.printStackTrace();
+		}
+		deliver(remote);
+	}
+
+
+	/*
+	 * Whether a row has not been read before.  A row past the highest seen opens a gap for every
+	 * number it skips over; a row below it is new only if it fills a gap.
+	 */
+	private boolean isNew(long seq, long now) {
+		if (seq > highestSeen) {
+			for (long missing = highestSeen + 1; missing < seq && gaps.size() < MAX_GAPS; missing++)
+				gaps.put(missing, now);
+			highestSeen = seq;
+			return true;
+		}
+		return gaps.remove(seq) != null;
+	}
+
+
+	/*
+	 * Hand the changes to every listener.  One listener failing does not stop the others or
+	 * the write that made the changes.
+	 */
+	private void deliver(List<DatabaseChange> changes) {
+		List<DatabaseChange> delivered = Collections.unmodifiableList(changes);
+		for (DatabaseChangeListener listener : listeners) {
+			try {
+				listener.databaseChanged(delivered);
+			} catch (RuntimeException e) {
+				e.printStackTrace();
+			}
+		}
+	}
+
+	private static DatabaseChange.Kind kindOf(String code) {
+		for (DatabaseChange.Kind kind : DatabaseChange.Kind.values())
+			if (kind.name().startsWith(code)) return kind;
+		throw new IllegalArgumentException("Unknown change kind: " + code);
+	}
+
+	private static DatabaseChange.Subject subjectOf(String code) {
+		for (DatabaseChange.Subject subject : DatabaseChange.Subject.values())
+			if (subject.name().startsWith(code)) return subject;
+		throw new IllegalArgumentException("Unknown change subject: " + code);
+	}
+}
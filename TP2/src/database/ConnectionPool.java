@@ -0,0 +1,631 @@
+package database;
+
+import java.io.PrintWriter;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Logger;
+
+import javax.sql.DataSource;
+
+/*******
+ * <p> Title: ConnectionPool Class. </p>
+ *
+ * <p> Description: A small, bounded JDBC connection pool that sits behind the Database class.
+ * Rather than every CRUD method sharing (and serializing on) one Connection, each method borrows
+ * a Connection from this pool for the duration of its work and returns it by calling close(),
+ * which is exactly what a try-with-resources block does.  This lets several sessions read and
+ * write posts and replies at the same time.</p>
+ *
+ * <p> The pool provides:
+ * 	• a hard upper bound on the number of physical connections (callers wait, up to a limit,
+ * 		when all of them are in use),
+ * 	• eviction of connections that have been idle for too long,
+ * 	• validation of an idle connection before it is handed out again, and
+ * 	• leak detection, which reports connections that have been borrowed for too long along with
+ * 		the stack trace of the code that borrowed them.  Capturing that stack trace on every
+ * 		borrow costs far more than the borrow itself, so leak detection is off unless a leak
+ * 		threshold is passed to the full constructor, for example while hunting a leak.</p>
+ *
+ * <p> Each pooled connection also keeps a StatementCache, so the constant SQL strings the
+ * Database methods prepare are parsed once per connection and then reused.</p>
+ *
+ * <p> Pool size, wait-time, and statement cache metrics are available from the getters at the
+ * bottom of this class and are summarized by getStatistics() so the pool can be sized for the
+ * expected load.  When a QueryMetrics is set, every statement the pool hands out is also timed
+ * by it.</p>
+ *
+ * <p> Copyright: Lynn Robert Carter © 2025 </p>
+ *
+ * @author Team-25
+ *
+ * @version 1.00		2026-10-16 Initial version
+ */
+public class ConnectionPool implements DataSource {
+
+	// Default settings used by the short constructor
+	public static final int DEFAULT_MAX_WAIT_MILLIS = 10_000;
+	public static final long DEFAULT_IDLE_TIMEOUT_MILLIS = 5 * 60_000;
+	public static final long DEFAULT_LEAK_THRESHOLD_MILLIS = 0;		// Off
+	public static final int DEFAULT_STATEMENT_CACHE_SIZE = 32;
+	private static final long HOUSEKEEPING_PERIOD_MILLIS = 15_000;
+	private static final int VALIDATION_TIMEOUT_SECONDS = 2;
+
+	// How to reach the database
+	private final String url;
+	private final String user;
+	private final String password;
+
+	// Pool limits
+	private final int maxPoolSize;
+	private final long maxWaitMillis;
+	private final long idleTimeoutMillis;
+	private final long leakThresholdMillis;
+	private final int statementCacheSize;
+
+	// A permit is needed to hold a connection, so the number of permits bounds the pool size
+	private final Semaphore permits;
+
+	// Idle connections, most recently returned first so the ones at the tail age out
+	private final LinkedBlockingDeque<PooledConnection> idle = new LinkedBlockingDeque<>();
+
+	// Connections currently handed out to callers
+	private final Set<PooledConnection> borrowed = ConcurrentHashMap.newKeySet();
+
+	private final ScheduledExecutorService housekeeper;
+	private volatile boolean closed = false;
+	private volatile QueryMetrics queryMetrics = null;	// Times the statements, when set
+
+	// Metrics
+	private final AtomicLong physicalConnections = new AtomicLong();
+	private final LongAdder borrowCount = new LongAdder();
+	private final LongAdder totalWaitNanos = new LongAdder();
+	private final AtomicLong maxWaitNanos = new AtomicLong();
+	private final LongAdder timeoutCount = new LongAdder();
+	private final LongAdder validationFailures = new LongAdder();
+	private final LongAdder evictionCount = new LongAdder();
+	private final LongAdder leakCount = new LongAdder();
+	private final LongAdder statementCacheHits = new LongAdder();
+	private final LongAdder statementCacheMisses = new LongAdder();
+	private final LongAdder statementCacheEvictions = new LongAdder();
+
+
+	/*******
+	 * <p> Method: ConnectionPool(String url, String user, String password, int maxPoolSize) </p>
+	 *
+	 * <p> Description: Establish a pool using the default wait, idle, and statement cache
+	 * limits, without leak detection.</p>
+	 *
+	 * @param url is the JDBC URL of the database
+	 *
+	 * @param user is the database user
+	 *
+	 * @param password is the database password
+	 *
+	 * @param maxPoolSize is the largest number of physical connections the pool will open
+	 */
+	public ConnectionPool(String url, String user, String password, int maxPoolSize) {
+		this(url, user, password, maxPoolSize, DEFAULT_MAX_WAIT_MILLIS, DEFAULT_IDLE_TIMEOUT_MILLIS,
+				DEFAULT_LEAK_THRESHOLD_MILLIS, DEFAULT_STATEMENT_CACHE_SIZE);
+	}
+
+
+	/*******
+	 * <p> Method: ConnectionPool(String url, String user, String password, int maxPoolSize,
+	 * 		long maxWaitMillis, long idleTimeoutMillis, long leakThresholdMillis,
+	 * 		int statementCacheSize) </p>
+	 *
+	 * <p> Description: Establish a pool with explicit limits.  A leak threshold of zero or less
+	 * disables leak detection, and a statement cache size of zero disables statement caching.</p>
+	 *
+	 * @param url is the JDBC URL of the database
+	 *
+	 * @param user is the database user
+	 *
+	 * @param password is the database password
+	 *
+	 * @param maxPoolSize is the largest number of physical connections the pool will open
+	 *
+	 * @param maxWaitMillis is how long getConnection() waits for a free connection
+	 *
+	 * @param idleTimeoutMillis is how long an unused connection is kept before it is closed
+	 *
+	 * @param leakThresholdMillis is how long a connection may be borrowed before it is reported,
+	 * or zero to skip recording where each connection was borrowed
+	 *
+	 * @param statementCacheSize is the most prepared statements kept open per connection
+	 */
+	public ConnectionPool(String url, String user, String password, int maxPoolSize,
+			long maxWaitMillis, long idleTimeoutMillis, long leakThresholdMillis,
+			int statementCacheSize) {
+		if (maxPoolSize < 1)
+			throw new IllegalArgumentException("The pool must allow at least one connection");
+		this.url = url;
+		this.user = user;
+		this.password = password;
+		this.maxPoolSize = maxPoolSize;
+		this.maxWaitMillis = maxWaitMillis;
+		this.idleTimeoutMillis = idleTimeoutMillis;
+		this.leakThresholdMillis = leakThresholdMillis;
+		this.statementCacheSize = statementCacheSize;
+		this.permits = new Semaphore(maxPoolSize, true);
+
+		// A single daemon thread evicts idle connections and looks for leaks
+		this.housekeeper = Executors.newSingleThreadScheduledExecutor(r -> {
+			Thread t = new Thread(r, "ConnectionPool-housekeeper");
+			t.setDaemon(true);
+			return t;
+		});
+		housekeeper.scheduleWithFixedDelay(this::housekeeping, HOUSEKEEPING_PERIOD_MILLIS,
+				HOUSEKEEPING_PERIOD_MILLIS, TimeUnit.MILLISECONDS);
+	}
+
+
+	/*******
+	 * <p> Method: Connection getConnection() </p>
+	 *
+	 * <p> Description: Borrow a connection.  If every connection is in use, wait up to the
+	 * configured maximum for one to be returned.  Closing the returned Connection gives it back
+	 * to the pool; it does not close the physical connection.</p>
+	 *
+	 * @return a validated connection
+	 *
+	 * @throws SQLException when the pool is closed, the wait times out, or a new physical
+	 * 		connection cannot be established
+	 */
+	@Override
+	public Connection getConnection() throws SQLException {
+		if (closed) throw new SQLException("The connection pool has been closed");
+
+		// Wait for a permit, recording how long that took
+		long start = System.nanoTime();
+		boolean acquired;
+		try {
+			acquired = permits.tryAcquire(maxWaitMillis, TimeUnit.MILLISECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new SQLException("Interrupted while waiting for a database connection", e);
+		}
+		long waited = System.nanoTime() - start;
+		totalWaitNanos.add(waited);
+		maxWaitNanos.accumulateAndGet(waited, Math::max);
+		if (!acquired) {
+			timeoutCount.increment();
+			throw new SQLException("Timed out after " + maxWaitMillis + " ms waiting for a " +
+					"database connection (" + maxPoolSize + " in use)");
+		}
+
+		// With a permit in hand, reuse an idle connection that still works or open a new one
+		try {
+			PooledConnection pc;
+			while ((pc = idle.pollFirst()) != null) {
+				if (isUsable(pc)) break;
+				validationFailures.increment();
+				destroy(pc);
+			}
+			if (pc == null) pc = open();
+
+			pc.borrowedAt = System.currentTimeMillis();
+			pc.borrowedBy = leakThresholdMillis > 0 ? new Throwable("Connection borrowed here") : null;
+			pc.leakReported = false;
+			borrowed.add(pc);
+			borrowCount.increment();
+			return pc.newHandle();
+		} catch (SQLException | RuntimeException e) {
+			permits.release();
+			throw e;
+		}
+	}
+
+
+	/*
+	 * Open a new physical connection
+	 */
+	private PooledConnection open() throws SQLException {
+		Connection physical = DriverManager.getConnection(url, user, password);
+		physicalConnections.incrementAndGet();
+		return new PooledConnection(physical);
+	}
+
+
+	/*
+	 * Validate an idle connection before handing it out again
+	 */
+	private boolean isUsable(PooledConnection pc) {
+		try {
+			return !pc.physical.isClosed() && pc.physical.isValid(VALIDATION_TIMEOUT_SECONDS);
+		} catch (SQLException e) {
+			return false;
+		}
+	}
+
+
+	/*
+	 * Called when a caller closes its handle.  The connection is reset and made idle, or closed
+	 * if it can no longer be trusted.
+	 */
+	private void release(PooledConnection pc) {
+		borrowed.remove(pc);
+		try {
+			if (closed || pc.physical.isClosed()) {
+				destroy(pc);
+				return;
+			}
+			// Never hand the next caller an open transaction
+			if (!pc.physical.getAutoCommit()) {
+				pc.physical.rollback();
+				pc.physical.setAutoCommit(true);
+			}
+			pc.physical.clearWarnings();
+			pc.lastReturned = System.currentTimeMillis();
+			pc.borrowedBy = null;
+			idle.offerFirst(pc);
+		} catch (SQLException e) {
+			destroy(pc);
+		} finally {
+			permits.release();
+		}
+	}
+
+
+	/*
+	 * Close the physical connection behind a pooled connection
+	 */
+	private void destroy(PooledConnection pc) {
+		try {
+			if (pc.statements != null) pc.statements.close();
+			pc.physical.close();
+		} catch (SQLException e) {
+			e.printStackTrace();
+		}
+		physicalConnections.decrementAndGet();
+	}
+
+
+	/*
+	 * Periodic work: evict connections that have been idle too long and report borrowed
+	 * connections that look like they have been leaked.
+	 */
+	private void housekeeping() {
+		long now = System.currentTimeMillis();
+
+		// The oldest idle connections are at the tail of the deque
+		PooledConnection pc;
+		while ((pc = idle.peekLast()) != null && now - pc.lastReturned > idleTimeoutMillis) {
+			if (idle.removeLastOccurrence(pc)) {
+				evictionCount.increment();
+				destroy(pc);
+			}
+		}
+
+		if (leakThresholdMillis <= 0) return;
+		for (PooledConnection b : borrowed) {
+			Throwable borrowedBy = b.borrowedBy;
+			if (!b.leakReported && borrowedBy != null && now - b.borrowedAt > leakThresholdMillis) {
+				b.leakReported = true;
+				leakCount.increment();
+				System.err.println("*** WARNING *** A database connection has been borrowed for " +
+						(now - b.borrowedAt) + " ms and may have been leaked");
+				borrowedBy.printStackTrace();
+			}
+		}
+	}
+
+
+	/*******
+	 * <p> Method: void close() </p>
+	 *
+	 * <p> Description: Close every idle connection and stop the housekeeping thread.  Connections
+	 * that are still borrowed are closed when they are returned.</p>
+	 */
+	public void close() {
+		closed = true;
+		housekeeper.shutdownNow();
+		PooledConnection pc;
+		while ((pc = idle.pollFirst()) != null) destroy(pc);
+	}
+
+
+	/*******
+	 * <p> Method: void setQueryMetrics(QueryMetrics queryMetrics) </p>
+	 *
+	 * <p> Description: Time the statements handed out from now on.</p>
+	 *
+	 * @param queryMetrics records each statement's runs, or null to stop recording
+	 */
+	public void setQueryMetrics(QueryMetrics queryMetrics) {
+		this.queryMetrics = queryMetrics;
+	}
+
+
+	/*******
+	 * <p> Method: QueryMetrics getQueryMetrics() </p>
+	 *
+	 * @return what records the statements' runs, or null when they are not recorded
+	 */
+	public QueryMetrics getQueryMetrics() { return queryMetrics; }
+
+
+	/*-*******************************************************************************************
+
+	Metrics used to size the pool
+
+	*/
+
+	/*******
+	 * <p> Method: int getMaximumPoolSize() </p>
+	 *
+	 * @return the largest number of physical connections this pool will open
+	 */
+	public int getMaximumPoolSize() { return maxPoolSize; }
+
+	/*******
+	 * <p> Method: long getTotalConnections() </p>
+	 *
+	 * @return the number of physical connections currently open (idle plus borrowed)
+	 */
+	public long getTotalConnections() { return physicalConnections.get(); }
+
+	/*******
+	 * <p> Method: int getActiveConnections() </p>
+	 *
+	 * @return the number of connections currently borrowed
+	 */
+	public int getActiveConnections() { return borrowed.size(); }
+
+	/*******
+	 * <p> Method: int getIdleConnections() </p>
+	 *
+	 * @return the number of open connections waiting to be borrowed
+	 */
+	public int getIdleConnections() { return idle.size(); }
+
+	/*******
+	 * <p> Method: int getThreadsAwaitingConnection() </p>
+	 *
+	 * @return an estimate of the number of threads currently waiting for a connection
+	 */
+	public int getThreadsAwaitingConnection() { return permits.getQueueLength(); }
+
+	/*******
+	 * <p> Method: long getBorrowCount() </p>
+	 *
+	 * @return the number of connections handed out since the pool was created
+	 */
+	public long getBorrowCount() { return borrowCount.sum(); }
+
+	/*******
+	 * <p> Method: double getAverageWaitMillis() </p>
+	 *
+	 * @return the average time a caller waited for a connection, in milliseconds
+	 */
+	public double getAverageWaitMillis() {
+		long requests = borrowCount.sum() + timeoutCount.sum();
+		return requests == 0 ? 0 : totalWaitNanos.sum() / 1_000_000.0 / requests;
+	}
+
+	/*******
+	 * <p> Method: double getMaxWaitMillis() </p>
+	 *
+	 * @return the longest time any caller waited for a connection, in milliseconds
+	 */
+	public double getMaxWaitMillis() { return maxWaitNanos.get() / 1_000_000.0; }
+
+	/*******
+	 * <p> Method: long getTimeoutCount() </p>
+	 *
+	 * @return the number of requests that gave up waiting for a connection
+	 */
+	public long getTimeoutCount() { return timeoutCount.sum(); }
+
+	/*******
+	 * <p> Method: long getValidationFailureCount() </p>
+	 *
+	 * @return the number of idle connections discarded because they failed validation
+	 */
+	public long getValidationFailureCount() { return validationFailures.sum(); }
+
+	/*******
+	 * <p> Method: long getEvictionCount() </p>
+	 *
+	 * @return the number of connections closed because they were idle for too long
+	 */
+	public long getEvictionCount() { return evictionCount.sum(); }
+
+	/*******
+	 * <p> Method: long getLeakCount() </p>
+	 *
+	 * @return the number of borrowed connections reported as possible leaks
+	 */
+	public long getLeakCount() { return leakCount.sum(); }
+
+	/*******
+	 * <p> Method: long getStatementCacheHits() </p>
+	 *
+	 * @return the number of prepareStatement calls served by a cached statement
+	 */
+	public long getStatementCacheHits() { return statementCacheHits.sum(); }
+
+	/*******
+	 * <p> Method: long getStatementCacheMisses() </p>
+	 *
+	 * @return the number of prepareStatement calls that had to prepare a new statement
+	 */
+	public long getStatementCacheMisses() { return statementCacheMisses.sum(); }
+
+	/*******
+	 * <p> Method: long getStatementCacheEvictions() </p>
+	 *
+	 * @return the number of statements pushed out of a full cache
+	 */
+	public long getStatementCacheEvictions() { return statementCacheEvictions.sum(); }
+
+	/*******
+	 * <p> Method: double getStatementCacheHitRatio() </p>
+	 *
+	 * @return the fraction of cacheable prepareStatement calls served from a cache
+	 */
+	public double getStatementCacheHitRatio() {
+		long hits = statementCacheHits.sum();
+		long total = hits + statementCacheMisses.sum();
+		return total == 0 ? 0 : (double) hits / total;
+	}
+
+	/*******
+	 * <p> Method: String getStatistics() </p>
+	 *
+	 * <p> Description: A one line summary of the pool metrics, suitable for the console.</p>
+	 *
+	 * @return the summary
+	 */
+	public String getStatistics() {
+		return String.format("ConnectionPool [max=%d, open=%d, active=%d, idle=%d, waiting=%d, " +
+				"borrows=%d, avgWait=%.3f ms, maxWait=%.3f ms, timeouts=%d, validationFailures=%d, " +
+				"evictions=%d, leaks=%d, statementHits=%d, statementMisses=%d, " +
+				"statementEvictions=%d]", getMaximumPoolSize(), getTotalConnections(),
+				getActiveConnections(), getIdleConnections(), getThreadsAwaitingConnection(),
+				getBorrowCount(), getAverageWaitMillis(), getMaxWaitMillis(), getTimeoutCount(),
+				getValidationFailureCount(), getEvictionCount(), getLeakCount(),
+				getStatementCacheHits(), getStatementCacheMisses(), getStatementCacheEvictions());
+	}
+
+
+	/*-*******************************************************************************************
+
+	The rest of the DataSource interface
+
+	*/
+
+	@Override
+	public Connection getConnection(String username, String password) throws SQLException {
+		throw new SQLFeatureNotSupportedException("The pool only serves its configured user");
+	}
+
+	@Override
+	public PrintWriter getLogWriter() { return DriverManager.getLogWriter(); }
+
+	@Override
+	public void setLogWriter(PrintWriter out) { DriverManager.setLogWriter(out); }
+
+	@Override
+	public void setLoginTimeout(int seconds) { DriverManager.setLoginTimeout(seconds); }
+
+	@Override
+	public int getLoginTimeout() { return DriverManager.getLoginTimeout(); }
+
+	@Override
+	public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+		throw new SQLFeatureNotSupportedException();
+	}
+
+	@Override
+	public <T> T unwrap(Class<T> iface) throws SQLException {
+		if (iface.isInstance(this)) return iface.cast(this);
+		throw new SQLException("Not a wrapper for " + iface.getName());
+	}
+
+	@Override
+	public boolean isWrapperFor(Class<?> iface) { return iface.isInstance(this); }
+
+
+	/*-*******************************************************************************************
+
+	Pooled connections and the handles given to callers
+
+	*/
+
+	/*
+	 * One physical connection and its bookkeeping
+	 */
+	private class PooledConnection {
+		final Connection physical;
+		final StatementCache statements;
+		volatile long borrowedAt;
+		volatile long lastReturned = System.currentTimeMillis();
+		volatile Throwable borrowedBy;
+		volatile boolean leakReported;
+
+		PooledConnection(Connection physical) {
+			this.physical = physical;
+			this.statements = statementCacheSize > 0 ? new StatementCache(statementCacheSize,
+					statementCacheHits, statementCacheMisses, statementCacheEvictions) : null;
+		}
+
+		/*
+		 * Each borrow gets its own handle so that closing a stale handle twice can never return
+		 * a connection that has since been given to someone else.
+		 */
+		Connection newHandle() {
+			return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+					new Class<?>[] { Connection.class }, new Handle(this));
+		}
+	}
+
+
+	/*
+	 * The caller's view of a pooled connection.  close() returns the connection to the pool,
+	 * prepareStatement is served from the statement cache, and every other call is passed to the
+	 * physical connection.  Statements are wrapped by the QueryMetrics, if there is one.
+	 */
+	private class Handle implements InvocationHandler {
+		private final PooledConnection pc;
+		private boolean handleClosed = false;
+
+		Handle(PooledConnection pc) {
+			this.pc = pc;
+		}
+
+		@Override
+		public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+			switch (method.getName()) {
+			case "close":
+				if (!handleClosed) {
+					handleClosed = true;
+					release(pc);
+				}
+				return null;
+			case "isClosed":
+				return handleClosed;
+			case "equals":
+				return proxy == args[0];
+			case "hashCode":
+				return System.identityHashCode(proxy);
+			case "toString":
+				return "Pooled " + pc.physical;
+			default:
+				if (handleClosed) throw new SQLException("Connection has been returned to the pool");
+				Object result;
+				if (pc.statements != null && StatementCache.isCacheable(method)) {
+					result = pc.statements.prepare((Connection) proxy, pc.physical,
+							(String) args[0], StatementCache.generatedKeysFlag(args));
+				} else {
+					try {
+						result = method.invoke(pc.physical, args);
+					} catch (InvocationTargetException e) {
+						throw e.getCause();
+					}
+				}
+				QueryMetrics metrics = queryMetrics;
+				if (metrics != null && result instanceof Statement)
+					return metrics.instrument((Statement) result,
+							method.getName().equals("createStatement") ? null : (String) args[0]);
+				return result;
+			}
+		}
+	}
+}
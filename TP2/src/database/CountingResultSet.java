@@ -0,0 +1,1071 @@
+package database;
+
+import java.io.InputStream;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.net.URL;
+import java.sql.Array;
+import java.sql.Blob;
+import java.sql.Clob;
+import java.sql.Date;
+import java.sql.NClob;
+import java.sql.Ref;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.RowId;
+import java.sql.SQLException;
+import java.sql.SQLType;
+import java.sql.SQLWarning;
+import java.sql.SQLXML;
+import java.sql.Statement;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.util.Calendar;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/*******
+ * <p> Title: CountingResultSet Class. </p>
+ *
+ * <p> Description: The caller's view of the result set of a query measured by QueryMetrics.
+ * Rows are counted locally as next() reads them and added to the query's row count when the
+ * last row has been read or the result set is closed, so reading a row costs no more than an
+ * increment.  Every other method calls the driver's result set directly.</p>
+ *
+ * <p> This is a plain delegating class rather than a reflective proxy because it is on the
+ * hottest path there is: every next() and every getString() of every row read by the
+ * application goes through it, and a proxy would box the arguments and result of each of
+ * those calls.</p>
+ *
+ * <p> Copyright: Lynn Robert Carter © 2025 </p>
+ *
+ * @author Team-25
+ *
+ * @version 1.00		2026-10-16 Initial version
+ */
+final class CountingResultSet implements ResultSet {
+
+	private final ResultSet results;
+	private final LongAdder queryRows;
+	private long rows = 0;
+
+
+	/*******
+	 * <p> Method: CountingResultSet(ResultSet results, LongAdder queryRows) </p>
+	 *
+	 * @param results is the driver's result set
+	 *
+	 * @param queryRows is the row count of the query, which the rows read are added to
+	 */
+	CountingResultSet(ResultSet results, LongAdder queryRows) {
+		this.results = results;
+		this.queryRows = queryRows;
+	}
+
+
+	@Override
+	public boolean next() throws SQLException {
+		boolean more = results.next();
+		if (more) rows++;
+		else flush();
+		return more;
+	}
+
+	@Override
+	public void close() throws SQLException {
+		flush();
+		results.close();
+	}
+
+	private void flush() {
+		if (rows > 0) queryRows.add(rows);
+		rows = 0;
+	}
+
+
+	/*-*******************************************************************************************
+
+	Everything else is passed to the driver's result set
+
+	*/
+
+	@Override
+	public void updateBytes(int columnIndex, byte[] x) throws SQLException {
+		results.updateBytes(columnIndex, x);
+	}
+
+	@Override
+	public void updateBytes(String columnLabel, byte[] x) throws SQLException {
+		results.updateBytes(columnLabel, x);
+	}
+
+	@Override
+	public boolean getBoolean(String columnLabel) throws SQLException {
+		return results.getBoolean(columnLabel);
+	}
+
+	@Override
+	public boolean getBoolean(int columnIndex) throws SQLException {
+		return results.getBoolean(columnIndex);
+	}
+
+	@Override
+	public byte getByte(String columnLabel) throws SQLException {
+		return results.getByte(columnLabel);
+	}
+
+	@Override
+	public byte getByte(int columnIndex) throws SQLException {
+		return results.getByte(columnIndex);
+	}
+
+	@Override
+	public short getShort(String columnLabel) throws SQLException {
+		return results.getShort(columnLabel);
+	}
+
+	@Override
+	public short getShort(int columnIndex) throws SQLException {
+		return results.getShort(columnIndex);
+	}
+
+	@Override
+	public int getInt(int columnIndex) throws SQLException {
+		return results.getInt(columnIndex);
+	}
+
+	@Override
+	public int getInt(String columnLabel) throws SQLException {
+		return results.getInt(columnLabel);
+	}
+
+	@Override
+	public long getLong(String columnLabel) throws SQLException {
+		return results.getLong(columnLabel);
+	}
+
+	@Override
+	public long getLong(int columnIndex) throws SQLException {
+		return results.getLong(columnIndex);
+	}
+
+	@Override
+	public float getFloat(String columnLabel) throws SQLException {
+		return results.getFloat(columnLabel);
+	}
+
+	@Override
+	public float getFloat(int columnIndex) throws SQLException {
+		return results.getFloat(columnIndex);
+	}
+
+	@Override
+	public double getDouble(int columnIndex) throws SQLException {
+		return results.getDouble(columnIndex);
+	}
+
+	@Override
+	public double getDouble(String columnLabel) throws SQLException {
+		return results.getDouble(columnLabel);
+	}
+
+	@Override
+	public byte[] getBytes(String columnLabel) throws SQLException {
+		return results.getBytes(columnLabel);
+	}
+
+	@Override
+	public byte[] getBytes(int columnIndex) throws SQLException {
+		return results.getBytes(columnIndex);
+	}
+
+	@Override
+	public boolean last() throws SQLException {
+		return results.last();
+	}
+
+	@Override
+	public boolean first() throws SQLException {
+		return results.first();
+	}
+
+	@Override
+	public int getType() throws SQLException {
+		return results.getType();
+	}
+
+	@Override
+	public Object getObject(int columnIndex, Map<String, Class<?>> map) throws SQLException {
+		return results.getObject(columnIndex, map);
+	}
+
+	@Override
+	public <T> T getObject(String columnLabel, Class<T> type) throws SQLException {
+		return results.getObject(columnLabel, type);
+	}
+
+	@Override
+	public Object getObject(int columnIndex) throws SQLException {
+		return results.getObject(columnIndex);
+	}
+
+	@Override
+	public Object getObject(String columnLabel, Map<String, Class<?>> map) throws SQLException {
+		return results.getObject(columnLabel, map);
+	}
+
+	@Override
+	public <T> T getObject(int columnIndex, Class<T> type) throws SQLException {
+		return results.getObject(columnIndex, type);
+	}
+
+	@Override
+	public Object getObject(String columnLabel) throws SQLException {
+		return results.getObject(columnLabel);
+	}
+
+	@Override
+	public Ref getRef(int columnIndex) throws SQLException {
+		return results.getRef(columnIndex);
+	}
+
+	@Override
+	public Ref getRef(String columnLabel) throws SQLException {
+		return results.getRef(columnLabel);
+	}
+
+	@Override
+	public boolean previous() throws SQLException {
+		return results.previous();
+	}
+
+	@Override
+	public Array getArray(String columnLabel) throws SQLException {
+		return results.getArray(columnLabel);
+	}
+
+	@Override
+	public Array getArray(int columnIndex) throws SQLException {
+		return results.getArray(columnIndex);
+	}
+
+	@Override
+	public boolean absolute(int row) throws SQLException {
+		return results.absolute(row);
+	}
+
+	@Override
+	public Time getTime(String columnLabel, Calendar cal) throws SQLException {
+		return results.getTime(columnLabel, cal);
+	}
+
+	@Override
+	public Time getTime(int columnIndex) throws SQLException {
+		return results.getTime(columnIndex);
+	}
+
+	@Override
+	public Time getTime(String columnLabel) throws SQLException {
+		return results.getTime(columnLabel);
+	}
+
+	@Override
+	public Time getTime(int columnIndex, Calendar cal) throws SQLException {
+		return results.getTime(columnIndex, cal);
+	}
+
+	@Override
+	public String getString(String columnLabel) throws SQLException {
+		return results.getString(columnLabel);
+	}
+
+	@Override
+	public String getString(int columnIndex) throws SQLException {
+		return results.getString(columnIndex);
+	}
+
+	@Override
+	public BigDecimal getBigDecimal(int columnIndex) throws SQLException {
+		return results.getBigDecimal(columnIndex);
+	}
+
+	@Override
+	public BigDecimal getBigDecimal(String columnLabel) throws SQLException {
+		return results.getBigDecimal(columnLabel);
+	}
+
+	@Deprecated
+	@Override
+	public BigDecimal getBigDecimal(int columnIndex, int scale) throws SQLException {
+		return results.getBigDecimal(columnIndex, scale);
+	}
+
+	@Deprecated
+	@Override
+	public BigDecimal getBigDecimal(String columnLabel, int scale) throws SQLException {
+		return results.getBigDecimal(columnLabel, scale);
+	}
+
+	@Override
+	public void updateTime(int columnIndex, Time x) throws SQLException {
+		results.updateTime(columnIndex, x);
+	}
+
+	@Override
+	public void updateTime(String columnLabel, Time x) throws SQLException {
+		results.updateTime(columnLabel, x);
+	}
+
+	@Override
+	public Date getDate(String columnLabel) throws SQLException {
+		return results.getDate(columnLabel);
+	}
+
+	@Override
+	public Date getDate(int columnIndex) throws SQLException {
+		return results.getDate(columnIndex);
+	}
+
+	@Override
+	public Date getDate(String columnLabel, Calendar cal) throws SQLException {
+		return results.getDate(columnLabel, cal);
+	}
+
+	@Override
+	public Date getDate(int columnIndex, Calendar cal) throws SQLException {
+		return results.getDate(columnIndex, cal);
+	}
+
+	@Override
+	public URL getURL(int columnIndex) throws SQLException {
+		return results.getURL(columnIndex);
+	}
+
+	@Override
+	public URL getURL(String columnLabel) throws SQLException {
+		return results.getURL(columnLabel);
+	}
+
+	@Override
+	public Timestamp getTimestamp(int columnIndex, Calendar cal) throws SQLException {
+		return results.getTimestamp(columnIndex, cal);
+	}
+
+	@Override
+	public Timestamp getTimestamp(int columnIndex) throws SQLException {
+		return results.getTimestamp(columnIndex);
+	}
+
+	@Override
+	public Timestamp getTimestamp(String columnLabel) throws SQLException {
+		return results.getTimestamp(columnLabel);
+	}
+
+	@Override
+	public Timestamp getTimestamp(String columnLabel, Calendar cal) throws SQLException {
+		return results.getTimestamp(columnLabel, cal);
+	}
+
+	@Override
+	public boolean relative(int rows) throws SQLException {
+		return results.relative(rows);
+	}
+
+	@Override
+	public int findColumn(String columnLabel) throws SQLException {
+		return results.findColumn(columnLabel);
+	}
+
+	@Override
+	public int getFetchSize() throws SQLException {
+		return results.getFetchSize();
+	}
+
+	@Override
+	public void setFetchDirection(int direction) throws SQLException {
+		results.setFetchDirection(direction);
+	}
+
+	@Override
+	public void setFetchSize(int rows) throws SQLException {
+		results.setFetchSize(rows);
+	}
+
+	@Override
+	public void updateObject(int columnIndex, Object x, SQLType targetSqlType) throws SQLException {
+		results.updateObject(columnIndex, x, targetSqlType);
+	}
+
+	@Override
+	public void updateObject(int columnIndex, Object x) throws SQLException {
+		results.updateObject(columnIndex, x);
+	}
+
+	@Override
+	public void updateObject(int columnIndex, Object x, int scaleOrLength) throws SQLException {
+		results.updateObject(columnIndex, x, scaleOrLength);
+	}
+
+	@Override
+	public void updateObject(String columnLabel, Object x, int scaleOrLength) throws SQLException {
+		results.updateObject(columnLabel, x, scaleOrLength);
+	}
+
+	@Override
+	public void updateObject(String columnLabel, Object x, SQLType targetSqlType, int scaleOrLength)
+			throws SQLException {
+		results.updateObject(columnLabel, x, targetSqlType, scaleOrLength);
+	}
+
+	@Override
+	public void updateObject(String columnLabel, Object x) throws SQLException {
+		results.updateObject(columnLabel, x);
+	}
+
+	@Override
+	public void updateObject(int columnIndex, Object x, SQLType targetSqlType, int scaleOrLength)
+			throws SQLException {
+		results.updateObject(columnIndex, x, targetSqlType, scaleOrLength);
+	}
+
+	@Override
+	public void updateObject(String columnLabel, Object x, SQLType targetSqlType)
+			throws SQLException {
+		results.updateObject(columnLabel, x, targetSqlType);
+	}
+
+	@Override
+	public boolean wasNull() throws SQLException {
+		return results.wasNull();
+	}
+
+	@Override
+	public InputStream getAsciiStream(String columnLabel) throws SQLException {
+		return results.getAsciiStream(columnLabel);
+	}
+
+	@Override
+	public InputStream getAsciiStream(int columnIndex) throws SQLException {
+		return results.getAsciiStream(columnIndex);
+	}
+
+	@Deprecated
+	@Override
+	public InputStream getUnicodeStream(int columnIndex) throws SQLException {
+		return results.getUnicodeStream(columnIndex);
+	}
+
+	@Deprecated
+	@Override
+	public InputStream getUnicodeStream(String columnLabel) throws SQLException {
+		return results.getUnicodeStream(columnLabel);
+	}
+
+	@Override
+	public InputStream getBinaryStream(int columnIndex) throws SQLException {
+		return results.getBinaryStream(columnIndex);
+	}
+
+	@Override
+	public InputStream getBinaryStream(String columnLabel) throws SQLException {
+		return results.getBinaryStream(columnLabel);
+	}
+
+	@Override
+	public SQLWarning getWarnings() throws SQLException {
+		return results.getWarnings();
+	}
+
+	@Override
+	public void clearWarnings() throws SQLException {
+		results.clearWarnings();
+	}
+
+	@Override
+	public String getCursorName() throws SQLException {
+		return results.getCursorName();
+	}
+
+	@Override
+	public ResultSetMetaData getMetaData() throws SQLException {
+		return results.getMetaData();
+	}
+
+	@Override
+	public Reader getCharacterStream(int columnIndex) throws SQLException {
+		return results.getCharacterStream(columnIndex);
+	}
+
+	@Override
+	public Reader getCharacterStream(String columnLabel) throws SQLException {
+		return results.getCharacterStream(columnLabel);
+	}
+
+	@Override
+	public boolean isBeforeFirst() throws SQLException {
+		return results.isBeforeFirst();
+	}
+
+	@Override
+	public boolean isAfterLast() throws SQLException {
+		return results.isAfterLast();
+	}
+
+	@Override
+	public boolean isFirst() throws SQLException {
+		return results.isFirst();
+	}
+
+	@Override
+	public boolean isLast() throws SQLException {
+		return results.isLast();
+	}
+
+	@Override
+	public void beforeFirst() throws SQLException {
+		results.beforeFirst();
+	}
+
+	@Override
+	public void afterLast() throws SQLException {
+		results.afterLast();
+	}
+
+	@Override
+	public int getRow() throws SQLException {
+		return results.getRow();
+	}
+
+	@Override
+	public int getFetchDirection() throws SQLException {
+		return results.getFetchDirection();
+	}
+
+	@Override
+	public int getConcurrency() throws SQLException {
+		return results.getConcurrency();
+	}
+
+	@Override
+	public boolean rowUpdated() throws SQLException {
+		return results.rowUpdated();
+	}
+
+	@Override
+	public boolean rowInserted() throws SQLException {
+		return results.rowInserted();
+	}
+
+	@Override
+	public boolean rowDeleted() throws SQLException {
+		return results.rowDeleted();
+	}
+
+	@Override
+	public void updateNull(int columnIndex) throws SQLException {
+		results.updateNull(columnIndex);
+	}
+
+	@Override
+	public void updateNull(String columnLabel) throws SQLException {
+		results.updateNull(columnLabel);
+	}
+
+	@Override
+	public void updateBoolean(int columnIndex, boolean x) throws SQLException {
+		results.updateBoolean(columnIndex, x);
+	}
+
+	@Override
+	public void updateBoolean(String columnLabel, boolean x) throws SQLException {
+		results.updateBoolean(columnLabel, x);
+	}
+
+	@Override
+	public void updateByte(String columnLabel, byte x) throws SQLException {
+		results.updateByte(columnLabel, x);
+	}
+
+	@Override
+	public void updateByte(int columnIndex, byte x) throws SQLException {
+		results.updateByte(columnIndex, x);
+	}
+
+	@Override
+	public void updateShort(int columnIndex, short x) throws SQLException {
+		results.updateShort(columnIndex, x);
+	}
+
+	@Override
+	public void updateShort(String columnLabel, short x) throws SQLException {
+		results.updateShort(columnLabel, x);
+	}
+
+	@Override
+	public void updateInt(int columnIndex, int length) throws SQLException {
+		results.updateInt(columnIndex, length);
+	}
+
+	@Override
+	public void updateInt(String columnLabel, int length) throws SQLException {
+		results.updateInt(columnLabel, length);
+	}
+
+	@Override
+	public void updateLong(String columnLabel, long length) throws SQLException {
+		results.updateLong(columnLabel, length);
+	}
+
+	@Override
+	public void updateLong(int columnIndex, long length) throws SQLException {
+		results.updateLong(columnIndex, length);
+	}
+
+	@Override
+	public void updateFloat(int columnIndex, float x) throws SQLException {
+		results.updateFloat(columnIndex, x);
+	}
+
+	@Override
+	public void updateFloat(String columnLabel, float x) throws SQLException {
+		results.updateFloat(columnLabel, x);
+	}
+
+	@Override
+	public void updateDouble(int columnIndex, double x) throws SQLException {
+		results.updateDouble(columnIndex, x);
+	}
+
+	@Override
+	public void updateDouble(String columnLabel, double x) throws SQLException {
+		results.updateDouble(columnLabel, x);
+	}
+
+	@Override
+	public void updateBigDecimal(String columnLabel, BigDecimal x) throws SQLException {
+		results.updateBigDecimal(columnLabel, x);
+	}
+
+	@Override
+	public void updateBigDecimal(int columnIndex, BigDecimal x) throws SQLException {
+		results.updateBigDecimal(columnIndex, x);
+	}
+
+	@Override
+	public void updateString(int columnIndex, String x) throws SQLException {
+		results.updateString(columnIndex, x);
+	}
+
+	@Override
+	public void updateString(String columnLabel, String x) throws SQLException {
+		results.updateString(columnLabel, x);
+	}
+
+	@Override
+	public void updateDate(int columnIndex, Date x) throws SQLException {
+		results.updateDate(columnIndex, x);
+	}
+
+	@Override
+	public void updateDate(String columnLabel, Date x) throws SQLException {
+		results.updateDate(columnLabel, x);
+	}
+
+	@Override
+	public void updateTimestamp(int columnIndex, Timestamp x) throws SQLException {
+		results.updateTimestamp(columnIndex, x);
+	}
+
+	@Override
+	public void updateTimestamp(String columnLabel, Timestamp x) throws SQLException {
+		results.updateTimestamp(columnLabel, x);
+	}
+
+	@Override
+	public void updateAsciiStream(int columnIndex, InputStream x) throws SQLException {
+		results.updateAsciiStream(columnIndex, x);
+	}
+
+	@Override
+	public void updateAsciiStream(int columnIndex, InputStream x, int length) throws SQLException {
+		results.updateAsciiStream(columnIndex, x, length);
+	}
+
+	@Override
+	public void updateAsciiStream(String columnLabel, InputStream x) throws SQLException {
+		results.updateAsciiStream(columnLabel, x);
+	}
+
+	@Override
+	public void updateAsciiStream(int columnIndex, InputStream x, long length) throws SQLException {
+		results.updateAsciiStream(columnIndex, x, length);
+	}
+
+	@Override
+	public void updateAsciiStream(String columnLabel, InputStream x, long length)
+			throws SQLException {
+		results.updateAsciiStream(columnLabel, x, length);
+	}
+
+	@Override
+	public void updateAsciiStream(String columnLabel, InputStream x, int length)
+			throws SQLException {
+		results.updateAsciiStream(columnLabel, x, length);
+	}
+
+	@Override
+	public void updateBinaryStream(int columnIndex, InputStream x, long length)
+			throws SQLException {
+		results.updateBinaryStream(columnIndex, x, length);
+	}
+
+	@Override
+	public void updateBinaryStream(String columnLabel, InputStream x, long length)
+			throws SQLException {
+		results.updateBinaryStream(columnLabel, x, length);
+	}
+
+	@Override
+	public void updateBinaryStream(String columnLabel, InputStream x, int length)
+			throws SQLException {
+		results.updateBinaryStream(columnLabel, x, length);
+	}
+
+	@Override
+	public void updateBinaryStream(int columnIndex, InputStream x, int length) throws SQLException {
+		results.updateBinaryStream(columnIndex, x, length);
+	}
+
+	@Override
+	public void updateBinaryStream(int columnIndex, InputStream x) throws SQLException {
+		results.updateBinaryStream(columnIndex, x);
+	}
+
+	@Override
+	public void updateBinaryStream(String columnLabel, InputStream x) throws SQLException {
+		results.updateBinaryStream(columnLabel, x);
+	}
+
+	@Override
+	public void updateCharacterStream(String columnLabel, Reader x, int length)
+			throws SQLException {
+		results.updateCharacterStream(columnLabel, x, length);
+	}
+
+	@Override
+	public void updateCharacterStream(int columnIndex, Reader x, long length) throws SQLException {
+		results.updateCharacterStream(columnIndex, x, length);
+	}
+
+	@Override
+	public void updateCharacterStream(String columnLabel, Reader x) throws SQLException {
+		results.updateCharacterStream(columnLabel, x);
+	}
+
+	@Override
+	public void updateCharacterStream(int columnIndex, Reader x, int length) throws SQLException {
+		results.updateCharacterStream(columnIndex, x, length);
+	}
+
+	@Override
+	public void updateCharacterStream(int columnIndex, Reader x) throws SQLException {
+		results.updateCharacterStream(columnIndex, x);
+	}
+
+	@Override
+	public void updateCharacterStream(String columnLabel, Reader x, long length)
+			throws SQLException {
+		results.updateCharacterStream(columnLabel, x, length);
+	}
+
+	@Override
+	public void insertRow() throws SQLException {
+		results.insertRow();
+	}
+
+	@Override
+	public void updateRow() throws SQLException {
+		results.updateRow();
+	}
+
+	@Override
+	public void deleteRow() throws SQLException {
+		results.deleteRow();
+	}
+
+	@Override
+	public void refreshRow() throws SQLException {
+		results.refreshRow();
+	}
+
+	@Override
+	public void cancelRowUpdates() throws SQLException {
+		results.cancelRowUpdates();
+	}
+
+	@Override
+	public void moveToInsertRow() throws SQLException {
+		results.moveToInsertRow();
+	}
+
+	@Override
+	public void moveToCurrentRow() throws SQLException {
+		results.moveToCurrentRow();
+	}
+
+	@Override
+	public Statement getStatement() throws SQLException {
+		return results.getStatement();
+	}
+
+	@Override
+	public Blob getBlob(String columnLabel) throws SQLException {
+		return results.getBlob(columnLabel);
+	}
+
+	@Override
+	public Blob getBlob(int columnIndex) throws SQLException {
+		return results.getBlob(columnIndex);
+	}
+
+	@Override
+	public Clob getClob(int columnIndex) throws SQLException {
+		return results.getClob(columnIndex);
+	}
+
+	@Override
+	public Clob getClob(String columnLabel) throws SQLException {
+		return results.getClob(columnLabel);
+	}
+
+	@Override
+	public void updateRef(String columnLabel, Ref x) throws SQLException {
+		results.updateRef(columnLabel, x);
+	}
+
+	@Override
+	public void updateRef(int columnIndex, Ref x) throws SQLException {
+		results.updateRef(columnIndex, x);
+	}
+
+	@Override
+	public void updateBlob(String columnLabel, InputStream x) throws SQLException {
+		results.updateBlob(columnLabel, x);
+	}
+
+	@Override
+	public void updateBlob(int columnIndex, Blob x) throws SQLException {
+		results.updateBlob(columnIndex, x);
+	}
+
+	@Override
+	public void updateBlob(String columnLabel, Blob x) throws SQLException {
+		results.updateBlob(columnLabel, x);
+	}
+
+	@Override
+	public void updateBlob(int columnIndex, InputStream x, long length) throws SQLException {
+		results.updateBlob(columnIndex, x, length);
+	}
+
+	@Override
+	public void updateBlob(String columnLabel, InputStream x, long length) throws SQLException {
+		results.updateBlob(columnLabel, x, length);
+	}
+
+	@Override
+	public void updateBlob(int columnIndex, InputStream x) throws SQLException {
+		results.updateBlob(columnIndex, x);
+	}
+
+	@Override
+	public void updateClob(String columnLabel, Clob x) throws SQLException {
+		results.updateClob(columnLabel, x);
+	}
+
+	@Override
+	public void updateClob(String columnLabel, Reader x) throws SQLException {
+		results.updateClob(columnLabel, x);
+	}
+
+	@Override
+	public void updateClob(int columnIndex, Clob x) throws SQLException {
+		results.updateClob(columnIndex, x);
+	}
+
+	@Override
+	public void updateClob(int columnIndex, Reader x, long length) throws SQLException {
+		results.updateClob(columnIndex, x, length);
+	}
+
+	@Override
+	public void updateClob(int columnIndex, Reader x) throws SQLException {
+		results.updateClob(columnIndex, x);
+	}
+
+	@Override
+	public void updateClob(String columnLabel, Reader x, long length) throws SQLException {
+		results.updateClob(columnLabel, x, length);
+	}
+
+	@Override
+	public void updateArray(String columnLabel, Array x) throws SQLException {
+		results.updateArray(columnLabel, x);
+	}
+
+	@Override
+	public void updateArray(int columnIndex, Array x) throws SQLException {
+		results.updateArray(columnIndex, x);
+	}
+
+	@Override
+	public RowId getRowId(String columnLabel) throws SQLException {
+		return results.getRowId(columnLabel);
+	}
+
+	@Override
+	public RowId getRowId(int columnIndex) throws SQLException {
+		return results.getRowId(columnIndex);
+	}
+
+	@Override
+	public void updateRowId(int columnIndex, RowId x) throws SQLException {
+		results.updateRowId(columnIndex, x);
+	}
+
+	@Override
+	public void updateRowId(String columnLabel, RowId x) throws SQLException {
+		results.updateRowId(columnLabel, x);
+	}
+
+	@Override
+	public int getHoldability() throws SQLException {
+		return results.getHoldability();
+	}
+
+	@Override
+	public boolean isClosed() throws SQLException {
+		return results.isClosed();
+	}
+
+	@Override
+	public void updateNString(int columnIndex, String x) throws SQLException {
+		results.updateNString(columnIndex, x);
+	}
+
+	@Override
+	public void updateNString(String columnLabel, String x) throws SQLException {
+		results.updateNString(columnLabel, x);
+	}
+
+	@Override
+	public void updateNClob(int columnIndex, NClob x) throws SQLException {
+		results.updateNClob(columnIndex, x);
+	}
+
+	@Override
+	public void updateNClob(String columnLabel, NClob x) throws SQLException {
+		results.updateNClob(columnLabel, x);
+	}
+
+	@Override
+	public void updateNClob(String columnLabel, Reader x, long length) throws SQLException {
+		results.updateNClob(columnLabel, x, length);
+	}
+
+	@Override
+	public void updateNClob(int columnIndex, Reader x, long length) throws SQLException {
+		results.updateNClob(columnIndex, x, length);
+	}
+
+	@Override
+	public void updateNClob(String columnLabel, Reader x) throws SQLException {
+		results.updateNClob(columnLabel, x);
+	}
+
+	@Override
+	public void updateNClob(int columnIndex, Reader x) throws SQLException {
+		results.updateNClob(columnIndex, x);
+	}
+
+	@Override
+	public NClob getNClob(int columnIndex) throws SQLException {
+		return results.getNClob(columnIndex);
+	}
+
+	@Override
+	public NClob getNClob(String columnLabel) throws SQLException {
+		return results.getNClob(columnLabel);
+	}
+
+	@Override
+	public SQLXML getSQLXML(String columnLabel) throws SQLException {
+		return results.getSQLXML(columnLabel);
+	}
+
+	@Override
+	public SQLXML getSQLXML(int columnIndex) throws SQLException {
+		return results.getSQLXML(columnIndex);
+	}
+
+	@Override
+	public void updateSQLXML(int columnIndex, SQLXML x) throws SQLException {
+		results.updateSQLXML(columnIndex, x);
+	}
+
+	@Override
+	public void updateSQLXML(String columnLabel, SQLXML x) throws SQLException {
+		results.updateSQLXML(columnLabel, x);
+	}
+
+	@Override
+	public String getNString(int columnIndex) throws SQLException {
+		return results.getNString(columnIndex);
+	}
+
+	@Override
+	public String getNString(String columnLabel) throws SQLException {
+		return results.getNString(columnLabel);
+	}
+
+	@Override
+	public Reader getNCharacterStream(String columnLabel) throws SQLException {
+		return results.getNCharacterStream(columnLabel);
+	}
+
+	@Override
+	public Reader getNCharacterStream(int columnIndex) throws SQLException {
+		return results.getNCharacterStream(columnIndex);
+	}
+
+	@Override
+	public void updateNCharacterStream(int columnIndex, Reader x) throws SQLException {
+		results.updateNCharacterStream(columnIndex, x);
+	}
+
+	@Override
+	public void updateNCharacterStream(int columnIndex, Reader x, long length) throws SQLException {
+		results.updateNCharacterStream(columnIndex, x, length);
+	}
+
+	@Override
+	public void updateNCharacterStream(String columnLabel, Reader x, long length)
+			throws SQLException {
+		results.updateNCharacterStream(columnLabel, x, length);
+	}
+
+	@Override
+	public void updateNCharacterStream(String columnLabel, Reader x) throws SQLException {
+		results.updateNCharacterStream(columnLabel, x);
+	}
+
+	@Override
+	public <T> T unwrap(Class<T> iface) throws SQLException {
+		return results.unwrap(iface);
+	}
+
+	@Override
+	public boolean isWrapperFor(Class<?> iface) throws SQLException {
+		return results.isWrapperFor(iface);
+	}
+}
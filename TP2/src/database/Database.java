@@ -2,15 +2,26 @@ package database;
 
 import java.sql.*;
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.io.IOException;
+import java.io.Reader;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 
+import entityClasses.AccountSnapshot;
 import entityClasses.Post;
+import entityClasses.PostSummary;
 import entityClasses.Reply;
+import entityClasses.SearchResult;
 import entityClasses.User;
 
 /*******
@@ -33,43 +44,84 @@ import entityClasses.User;
  * The Database class is responsible for establishing and managing the connection to the database,
  * and performing operations such as user registration, login validation, handling invitation 
  * codes, and numerous other database related functions.
+ * 
+ * Connections come from a ConnectionPool.  Each method borrows one in a try-with-resources block
+ * and gives it back when the block ends, so several sessions can use the database at once.
  */
 public class Database {
 
-	// JDBC driver name and database URL 
+	// JDBC driver name.  The database URL comes from the DatabaseConfig.
 	static final String JDBC_DRIVER = "org.h2.Driver";   
-	static final String DB_URL = "jdbc:h2:~/FoundationDatabase";  
 
 	//  Database credentials 
 	static final String USER = "sa"; 
 	static final String PASS = ""; 
 
+	// Rows sent to the database per executeBatch call by the batch insert methods
+	static final int BATCH_CHUNK_SIZE = 1000;
+
+	// Loaded accounts are kept briefly so a page that shows several fields costs one query
+	static final int USER_CACHE_SIZE = 256;
+	static final long USER_CACHE_TTL_MILLIS = 30_000;
+
+	// Posts, replies, and pages of posts are kept in memory so busy threads are served without a
+	// query.  Every write through this class removes the entries it could have made stale, and
+	// so does every write by another process sharing the database, once the ChangeFeed sees it.
+	static final int POST_CACHE_SIZE = 2048;
+	static final int REPLY_CACHE_SIZE = 4096;
+	static final int REPLIES_BY_POST_CACHE_SIZE = 512;
+	static final int PAGE_CACHE_SIZE = 128;
+	static final long POST_CACHE_TTL_MILLIS = 60_000;
+
+	// The userDB columns that getUserColumns may select; anything else is rejected
+	private static final Set<String> USER_COLUMNS = Set.of("userName", "password", "firstName",
+			"middleName", "lastName", "preferredFirstName", "emailAddress", "adminRole",
+			"newRole1", "newRole2");
+
 	//  Shared variables used within this class
-	private Connection connection = null;		// Singleton to access the database 
-	private Statement statement = null;			// The H2 Statement is used to construct queries
-	
-	// These are the easily accessible attributes of the currently logged-in user
-	// This is only useful for single user applications
-	private String currentUsername;
-	private String currentPassword;
-	private String currentFirstName;
-	private String currentMiddleName;
-	private String currentLastName;
-	private String currentPreferredFirstName;
-	private String currentEmailAddress;
-	private boolean currentAdminRole;
-	private boolean currentNewRole1;
-	private boolean currentNewRole2;
+	private final DatabaseConfig config;		// Where the data is stored
+	private ConnectionPool pool = null;			// Each method borrows its Connection from here
+	private int schemaVersion = 0;				// Set by SchemaMigrations when connecting
+	private SearchIndex searchIndex = null;		// Full-text index over posts and replies
+	private final ExpiringCache<String, AccountSnapshot> userCache =	// Keyed by userName
+			new ExpiringCache<>(USER_CACHE_SIZE, USER_CACHE_TTL_MILLIS);
+	private final ExpiringCache<Integer, Post> postCache =				// Keyed by post id
+			new ExpiringCache<>(POST_CACHE_SIZE, POST_CACHE_TTL_MILLIS);
+	private final ExpiringCache<Integer, Reply> replyCache =				// Keyed by reply id
+			new ExpiringCache<>(REPLY_CACHE_SIZE, POST_CACHE_TTL_MILLIS);
+	private final ExpiringCache<Integer, List<Reply>> repliesByPostCache =	// Keyed by post id
+			new ExpiringCache<>(REPLIES_BY_POST_CACHE_SIZE, POST_CACHE_TTL_MILLIS);
+	private final ExpiringCache<String, List<Post>> pageCache =			// Keyed by query
+			new ExpiringCache<>(PAGE_CACHE_SIZE, POST_CACHE_TTL_MILLIS);
+	private final ChangeFeed changes = new ChangeFeed(this::forgetRemoteChanges);
+	private final QueryMetrics queryMetrics;	// Times every statement the pool hands out
+	
 
 	/*******
 	 * <p> Method: Database </p>
 	 * 
-	 * <p> Description: The default constructor used to establish this singleton object.</p>
+	 * <p> Description: The default constructor used to establish this singleton object.  The
+	 * storage mode is read from the foundations.db.* system properties; see DatabaseConfig.</p>
 	 * 
 	 */
 	
 	public Database () {
-		
+		this(DatabaseConfig.fromSystemProperties());
+	}
+	
+	
+	/*******
+	 * <p> Method: Database(DatabaseConfig config) </p>
+	 * 
+	 * <p> Description: Establish a database with an explicit storage mode, for example an
+	 * in-memory one for tests and benchmarks.</p>
+	 * 
+	 * @param config says where and how the data is stored
+	 * 
+	 */
+	public Database (DatabaseConfig config) {
+		this.config = config;
+		this.queryMetrics = new QueryMetrics(config.getSlowQueryMillis());
 	}
 	
 	
@@ -85,68 +137,156 @@ public class Database {
 	public void connectToDatabase() throws SQLException {
 		try {
 			Class.forName(JDBC_DRIVER); // Load the JDBC driver
-			connection = DriverManager.getConnection(DB_URL, USER, PASS);
-			statement = connection.createStatement(); 
-			// You can use this command to clear the database and restart from fresh.
-			//statement.execute("DROP ALL OBJECTS");
-
-			createTables();  // Create the necessary tables if they don't exist
-			createPostTables();
-			createRepliesTables();
+			System.out.println("*** Opening the database: " + config);
+			pool = new ConnectionPool(config.getJdbcUrl(), USER, PASS, config.getPoolSize());
+			pool.setQueryMetrics(queryMetrics);
+			queryMetrics.start(config.getName(), config.getMetricsDumpSeconds());
+			
+			// The first borrow opens the database, so this fails if another app is using it
+			try (Connection connection = pool.getConnection()) {
+				// You can use this command to clear the database and restart from fresh.
+				//connection.createStatement().execute("DROP ALL OBJECTS");
+
+				// Create the tables and indexes, or bring an older database up to date
+				schemaVersion = SchemaMigrations.migrate(connection);
+
+				// An in-memory database gets an in-memory search index, built from what is there
+				if (config.getMode() == DatabaseConfig.StorageMode.MEMORY) {
+					InvertedIndex index = new InvertedIndex();
+					index.load(connection);
+					searchIndex = index;
+				} else {
+					searchIndex = new SqlSearchIndex(pool);
+				}
+			} catch (SQLException e) {
+				queryMetrics.close();
+				pool.close();
+				pool = null;
+				throw e;
+			}
+
+			// Processes sharing the data tell each other about changes to posts and replies.  The
+			// feed borrows its own connection, so this waits until the one above is returned.
+			DatabaseConfig.StorageMode mode = config.getMode();
+			if (mode == DatabaseConfig.StorageMode.AUTO_SERVER ||
+					mode == DatabaseConfig.StorageMode.SERVER) {
+				try {
+					changes.share(pool);
+				} catch (SQLException e) {
+					queryMetrics.close();
+					pool.close();
+					pool = null;
+					throw e;
+				}
+			}
 		} catch (ClassNotFoundException e) {
 			System.err.println("JDBC Driver not found: " + e.getMessage());
 		}
 	}
-
+	
 	
 /*******
- * <p> Method: createTables </p>
+ * <p> Method: getConnectionPool </p>
  * 
- * <p> Description: Used to create new instances of the two database tables used by this class.</p>
+ * <p> Description: Provides access to the connection pool so its size and wait-time metrics
+ *		can be monitored.</p>
+ *
+ * @return the pool behind this database, or null before connectToDatabase has succeeded
  * 
  */
-	private void createTables() throws SQLException {
-		// Create the user database
-		String userTable = "CREATE TABLE IF NOT EXISTS userDB ("
-				+ "id INT AUTO_INCREMENT PRIMARY KEY, "
-				+ "userName VARCHAR(255) UNIQUE, "
-				+ "password VARCHAR(255), "
-				+ "firstName VARCHAR(255), "
-				+ "middleName VARCHAR(255), "
-				+ "lastName VARCHAR (255), "
-				+ "preferredFirstName VARCHAR(255), "
-				+ "emailAddress VARCHAR(255), "
-				+ "adminRole BOOL DEFAULT FALSE, "
-				+ "newRole1 BOOL DEFAULT FALSE, "
-				+ "newRole2 BOOL DEFAULT FALSE)";
-		statement.execute(userTable);
-		
-		// Create the invitation codes table
-	    String invitationCodesTable = "CREATE TABLE IF NOT EXISTS InvitationCodes ("
-	            + "code VARCHAR(10) PRIMARY KEY, "
-	    		+ "emailAddress VARCHAR(255), "
-	            + "role VARCHAR(10))";
-	    statement.execute(invitationCodesTable);
+	public ConnectionPool getConnectionPool() {
+		return pool;
 	}
 	
-	private void createPostTables() throws SQLException {  
-	    String postTable = "CREATE TABLE IF NOT EXISTS Post ("
-	            + "id INT AUTO_INCREMENT PRIMARY KEY, "
-	            + "author VARCHAR(255) NOT NULL, "
-	            + "content VARCHAR(500) NOT NULL, "
-	            + "authorRole VARCHAR(10))"; 
-	    statement.execute(postTable);
+	
+/*******
+ * <p> Method: getQueryMetrics </p>
+ * 
+ * <p> Description: Provides access to the latency, row, and error counts of every statement
+ *		this database runs, and to its slow query log.  The same metrics are published over JMX
+ *		while the database is connected.</p>
+ *
+ * @return the query metrics of this database
+ * 
+ */
+	public QueryMetrics getQueryMetrics() {
+		return queryMetrics;
 	}
 	
-	private void createRepliesTables() throws SQLException {  
-	    String replyTable = "CREATE TABLE IF NOT EXISTS Reply ("
-	            + "id INT AUTO_INCREMENT PRIMARY KEY, "
-	            + "postID INT NOT NULL, "
-	            + "author VARCHAR(255) NOT NULL, "
-	            + "content VARCHAR(500) NOT NULL, "
-	            + "authorRole VARCHAR(10), " 
-	            + "FOREIGN KEY (postID) REFERENCES Post(id))";
-	    statement.execute(replyTable);
+	
+/*******
+ * <p> Method: getConfig </p>
+ * 
+ * <p> Description: The storage configuration this database was established with.</p>
+ *
+ * @return the configuration
+ * 
+ */
+	public DatabaseConfig getConfig() {
+		return config;
+	}
+	
+	
+/*******
+ * <p> Method: getSchemaVersion </p>
+ * 
+ * <p> Description: The schema version recorded in the SchemaVersion table once the migrations
+ *		have run.</p>
+ *
+ * @return the schema version, or 0 before connectToDatabase has succeeded
+ * 
+ */
+	public int getSchemaVersion() {
+		return schemaVersion;
+	}
+	
+	
+/*******
+ * <p> Method: addChangeListener </p>
+ * 
+ * <p> Description: Have a listener told about every change to posts and replies from now on,
+ *		whether made through this Database or, when the data is shared, by another process.
+ *		See DatabaseChangeListener for the thread each change is delivered on.</p>
+ *
+ * @param listener is told about the changes
+ * 
+ */
+	public void addChangeListener(DatabaseChangeListener listener) {
+		changes.addListener(listener);
+	}
+	
+	
+/*******
+ * <p> Method: removeChangeListener </p>
+ * 
+ * <p> Description: Stop telling a listener about changes.</p>
+ *
+ * @param listener is no longer told about the changes
+ * 
+ */
+	public void removeChangeListener(DatabaseChangeListener listener) {
+		changes.removeListener(listener);
+	}
+	
+	
+	/*
+	 * Another process changed these posts and replies, so drop what the caches hold of them.
+	 * The SQL search index is shared, so it is already up to date.
+	 */
+	private void forgetRemoteChanges(List<DatabaseChange> remote) {
+		for (DatabaseChange change : remote) {
+			if (change.getSubject() == DatabaseChange.Subject.POST) {
+				postCache.invalidate(change.getPostID());
+				if (change.getKind() == DatabaseChange.Kind.DELETED) {
+					repliesByPostCache.invalidate(change.getPostID());
+					replyCache.invalidateAll();
+				}
+			} else {
+				replyCache.invalidate(change.getID());
+				repliesByPostCache.invalidate(change.getPostID());
+			}
+		}
+		pageCache.invalidateAll();
 	}
 
 	
@@ -156,9 +296,13 @@ public class Database {
 	    // SQL statement with ? placeholders for parameters (prevents SQL injection)
 	    String insertPost = "INSERT INTO Post (author, content, authorRole) VALUES (?, ?, ?)";
 	    
+	    // The new post's id, or -1 if the insert failed
+	    int postID = -1;
+	    
 	    // try-with-resources ensures the PreparedStatement is automatically closed when done
 	    // Statement.RETURN_GENERATED_KEYS tells database to give us back the auto-generated ID
-	    try (PreparedStatement pstmt = connection.prepareStatement(insertPost, 
+	    try (Connection connection = pool.getConnection();
+	    		PreparedStatement pstmt = connection.prepareStatement(insertPost, 
 	            Statement.RETURN_GENERATED_KEYS)) {
 	        
 	        // Set the first ? to the author parameter (index starts at 1, not 0)
@@ -173,26 +317,90 @@ public class Database {
 	        // Execute the INSERT statement and get back the number of rows affected
 	        int rowsInserted = pstmt.executeUpdate();
 	        
+	        // Any cached list of posts is now missing this one
+	        pageCache.invalidateAll();
+	        
 	        // If at least one row was inserted successfully
 	        if (rowsInserted > 0) {
 	            // Get the auto-generated keys (in this case, the post ID)
 	            ResultSet generatedKeys = pstmt.getGeneratedKeys();
 	            
-	            // If there is a generated key available
-	            if (generatedKeys.next()) {
-	                // Return the generated post ID (column 1 is the first/only key)
-	                return generatedKeys.getInt(1);
-	            }
+	            // If there is a generated key available, remember the generated post ID
+	            if (generatedKeys.next()) postID = generatedKeys.getInt(1);
 	        }
 	    } catch (SQLException e) {
 	        // If anything goes wrong, print the error details
 	        e.printStackTrace();
 	    }
 	    
-	    // If we get here, something went wrong - return -1 to indicate failure
-	    return -1;
+	    // If we get here with -1, something went wrong
+	    if (postID < 0) return -1;
+	    
+	    // Make the post searchable and report it now that the connection is back in the pool
+	    // (see updateSearchIndex), then return the generated post ID
+	    int created = postID;
+	    updateSearchIndex(() -> searchIndex.indexPost(created, content));
+	    changes.record(DatabaseChange.Kind.CREATED, DatabaseChange.Subject.POST, postID, postID);
+	    return postID;
+	}
+
+	/*******
+	 * <p> Method: createPostsBatch(List&lt;Post&gt; posts) </p>
+	 * 
+	 * <p> Description: Insert many posts at once, BATCH_CHUNK_SIZE rows per round trip.  See
+	 * createPostsBatch(List, int).</p>
+	 * 
+	 * @param posts are the posts to insert; their ids are ignored
+	 * 
+	 * @return the generated post ids, in the same order as the posts
+	 * 
+	 * @throws SQLException if any insert fails, in which case none of the posts are kept
+	 */
+	public List<Integer> createPostsBatch(List<Post> posts) throws SQLException {
+		return createPostsBatch(posts, BATCH_CHUNK_SIZE);
+	}
+	
+	
+	/*******
+	 * <p> Method: createPostsBatch(List&lt;Post&gt; posts, int chunkSize) </p>
+	 * 
+	 * <p> Description: Insert many posts in a single transaction using JDBC batching, for
+	 * imports and seeding test data.  The rows are sent chunkSize at a time and committed once
+	 * at the end, so either every post is inserted or none is.</p>
+	 * 
+	 * @param posts are the posts to insert; their ids are ignored
+	 * 
+	 * @param chunkSize is the number of rows sent per executeBatch call
+	 * 
+	 * @return the generated post ids, in the same order as the posts
+	 * 
+	 * @throws SQLException if any insert fails, in which case none of the posts are kept
+	 */
+	public List<Integer> createPostsBatch(List<Post> posts, int chunkSize) throws SQLException {
+		String insertPost = "INSERT INTO Post (author, content, authorRole) VALUES (?, ?, ?)";
+		List<Integer> ids = insertBatch(insertPost, posts, chunkSize, (pstmt, post) -> {
+			pstmt.setString(1, post.getAuthor());
+			pstmt.setString(2, post.getContent());
+			pstmt.setString(3, post.getAuthorRole());
+		});
+		pageCache.invalidateAll();
+		
+		List<Post> created = new ArrayList<>(posts.size());
+		List<DatabaseChange> made = new ArrayList<>(ids.size());
+		for (int i = 0; i < ids.size(); i++) {
+			Post post = posts.get(i);
+			int postID = ids.get(i);
+			created.add(new Post(postID, post.getAuthor(), post.getContent(),
+					post.getAuthorRole()));
+			made.add(new DatabaseChange(DatabaseChange.Kind.CREATED, DatabaseChange.Subject.POST,
+					postID, postID, true));
+		}
+		updateSearchIndex(() -> searchIndex.indexPosts(created));
+		changes.record(made);
+		return ids;
 	}
 
+
 	
 	// return a Post object if found, null if not found
 	 
@@ -200,8 +408,16 @@ public class Database {
 	    // SQL query to select all columns from Post table where id matches
 	    String query = "SELECT * FROM Post WHERE id = ?";
 	    
+	    // Answer from memory when this post was read recently
+	    Post cached = postCache.get(postID);
+	    if (cached != null) return copyOf(cached);
+	    
+	    // A write that lands while the query runs keeps the row it read out of the cache
+	    long generation = postCache.getGeneration();
+	    
 	    // try-with-resources automatically closes PreparedStatement when done
-	    try (PreparedStatement pstmt = connection.prepareStatement(query)) {
+	    try (Connection connection = pool.getConnection();
+	    		PreparedStatement pstmt = connection.prepareStatement(query)) {
 	        
 	        // Set the ? placeholder to the postID we're looking for
 	        pstmt.setInt(1, postID);
@@ -211,13 +427,15 @@ public class Database {
 	        
 	        // Check if we found a matching row (next() returns true if row exists)
 	        if (rs.next()) {
-	            // Create and return a new Post object with data from the database
-	            return new Post(
+	            // Create a new Post object with data from the database, cache it, and return a copy
+	            Post post = new Post(
 	                rs.getInt("id"),              // Get the id column as an integer
 	                rs.getString("author"),       // Get the author column as a String
 	                rs.getString("content"),      // Get the content column as a String
 	                rs.getString("authorRole")    // Get the authorRole column as a String
 	            );
+	            postCache.putIfCurrent(postID, post, generation);
+	            return copyOf(post);
 	        }
 	    } catch (SQLException e) {
 	        // Print error details if something goes wrong
@@ -241,8 +459,10 @@ public class Database {
 	    // No WHERE clause means we get everything
 	    String query = "SELECT * FROM Post";
 	    
+	    // Not cached: keeping and copying the whole table would cost heap in proportion to it
 	    // try-with-resources ensures PreparedStatement is closed automatically
-	    try (PreparedStatement pstmt = connection.prepareStatement(query)) {
+	    try (Connection connection = pool.getConnection();
+	    		PreparedStatement pstmt = connection.prepareStatement(query)) {
 	        
 	        // Execute the query and get back all matching rows
 	        ResultSet rs = pstmt.executeQuery();
@@ -270,6 +490,258 @@ public class Database {
 	    return posts;
 	}
 
+	/*******
+	 * <p> Method: getPostsPage(int cursorID, int limit, PageDirection direction) </p>
+	 *
+	 * <p> Description: Returns one page of posts next to a cursor post id.  This is a keyset
+	 * (seek) query: the WHERE clause starts the primary key index scan at the cursor and the LIMIT
+	 * stops it after one page, so the cost of a page does not grow with the size of the Post
+	 * table the way an OFFSET or a full getAllPosts() would.</p>
+	 *
+	 * <p> To read from the start use FORWARD with a cursor of 0, then pass the id of the last post
+	 * on a page to get the page after it.  To read from the end use BACKWARD with a cursor of
+	 * Integer.MAX_VALUE, then pass the id of the first post on a page to get the page before it.
+	 * </p>
+	 *
+	 * @param cursorID is the post id the page starts after (FORWARD) or ends before (BACKWARD)
+	 *
+	 * @param limit is the largest number of posts to return
+	 *
+	 * @param direction is which side of the cursor the page comes from
+	 *
+	 * @return up to limit posts in ascending id order; fewer than limit means there are no more
+	 *
+	 * @throws SQLException when the page cannot be read, so a short page is never a failure
+	 */
+	public List<Post> getPostsPage(int cursorID, int limit, PageDirection direction)
+			throws SQLException {
+	    List<Post> posts = new ArrayList<>();
+
+	    // Answer from memory when this page was read recently
+	    String key = direction + ":" + cursorID + ":" + limit;
+	    List<Post> cached = pageCache.get(key);
+	    if (cached != null) return copyOfPosts(cached);
+	    long generation = pageCache.getGeneration();
+
+	    // Going backward reads the index in descending order, so the page is reversed below
+	    String query = (direction == PageDirection.FORWARD)
+	    		? "SELECT id, author, content, authorRole FROM Post WHERE id > ? ORDER BY id ASC LIMIT ?"
+	    		: "SELECT id, author, content, authorRole FROM Post WHERE id < ? ORDER BY id DESC LIMIT ?";
+
+	    try (Connection connection = pool.getConnection();
+	    		PreparedStatement pstmt = connection.prepareStatement(query)) {
+	        pstmt.setInt(1, cursorID);
+	        pstmt.setInt(2, limit);
+	        ResultSet rs = pstmt.executeQuery();
+	        while (rs.next()) {
+	            posts.add(new Post(
+	                rs.getInt("id"),
+	                rs.getString("author"),
+	                rs.getString("content"),
+	                rs.getString("authorRole")
+	            ));
+	        }
+
+	        if (direction == PageDirection.BACKWARD) Collections.reverse(posts);
+	        pageCache.putIfCurrent(key, copyOfPosts(posts), generation);
+	    }
+	    return posts;
+	}
+
+
+	/*******
+	 * <p> Method: getPostSummaries(int cursorID, int limit, PageDirection direction) </p>
+	 *
+	 * <p> Description: Returns one page of the post list, like getPostsPage, with each post's
+	 * reply count and the id of its newest reply.  The page of posts is chosen first by the same
+	 * keyset scan, and only then joined to Reply and grouped, so the aggregate touches the
+	 * replies of the posts on the page and nothing else.  idx_Reply_postID (postID, id) holds
+	 * everything the COUNT and MAX need, so the replies are counted from the index without
+	 * reading their rows.  The whole page is one statement: a single round trip no matter how
+	 * many replies the threads have.</p>
+	 *
+	 * <p> Unlike pages of posts, summaries are not cached, because every new reply would make
+	 * a cached page wrong.</p>
+	 *
+	 * @param cursorID is the post id the page starts after (FORWARD) or ends before (BACKWARD)
+	 *
+	 * @param limit is the largest number of posts to return
+	 *
+	 * @param direction is which side of the cursor the page comes from
+	 *
+	 * @return up to limit summaries in ascending post id order; fewer than limit means there
+	 * are no more
+	 *
+	 * @throws SQLException when the page cannot be read, so a short page is never a failure
+	 */
+	public List<PostSummary> getPostSummaries(int cursorID, int limit, PageDirection direction)
+			throws SQLException {
+	    List<PostSummary> summaries = new ArrayList<>();
+
+	    // The inner query picks the page; the outer one counts its replies and puts it in order
+	    String page = (direction == PageDirection.FORWARD)
+	    		? "SELECT id, author, content, authorRole FROM Post WHERE id > ? ORDER BY id ASC LIMIT ?"
+	    		: "SELECT id, author, content, authorRole FROM Post WHERE id < ? ORDER BY id DESC LIMIT ?";
+	    String query = "SELECT p.id, p.author, p.content, p.authorRole, "
+	    		+ "COUNT(r.id) AS replyCount, COALESCE(MAX(r.id), 0) AS lastReplyID "
+	    		+ "FROM (" + page + ") p LEFT JOIN Reply r ON r.postID = p.id "
+	    		+ "GROUP BY p.id, p.author, p.content, p.authorRole ORDER BY p.id ASC";
+
+	    try (Connection connection = pool.getConnection();
+	    		PreparedStatement pstmt = connection.prepareStatement(query)) {
+	        pstmt.setInt(1, cursorID);
+	        pstmt.setInt(2, limit);
+	        ResultSet rs = pstmt.executeQuery();
+	        while (rs.next()) {
+	            Post post = new Post(
+	                rs.getInt("id"),
+	                rs.getString("author"),
+	                rs.getString("content"),
+	                rs.getString("authorRole")
+	            );
+	            summaries.add(new PostSummary(post, rs.getInt("replyCount"),
+	            		rs.getInt("lastReplyID")));
+	        }
+	    }
+	    return summaries;
+	}
+
+
+	/*******
+	 * <p> Method: getPostSummary(int postID) </p>
+	 *
+	 * <p> Description: Returns the row of the post list for one post, for bringing a row up to
+	 * date after its post or one of its replies has changed.  This is a page of one taken from
+	 * just before the post, so it is the same query as getPostSummaries.</p>
+	 *
+	 * @param postID is the id of the post
+	 *
+	 * @return the post with its reply figures, or null if there is no such post
+	 *
+	 * @throws SQLException when the row cannot be read
+	 */
+	public PostSummary getPostSummary(int postID) throws SQLException {
+	    List<PostSummary> page = getPostSummaries(postID - 1, 1, PageDirection.FORWARD);
+	    if (page.isEmpty() || page.get(0).getPostID() != postID) return null;
+	    return page.get(0);
+	}
+
+
+	/*******
+	 * <p> Method: searchPosts(String query, int offset, int limit) </p>
+	 *
+	 * <p> Description: Full-text search over the text of posts and their replies.  Every word
+	 * of the query is matched on its own, and words of three or more letters also match longer
+	 * words that start with them, so "data" finds "database".  Posts that match more of the
+	 * words, or rarer ones, come first; a match in a reply counts toward its post.  See
+	 * SearchIndex for the details of the ranking.</p>
+	 *
+	 * <p> In MEMORY mode the index is an InvertedIndex, which also understands AND and quoted
+	 * phrases (see SearchQuery); the SQL index used otherwise ranks by the words alone.</p>
+	 *
+	 * <p> Use offset to page through the ranked results: 0 for the first page, then the number
+	 * of results already shown.</p>
+	 *
+	 * @param query is the text typed by the user
+	 *
+	 * @param offset is the number of ranked posts to skip
+	 *
+	 * @param limit is the largest number of posts to return
+	 *
+	 * @return up to limit results, best first; fewer than limit means there are no more
+	 *
+	 * @throws SQLException when the index or the posts cannot be read
+	 */
+	public List<SearchResult> searchPosts(String query, int offset, int limit)
+			throws SQLException {
+	    List<SearchResult> results = new ArrayList<>();
+	    List<SearchHit> hits = searchIndex.search(query, offset, limit);
+	    List<Integer> postIDs = new ArrayList<>(hits.size());
+	    for (SearchHit hit : hits) postIDs.add(hit.postID);
+	    Map<Integer, Post> posts = getPosts(postIDs);
+	    for (SearchHit hit : hits) {
+	        Post post = posts.get(hit.postID);
+	        if (post != null) results.add(new SearchResult(post, hit.score, hit.matchingReplies));
+	    }
+	    return results;
+	}
+
+
+	/*
+	 * Read many posts by id: those in the post cache come from there and the rest are read
+	 * with one query, rather than one getPost per id.  A post that no longer exists is left
+	 * out of the map.
+	 */
+	private Map<Integer, Post> getPosts(List<Integer> postIDs) throws SQLException {
+	    Map<Integer, Post> posts = new HashMap<>();
+	    List<Integer> missing = new ArrayList<>();
+	    for (int postID : postIDs) {
+	        Post cached = postCache.get(postID);
+	        if (cached != null) posts.put(postID, copyOf(cached));
+	        else missing.add(postID);
+	    }
+	    if (missing.isEmpty()) return posts;
+
+	    long generation = postCache.getGeneration();
+	    // Joined like getExistingUserNames: one index probe per id
+	    String query = "SELECT p.id, p.author, p.content, p.authorRole FROM UNNEST(?) AS t(id) "
+	    		+ "JOIN Post p ON p.id = t.id";
+	    try (Connection connection = pool.getConnection();
+	    		PreparedStatement pstmt = connection.prepareStatement(query)) {
+	        Array ids = connection.createArrayOf("INTEGER", missing.toArray());
+	        try {
+	            pstmt.setArray(1, ids);
+	            try (ResultSet rs = pstmt.executeQuery()) {
+	                while (rs.next()) {
+	                    Post post = new Post(rs.getInt(1), rs.getString(2), rs.getString(3),
+	                    		rs.getString(4));
+	                    postCache.putIfCurrent(post.getPostID(), post, generation);
+	                    posts.put(post.getPostID(), copyOf(post));
+	                }
+	            }
+	        } finally {
+	            ids.free();
+	        }
+	    }
+	    return posts;
+	}
+
+
+	/*******
+	 * <p> Method: getSearchIndexStatistics() </p>
+	 *
+	 * <p> Description: Describes the full-text index behind searchPosts.  For an in-memory
+	 * database this includes the estimated heap the index uses per indexed post.</p>
+	 *
+	 * @return a few lines for logging
+	 */
+	public String getSearchIndexStatistics() throws SQLException {
+	    return searchIndex.getStatistics();
+	}
+
+
+	/*
+	 * A change to the search index that follows a committed write
+	 */
+	private interface IndexUpdate {
+		void run() throws SQLException;
+	}
+
+
+	/*
+	 * The write has already been committed, so a failure to index it is reported rather than
+	 * turned into a failure of the write itself.  Call this only after the write's connection
+	 * has been closed: the SQL index borrows its own connection from the pool, and a thread
+	 * that holds one connection while it waits for another can leave every thread waiting.
+	 */
+	private void updateSearchIndex(IndexUpdate update) {
+		try {
+			update.run();
+		} catch (SQLException e) {
+			e.printStackTrace();
+		}
+	}
+
 	
 
 	
@@ -279,8 +751,10 @@ public class Database {
 	public boolean updatePost(int postID, String content) throws SQLException {
 	    // SQL UPDATE statement - sets content field to new value for specific post
 	    String updatePost = "UPDATE Post SET content = ? WHERE id = ?";
+	    boolean updated = false;
 	    
-	    try (PreparedStatement pstmt = connection.prepareStatement(updatePost)) {
+	    try (Connection connection = pool.getConnection();
+	    		PreparedStatement pstmt = connection.prepareStatement(updatePost)) {
 	        // Set first ? to the new content
 	        pstmt.setString(1, content);
 	        
@@ -290,49 +764,38 @@ public class Database {
 	        // Execute the update and get number of rows affected
 	        int rowsUpdated = pstmt.executeUpdate();
 	        
-	        // If at least one row was updated, return true (success)
+	        // Drop the cached copies of this post
+	        postCache.invalidate(postID);
+	        pageCache.invalidateAll();
+	        
 	        // If rowsUpdated is 0, the post ID probably doesn't exist
-	        return rowsUpdated > 0;
+	        updated = rowsUpdated > 0;
 	    } catch (SQLException e) {
 	        // Print error and fall through to return false
 	        e.printStackTrace();
 	    }
 	    
-	    // If we get here, update failed - return false
-	    return false;
+	    // Reindex the post's text and report the change once the connection is back in the pool
+	    if (updated) {
+	    	updateSearchIndex(() -> searchIndex.indexPost(postID, content));
+	    	changes.record(DatabaseChange.Kind.UPDATED, DatabaseChange.Subject.POST, postID, postID);
+	    }
+	    return updated;
 	}
 
 	/*******
 	 * <p> Method: deletePost(int postID) </p>
+	 * 
+	 * <p> Description: Delete a post and all of its replies.  The Reply foreign key cascades, so
+	 * one DELETE removes both in a single transaction.</p>
+	 * 
+	 * @param postID is the id of the post to delete
+	 * 
+	 * @return true if the post existed and was deleted
 	 */
 	public boolean deletePost(int postID) throws SQLException {
 	    try {
-	        // STEP 1: Delete all replies associated with this post
-	        // This must happen first due to foreign key constraints
-	        String deleteReplies = "DELETE FROM Reply WHERE postID = ?";
-	        
-	        try (PreparedStatement pstmt = connection.prepareStatement(deleteReplies)) {
-	            // Set the ? to the post ID whose replies we want to delete
-	            pstmt.setInt(1, postID);
-	            
-	            // Execute the delete - we don't care how many replies were deleted
-	            pstmt.executeUpdate();
-	        }
-	        
-	        // STEP 2: Now delete the post itself
-	        // This is safe now because all its replies are gone
-	        String deletePost = "DELETE FROM Post WHERE id = ?";
-	        
-	        try (PreparedStatement pstmt = connection.prepareStatement(deletePost)) {
-	            // Set the ? to the post ID we want to delete
-	            pstmt.setInt(1, postID);
-	            
-	            // Execute delete and get number of rows deleted
-	            int rowsDeleted = pstmt.executeUpdate();
-	            
-	            // If at least one row (the post) was deleted, return true
-	            return rowsDeleted > 0;
-	        }
+	        return deletePosts(List.of(postID)) > 0;
 	    } catch (SQLException e) {
 	        // If anything goes wrong, print error and return false
 	        e.printStackTrace();
@@ -341,6 +804,101 @@ public class Database {
 	    // If we get here, deletion failed
 	    return false;
 	}
+	
+	
+	/*******
+	 * <p> Method: deletePosts(Collection&lt;Integer&gt; postIDs) </p>
+	 * 
+	 * <p> Description: Delete many posts, and through the cascading foreign key all of their
+	 * replies, in one transaction.  This is meant for moderators purging spam threads.  Either
+	 * every listed post is deleted or, if anything fails, none is.  Ids that do not exist are
+	 * skipped.</p>
+	 * 
+	 * @param postIDs are the ids of the posts to delete
+	 * 
+	 * @return the number of posts deleted
+	 * 
+	 * @throws SQLException if the delete fails, in which case nothing is deleted
+	 */
+	public int deletePosts(Collection<Integer> postIDs) throws SQLException {
+		if (postIDs.isEmpty()) return 0;
+		String deletePost = "DELETE FROM Post WHERE id = ?";
+		List<Integer> deleted = new ArrayList<>();
+		
+		try (Connection connection = pool.getConnection()) {
+			connection.setAutoCommit(false);
+			try (PreparedStatement pstmt = connection.prepareStatement(deletePost)) {
+				// The cascade takes these replies with the posts
+				List<Integer> replyIDs = getReplyIDs(connection, postIDs);
+				
+				List<Integer> chunk = new ArrayList<>(BATCH_CHUNK_SIZE);
+				for (int postID : postIDs) {
+					pstmt.setInt(1, postID);
+					pstmt.addBatch();
+					chunk.add(postID);
+					if (chunk.size() == BATCH_CHUNK_SIZE) {
+						keepDeleted(chunk, pstmt.executeBatch(), deleted);
+						chunk.clear();
+					}
+				}
+				if (!chunk.isEmpty()) keepDeleted(chunk, pstmt.executeBatch(), deleted);
+				connection.commit();
+				
+				// The posts and, through the cascade, their replies are gone
+				for (int postID : deleted) {
+					postCache.invalidate(postID);
+					repliesByPostCache.invalidate(postID);
+				}
+				for (int replyID : replyIDs) replyCache.invalidate(replyID);
+				if (!deleted.isEmpty()) pageCache.invalidateAll();
+			} catch (SQLException | RuntimeException e) {
+				connection.rollback();
+				throw e;
+			} finally {
+				connection.setAutoCommit(true);
+			}
+		}
+		if (deleted.isEmpty()) return 0;
+		
+		// Drop the posts' search terms and report the change once the connection is back in the
+		// pool.  Only the posts that existed are reported
+		updateSearchIndex(() -> searchIndex.removePosts(deleted));
+		List<DatabaseChange> made = new ArrayList<>(deleted.size());
+		for (int postID : deleted) made.add(new DatabaseChange(
+				DatabaseChange.Kind.DELETED, DatabaseChange.Subject.POST, postID, postID, true));
+		changes.record(made);
+		return deleted.size();
+	}
+	
+	
+	/*
+	 * The ids of the replies to these posts, read through idx_Reply_postID
+	 */
+	private static List<Integer> getReplyIDs(Connection connection, Collection<Integer> postIDs)
+			throws SQLException {
+		List<Integer> replyIDs = new ArrayList<>();
+		String query = "SELECT r.id FROM UNNEST(?) AS t(postID) JOIN Reply r ON r.postID = t.postID";
+		try (PreparedStatement pstmt = connection.prepareStatement(query)) {
+			Array ids = connection.createArrayOf("INTEGER", postIDs.toArray());
+			try {
+				pstmt.setArray(1, ids);
+				try (ResultSet rs = pstmt.executeQuery()) {
+					while (rs.next()) replyIDs.add(rs.getInt(1));
+				}
+			} finally {
+				ids.free();
+			}
+		}
+		return replyIDs;
+	}
+	
+	
+	/*
+	 * Add to deleted the ids of a batch whose update count shows a row was removed
+	 */
+	private static void keepDeleted(List<Integer> chunk, int[] counts, List<Integer> deleted) {
+		for (int i = 0; i < counts.length; i++) if (counts[i] > 0) deleted.add(chunk.get(i));
+	}
 
 	// ========== REPLY CRUD OPERATIONS ==========
 
@@ -352,8 +910,12 @@ public class Database {
 	    // SQL INSERT with 4 parameters - note we're adding authorRole
 	    String insertReply = "INSERT INTO Reply (postID, author, content, authorRole) VALUES (?, ?, ?, ?)";
 	    
+	    // The new reply's id, or -1 if the insert failed
+	    int replyID = -1;
+	    
 	    // Request generated keys so we can return the new reply's ID
-	    try (PreparedStatement pstmt = connection.prepareStatement(insertReply,
+	    try (Connection connection = pool.getConnection();
+	    		PreparedStatement pstmt = connection.prepareStatement(insertReply,
 	            Statement.RETURN_GENERATED_KEYS)) {
 	        
 	        // Set parameter 1: which post this reply belongs to
@@ -371,25 +933,145 @@ public class Database {
 	        // Execute the INSERT
 	        int rowsInserted = pstmt.executeUpdate();
 	        
+	        // The cached reply list for this post is now missing this one
+	        repliesByPostCache.invalidate(postID);
+	        
 	        // If insert succeeded
 	        if (rowsInserted > 0) {
 	            // Get the auto-generated reply ID
 	            ResultSet generatedKeys = pstmt.getGeneratedKeys();
 	            
-	            // If we got a generated key back
-	            if (generatedKeys.next()) {
-	                // Return the new reply's ID
-	                return generatedKeys.getInt(1);
-	            }
+	            // If we got a generated key back, remember the new reply's ID
+	            if (generatedKeys.next()) replyID = generatedKeys.getInt(1);
 	        }
 	    } catch (SQLException e) {
 	        e.printStackTrace();
 	    }
 	    
-	    // If we get here, creation failed
-	    return -1;
+	    // If we get here with -1, creation failed
+	    if (replyID < 0) return -1;
+	    
+	    // Make the reply searchable and report it now that the connection is back in the pool
+	    int created = replyID;
+	    updateSearchIndex(() -> searchIndex.indexReply(created, postID, content));
+	    changes.record(DatabaseChange.Kind.CREATED, DatabaseChange.Subject.REPLY, replyID, postID);
+	    return replyID;
+	}
+
+	/*******
+	 * <p> Method: createRepliesBatch(List&lt;Reply&gt; replies) </p>
+	 * 
+	 * <p> Description: Insert many replies at once, BATCH_CHUNK_SIZE rows per round trip.  See
+	 * createRepliesBatch(List, int).</p>
+	 * 
+	 * @param replies are the replies to insert; their ids are ignored
+	 * 
+	 * @return the generated reply ids, in the same order as the replies
+	 * 
+	 * @throws SQLException if any insert fails, in which case none of the replies are kept
+	 */
+	public List<Integer> createRepliesBatch(List<Reply> replies) throws SQLException {
+		return createRepliesBatch(replies, BATCH_CHUNK_SIZE);
+	}
+	
+	
+	/*******
+	 * <p> Method: createRepliesBatch(List&lt;Reply&gt; replies, int chunkSize) </p>
+	 * 
+	 * <p> Description: Insert many replies in a single transaction using JDBC batching.  Every
+	 * reply's post must already exist.  Either every reply is inserted or none is.</p>
+	 * 
+	 * @param replies are the replies to insert; their ids are ignored
+	 * 
+	 * @param chunkSize is the number of rows sent per executeBatch call
+	 * 
+	 * @return the generated reply ids, in the same order as the replies
+	 * 
+	 * @throws SQLException if any insert fails, in which case none of the replies are kept
+	 */
+	public List<Integer> createRepliesBatch(List<Reply> replies, int chunkSize)
+			throws SQLException {
+		String insertReply = "INSERT INTO Reply (postID, author, content, authorRole) "
+				+ "VALUES (?, ?, ?, ?)";
+		List<Integer> ids = insertBatch(insertReply, replies, chunkSize, (pstmt, reply) -> {
+			pstmt.setInt(1, reply.getPostID());
+			pstmt.setString(2, reply.getAuthor());
+			pstmt.setString(3, reply.getContent());
+			pstmt.setString(4, reply.getAuthorRole());
+		});
+		for (Reply reply : replies) repliesByPostCache.invalidate(reply.getPostID());
+		
+		List<Reply> created = new ArrayList<>(replies.size());
+		List<DatabaseChange> made = new ArrayList<>(ids.size());
+		for (int i = 0; i < ids.size(); i++) {
+			Reply reply = replies.get(i);
+			created.add(new Reply(ids.get(i), reply.getPostID(), reply.getAuthor(),
+					reply.getContent(), reply.getAuthorRole()));
+			made.add(new DatabaseChange(DatabaseChange.Kind.CREATED, DatabaseChange.Subject.REPLY,
+					ids.get(i), reply.getPostID(), true));
+		}
+		updateSearchIndex(() -> searchIndex.indexReplies(created));
+		changes.record(made);
+		return ids;
+	}
+	
+	
+	/*
+	 * Sets the parameters of an INSERT for one row
+	 */
+	private interface RowBinder<T> {
+		void bind(PreparedStatement pstmt, T row) throws SQLException;
+	}
+	
+	
+	/*
+	 * Run one INSERT for every row as JDBC batches of chunkSize rows in one transaction and
+	 * collect the generated ids.  Any failure rolls the whole transaction back.
+	 */
+	private <T> List<Integer> insertBatch(String insert, List<T> rows, int chunkSize,
+			RowBinder<T> binder) throws SQLException {
+		if (chunkSize < 1) throw new IllegalArgumentException("chunkSize must be at least 1");
+		List<Integer> ids = new ArrayList<>(rows.size());
+		if (rows.isEmpty()) return ids;
+		
+		try (Connection connection = pool.getConnection()) {
+			connection.setAutoCommit(false);
+			try (PreparedStatement pstmt = connection.prepareStatement(insert,
+					Statement.RETURN_GENERATED_KEYS)) {
+				int pending = 0;
+				for (T row : rows) {
+					binder.bind(pstmt, row);
+					pstmt.addBatch();
+					if (++pending == chunkSize) {
+						executeChunk(pstmt, ids);
+						pending = 0;
+					}
+				}
+				if (pending > 0) executeChunk(pstmt, ids);
+				connection.commit();
+			} catch (SQLException | RuntimeException e) {
+				connection.rollback();
+				throw e;
+			} finally {
+				connection.setAutoCommit(true);
+			}
+		}
+		return ids;
+	}
+	
+	
+	/*
+	 * Send the batched rows and add the ids the database generated for them
+	 */
+	private static void executeChunk(PreparedStatement pstmt, List<Integer> ids)
+			throws SQLException {
+		pstmt.executeBatch();
+		try (ResultSet keys = pstmt.getGeneratedKeys()) {
+			while (keys.next()) ids.add(keys.getInt(1));
+		}
 	}
 
+
 	/*******
 	 * <p> Method: getReply(int replyID) </p>
 	 * 
@@ -399,7 +1081,13 @@ public class Database {
 	    // SQL query to get all columns for a specific reply
 	    String query = "SELECT * FROM Reply WHERE id = ?";
 	    
-	    try (PreparedStatement pstmt = connection.prepareStatement(query)) {
+	    // Answer from memory when this reply was read recently
+	    Reply cached = replyCache.get(replyID);
+	    if (cached != null) return copyOf(cached);
+	    long generation = replyCache.getGeneration();
+	    
+	    try (Connection connection = pool.getConnection();
+	    		PreparedStatement pstmt = connection.prepareStatement(query)) {
 	        // Set the reply ID we're looking for
 	        pstmt.setInt(1, replyID);
 	        
@@ -408,14 +1096,16 @@ public class Database {
 	        
 	        // If we found the reply
 	        if (rs.next()) {
-	            // Create and return a Reply object with all the data including role
-	            return new Reply(
+	            // Create a Reply object with all the data including role, cache it, return a copy
+	            Reply reply = new Reply(
 	                rs.getInt("id"),              // Reply's unique ID
 	                rs.getInt("postID"),          // ID of post this reply belongs to
 	                rs.getString("author"),       // Username of reply author
 	                rs.getString("content"),      // Reply text
 	                rs.getString("authorRole")    // Role of author
 	            );
+	            replyCache.putIfCurrent(replyID, reply, generation);
+	            return copyOf(reply);
 	        }
 	    } catch (SQLException e) {
 	        e.printStackTrace();
@@ -435,9 +1125,15 @@ public class Database {
 	    List<Reply> replies = new ArrayList<>();
 	    
 	    // SQL query with WHERE clause to filter by post ID
-	    String query = "SELECT * FROM Reply WHERE postID = ?";
+	    String query = "SELECT * FROM Reply WHERE postID = ? ORDER BY id";
 	    
-	    try (PreparedStatement pstmt = connection.prepareStatement(query)) {
+	    // Answer from memory when this post's replies were read recently
+	    List<Reply> cached = repliesByPostCache.get(postID);
+	    if (cached != null) return copyOfReplies(cached);
+	    long generation = repliesByPostCache.getGeneration();
+	    
+	    try (Connection connection = pool.getConnection();
+	    		PreparedStatement pstmt = connection.prepareStatement(query)) {
 	        // Set which post's replies we want
 	        pstmt.setInt(1, postID);
 	        
@@ -458,6 +1154,7 @@ public class Database {
 	            // Add to list
 	            replies.add(reply);
 	        }
+	        repliesByPostCache.putIfCurrent(postID, copyOfReplies(replies), generation);
 	    } catch (SQLException e) {
 	        e.printStackTrace();
 	    }
@@ -467,6 +1164,42 @@ public class Database {
 	}
 
 
+	/*
+	 * Remove a reply from the caches.  If the reply is cached we know which post's list to drop;
+	 * otherwise every cached reply list is dropped, since any of them could hold it.
+	 */
+	private void invalidateReply(int replyID) {
+		Reply cached = replyCache.remove(replyID);
+		if (cached != null) repliesByPostCache.invalidate(cached.getPostID());
+		else repliesByPostCache.invalidateAll();
+	}
+	
+	
+	/*
+	 * Posts and replies have setters, so the caches hold their own copies and hand out copies
+	 */
+	private static Post copyOf(Post p) {
+		return new Post(p.getPostID(), p.getAuthor(), p.getContent(), p.getAuthorRole());
+	}
+	
+	private static Reply copyOf(Reply r) {
+		return new Reply(r.getReplyID(), r.getPostID(), r.getAuthor(), r.getContent(),
+				r.getAuthorRole());
+	}
+	
+	private static List<Post> copyOfPosts(List<Post> posts) {
+		List<Post> copy = new ArrayList<>(posts.size());
+		for (Post p : posts) copy.add(copyOf(p));
+		return copy;
+	}
+	
+	private static List<Reply> copyOfReplies(List<Reply> replies) {
+		List<Reply> copy = new ArrayList<>(replies.size());
+		for (Reply r : replies) copy.add(copyOf(r));
+		return copy;
+	}
+
+
 	/*******
 	 * <p> Method: getAllReplies() </p>
 	 * 
@@ -479,7 +1212,8 @@ public class Database {
 	    // SQL query to get ALL replies - no WHERE clause means get everything
 	    String query = "SELECT * FROM Reply";
 	    
-	    try (PreparedStatement pstmt = connection.prepareStatement(query)) {
+	    try (Connection connection = pool.getConnection();
+	    		PreparedStatement pstmt = connection.prepareStatement(query)) {
 	        // Execute the query - no parameters to set since we want all replies
 	        ResultSet rs = pstmt.executeQuery();
 	        
@@ -514,7 +1248,13 @@ public class Database {
 	    // SQL UPDATE statement - changes content for a specific reply
 	    String updateReply = "UPDATE Reply SET content = ? WHERE id = ?";
 	    
-	    try (PreparedStatement pstmt = connection.prepareStatement(updateReply)) {
+	    // The post the reply belongs to, read on the same connection; 0 until it is known
+	    String findPost = "SELECT postID FROM Reply WHERE id = ?";
+	    boolean updated = false;
+	    int postID = 0;
+	    
+	    try (Connection connection = pool.getConnection();
+	    		PreparedStatement pstmt = connection.prepareStatement(updateReply)) {
 	        // Set first ? to the new content text
 	        pstmt.setString(1, content);
 	        
@@ -524,15 +1264,33 @@ public class Database {
 	        // Execute the update and get number of rows affected
 	        int rowsUpdated = pstmt.executeUpdate();
 	        
-	        // Return true if at least one row was updated
-	        // If 0 rows updated, the reply ID probably doesn't exist
-	        return rowsUpdated > 0;
+	        // Drop the cached copies of this reply and of its post's reply list
+	        invalidateReply(replyID);
+	        
+	        // The reply's post id comes from the row just written
+	        if (rowsUpdated > 0) {
+	            updated = true;
+	            try (PreparedStatement find = connection.prepareStatement(findPost)) {
+	                find.setInt(1, replyID);
+	                try (ResultSet rs = find.executeQuery()) {
+	                    if (rs.next()) postID = rs.getInt(1);
+	                }
+	            }
+	        }
 	    } catch (SQLException e) {
 	        e.printStackTrace();
 	    }
 	    
-	    // Update failed
-	    return false;
+	    // Reindex the reply's text and report the change once the connection is back in the pool
+	    int owner = postID;
+	    if (owner != 0) {
+	    	updateSearchIndex(() -> searchIndex.indexReply(replyID, owner, content));
+	    	changes.record(DatabaseChange.Kind.UPDATED, DatabaseChange.Subject.REPLY, replyID,
+	    			owner);
+	    }
+	    
+	    // If 0 rows were updated, the reply ID probably doesn't exist
+	    return updated;
 	}
 
 	/*******
@@ -542,21 +1300,35 @@ public class Database {
 	    // SQL DELETE statement - removes one reply by ID
 	    String deleteReply = "DELETE FROM Reply WHERE id = ?";
 	    
-	    try (PreparedStatement pstmt = connection.prepareStatement(deleteReply)) {
+	    // Which post the reply belongs to is needed to report the change; read it first
+	    Reply doomed = getReply(replyID);
+	    boolean deleted = false;
+	    
+	    try (Connection connection = pool.getConnection();
+	    		PreparedStatement pstmt = connection.prepareStatement(deleteReply)) {
 	        // Set the ? to the ID of reply we want to delete
 	        pstmt.setInt(1, replyID);
 	        
 	        // Execute the delete and get number of rows deleted
 	        int rowsDeleted = pstmt.executeUpdate();
 	        
-	        // Return true if at least one row (the reply) was deleted
-	        return rowsDeleted > 0;
+	        // Drop the cached copies of this reply and of its post's reply list
+	        invalidateReply(replyID);
+	        
+	        // True if at least one row (the reply) was deleted
+	        deleted = rowsDeleted > 0;
 	    } catch (SQLException e) {
 	        e.printStackTrace();
 	    }
 	    
-	    // Deletion failed
-	    return false;
+	    // Drop the reply's search terms and report the change once the connection is back in the
+	    // pool
+	    if (deleted) {
+	    	updateSearchIndex(() -> searchIndex.removeReply(replyID));
+	    	if (doomed != null) changes.record(DatabaseChange.Kind.DELETED,
+	    			DatabaseChange.Subject.REPLY, replyID, doomed.getPostID());
+	    }
+	    return deleted;
 	}
 
 	// ========== END OF CRUD OPERATIONS ==========
@@ -571,7 +1343,8 @@ public class Database {
  */
 	public boolean isDatabaseEmpty() {
 		String query = "SELECT COUNT(*) AS count FROM userDB";
-		try {
+		try (Connection connection = pool.getConnection();
+				Statement statement = connection.createStatement()) {
 			ResultSet resultSet = statement.executeQuery(query);
 			if (resultSet.next()) {
 				return resultSet.getInt("count") == 0;
@@ -593,7 +1366,8 @@ public class Database {
  */
 	public int getNumberOfUsers() {
 		String query = "SELECT COUNT(*) AS count FROM userDB";
-		try {
+		try (Connection connection = pool.getConnection();
+				Statement statement = connection.createStatement()) {
 			ResultSet resultSet = statement.executeQuery(query);
 			if (resultSet.next()) {
 				return resultSet.getInt("count");
@@ -603,55 +1377,130 @@ public class Database {
 	    }
 		return 0;
 	}
-
+
+/*******
+ * <p> Method: register(User user) </p>
+ * 
+ * <p> Description: Creates a new row in the database using the user parameter. </p>
+ * 
+ * @throws SQLException when there is an issue creating the SQL command or executing it.
+ * 
+ * @param user specifies a user object to be added to the database.
+ * 
+ */
+	public void register(User user) throws SQLException {
+		String insertUser = "INSERT INTO userDB (userName, password, firstName, middleName, "
+				+ "lastName, preferredFirstName, emailAddress, adminRole, newRole1, newRole2) "
+				+ "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+		try (Connection connection = pool.getConnection();
+				PreparedStatement pstmt = connection.prepareStatement(insertUser)) {
+			pstmt.setString(1, user.getUserName());
+			pstmt.setString(2, user.getPassword());
+			pstmt.setString(3, user.getFirstName());
+			pstmt.setString(4, user.getMiddleName());
+			pstmt.setString(5, user.getLastName());
+			pstmt.setString(6, user.getPreferredFirstName());
+			pstmt.setString(7, user.getEmailAddress());
+			pstmt.setBoolean(8, user.getAdminRole());
+			pstmt.setBoolean(9, user.getNewRole1());
+			pstmt.setBoolean(10, user.getNewRole2());
+			
+			pstmt.executeUpdate();
+			userCache.invalidate(user.getUserName());
+		}
+		
+	}
+	
+	
+/*******
+ * <p> Method: int registerBatch(List&lt;User&gt; users) </p>
+ * 
+ * <p> Description: Creates a row for every user in a single transaction using JDBC batching,
+ * 		BATCH_CHUNK_SIZE rows per round trip, so either every account is created or none is.
+ * 		</p>
+ * 
+ * @param users specifies the user objects to be added to the database
+ * 
+ * @return the number of accounts created
+ * 
+ * @throws SQLException when any insert fails, such as for a userName that is already taken
+ * 
+ */
+	public int registerBatch(List<User> users) throws SQLException {
+		String insertUser = "INSERT INTO userDB (userName, password, firstName, middleName, "
+				+ "lastName, preferredFirstName, emailAddress, adminRole, newRole1, newRole2) "
+				+ "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+		List<Integer> ids = insertBatch(insertUser, users, BATCH_CHUNK_SIZE, (pstmt, user) -> {
+			pstmt.setString(1, user.getUserName());
+			pstmt.setString(2, user.getPassword());
+			pstmt.setString(3, user.getFirstName());
+			pstmt.setString(4, user.getMiddleName());
+			pstmt.setString(5, user.getLastName());
+			pstmt.setString(6, user.getPreferredFirstName());
+			pstmt.setString(7, user.getEmailAddress());
+			pstmt.setBoolean(8, user.getAdminRole());
+			pstmt.setBoolean(9, user.getNewRole1());
+			pstmt.setBoolean(10, user.getNewRole2());
+		});
+		for (User user : users) userCache.invalidate(user.getUserName());
+		return ids.size();
+	}
+	
+	
+/*******
+ * <p> Method: Set&lt;String&gt; getExistingUserNames(Collection&lt;String&gt; userNames) </p>
+ * 
+ * <p> Description: Find which of many userNames are already taken with one query that hands
+ * 		the whole set to the database as an array, rather than one doesUserExist per name.</p>
+ * 
+ * @param userNames are the userNames to look for
+ * 
+ * @return the userNames that already have an account
+ * 
+ * @throws SQLException when the query fails
+ * 
+ */
+	public Set<String> getExistingUserNames(Collection<String> userNames) throws SQLException {
+		Set<String> existing = new HashSet<>();
+		if (userNames.isEmpty()) return existing;
+		// Joining the array to userDB probes the userName index once per name; = ANY(?) would
+		// compare every row with the whole array instead
+		String query = "SELECT u.userName FROM UNNEST(?) AS t(name) "
+				+ "JOIN userDB u ON u.userName = t.name";
+		try (Connection connection = pool.getConnection();
+				PreparedStatement pstmt = connection.prepareStatement(query)) {
+			Array names = connection.createArrayOf("VARCHAR", userNames.toArray());
+			try {
+				pstmt.setArray(1, names);
+				try (ResultSet rs = pstmt.executeQuery()) {
+					while (rs.next()) existing.add(rs.getString(1));
+				}
+			} finally {
+				names.free();
+			}
+		}
+		return existing;
+	}
+	
+	
 /*******
- * <p> Method: register(User user) </p>
+ * <p> Method: AccountImportReport importAccounts(Reader in) </p>
  * 
- * <p> Description: Creates a new row in the database using the user parameter. </p>
+ * <p> Description: Create accounts in bulk from a CSV or JSON file.  Rows that fail validation
+ * 		or name a userName that is taken are left out and listed in the report; the rest are
+ * 		created together.  See AccountImport for the file formats.</p>
  * 
- * @throws SQLException when there is an issue creating the SQL command or executing it.
+ * @param in supplies the file; it is read once, from start to end, and not closed
  * 
- * @param user specifies a user object to be added to the database.
+ * @return the number of rows read and accounts created, and an error for each row left out
+ * 
+ * @throws IOException when the file cannot be read or is not CSV or JSON of the expected shape
+ * 
+ * @throws SQLException when the accounts cannot be created, in which case none are
  * 
  */
-	public void register(User user) throws SQLException {
-		String insertUser = "INSERT INTO userDB (userName, password, firstName, middleName, "
-				+ "lastName, preferredFirstName, emailAddress, adminRole, newRole1, newRole2) "
-				+ "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
-		try (PreparedStatement pstmt = connection.prepareStatement(insertUser)) {
-			currentUsername = user.getUserName();
-			pstmt.setString(1, currentUsername);
-			
-			currentPassword = user.getPassword();
-			pstmt.setString(2, currentPassword);
-			
-			currentFirstName = user.getFirstName();
-			pstmt.setString(3, currentFirstName);
-			
-			currentMiddleName = user.getMiddleName();			
-			pstmt.setString(4, currentMiddleName);
-			
-			currentLastName = user.getLastName();
-			pstmt.setString(5, currentLastName);
-			
-			currentPreferredFirstName = user.getPreferredFirstName();
-			pstmt.setString(6, currentPreferredFirstName);
-			
-			currentEmailAddress = user.getEmailAddress();
-			pstmt.setString(7, currentEmailAddress);
-			
-			currentAdminRole = user.getAdminRole();
-			pstmt.setBoolean(8, currentAdminRole);
-			
-			currentNewRole1 = user.getNewRole1();
-			pstmt.setBoolean(9, currentNewRole1);
-			
-			currentNewRole2 = user.getNewRole2();
-			pstmt.setBoolean(10, currentNewRole2);
-			
-			pstmt.executeUpdate();
-		}
-		
+	public AccountImportReport importAccounts(Reader in) throws IOException, SQLException {
+		return new AccountImport(this).run(in);
 	}
 	
 /*******
@@ -666,7 +1515,8 @@ public class Database {
 		List<String> userList = new ArrayList<String>();
 		userList.add("<Select a User>");
 		String query = "SELECT userName FROM userDB";
-		try (PreparedStatement pstmt = connection.prepareStatement(query)) {
+		try (Connection connection = pool.getConnection();
+				PreparedStatement pstmt = connection.prepareStatement(query)) {
 			ResultSet rs = pstmt.executeQuery();
 			while (rs.next()) {
 				userList.add(rs.getString("userName"));
@@ -678,6 +1528,44 @@ public class Database {
 		return userList;
 	}
 
+/*******
+ * <p> Method: User authenticate(String username, String password) </p>
+ * 
+ * <p> Description: Check a username and password and load the account, roles included, with a
+ * 		single lookup on the userName index.  This is the whole login check; the caller decides
+ * 		which role to play from the roles of the User returned. </p>
+ * 
+ * @param username is the username typed at login
+ * 
+ * @param password is the password typed at login
+ * 
+ * @return the user's account if the pair matches a row, else null
+ * 
+ */
+	public User authenticate(String username, String password) {
+		if (username == null || password == null) return null;
+		String query = "SELECT userName, password, firstName, middleName, lastName, "
+				+ "preferredFirstName, emailAddress, adminRole, newRole1, newRole2 "
+				+ "FROM userDB WHERE userName = ? AND password = ?";
+		long generation = userCache.getGeneration();
+		try (Connection connection = pool.getConnection();
+				PreparedStatement pstmt = connection.prepareStatement(query)) {
+			pstmt.setString(1, username);
+			pstmt.setString(2, password);
+			ResultSet rs = pstmt.executeQuery();
+			if (!rs.next()) return null;
+			AccountSnapshot account = readAccount(rs);
+			
+			// The pages shown right after login read this account, so keep it cached
+			userCache.putIfCurrent(username, account, generation);
+			return account.toUser();
+		} catch (SQLException e) {
+			e.printStackTrace();
+		}
+		return null;
+	}
+
+
 /*******
  * <p> Method: boolean loginAdmin(User user) </p>
  * 
@@ -691,17 +1579,8 @@ public class Database {
  */
 	public boolean loginAdmin(User user){
 		// Validates an admin user's login credentials so the user can login in as an Admin.
-		String query = "SELECT * FROM userDB WHERE userName = ? AND password = ? AND "
-				+ "adminRole = TRUE";
-		try (PreparedStatement pstmt = connection.prepareStatement(query)) {
-			pstmt.setString(1, user.getUserName());
-			pstmt.setString(2, user.getPassword());
-			ResultSet rs = pstmt.executeQuery();
-			return rs.next();	// If a row is returned, rs.next() will return true		
-		} catch  (SQLException e) {
-	        e.printStackTrace();
-	    }
-		return false;
+		User account = authenticate(user.getUserName(), user.getPassword());
+		return account != null && account.getAdminRole();
 	}
 	
 	
@@ -718,17 +1597,8 @@ public class Database {
  */
 	public boolean loginRole1(User user) {
 		// Validates a student user's login credentials.
-		String query = "SELECT * FROM userDB WHERE userName = ? AND password = ? AND "
-				+ "newRole1 = TRUE";
-		try (PreparedStatement pstmt = connection.prepareStatement(query)) {
-			pstmt.setString(1, user.getUserName());
-			pstmt.setString(2, user.getPassword());
-			ResultSet rs = pstmt.executeQuery();
-			return rs.next();
-		} catch  (SQLException e) {
-		       e.printStackTrace();
-		}
-		return false;
+		User account = authenticate(user.getUserName(), user.getPassword());
+		return account != null && account.getNewRole1();
 	}
 
 	/*******
@@ -744,17 +1614,8 @@ public class Database {
 	 */
 	// Validates a reviewer user's login credentials.
 	public boolean loginRole2(User user) {
-		String query = "SELECT * FROM userDB WHERE userName = ? AND password = ? AND "
-				+ "newRole2 = TRUE";
-		try (PreparedStatement pstmt = connection.prepareStatement(query)) {
-			pstmt.setString(1, user.getUserName());
-			pstmt.setString(2, user.getPassword());
-			ResultSet rs = pstmt.executeQuery();
-			return rs.next();
-		} catch  (SQLException e) {
-		       e.printStackTrace();
-		}
-		return false;
+		User account = authenticate(user.getUserName(), user.getPassword());
+		return account != null && account.getNewRole2();
 	}
 	
 	
@@ -771,7 +1632,8 @@ public class Database {
 	// Checks if a user already exists in the database based on their userName.
 	public boolean doesUserExist(String userName) {
 	    String query = "SELECT COUNT(*) FROM userDB WHERE userName = ?";
-	    try (PreparedStatement pstmt = connection.prepareStatement(query)) {
+	    try (Connection connection = pool.getConnection();
+	    		PreparedStatement pstmt = connection.prepareStatement(query)) {
 	        
 	        pstmt.setString(1, userName);
 	        ResultSet rs = pstmt.executeQuery();
@@ -827,7 +1689,8 @@ public class Database {
 	    String code = UUID.randomUUID().toString().substring(0, 6); // Generate a random 6-character code
 	    String query = "INSERT INTO InvitationCodes (code, emailaddress, role) VALUES (?, ?, ?)";
 
-	    try (PreparedStatement pstmt = connection.prepareStatement(query)) {
+	    try (Connection connection = pool.getConnection();
+	    		PreparedStatement pstmt = connection.prepareStatement(query)) {
 	        pstmt.setString(1, code);
 	        pstmt.setString(2, emailAddress);
 	        pstmt.setString(3, role);
@@ -850,7 +1713,8 @@ public class Database {
 	// Number of invitations in the database
 	public int getNumberOfInvitations() {
 		String query = "SELECT COUNT(*) AS count FROM InvitationCodes";
-		try {
+		try (Connection connection = pool.getConnection();
+				Statement statement = connection.createStatement()) {
 			ResultSet resultSet = statement.executeQuery(query);
 			if (resultSet.next()) {
 				return resultSet.getInt("count");
@@ -875,7 +1739,8 @@ public class Database {
 	// Check to see if an email address is already in the database
 	public boolean emailaddressHasBeenUsed(String emailAddress) {
 	    String query = "SELECT COUNT(*) AS count FROM InvitationCodes WHERE emailAddress = ?";
-	    try (PreparedStatement pstmt = connection.prepareStatement(query)) {
+	    try (Connection connection = pool.getConnection();
+	    		PreparedStatement pstmt = connection.prepareStatement(query)) {
 	        pstmt.setString(1, emailAddress);
 	        ResultSet rs = pstmt.executeQuery();
 	        System.out.println(rs);
@@ -903,7 +1768,8 @@ public class Database {
 	// Obtain the roles associated with an invitation code.
 	public String getRoleGivenAnInvitationCode(String code) {
 	    String query = "SELECT * FROM InvitationCodes WHERE code = ?";
-	    try (PreparedStatement pstmt = connection.prepareStatement(query)) {
+	    try (Connection connection = pool.getConnection();
+	    		PreparedStatement pstmt = connection.prepareStatement(query)) {
 	        pstmt.setString(1, code);
 	        ResultSet rs = pstmt.executeQuery();
 	        if (rs.next()) {
@@ -929,7 +1795,8 @@ public class Database {
 	// For a given invitation code, return the associated email address of an empty string
 	public String getEmailAddressUsingCode (String code ) {
 	    String query = "SELECT emailAddress FROM InvitationCodes WHERE code = ?";
-	    try (PreparedStatement pstmt = connection.prepareStatement(query)) {
+	    try (Connection connection = pool.getConnection();
+	    		PreparedStatement pstmt = connection.prepareStatement(query)) {
 	        pstmt.setString(1, code);
 	        ResultSet rs = pstmt.executeQuery();
 	        if (rs.next()) {
@@ -953,7 +1820,8 @@ public class Database {
 	// Remove an invitation using an email address once the user account has been setup
 	public void removeInvitationAfterUse(String code) {
 	    String query = "SELECT COUNT(*) AS count FROM InvitationCodes WHERE code = ?";
-	    try (PreparedStatement pstmt = connection.prepareStatement(query)) {
+	    try (Connection connection = pool.getConnection();
+	    		PreparedStatement pstmt = connection.prepareStatement(query)) {
 	        pstmt.setString(1, code);
 	        ResultSet rs = pstmt.executeQuery();
 	        if (rs.next()) {
@@ -976,6 +1844,131 @@ public class Database {
 	}
 	
 	
+	/*******
+	 * <p> Method: User getUser(String username) </p>
+	 * 
+	 * <p> Description: Load a user's whole account in one query.  The account is kept in a short
+	 *		lived cache, so reading several of its fields in a row only queries the database once.
+	 *		The update methods remove the cached copy, so the next read sees the change.</p>
+	 * 
+	 * @param username is the username of the user
+	 * 
+	 * @return a new User holding the account, or null if there is no such user
+	 *  
+	 */
+	public User getUser(String username) {
+		AccountSnapshot account = getUserAccountDetails(username);
+		return account == null ? null : account.toUser();
+	}
+	
+	
+	/*******
+	 * <p> Method: Map&lt;String, Object&gt; getUserColumns(String username, String... columns) </p>
+	 * 
+	 * <p> Description: Load just the named columns of a user's account in one query.  If the
+	 *		whole account is already cached, the values come from the cache instead.</p>
+	 * 
+	 * @param username is the username of the user
+	 * 
+	 * @param columns are userDB column names, such as "firstName" or "adminRole"
+	 * 
+	 * @return the values keyed by column name in the order asked for, or null if there is no
+	 *		such user
+	 * 
+	 * @throws IllegalArgumentException if a column is not one of the account columns
+	 *  
+	 */
+	public Map<String, Object> getUserColumns(String username, String... columns) {
+		if (columns.length == 0) throw new IllegalArgumentException("No columns requested");
+		for (String column : columns)
+			if (!USER_COLUMNS.contains(column))
+				throw new IllegalArgumentException("Not an account column: " + column);
+		
+		Map<String, Object> values = new LinkedHashMap<>();
+		AccountSnapshot cached = userCache.get(username);
+		if (cached != null) {
+			for (String column : columns) values.put(column, columnOf(cached, column));
+			return values;
+		}
+		
+		// The names were checked against USER_COLUMNS, so they are safe to place in the SQL
+		String query = "SELECT " + String.join(", ", columns) + " FROM userDB WHERE userName = ?";
+		try (Connection connection = pool.getConnection();
+				PreparedStatement pstmt = connection.prepareStatement(query)) {
+			pstmt.setString(1, username);
+			ResultSet rs = pstmt.executeQuery();
+			if (!rs.next()) return null;
+			for (String column : columns) values.put(column, rs.getObject(column));
+			return values;
+		} catch (SQLException e) {
+			e.printStackTrace();
+			return null;
+		}
+	}
+	
+	
+	/*
+	 * Build a snapshot from the current row of a query that selected every account column
+	 */
+	private static AccountSnapshot readAccount(ResultSet rs) throws SQLException {
+		return new AccountSnapshot(rs.getString("userName"), rs.getString("password"),
+				rs.getString("firstName"), rs.getString("middleName"),
+				rs.getString("lastName"), rs.getString("preferredFirstName"),
+				rs.getString("emailAddress"), rs.getBoolean("adminRole"),
+				rs.getBoolean("newRole1"), rs.getBoolean("newRole2"));
+	}
+	
+	
+	/*
+	 * The value of one account column taken from a snapshot
+	 */
+	private static Object columnOf(AccountSnapshot u, String column) {
+		switch (column) {
+		case "userName": return u.getUserName();
+		case "password": return u.getPassword();
+		case "firstName": return u.getFirstName();
+		case "middleName": return u.getMiddleName();
+		case "lastName": return u.getLastName();
+		case "preferredFirstName": return u.getPreferredFirstName();
+		case "emailAddress": return u.getEmailAddress();
+		case "adminRole": return u.getAdminRole();
+		case "newRole1": return u.getNewRole1();
+		default: return u.getNewRole2();
+		}
+	}
+	
+	
+	/*******
+	 * <p> Method: ExpiringCache getUserCache() </p>
+	 * 
+	 * <p> Description: Provides access to the account cache so its hit rate can be monitored.</p>
+	 * 
+	 * @return the cache used by getUser
+	 *  
+	 */
+	public ExpiringCache<String, AccountSnapshot> getUserCache() {
+		return userCache;
+	}
+	
+	
+	/*******
+	 * <p> Method: String getCacheStatistics() </p>
+	 * 
+	 * <p> Description: One line per cache with its size, hit ratio, and evictions, for the
+	 * 		console.</p>
+	 * 
+	 * @return the statistics of every cache this class keeps
+	 *  
+	 */
+	public String getCacheStatistics() {
+		return "users:          " + userCache.getStatistics() + "\n"
+				+ "posts:          " + postCache.getStatistics() + "\n"
+				+ "replies:        " + replyCache.getStatistics() + "\n"
+				+ "replies/post:   " + repliesByPostCache.getStatistics() + "\n"
+				+ "post pages:     " + pageCache.getStatistics();
+	}
+	
+	
 	/*******
 	 * <p> Method: String getFirstName(String username) </p>
 	 * 
@@ -988,19 +1981,8 @@ public class Database {
 	 */
 	// Get the First Name
 	public String getFirstName(String username) {
-		String query = "SELECT firstName FROM userDB WHERE userName = ?";
-		try (PreparedStatement pstmt = connection.prepareStatement(query)) {
-			pstmt.setString(1, username);
-	        ResultSet rs = pstmt.executeQuery();
-	        
-	        if (rs.next()) {
-	            return rs.getString("firstName"); // Return the first name if user exists
-	        }
-			
-	    } catch (SQLException e) {
-	        e.printStackTrace();
-	    }
-		return null;
+		AccountSnapshot account = getUserAccountDetails(username);
+		return account == null ? null : account.getFirstName();
 	}
 	
 
@@ -1018,11 +2000,12 @@ public class Database {
 	// update the first name
 	public void updateFirstName(String username, String firstName) {
 	    String query = "UPDATE userDB SET firstName = ? WHERE username = ?";
-	    try (PreparedStatement pstmt = connection.prepareStatement(query)) {
+	    try (Connection connection = pool.getConnection();
+	    		PreparedStatement pstmt = connection.prepareStatement(query)) {
 	        pstmt.setString(1, firstName);
 	        pstmt.setString(2, username);
 	        pstmt.executeUpdate();
-	        currentFirstName = firstName;
+	        userCache.invalidate(username);
 	    } catch (SQLException e) {
 	        e.printStackTrace();
 	    }
@@ -1041,18 +2024,8 @@ public class Database {
 	 */
 	// get the middle name
 	public String getMiddleName(String username) {
-		String query = "SELECT MiddleName FROM userDB WHERE userName = ?";
-		try (PreparedStatement pstmt = connection.prepareStatement(query)) {
-			pstmt.setString(1, username);
-	        ResultSet rs = pstmt.executeQuery();
-	        
-	        if (rs.next()) {
-	            return rs.getString("middleName"); // Return the middle name if user exists
-	        }
-	    } catch (SQLException e) {
-	        e.printStackTrace();
-	    }
-		return null;
+		AccountSnapshot account = getUserAccountDetails(username);
+		return account == null ? null : account.getMiddleName();
 	}
 
 	
@@ -1070,11 +2043,12 @@ public class Database {
 	// update the middle name
 	public void updateMiddleName(String username, String middleName) {
 	    String query = "UPDATE userDB SET middleName = ? WHERE username = ?";
-	    try (PreparedStatement pstmt = connection.prepareStatement(query)) {
+	    try (Connection connection = pool.getConnection();
+	    		PreparedStatement pstmt = connection.prepareStatement(query)) {
 	        pstmt.setString(1, middleName);
 	        pstmt.setString(2, username);
 	        pstmt.executeUpdate();
-	        currentMiddleName = middleName;
+	        userCache.invalidate(username);
 	    } catch (SQLException e) {
 	        e.printStackTrace();
 	    }
@@ -1093,18 +2067,8 @@ public class Database {
 	 */
 	// get he last name
 	public String getLastName(String username) {
-		String query = "SELECT LastName FROM userDB WHERE userName = ?";
-		try (PreparedStatement pstmt = connection.prepareStatement(query)) {
-			pstmt.setString(1, username);
-	        ResultSet rs = pstmt.executeQuery();
-	        
-	        if (rs.next()) {
-	            return rs.getString("lastName"); // Return last name role if user exists
-	        }
-	    } catch (SQLException e) {
-	        e.printStackTrace();
-	    }
-		return null;
+		AccountSnapshot account = getUserAccountDetails(username);
+		return account == null ? null : account.getLastName();
 	}
 	
 	
@@ -1122,11 +2086,12 @@ public class Database {
 	// update the last name
 	public void updateLastName(String username, String lastName) {
 	    String query = "UPDATE userDB SET lastName = ? WHERE username = ?";
-	    try (PreparedStatement pstmt = connection.prepareStatement(query)) {
+	    try (Connection connection = pool.getConnection();
+	    		PreparedStatement pstmt = connection.prepareStatement(query)) {
 	        pstmt.setString(1, lastName);
 	        pstmt.setString(2, username);
 	        pstmt.executeUpdate();
-	        currentLastName = lastName;
+	        userCache.invalidate(username);
 	    } catch (SQLException e) {
 	        e.printStackTrace();
 	    }
@@ -1145,19 +2110,8 @@ public class Database {
 	 */
 	// get the preferred first name
 	public String getPreferredFirstName(String username) {
-		String query = "SELECT preferredFirstName FROM userDB WHERE userName = ?";
-		try (PreparedStatement pstmt = connection.prepareStatement(query)) {
-			pstmt.setString(1, username);
-	        ResultSet rs = pstmt.executeQuery();
-	        
-	        if (rs.next()) {
-	            return rs.getString("firstName"); // Return the preferred first name if user exists
-	        }
-			
-	    } catch (SQLException e) {
-	        e.printStackTrace();
-	    }
-		return null;
+		AccountSnapshot account = getUserAccountDetails(username);
+		return account == null ? null : account.getPreferredFirstName();
 	}
 	
 	
@@ -1175,11 +2129,12 @@ public class Database {
 	// update the preferred first name of the user
 	public void updatePreferredFirstName(String username, String preferredFirstName) {
 	    String query = "UPDATE userDB SET preferredFirstName = ? WHERE username = ?";
-	    try (PreparedStatement pstmt = connection.prepareStatement(query)) {
+	    try (Connection connection = pool.getConnection();
+	    		PreparedStatement pstmt = connection.prepareStatement(query)) {
 	        pstmt.setString(1, preferredFirstName);
 	        pstmt.setString(2, username);
 	        pstmt.executeUpdate();
-	        currentPreferredFirstName = preferredFirstName;
+	        userCache.invalidate(username);
 	    } catch (SQLException e) {
 	        e.printStackTrace();
 	    }
@@ -1198,19 +2153,8 @@ public class Database {
 	 */
 	// get the email address
 	public String getEmailAddress(String username) {
-		String query = "SELECT emailAddress FROM userDB WHERE userName = ?";
-		try (PreparedStatement pstmt = connection.prepareStatement(query)) {
-			pstmt.setString(1, username);
-	        ResultSet rs = pstmt.executeQuery();
-	        
-	        if (rs.next()) {
-	            return rs.getString("emailAddress"); // Return the email address if user exists
-	        }
-			
-	    } catch (SQLException e) {
-	        e.printStackTrace();
-	    }
-		return null;
+		AccountSnapshot account = getUserAccountDetails(username);
+		return account == null ? null : account.getEmailAddress();
 	}
 	
 	
@@ -1228,11 +2172,12 @@ public class Database {
 	// update the email address
 	public void updateEmailAddress(String username, String emailAddress) {
 	    String query = "UPDATE userDB SET emailAddress = ? WHERE username = ?";
-	    try (PreparedStatement pstmt = connection.prepareStatement(query)) {
+	    try (Connection connection = pool.getConnection();
+	    		PreparedStatement pstmt = connection.prepareStatement(query)) {
 	        pstmt.setString(1, emailAddress);
 	        pstmt.setString(2, username);
 	        pstmt.executeUpdate();
-	        currentEmailAddress = emailAddress;
+	        userCache.invalidate(username);
 	    } catch (SQLException e) {
 	        e.printStackTrace();
 	    }
@@ -1240,35 +2185,40 @@ public class Database {
 	
 	
 	/*******
-	 * <p> Method: boolean getUserAccountDetails(String username) </p>
+	 * <p> Method: AccountSnapshot getUserAccountDetails(String username) </p>
 	 * 
-	 * <p> Description: Get all the attributes of a user given that user's username.</p>
+	 * <p> Description: Get all the attributes of a user given that user's username, in one
+	 *		query.  The result is an immutable snapshot owned by the caller, so sessions reading
+	 *		different accounts at the same time do not interfere with each other.  Snapshots are
+	 *		kept in a short lived cache that the update methods clear for the account they
+	 *		change.</p>
 	 * 
 	 * @param username is the username of the user
 	 * 
-	 * @return true of the get is successful, else false
+	 * @return the account, or null if there is no such user or it could not be read
 	 *  
 	 */
 	// get the attributes for a specified user
-	public boolean getUserAccountDetails(String username) {
-		String query = "SELECT * FROM userDB WHERE username = ?";
-		try (PreparedStatement pstmt = connection.prepareStatement(query)) {
+	public AccountSnapshot getUserAccountDetails(String username) {
+		if (username == null) return null;
+		AccountSnapshot account = userCache.get(username);
+		if (account != null) return account;
+		
+		String query = "SELECT userName, password, firstName, middleName, lastName, "
+				+ "preferredFirstName, emailAddress, adminRole, newRole1, newRole2 "
+				+ "FROM userDB WHERE userName = ?";
+		long generation = userCache.getGeneration();
+		try (Connection connection = pool.getConnection();
+				PreparedStatement pstmt = connection.prepareStatement(query)) {
 			pstmt.setString(1, username);
-	        ResultSet rs = pstmt.executeQuery();			
-			rs.next();
-	    	currentUsername = rs.getString(2);
-	    	currentPassword = rs.getString(3);
-	    	currentFirstName = rs.getString(4);
-	    	currentMiddleName = rs.getString(5);
-	    	currentLastName = rs.getString(6);
-	    	currentPreferredFirstName = rs.getString(7);
-	    	currentEmailAddress = rs.getString(8);
-	    	currentAdminRole = rs.getBoolean(9);
-	    	currentNewRole1 = rs.getBoolean(10);
-	    	currentNewRole2 = rs.getBoolean(11);
-			return true;
+	        ResultSet rs = pstmt.executeQuery();
+			if (!rs.next()) return null;
+			account = readAccount(rs);
+			userCache.putIfCurrent(username, account, generation);
+			return account;
 	    } catch (SQLException e) {
-			return false;
+	        e.printStackTrace();
+			return null;
 	    }
 	}
 	
@@ -1276,8 +2226,8 @@ public class Database {
 	/*******
 	 * <p> Method: boolean updateUserRole(String username, String role, String value) </p>
 	 * 
-	 * <p> Description: Update a specified role for a specified user's and set and update all the
-	 * 		current user attributes.</p>
+	 * <p> Description: Update a specified role for a specified user.  Any cached copy of the
+	 * 		account is dropped, so the next getUserAccountDetails sees the change.</p>
 	 * 
 	 * @param username is the username of the user
 	 *  
@@ -1292,14 +2242,12 @@ public class Database {
 	public boolean updateUserRole(String username, String role, String value) {
 		if (role.compareTo("Admin") == 0) {
 			String query = "UPDATE userDB SET adminRole = ? WHERE username = ?";
-			try (PreparedStatement pstmt = connection.prepareStatement(query)) {
+			try (Connection connection = pool.getConnection();
+					PreparedStatement pstmt = connection.prepareStatement(query)) {
 				pstmt.setString(1, value);
 				pstmt.setString(2, username);
 				pstmt.executeUpdate();
-				if (value.compareTo("true") == 0)
-					currentAdminRole = true;
-				else
-					currentAdminRole = false;
+				userCache.invalidate(username);
 				return true;
 			} catch (SQLException e) {
 				return false;
@@ -1307,14 +2255,12 @@ public class Database {
 		}
 		if (role.compareTo("Role1") == 0) {
 			String query = "UPDATE userDB SET newRole1 = ? WHERE username = ?";
-			try (PreparedStatement pstmt = connection.prepareStatement(query)) {
+			try (Connection connection = pool.getConnection();
+					PreparedStatement pstmt = connection.prepareStatement(query)) {
 				pstmt.setString(1, value);
 				pstmt.setString(2, username);
 				pstmt.executeUpdate();
-				if (value.compareTo("true") == 0)
-					currentNewRole1 = true;
-				else
-					currentNewRole1 = false;
+				userCache.invalidate(username);
 				return true;
 			} catch (SQLException e) {
 				return false;
@@ -1322,14 +2268,12 @@ public class Database {
 		}
 		if (role.compareTo("Role2") == 0) {
 			String query = "UPDATE userDB SET newRole2 = ? WHERE username = ?";
-			try (PreparedStatement pstmt = connection.prepareStatement(query)) {
+			try (Connection connection = pool.getConnection();
+					PreparedStatement pstmt = connection.prepareStatement(query)) {
 				pstmt.setString(1, value);
 				pstmt.setString(2, username);
 				pstmt.executeUpdate();
-				if (value.compareTo("true") == 0)
-					currentNewRole2 = true;
-				else
-					currentNewRole2 = false;
+				userCache.invalidate(username);
 				return true;
 			} catch (SQLException e) {
 				return false;
@@ -1339,117 +2283,6 @@ public class Database {
 	}
 	
 	
-	// Attribute getters for the current user
-	/*******
-	 * <p> Method: String getCurrentUsername() </p>
-	 * 
-	 * <p> Description: Get the current user's username.</p>
-	 * 
-	 * @return the username value is returned
-	 *  
-	 */
-	public String getCurrentUsername() { return currentUsername;};
-
-	
-	/*******
-	 * <p> Method: String getCurrentPassword() </p>
-	 * 
-	 * <p> Description: Get the current user's password.</p>
-	 * 
-	 * @return the password value is returned
-	 *  
-	 */
-	public String getCurrentPassword() { return currentPassword;};
-
-	
-	/*******
-	 * <p> Method: String getCurrentFirstName() </p>
-	 * 
-	 * <p> Description: Get the current user's first name.</p>
-	 * 
-	 * @return the first name value is returned
-	 *  
-	 */
-	public String getCurrentFirstName() { return currentFirstName;};
-
-	
-	/*******
-	 * <p> Method: String getCurrentMiddleName() </p>
-	 * 
-	 * <p> Description: Get the current user's middle name.</p>
-	 * 
-	 * @return the middle name value is returned
-	 *  
-	 */
-	public String getCurrentMiddleName() { return currentMiddleName;};
-
-	
-	/*******
-	 * <p> Method: String getCurrentLastName() </p>
-	 * 
-	 * <p> Description: Get the current user's last name.</p>
-	 * 
-	 * @return the last name value is returned
-	 *  
-	 */
-	public String getCurrentLastName() { return currentLastName;};
-
-	
-	/*******
-	 * <p> Method: String getCurrentPreferredFirstName( </p>
-	 * 
-	 * <p> Description: Get the current user's preferred first name.</p>
-	 * 
-	 * @return the preferred first name value is returned
-	 *  
-	 */
-	public String getCurrentPreferredFirstName() { return currentPreferredFirstName;};
-
-	
-	/*******
-	 * <p> Method: String getCurrentEmailAddress() </p>
-	 * 
-	 * <p> Description: Get the current user's email address name.</p>
-	 * 
-	 * @return the email address value is returned
-	 *  
-	 */
-	public String getCurrentEmailAddress() { return currentEmailAddress;};
-
-	
-	/*******
-	 * <p> Method: boolean getCurrentAdminRole() </p>
-	 * 
-	 * <p> Description: Get the current user's Admin role attribute.</p>
-	 * 
-	 * @return true if this user plays an Admin role, else false
-	 *  
-	 */
-	public boolean getCurrentAdminRole() { return currentAdminRole;};
-
-	
-	/*******
-	 * <p> Method: boolean getCurrentNewRole1() </p>
-	 * 
-	 * <p> Description: Get the current user's Student role attribute.</p>
-	 * 
-	 * @return true if this user plays a Student role, else false
-	 *  
-	 */
-	public boolean getCurrentNewRole1() { return currentNewRole1;};
-
-	
-	/*******
-	 * <p> Method: boolean getCurrentNewRole2() </p>
-	 * 
-	 * <p> Description: Get the current user's Reviewer role attribute.</p>
-	 * 
-	 * @return true if this user plays a Reviewer role, else false
-	 *  
-	 */
-	public boolean getCurrentNewRole2() { return currentNewRole2;};
-
-	
 	/*******
 	 * <p> Debugging method</p>
 	 * 
@@ -1461,37 +2294,43 @@ public class Database {
 	// Dumps the database.
 	public void dump() throws SQLException {
 		String query = "SELECT * FROM userDB";
-		ResultSet resultSet = statement.executeQuery(query);
-		ResultSetMetaData meta = resultSet.getMetaData();
-		while (resultSet.next()) {
-		for (int i = 0; i < meta.getColumnCount(); i++) {
-		System.out.println(
-		meta.getColumnLabel(i + 1) + ": " +
-				resultSet.getString(i + 1));
-		}
-		System.out.println();
+		try (Connection connection = pool.getConnection();
+				Statement statement = connection.createStatement()) {
+			ResultSet resultSet = statement.executeQuery(query);
+			ResultSetMetaData meta = resultSet.getMetaData();
+			while (resultSet.next()) {
+			for (int i = 0; i < meta.getColumnCount(); i++) {
+			System.out.println(
+			meta.getColumnLabel(i + 1) + ": " +
+					resultSet.getString(i + 1));
+			}
+			System.out.println();
+			}
+			resultSet.close();
 		}
-		resultSet.close();
 	}
 
 
 	/*******
 	 * <p> Method: void closeConnection()</p>
 	 * 
-	 * <p> Description: Closes the database statement and connection.</p>
+	 * <p> Description: Closes the connection pool and with it the database connections.</p>
 	 * 
 	 */
-	// Closes the database statement and connection.
+	// Closes the connection pool and its connections.
 	public void closeConnection() {
-		try{ 
-			if(statement!=null) statement.close(); 
-		} catch(SQLException se2) { 
-			se2.printStackTrace();
-		} 
-		try { 
-			if(connection!=null) connection.close(); 
-		} catch(SQLException se){ 
-			se.printStackTrace(); 
-		} 
+		if (pool == null) return;
+		changes.close();
+		if (config.getMode() == DatabaseConfig.StorageMode.MEMORY) {
+			// An in-memory database outlives its connections (DB_CLOSE_DELAY=-1), so drop it here
+			try (Connection connection = pool.getConnection();
+					Statement statement = connection.createStatement()) {
+				statement.execute("SHUTDOWN");
+			} catch (SQLException e) {
+				e.printStackTrace();
+			}
+		}
+		queryMetrics.close();
+		pool.close();
 	}
 }
@@ -0,0 +1,128 @@
+package database;
+
+/*******
+ * <p> Title: DatabaseChange Class. </p>
+ *
+ * <p> Description: One committed change to a post or a reply, as delivered to a
+ * DatabaseChangeListener.  A change names the row and the post it belongs to rather than
+ * carrying the row's contents, so it costs the same to send whatever the row holds; a
+ * listener that needs the new contents reads them, and the read is usually served from the
+ * Database's caches.</p>
+ *
+ * <p> Copyright: Lynn Robert Carter © 2025 </p>
+ *
+ * @author Team-25
+ *
+ * @version 1.00		2026-10-16 Initial version
+ */
+public final class DatabaseChange {
+
+	/*******
+	 * <p> Enum: Kind </p>
+	 *
+	 * <p> Description: What happened to the row.</p>
+	 */
+	public enum Kind {
+		/** The row was inserted */
+		CREATED,
+		/** The row's content was changed */
+		UPDATED,
+		/** The row was deleted; deleting a post also deletes its replies */
+		DELETED
+	}
+
+	/*******
+	 * <p> Enum: Subject </p>
+	 *
+	 * <p> Description: Which table the row is in.</p>
+	 */
+	public enum Subject {
+		/** A row of the Post table */
+		POST,
+		/** A row of the Reply table */
+		REPLY
+	}
+
+	private final Kind kind;
+	private final Subject subject;
+	private final int id;
+	private final int postID;
+	private final boolean local;
+
+
+	/*******
+	 * <p> Method: DatabaseChange(Kind kind, Subject subject, int id, int postID,
+	 * 		boolean local) </p>
+	 *
+	 * <p> Description: Establish a change.</p>
+	 *
+	 * @param kind is what happened to the row
+	 *
+	 * @param subject is which table the row is in
+	 *
+	 * @param id is the id of the post or reply
+	 *
+	 * @param postID is the id of the post, or of the post the reply belongs to
+	 *
+	 * @param local is true when this process made the change
+	 */
+	public DatabaseChange(Kind kind, Subject subject, int id, int postID, boolean local) {
+		this.kind = kind;
+		this.subject = subject;
+		this.id = id;
+		this.postID = postID;
+		this.local = local;
+	}
+
+
+	/*******
+	 * <p> Method: Kind getKind() </p>
+	 *
+	 * @return what happened to the row
+	 */
+	public Kind getKind() { return kind; }
+
+
+	/*******
+	 * <p> Method: Subject getSubject() </p>
+	 *
+	 * @return which table the row is in
+	 */
+	public Subject getSubject() { return subject; }
+
+
+	/*******
+	 * <p> Method: int getID() </p>
+	 *
+	 * @return the id of the post or reply that changed
+	 */
+	public int getID() { return id; }
+
+
+	/*******
+	 * <p> Method: int getPostID() </p>
+	 *
+	 * @return the id of the post that changed, or of the post the reply belongs to
+	 */
+	public int getPostID() { return postID; }
+
+
+	/*******
+	 * <p> Method: boolean isLocal() </p>
+	 *
+	 * @return true when this process made the change, false when another process sharing the
+	 * database did
+	 */
+	public boolean isLocal() { return local; }
+
+
+	/*******
+	 * <p> Method: String toString() </p>
+	 *
+	 * @return the change in a form meant for logs
+	 */
+	@Override
+	public String toString() {
+		return subject + " " + id + " (post " + postID + ") " + kind + (local ? "" : " elsewhere");
+	}
+}
@@ -0,0 +1,34 @@
+package database;
+
+import java.util.List;
+
+/*******
+ * <p> Title: DatabaseChangeListener Interface. </p>
+ *
+ * <p> Description: Told about every committed change to posts and replies, so a view can
+ * bring what it shows up to date by applying the changes instead of reading everything again.
+ * Register one with Database.addChangeListener.</p>
+ *
+ * <p> Changes made through this process's Database are delivered on the thread that made them,
+ * as soon as they are committed.  Changes made by other processes sharing the database are
+ * delivered on the Database's change-polling thread shortly after.  Either way the call is not
+ * on the JavaFX Application Thread, so a listener that updates the GUI must hand the work to
+ * Platform.runLater, and it should return quickly.</p>
+ *
+ * <p> Copyright: Lynn Robert Carter © 2025 </p>
+ *
+ * @author Team-25
+ *
+ * @version 1.00		2026-10-16 Initial version
+ */
+@FunctionalInterface
+public interface DatabaseChangeListener {
+
+	/*******
+	 * <p> Method: void databaseChanged(List&lt;DatabaseChange&gt; changes) </p>
+	 *
+	 * @param changes are the changes of one write, or those found by one poll, in the order
+	 * they were made; never empty
+	 */
+	void databaseChanged(List<DatabaseChange> changes);
+}
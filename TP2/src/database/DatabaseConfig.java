@@ -0,0 +1,294 @@
+package database;
+
+import java.util.Locale;
+
+/*******
+ * <p> Title: DatabaseConfig Class. </p>
+ *
+ * <p> Description: Where and how the Database stores its data.  Until this class was added the
+ * H2 URL was fixed to an embedded file, so a second copy of the application could not open the
+ * database while the first was running.  The storage mode can now be chosen:</p>
+ *
+ * <ul>
+ * <li> MEMORY - a private in-memory database that disappears when the application stops.  Meant
+ * 		for tests and benchmarks.</li>
+ * <li> FILE - an embedded file database that only this process can open.  Fastest for a
+ * 		single copy of the application.</li>
+ * <li> AUTO_SERVER - the same file, but the first process to open it also serves it over TCP,
+ * 		and later processes on the machine connect through that server.  This is the default,
+ * 		so several copies of the application share the data instead of failing to start.</li>
+ * <li> SERVER - connect to an H2 TCP server that was started separately, for example with
+ * 		"java -cp h2.jar org.h2.tools.Server -tcp".</li>
+ * </ul>
+ *
+ * <p> The application reads its configuration from system properties, so the mode can be set on
+ * the command line or in an Eclipse run configuration without changing any code:</p>
+ *
+ * <pre>
+ *     -Dfoundations.db.mode=MEMORY | FILE | AUTO_SERVER | SERVER   (default AUTO_SERVER)
+ *     -Dfoundations.db.name=~/FoundationDatabase   file path, or name of the in-memory database
+ *     -Dfoundations.db.cacheSizeKB=65536           H2 page cache for the file modes
+ *     -Dfoundations.db.host=localhost              SERVER mode only
+ *     -Dfoundations.db.port=9092                   SERVER mode only
+ *     -Dfoundations.db.options=WRITE_DELAY=100     extra H2 URL settings, separated by ';'
+ *     -Dfoundations.db.poolSize=10                 largest number of pooled connections
+ *     -Dfoundations.db.slowQueryMillis=100         statements this slow are logged; 0 logs all,
+ *                                                  a negative value logs none
+ *     -Dfoundations.db.metricsDumpSeconds=0        print the query metrics this often; 0 never
+ * </pre>
+ *
+ * <p> Copyright: Lynn Robert Carter © 2025 </p>
+ *
+ * @author Team-25
+ *
+ * @version 1.00		2026-10-16 Initial version
+ */
+public class DatabaseConfig {
+
+	/*******
+	 * <p> Enum: StorageMode </p>
+	 *
+	 * <p> Description: The ways H2 can hold the database.  See the class comment.</p>
+	 */
+	public enum StorageMode {
+		/** A private in-memory database */
+		MEMORY,
+		/** An embedded file database used by one process */
+		FILE,
+		/** A file database shared by every process on this machine */
+		AUTO_SERVER,
+		/** A database held by a separately started H2 TCP server */
+		SERVER
+	}
+
+	// The defaults used when a property is not set
+	public static final String DEFAULT_NAME = "~/FoundationDatabase";
+	public static final int DEFAULT_CACHE_SIZE_KB = 64 * 1024;
+	public static final String DEFAULT_HOST = "localhost";
+	public static final int DEFAULT_PORT = 9092;
+	public static final int DEFAULT_POOL_SIZE = 10;
+	public static final long DEFAULT_SLOW_QUERY_MILLIS = 100;
+	public static final int DEFAULT_METRICS_DUMP_SECONDS = 0;
+
+	private final StorageMode mode;
+	private final String name;
+	private final int cacheSizeKB;
+	private final String host;
+	private final int port;
+	private final String options;
+	private final int poolSize;
+	private final long slowQueryMillis;
+	private final int metricsDumpSeconds;
+
+
+	/*******
+	 * <p> Method: DatabaseConfig(StorageMode mode, String name, int cacheSizeKB, String host,
+	 * 		int port, String options, int poolSize) </p>
+	 *
+	 * <p> Description: Establish a configuration.</p>
+	 *
+	 * @param mode is how the database is stored
+	 *
+	 * @param name is the file path, or the name of the in-memory database
+	 *
+	 * @param cacheSizeKB is the H2 page cache size for the file modes, or 0 for H2's default
+	 *
+	 * @param host is the H2 server host for SERVER mode
+	 *
+	 * @param port is the H2 server port for SERVER mode
+	 *
+	 * @param options are extra H2 URL settings separated by ';', or an empty string
+	 *
+	 * @param poolSize is the largest number of connections the pool opens
+	 */
+	public DatabaseConfig(StorageMode mode, String name, int cacheSizeKB, String host, int port,
+			String options, int poolSize) {
+		this(mode, name, cacheSizeKB, host, port, options, poolSize, DEFAULT_SLOW_QUERY_MILLIS,
+				DEFAULT_METRICS_DUMP_SECONDS);
+	}
+
+
+	/*******
+	 * <p> Method: DatabaseConfig(StorageMode mode, String name, int cacheSizeKB, String host,
+	 * 		int port, String options, int poolSize, long slowQueryMillis,
+	 * 		int metricsDumpSeconds) </p>
+	 *
+	 * <p> Description: Establish a configuration that also sets up the query metrics.</p>
+	 *
+	 * @param mode is how the database is stored
+	 *
+	 * @param name is the file path, or the name of the in-memory database
+	 *
+	 * @param cacheSizeKB is the H2 page cache size for the file modes, or 0 for H2's default
+	 *
+	 * @param host is the H2 server host for SERVER mode
+	 *
+	 * @param port is the H2 server port for SERVER mode
+	 *
+	 * @param options are extra H2 URL settings separated by ';', or an empty string
+	 *
+	 * @param poolSize is the largest number of connections the pool opens
+	 *
+	 * @param slowQueryMillis is how long a statement may run before the slow query log records
+	 * it; zero records every statement and a negative value none
+	 *
+	 * @param metricsDumpSeconds is how often the query metrics are printed to the console, or 0
+	 * for never
+	 */
+	public DatabaseConfig(StorageMode mode, String name, int cacheSizeKB, String host, int port,
+			String options, int poolSize, long slowQueryMillis, int metricsDumpSeconds) {
+		if (mode == null) throw new IllegalArgumentException("A storage mode is required");
+		if (name == null || name.isBlank())
+			throw new IllegalArgumentException("A database name is required");
+		if (poolSize < 1) throw new IllegalArgumentException("poolSize must be at least 1");
+		if (metricsDumpSeconds < 0)
+			throw new IllegalArgumentException("metricsDumpSeconds cannot be negative");
+		this.mode = mode;
+		this.name = name;
+		this.cacheSizeKB = cacheSizeKB;
+		this.host = host;
+		this.port = port;
+		this.options = options == null ? "" : options;
+		this.poolSize = poolSize;
+		this.slowQueryMillis = slowQueryMillis;
+		this.metricsDumpSeconds = metricsDumpSeconds;
+	}
+
+
+	/*******
+	 * <p> Method: DatabaseConfig fromSystemProperties() </p>
+	 *
+	 * <p> Description: Build the configuration from the foundations.db.* system properties
+	 * listed in the class comment.</p>
+	 *
+	 * @return the configuration the application should use
+	 *
+	 * @throws IllegalArgumentException if a property has a value that cannot be used
+	 */
+	public static DatabaseConfig fromSystemProperties() {
+		StorageMode mode = StorageMode.valueOf(System.getProperty("foundations.db.mode",
+				StorageMode.AUTO_SERVER.name()).trim().toUpperCase(Locale.ROOT));
+		return new DatabaseConfig(mode,
+				System.getProperty("foundations.db.name", DEFAULT_NAME),
+				Integer.getInteger("foundations.db.cacheSizeKB", DEFAULT_CACHE_SIZE_KB),
+				System.getProperty("foundations.db.host", DEFAULT_HOST),
+				Integer.getInteger("foundations.db.port", DEFAULT_PORT),
+				System.getProperty("foundations.db.options", ""),
+				Integer.getInteger("foundations.db.poolSize", DEFAULT_POOL_SIZE),
+				Long.getLong("foundations.db.slowQueryMillis", DEFAULT_SLOW_QUERY_MILLIS),
+				Integer.getInteger("foundations.db.metricsDumpSeconds",
+						DEFAULT_METRICS_DUMP_SECONDS));
+	}
+
+
+	/*******
+	 * <p> Method: DatabaseConfig inMemory(String name) </p>
+	 *
+	 * <p> Description: A private in-memory database, for tests and benchmarks.</p>
+	 *
+	 * @param name is the database name; use a different name to get a separate database
+	 *
+	 * @return the configuration
+	 */
+	public static DatabaseConfig inMemory(String name) {
+		return new DatabaseConfig(StorageMode.MEMORY, name, 0, DEFAULT_HOST, DEFAULT_PORT, "",
+				DEFAULT_POOL_SIZE);
+	}
+
+
+	/*******
+	 * <p> Method: String getJdbcUrl() </p>
+	 *
+	 * <p> Description: The H2 URL for this configuration.  An in-memory database is kept open
+	 * until the application closes the Database (DB_CLOSE_DELAY=-1), so it is not lost when the
+	 * pool happens to close its last idle connection.</p>
+	 *
+	 * @return the JDBC URL
+	 */
+	public String getJdbcUrl() {
+		StringBuilder url = new StringBuilder("jdbc:h2:");
+		switch (mode) {
+		case MEMORY:
+			url.append("mem:").append(name).append(";DB_CLOSE_DELAY=-1");
+			break;
+		case FILE:
+			url.append(name);
+			break;
+		case AUTO_SERVER:
+			url.append(name).append(";AUTO_SERVER=TRUE");
+			break;
+		case SERVER:
+			url.append("tcp://").append(host).append(':').append(port).append('/').append(name);
+			break;
+		}
+		if (mode != StorageMode.MEMORY && cacheSizeKB > 0)
+			url.append(";CACHE_SIZE=").append(cacheSizeKB);
+		if (!options.isBlank()) {
+			if (!options.startsWith(";")) url.append(';');
+			url.append(options.trim());
+		}
+		return url.toString();
+	}
+
+
+	/*******
+	 * <p> Method: StorageMode getMode() </p>
+	 *
+	 * @return how the database is stored
+	 */
+	public StorageMode getMode() {
+		return mode;
+	}
+
+
+	/*******
+	 * <p> Method: String getName() </p>
+	 *
+	 * @return the file path, or the name of the in-memory database
+	 */
+	public String getName() {
+		return name;
+	}
+
+
+	/*******
+	 * <p> Method: int getPoolSize() </p>
+	 *
+	 * @return the largest number of connections the pool opens
+	 */
+	public int getPoolSize() {
+		return poolSize;
+	}
+
+
+	/*******
+	 * <p> Method: long getSlowQueryMillis() </p>
+	 *
+	 * @return how long a statement may run before it is logged as slow; zero logs every
+	 * statement and a negative value none
+	 */
+	public long getSlowQueryMillis() {
+		return slowQueryMillis;
+	}
+
+
+	/*******
+	 * <p> Method: int getMetricsDumpSeconds() </p>
+	 *
+	 * @return how often the query metrics are printed to the console, or 0 for never
+	 */
+	public int getMetricsDumpSeconds() {
+		return metricsDumpSeconds;
+	}
+
+
+	/*******
+	 * <p> Method: String toString() </p>
+	 *
+	 * @return the mode and URL, for the console
+	 */
+	@Override
+	public String toString() {
+		return mode + " " + getJdbcUrl();
+	}
+}
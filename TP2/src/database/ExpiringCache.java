@@ -0,0 +1,268 @@
+package database;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+
+/*******
+ * <p> Title: ExpiringCache Class. </p>
+ *
+ * <p> Description: A small bounded cache whose entries expire a fixed time after they were
+ * stored.  When the cache is full the least recently used entry is evicted.  The Database class
+ * uses it to keep recently loaded rows in memory so that repeated reads of the same row do not
+ * each cost a round trip, and it removes an entry whenever that row is changed.</p>
+ *
+ * <p> All methods are synchronized, so one cache can be shared by every thread using the
+ * Database.  Null values are not stored; a get that returns null simply means "not cached".</p>
+ *
+ * <p> A reader that misses loads the value from the database and stores it.  If a writer
+ * changes the row and invalidates it while that query runs, a plain put would store the row
+ * the reader saw, which is now stale, for a whole time to live.  So every invalidation
+ * advances a generation number: the reader takes getGeneration() before its query and stores
+ * with putIfCurrent, which refuses the value if anything was invalidated in between.</p>
+ *
+ * <p> Copyright: Lynn Robert Carter © 2025 </p>
+ *
+ * @author Team-25
+ *
+ * @version 1.00		2026-10-16 Initial version
+ *
+ * @param <K> the type of the keys
+ *
+ * @param <V> the type of the cached values
+ */
+public class ExpiringCache<K, V> {
+
+	private final int capacity;
+	private final long timeToLiveNanos;
+
+	// Access-ordered so the first entry is always the least recently used
+	private final LinkedHashMap<K, Entry<V>> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+	private long hits = 0;
+	private long misses = 0;
+	private long evictions = 0;
+	private long expirations = 0;
+	private long generation = 0;		// Advanced by every invalidation
+
+
+	/*******
+	 * <p> Method: ExpiringCache(int capacity, long timeToLiveMillis) </p>
+	 *
+	 * <p> Description: Establish an empty cache.</p>
+	 *
+	 * @param capacity is the most entries the cache holds
+	 *
+	 * @param timeToLiveMillis is how long an entry stays valid after it is stored
+	 */
+	public ExpiringCache(int capacity, long timeToLiveMillis) {
+		if (capacity < 1) throw new IllegalArgumentException("capacity must be at least 1");
+		this.capacity = capacity;
+		this.timeToLiveNanos = timeToLiveMillis * 1_000_000L;
+	}
+
+
+	/*******
+	 * <p> Method: V get(K key) </p>
+	 *
+	 * @param key identifies the entry
+	 *
+	 * @return the cached value, or null if it is not cached or has expired
+	 */
+	public synchronized V get(K key) {
+		Entry<V> entry = entries.get(key);
+		if (entry == null) {
+			misses++;
+			return null;
+		}
+		if (System.nanoTime() - entry.storedAt > timeToLiveNanos) {
+			entries.remove(key);
+			expirations++;
+			misses++;
+			return null;
+		}
+		hits++;
+		return entry.value;
+	}
+
+
+	/*******
+	 * <p> Method: void put(K key, V value) </p>
+	 *
+	 * <p> Description: Store a value, replacing any earlier one and restarting its time to live.
+	 * A null value removes the entry.</p>
+	 *
+	 * @param key identifies the entry
+	 *
+	 * @param value is the value to cache
+	 */
+	public synchronized void put(K key, V value) {
+		if (value == null) {
+			invalidate(key);
+			return;
+		}
+		entries.put(key, new Entry<>(value, System.nanoTime()));
+		Iterator<Entry<V>> it = entries.values().iterator();
+		while (entries.size() > capacity && it.hasNext()) {
+			it.next();
+			it.remove();
+			evictions++;
+		}
+	}
+
+
+	/*******
+	 * <p> Method: long getGeneration() </p>
+	 *
+	 * @return the number of invalidations so far; take it before reading a value to cache
+	 */
+	public synchronized long getGeneration() {
+		return generation;
+	}
+
+
+	/*******
+	 * <p> Method: boolean putIfCurrent(K key, V value, long generation) </p>
+	 *
+	 * <p> Description: Store a value read from the database, unless an entry has been
+	 * invalidated since the reader took the generation, in which case the value may be stale.
+	 * Refusing is always safe: the next get misses and reads the row again.</p>
+	 *
+	 * @param key identifies the entry
+	 *
+	 * @param value is the value to cache
+	 *
+	 * @param generation is what getGeneration returned before the value was read
+	 *
+	 * @return true if the value was stored
+	 */
+	public synchronized boolean putIfCurrent(K key, V value, long generation) {
+		if (generation != this.generation) return false;
+		put(key, value);
+		return true;
+	}
+
+
+	/*******
+	 * <p> Method: void invalidate(K key) </p>
+	 *
+	 * @param key identifies the entry to drop, if it is cached
+	 */
+	public synchronized void invalidate(K key) {
+		entries.remove(key);
+		generation++;
+	}
+
+
+	/*******
+	 * <p> Method: V remove(K key) </p>
+	 *
+	 * <p> Description: Drop an entry and return what it held.  Unlike get, this does not count
+	 * as a hit or a miss.</p>
+	 *
+	 * @param key identifies the entry to drop
+	 *
+	 * @return the value that was cached, even if it had expired, or null
+	 */
+	public synchronized V remove(K key) {
+		Entry<V> entry = entries.remove(key);
+		generation++;
+		return entry == null ? null : entry.value;
+	}
+
+
+	/*******
+	 * <p> Method: void invalidateAll() </p>
+	 *
+	 * <p> Description: Drop every entry.  The statistics are kept.</p>
+	 */
+	public synchronized void invalidateAll() {
+		entries.clear();
+		generation++;
+	}
+
+
+	/*******
+	 * <p> Method: int size() </p>
+	 *
+	 * @return the number of entries held, including any that have expired but not been read
+	 */
+	public synchronized int size() {
+		return entries.size();
+	}
+
+
+	/*******
+	 * <p> Method: long getHits() </p>
+	 *
+	 * @return the number of gets answered from the cache
+	 */
+	public synchronized long getHits() {
+		return hits;
+	}
+
+
+	/*******
+	 * <p> Method: long getMisses() </p>
+	 *
+	 * @return the number of gets that found nothing valid
+	 */
+	public synchronized long getMisses() {
+		return misses;
+	}
+
+
+	/*******
+	 * <p> Method: long getEvictions() </p>
+	 *
+	 * @return the number of entries pushed out because the cache was full
+	 */
+	public synchronized long getEvictions() {
+		return evictions;
+	}
+
+
+	/*******
+	 * <p> Method: long getExpirations() </p>
+	 *
+	 * @return the number of entries dropped because their time to live had passed
+	 */
+	public synchronized long getExpirations() {
+		return expirations;
+	}
+
+
+	/*******
+	 * <p> Method: double getHitRatio() </p>
+	 *
+	 * @return the fraction of gets answered from the cache, or 0 before the first get
+	 */
+	public synchronized double getHitRatio() {
+		long total = hits + misses;
+		return total == 0 ? 0.0 : (double) hits / total;
+	}
+
+
+	/*******
+	 * <p> Method: String getStatistics() </p>
+	 *
+	 * @return a one line summary of the cache, suitable for the console
+	 */
+	public synchronized String getStatistics() {
+		return String.format("size=%d/%d hits=%d misses=%d hitRatio=%.2f evictions=%d expired=%d",
+				entries.size(), capacity, hits, misses, getHitRatio(), evictions, expirations);
+	}
+
+
+	/*
+	 * One cached value and when it was stored
+	 */
+	private static class Entry<V> {
+		final V value;
+		final long storedAt;
+
+		Entry(V value, long storedAt) {
+			this.value = value;
+			this.storedAt = storedAt;
+		}
+	}
+}
@@ -0,0 +1,791 @@
+package database;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import entityClasses.Post;
+import entityClasses.Reply;
+
+/*******
+ * <p> Title: InvertedIndex Class. </p>
+ *
+ * <p> Description: A full-text index over post and reply content kept entirely in memory, for
+ * databases in MEMORY mode where a SearchTerm table would only hold a second in-memory copy of
+ * the same data.  It evaluates the whole SearchQuery syntax: alternatives, AND, and quoted
+ * phrases.</p>
+ *
+ * <p> Every post and reply is a document with a dense document number, handed out in the order
+ * documents are added.  Each term maps through a hash table to one PostingList: a byte array of
+ * (document number gap, tf, position gaps) entries written as variable-length integers.  Gaps
+ * are small, so most entries take a few bytes and no Integer objects are created, neither when
+ * indexing nor when searching.</p>
+ *
+ * <p> Documents are never rewritten in place.  An edited post is marked deleted and added again
+ * under a new, larger number, so every list stays sorted and can always be appended to.  Deleted
+ * documents are skipped while searching, and once they are more than COMPACT_SHARE of the index
+ * the lists are rewritten without them.</p>
+ *
+ * <p> All methods are synchronized: writes are rare next to searches, and a search is a few
+ * milliseconds of work on arrays owned by the index.  getStatistics() reports the estimated heap
+ * used, in total and per indexed post.</p>
+ *
+ * <p> Copyright: Lynn Robert Carter © 2025 </p>
+ *
+ * @author Team-25
+ *
+ * @version 1.00		2026-10-16 Initial version
+ */
+class InvertedIndex implements SearchIndex {
+
+	// Document types
+	private static final byte POST = 0;
+	private static final byte REPLY = 1;
+
+	// Compact once deleted documents are this share of all documents, and at least this many
+	static final double COMPACT_SHARE = 0.25;
+	static final int MIN_COMPACT_DOCS = 1024;
+
+	// Term dictionary: a hash table for lookups, and the same terms sorted for prefix expansion
+	private final HashMap<String, PostingList> postings = new HashMap<>();
+	private final TreeMap<String, PostingList> sortedTerms = new TreeMap<>();
+
+	// Document table, indexed by document number
+	private int docCount = 0;						// Document numbers handed out so far
+	private int liveDocs = 0;						// Of those, the ones not deleted
+	private int livePosts = 0;
+	private int[] docIDs = new int[1024];			// Post or reply id
+	private int[] docPostIDs = new int[1024];		// Post id, the same as docIDs for a post
+	private byte[] docTypes = new byte[1024];
+	private final BitSet deleted = new BitSet();
+	private final IntIntMap postDocs = new IntIntMap();		// Post id to document number
+	private final IntIntMap replyDocs = new IntIntMap();	// Reply id to document number
+
+	// Scratch space reused by searches, indexed by document number: one pair for the query as
+	// a whole and one for the word or phrase being matched
+	private double[] totals = new double[0];
+	private int[] hitDocs = new int[0];
+	private double[] scores = new double[0];
+	private int[] touched = new int[0];
+
+
+	/*
+	 * The documents containing one term, in increasing document number order.  Each entry is
+	 * varint(document - previous document), varint(tf), then tf varint position gaps.
+	 */
+	private static final class PostingList {
+		byte[] data = new byte[8];
+		int length = 0;			// Bytes of data in use
+		int docFreq = 0;		// Entries, deleted documents included until compaction
+		int lastDoc = 0;
+
+		void add(int doc, int[] positions, int count) {
+			// Grow by half, not double, since memory per post matters more than copying here
+			int needed = length + 5 * (count + 2);
+			if (needed > data.length)
+				data = Arrays.copyOf(data, Math.max(data.length + (data.length >> 1), needed));
+			writeVarint(doc - lastDoc);
+			writeVarint(count);
+			int previous = 0;
+			for (int i = 0; i < count; i++) {
+				writeVarint(positions[i] - previous);
+				previous = positions[i];
+			}
+			lastDoc = doc;
+			docFreq++;
+		}
+
+		private void writeVarint(int value) {
+			while ((value & ~0x7F) != 0) {
+				data[length++] = (byte) ((value & 0x7F) | 0x80);
+				value >>>= 7;
+			}
+			data[length++] = (byte) value;
+		}
+	}
+
+
+	/*
+	 * Walks one PostingList.  Positions are only decoded when asked for.
+	 */
+	private static final class PostingReader {
+		private final byte[] data;
+		private final int end;
+		private int offset = 0;
+		private int unreadPositions = 0;
+		int doc = 0;
+		int tf = 0;
+
+		PostingReader(PostingList list) {
+			data = list.data;
+			end = list.length;
+		}
+
+		// Move to the next entry; false at the end of the list
+		boolean next() {
+			while (unreadPositions > 0) {
+				readVarint();
+				unreadPositions--;
+			}
+			if (offset >= end) return false;
+			doc += readVarint();
+			tf = readVarint();
+			unreadPositions = tf;
+			return true;
+		}
+
+		// Move to the first entry at or after target; false at the end of the list
+		boolean advanceTo(int target) {
+			while (doc < target) if (!next()) return false;
+			return true;
+		}
+
+		// The positions of the current entry, in increasing order
+		int[] positions(int[] buffer) {
+			if (buffer.length < tf) buffer = new int[tf];
+			int position = 0;
+			for (int i = 0; i < tf; i++) {
+				position += readVarint();
+				buffer[i] = position;
+			}
+			unreadPositions = 0;
+			return buffer;
+		}
+
+		private int readVarint() {
+			int value = 0;
+			int shift = 0;
+			byte b;
+			do {
+				b = data[offset++];
+				value |= (b & 0x7F) << shift;
+				shift += 7;
+			} while (b < 0);
+			return value;
+		}
+	}
+
+
+	/*
+	 * The documents matching part of a query, in increasing document number order, with scores
+	 */
+	private static final class Matches {
+		static final Matches NONE = new Matches(new int[0], new double[0], 0);
+
+		final int[] docs;
+		final double[] scores;
+		final int size;
+
+		Matches(int[] docs, double[] scores, int size) {
+			this.docs = docs;
+			this.scores = scores;
+			this.size = size;
+		}
+	}
+
+
+	/*
+	 * An int to int hash table with open addressing, so ids do not have to be boxed
+	 */
+	private static final class IntIntMap {
+		private static final int FREE = Integer.MIN_VALUE;
+		private int[] keys = newTable(16);
+		private int[] values = new int[16];
+		private int size = 0;
+
+		private static int[] newTable(int capacity) {
+			int[] table = new int[capacity];
+			Arrays.fill(table, FREE);
+			return table;
+		}
+
+		private int slot(int key) {
+			int h = key * 0x9E3779B9;
+			return (h ^ (h >>> 16)) & (keys.length - 1);
+		}
+
+		int get(int key, int missing) {
+			for (int i = slot(key); keys[i] != FREE; i = (i + 1) & (keys.length - 1))
+				if (keys[i] == key) return values[i];
+			return missing;
+		}
+
+		void put(int key, int value) {
+			if (2 * (size + 1) > keys.length) resize(keys.length * 2);
+			int i = slot(key);
+			while (keys[i] != FREE && keys[i] != key) i = (i + 1) & (keys.length - 1);
+			if (keys[i] == FREE) size++;
+			keys[i] = key;
+			values[i] = value;
+		}
+
+		// Remove a key, shifting later entries of its probe run back into the gap
+		int remove(int key, int missing) {
+			int mask = keys.length - 1;
+			int i = slot(key);
+			while (keys[i] != key) {
+				if (keys[i] == FREE) return missing;
+				i = (i + 1) & mask;
+			}
+			int removed = values[i];
+			size--;
+			int gap = i;
+			for (int j = (gap + 1) & mask; keys[j] != FREE; j = (j + 1) & mask) {
+				int home = slot(keys[j]);
+				if (((j - home) & mask) >= ((j - gap) & mask)) {
+					keys[gap] = keys[j];
+					values[gap] = values[j];
+					gap = j;
+				}
+			}
+			keys[gap] = FREE;
+			return removed;
+		}
+
+		void clear() {
+			keys = newTable(16);
+			values = new int[16];
+			size = 0;
+		}
+
+		long estimatedBytes() {
+			return 32 + 16L * 2 + 8L * keys.length;
+		}
+
+		private void resize(int capacity) {
+			int[] oldKeys = keys;
+			int[] oldValues = values;
+			keys = newTable(capacity);
+			values = new int[capacity];
+			size = 0;
+			for (int i = 0; i < oldKeys.length; i++)
+				if (oldKeys[i] != FREE) put(oldKeys[i], oldValues[i]);
+		}
+	}
+
+
+	/*******
+	 * <p> Method: void load(Connection connection) </p>
+	 *
+	 * <p> Description: Index every post and reply already stored, replacing anything indexed
+	 * before.  The Database calls this once when it connects.</p>
+	 *
+	 * @param connection is the connection to read through
+	 *
+	 * @throws SQLException if the posts cannot be read
+	 */
+	synchronized void load(Connection connection) throws SQLException {
+		clear();
+		try (Statement statement = connection.createStatement()) {
+			try (ResultSet rs = statement.executeQuery("SELECT id, content FROM Post")) {
+				while (rs.next()) add(POST, rs.getInt(1), rs.getInt(1), rs.getString(2));
+			}
+			try (ResultSet rs = statement.executeQuery("SELECT id, postID, content FROM Reply")) {
+				while (rs.next()) add(REPLY, rs.getInt(1), rs.getInt(2), rs.getString(3));
+			}
+		}
+	}
+
+
+	@Override
+	public synchronized void indexPost(int postID, String content) {
+		delete(postDocs.remove(postID, -1));
+		add(POST, postID, postID, content);
+		compactIfNeeded();
+	}
+
+
+	@Override
+	public synchronized void indexReply(int replyID, int postID, String content) {
+		delete(replyDocs.remove(replyID, -1));
+		add(REPLY, replyID, postID, content);
+		compactIfNeeded();
+	}
+
+
+	@Override
+	public synchronized void indexPosts(List<Post> posts) {
+		for (Post p : posts) {
+			delete(postDocs.remove(p.getPostID(), -1));
+			add(POST, p.getPostID(), p.getPostID(), p.getContent());
+		}
+		compactIfNeeded();
+	}
+
+
+	@Override
+	public synchronized void indexReplies(List<Reply> replies) {
+		for (Reply r : replies) {
+			delete(replyDocs.remove(r.getReplyID(), -1));
+			add(REPLY, r.getReplyID(), r.getPostID(), r.getContent());
+		}
+		compactIfNeeded();
+	}
+
+
+	@Override
+	public synchronized void removeReply(int replyID) {
+		delete(replyDocs.remove(replyID, -1));
+		compactIfNeeded();
+	}
+
+
+	/*
+	 * Replies are not indexed by post, so the document table is scanned for them.  This is a
+	 * pass over three arrays, which is cheap next to the delete that precedes it.
+	 */
+	@Override
+	public synchronized void removePosts(Collection<Integer> postIDs) {
+		IntIntMap removed = new IntIntMap();
+		for (int postID : postIDs) {
+			delete(postDocs.remove(postID, -1));
+			removed.put(postID, 0);
+		}
+		for (int doc = 0; doc < docCount; doc++) {
+			if (docTypes[doc] == REPLY && !deleted.get(doc)
+					&& removed.get(docPostIDs[doc], -1) == 0) {
+				replyDocs.remove(docIDs[doc], -1);
+				delete(doc);
+			}
+		}
+		compactIfNeeded();
+	}
+
+
+	/*
+	 * Give a document the next number and append it to the list of each of its terms
+	 */
+	private void add(byte type, int id, int postID, String content) {
+		int doc = docCount++;
+		if (doc == docIDs.length) {
+			int capacity = docIDs.length * 2;
+			docIDs = Arrays.copyOf(docIDs, capacity);
+			docPostIDs = Arrays.copyOf(docPostIDs, capacity);
+			docTypes = Arrays.copyOf(docTypes, capacity);
+		}
+		docIDs[doc] = id;
+		docPostIDs[doc] = postID;
+		docTypes[doc] = type;
+		(type == POST ? postDocs : replyDocs).put(id, doc);
+		liveDocs++;
+		if (type == POST) livePosts++;
+
+		// Collect each term's positions, then append one entry per term
+		List<String> tokens = SearchTokenizer.tokenize(content);
+		Map<String, Positions> positions = new HashMap<>();
+		for (int i = 0; i < tokens.size(); i++) {
+			Positions p = positions.get(tokens.get(i));
+			if (p == null) {
+				p = new Positions();
+				positions.put(tokens.get(i), p);
+			}
+			p.add(i);
+		}
+		for (Map.Entry<String, Positions> e : positions.entrySet()) {
+			PostingList list = postings.get(e.getKey());
+			if (list == null) {
+				list = new PostingList();
+				postings.put(e.getKey(), list);
+				sortedTerms.put(e.getKey(), list);
+			}
+			list.add(doc, e.getValue().at, e.getValue().count);
+		}
+	}
+
+
+	/*
+	 * The positions of one term in the document being added
+	 */
+	private static final class Positions {
+		int[] at = new int[2];
+		int count = 0;
+
+		void add(int position) {
+			if (count == at.length) at = Arrays.copyOf(at, count * 2);
+			at[count++] = position;
+		}
+	}
+
+
+	/*
+	 * Mark a document deleted; -1 (a document that was never indexed) is ignored
+	 */
+	private void delete(int doc) {
+		if (doc < 0 || deleted.get(doc)) return;
+		deleted.set(doc);
+		liveDocs--;
+		if (docTypes[doc] == POST) livePosts--;
+	}
+
+
+	private void compactIfNeeded() {
+		int dead = docCount - liveDocs;
+		if (dead >= MIN_COMPACT_DOCS && dead > docCount * COMPACT_SHARE) compact();
+	}
+
+
+	/*
+	 * Renumber the live documents from 0 and rewrite every list without the deleted ones
+	 */
+	private void compact() {
+		int[] renumber = new int[docCount];
+		int next = 0;
+		for (int doc = 0; doc < docCount; doc++) {
+			if (deleted.get(doc)) {
+				renumber[doc] = -1;
+				continue;
+			}
+			renumber[doc] = next;
+			docIDs[next] = docIDs[doc];
+			docPostIDs[next] = docPostIDs[doc];
+			docTypes[next] = docTypes[doc];
+			next++;
+		}
+
+		int[] buffer = new int[16];
+		for (Iterator<Map.Entry<String, PostingList>> it = postings.entrySet().iterator();
+				it.hasNext(); ) {
+			Map.Entry<String, PostingList> e = it.next();
+			PostingList rewritten = new PostingList();
+			PostingReader reader = new PostingReader(e.getValue());
+			while (reader.next()) {
+				if (renumber[reader.doc] < 0) continue;
+				buffer = reader.positions(buffer);
+				rewritten.add(renumber[reader.doc], buffer, reader.tf);
+			}
+			if (rewritten.docFreq == 0) {
+				it.remove();
+				sortedTerms.remove(e.getKey());
+			} else {
+				rewritten.data = Arrays.copyOf(rewritten.data, rewritten.length);
+				e.setValue(rewritten);
+				sortedTerms.put(e.getKey(), rewritten);
+			}
+		}
+
+		postDocs.clear();
+		replyDocs.clear();
+		for (int doc = 0; doc < next; doc++)
+			(docTypes[doc] == POST ? postDocs : replyDocs).put(docIDs[doc], doc);
+		deleted.clear();
+		docCount = next;
+	}
+
+
+	private void clear() {
+		postings.clear();
+		sortedTerms.clear();
+		postDocs.clear();
+		replyDocs.clear();
+		deleted.clear();
+		docCount = 0;
+		liveDocs = 0;
+		livePosts = 0;
+	}
+
+
+	@Override
+	public synchronized List<SearchHit> search(String query, int offset, int limit) {
+		List<SearchHit> hits = new ArrayList<>();
+		SearchQuery parsed = SearchQuery.parse(query);
+		if (parsed.isEmpty() || limit < 1 || liveDocs == 0) return hits;
+
+		// Add up the score of every document matching any clause
+		if (scores.length < docCount) {
+			totals = new double[docCount];
+			hitDocs = new int[docCount];
+			scores = new double[docCount];
+			touched = new int[docCount];
+		}
+		int hitCount = 0;
+		for (List<SearchQuery.Element> clause : parsed.getClauses()) {
+			Matches m = evaluate(clause);
+			for (int i = 0; i < m.size; i++) {
+				int doc = m.docs[i];
+				if (totals[doc] == 0) hitDocs[hitCount++] = doc;
+				totals[doc] += m.scores[i];
+			}
+		}
+
+		// Roll the documents up into their posts
+		IntIntMap slots = new IntIntMap();
+		int[] slotPost = new int[hitCount];
+		double[] slotScore = new double[hitCount];
+		int[] slotReplies = new int[hitCount];
+		int slotCount = 0;
+		for (int i = 0; i < hitCount; i++) {
+			int doc = hitDocs[i];
+			int slot = slots.get(docPostIDs[doc], -1);
+			if (slot < 0) {
+				slot = slotCount++;
+				slots.put(docPostIDs[doc], slot);
+				slotPost[slot] = docPostIDs[doc];
+			}
+			slotScore[slot] += totals[doc];
+			if (docTypes[doc] == REPLY) slotReplies[slot]++;
+			totals[doc] = 0;
+		}
+
+		// Keep the best offset + limit posts in a min-heap of slots, then read them back best
+		// first
+		int k = (int) Math.min((long) Math.max(0, offset) + limit, slotCount);
+		int[] heap = new int[k];
+		int heapSize = 0;
+		for (int slot = 0; slot < slotCount && k > 0; slot++) {
+			if (heapSize < k) {
+				heap[heapSize] = slot;
+				siftUp(heap, heapSize++, slotScore, slotPost);
+			} else if (ranksAbove(slot, heap[0], slotScore, slotPost)) {
+				heap[0] = slot;
+				siftDown(heap, heapSize, slotScore, slotPost);
+			}
+		}
+		SearchHit[] ranked = new SearchHit[heapSize];
+		for (int i = ranked.length - 1; i >= 0; i--) {
+			int slot = heap[0];
+			heap[0] = heap[--heapSize];
+			siftDown(heap, heapSize, slotScore, slotPost);
+			ranked[i] = new SearchHit(slotPost[slot], slotScore[slot], slotReplies[slot]);
+		}
+		for (int i = Math.max(0, offset); i < ranked.length; i++) hits.add(ranked[i]);
+		return hits;
+	}
+
+
+	/*
+	 * Whether slot a ranks above slot b: a higher score, or the same score and a newer post
+	 */
+	private static boolean ranksAbove(int a, int b, double[] score, int[] post) {
+		int c = Double.compare(score[a], score[b]);
+		return (c != 0) ? c > 0 : post[a] > post[b];
+	}
+
+	/*
+	 * Restore the min-heap order after a slot is placed at index i
+	 */
+	private static void siftUp(int[] heap, int i, double[] score, int[] post) {
+		while (i > 0) {
+			int parent = (i - 1) >>> 1;
+			if (!ranksAbove(heap[parent], heap[i], score, post)) return;
+			int t = heap[parent];
+			heap[parent] = heap[i];
+			heap[i] = t;
+			i = parent;
+		}
+	}
+
+	/*
+	 * Restore the min-heap order after the root is replaced
+	 */
+	private static void siftDown(int[] heap, int size, double[] score, int[] post) {
+		int i = 0;
+		while (true) {
+			int least = i;
+			int left = 2 * i + 1;
+			int right = left + 1;
+			if (left < size && ranksAbove(heap[least], heap[left], score, post)) least = left;
+			if (right < size && ranksAbove(heap[least], heap[right], score, post)) least = right;
+			if (least == i) return;
+			int t = heap[least];
+			heap[least] = heap[i];
+			heap[i] = t;
+			i = least;
+		}
+	}
+
+
+	/*
+	 * The documents containing every element of a clause, rarest element first so the running
+	 * intersection is small from the start
+	 */
+	private Matches evaluate(List<SearchQuery.Element> clause) {
+		List<Matches> parts = new ArrayList<>(clause.size());
+		for (SearchQuery.Element e : clause) {
+			Matches m = e.isPhrase() ? matchPhrase(e.terms) : matchWord(e);
+			if (m.size == 0) return Matches.NONE;
+			parts.add(m);
+		}
+		parts.sort((a, b) -> Integer.compare(a.size, b.size));
+
+		Matches result = parts.get(0);
+		for (int p = 1; p < parts.size() && result.size > 0; p++) {
+			Matches other = parts.get(p);
+			int[] docs = new int[result.size];
+			double[] sums = new double[result.size];
+			int n = 0;
+			for (int i = 0, j = 0; i < result.size && j < other.size; ) {
+				if (result.docs[i] < other.docs[j]) i++;
+				else if (result.docs[i] > other.docs[j]) j++;
+				else {
+					docs[n] = result.docs[i];
+					sums[n++] = result.scores[i++] + other.scores[j++];
+				}
+			}
+			result = new Matches(docs, sums, n);
+		}
+		return result;
+	}
+
+
+	/*
+	 * The documents containing a word, or for a long enough unquoted word any of its prefix
+	 * expansions, each scored by the terms it contains
+	 */
+	private Matches matchWord(SearchQuery.Element element) {
+		String word = element.terms.get(0);
+		List<String> terms = new ArrayList<>();
+		if (!element.exact && word.length() >= MIN_PREFIX_LENGTH) {
+			// The most widely used terms that start with the word, like SqlSearchIndex
+			List<Map.Entry<String, PostingList>> expansions = new ArrayList<>(
+					sortedTerms.subMap(word, true, word + Character.MAX_VALUE, false).entrySet());
+			expansions.sort((a, b) -> Integer.compare(b.getValue().docFreq, a.getValue().docFreq));
+			for (int i = 0; i < expansions.size() && i < MAX_EXPANSIONS; i++)
+				terms.add(expansions.get(i).getKey());
+		} else if (postings.containsKey(word)) {
+			terms.add(word);
+		}
+		if (terms.isEmpty()) return Matches.NONE;
+
+		// Add each term's contribution into the scratch scores, then collect the touched docs
+		int count = 0;
+		for (String term : terms) {
+			PostingList list = postings.get(term);
+			double weight = weight(list);
+			if (!term.equals(word)) weight *= PREFIX_WEIGHT;
+			PostingReader reader = new PostingReader(list);
+			while (reader.next()) {
+				if (deleted.get(reader.doc)) continue;
+				if (scores[reader.doc] == 0) touched[count++] = reader.doc;
+				scores[reader.doc] += (1 + Math.log(reader.tf)) * weight;
+			}
+		}
+		return collect(count);
+	}
+
+
+	/*
+	 * The documents containing the terms next to each other in order, scored by those terms
+	 */
+	private Matches matchPhrase(List<String> terms) {
+		int n = terms.size();
+		PostingReader[] readers = new PostingReader[n];
+		double[] weights = new double[n];
+		for (int i = 0; i < n; i++) {
+			PostingList list = postings.get(terms.get(i));
+			if (list == null) return Matches.NONE;
+			readers[i] = new PostingReader(list);
+			weights[i] = weight(list);
+			if (!readers[i].next()) return Matches.NONE;
+		}
+
+		int count = 0;
+		int[][] positions = new int[n][16];
+		while (true) {
+			// Bring every reader to the same document
+			int target = readers[0].doc;
+			for (PostingReader r : readers) target = Math.max(target, r.doc);
+			boolean aligned = true;
+			for (PostingReader r : readers) {
+				if (!r.advanceTo(target)) return collect(count);
+				if (r.doc != target) aligned = false;
+			}
+			if (!aligned) continue;
+
+			if (!deleted.get(target)) {
+				for (int i = 0; i < n; i++) positions[i] = readers[i].positions(positions[i]);
+				if (phraseAt(readers, positions)) {
+					double score = 0;
+					for (int i = 0; i < n; i++) score += (1 + Math.log(readers[i].tf)) * weights[i];
+					touched[count++] = target;
+					scores[target] = score;
+				}
+			}
+			if (!readers[0].next()) return collect(count);
+		}
+	}
+
+
+	/*
+	 * True when some position p has term i at p + i for every term of the phrase
+	 */
+	private static boolean phraseAt(PostingReader[] readers, int[][] positions) {
+		for (int a = 0; a < readers[0].tf; a++) {
+			int start = positions[0][a];
+			boolean found = true;
+			for (int i = 1; i < readers.length && found; i++)
+				found = Arrays.binarySearch(positions[i], 0, readers[i].tf, start + i) >= 0;
+			if (found) return true;
+		}
+		return false;
+	}
+
+
+	/*
+	 * Move the first count touched documents and their scratch scores into a Matches, and
+	 * clear the scratch scores for the next use
+	 */
+	private Matches collect(int count) {
+		int[] docs = Arrays.copyOf(touched, count);
+		Arrays.sort(docs);
+		double[] matched = new double[count];
+		for (int i = 0; i < count; i++) {
+			matched[i] = scores[docs[i]];
+			scores[docs[i]] = 0;
+		}
+		return new Matches(docs, matched, count);
+	}
+
+
+	/*
+	 * ln(1 + documents / documents containing the term); deleted documents still counted in a
+	 * list make a term look a little more common until the next compaction
+	 */
+	private double weight(PostingList list) {
+		return Math.log(1 + (double) Math.max(1, liveDocs) / list.docFreq);
+	}
+
+
+	/*******
+	 * <p> Method: String getStatistics() </p>
+	 *
+	 * <p> Description: The size of the index and an estimate of the heap it uses, assuming a
+	 * 64-bit JVM with compressed references.  Each term costs its String, its hash table and
+	 * sorted map entries, and its PostingList object; the lists cost their byte arrays; the
+	 * document table costs 9 bytes per document slot plus the id hash tables.</p>
+	 *
+	 * @return four lines describing the index, including bytes per indexed post
+	 */
+	@Override
+	public synchronized String getStatistics() {
+		long listBytes = 0;
+		long usedBytes = 0;
+		long termBytes = 0;
+		for (Map.Entry<String, PostingList> e : postings.entrySet()) {
+			listBytes += 16 + e.getValue().data.length;
+			usedBytes += e.getValue().length;
+			// String and its array, HashMap node and slot, TreeMap entry, PostingList object
+			termBytes += 24 + 16 + e.getKey().length() + 36 + 40 + 32;
+		}
+		long docBytes = 9L * docIDs.length + 3 * 16 + deleted.size() / 8
+				+ postDocs.estimatedBytes() + replyDocs.estimatedBytes();
+		long total = listBytes + termBytes + docBytes;
+		return "search index: in memory, documents=" + liveDocs + " (posts=" + livePosts +
+				", replies=" + (liveDocs - livePosts) + ", deleted=" + (docCount - liveDocs) +
+				") terms=" + postings.size() + "\n" +
+				"  postings:   " + usedBytes + " bytes used of " + listBytes + " allocated\n" +
+				"  estimated:  postings=" + listBytes / 1024 + " KB, terms=" + termBytes / 1024 +
+				" KB, documents=" + docBytes / 1024 + " KB, total=" + total / 1024 + " KB\n" +
+				"  per post:   " + (livePosts == 0 ? 0 : total / livePosts) + " bytes (" +
+				(liveDocs == 0 ? 0 : total / liveDocs) + " bytes per post or reply)";
+	}
+}
@@ -0,0 +1,22 @@
+package database;
+
+/*******
+ * <p> Title: PageDirection Enumeration. </p>
+ * 
+ * <p> Description: The direction a keyset page is read relative to its cursor id.  Pages are
+ * always returned in ascending id order; the direction only selects which side of the cursor
+ * they come from.</p>
+ * 
+ * <p> Copyright: Lynn Robert Carter © 2025 </p>
+ * 
+ * @author Team-25
+ * 
+ * @version 1.00		2026-10-16 Initial version
+ */
+public enum PageDirection {
+	/** Rows with ids greater than the cursor, i.e., the page after it */
+	FORWARD,
+	
+	/** Rows with ids less than the cursor, i.e., the page before it */
+	BACKWARD
+}
@@ -0,0 +1,611 @@
+package database;
+
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+/*******
+ * <p> Title: QueryMetrics Class. </p>
+ *
+ * <p> Description: Statement level metrics and a slow query log for the Database.  The
+ * ConnectionPool hands every Statement and PreparedStatement it gives out to instrument(), which
+ * wraps it so that each execute call is timed.  The metrics are kept per distinct SQL string,
+ * and each string is labelled with the method that prepared it, such as Database.getPost, so
+ * every Database method is covered, along with the ChangeFeed, the search indexes, and the
+ * schema migrations, without any of them being changed.  For each statement this keeps:</p>
+ *
+ * <ul>
+ * <li> the number of executions and of those that threw an SQLException,</li>
+ * <li> the rows its queries read and its updates changed, and</li>
+ * <li> a histogram of its execution times, from which the 50th and 99th percentiles and the
+ * 		maximum are reported.</li>
+ * </ul>
+ *
+ * <p> The time measured is that of the execute call.  H2 builds the whole result of a query
+ * before executeQuery returns, so this is the time the database spent; the caller's own work
+ * reading the rows is not included.  Recording a run costs a few adds to LongAdders and one to
+ * an AtomicLongArray.</p>
+ *
+ * <p> Statements are wrapped with a reflective proxy, like the pool's connection handles and
+ * the statement cache, so each call on a pooled statement (a few setters and an execute per
+ * run) passes through two proxies and pays a Method.invoke and the boxing of its arguments at
+ * each.  Result sets, where every next and getString of every row is a call, are wrapped by
+ * CountingResultSet, a plain delegating class, instead.  With DatabaseBenchmark at its
+ * defaults, which can also be run with the metrics off to compare, the proxy on result sets
+ * made getAllPosts (10,000 rows of four columns) take half as long again and allocate three
+ * times as much; with CountingResultSet it allocates the same as with the metrics off and its
+ * time is within the run to run noise.  A single row read such as getPost takes one or two
+ * microseconds longer, the cost of the statement proxies, and allocates about 300 bytes more.
+ * The metrics are therefore on by default; setEnabled(false), also available over JMX, stops
+ * wrapping the statements handed out after it.</p>
+ *
+ * <p> A statement whose run takes at least the slow query threshold is written to the console
+ * with its SQL, its parameters, and how long it took, and the latest RECENT_SLOW_QUERIES of
+ * these are kept for getRecentSlowQueries().  The string parameters of a statement that
+ * mentions a password are shown as '***'.</p>
+ *
+ * <p> While its Database is connected the metrics are published over JMX (see
+ * QueryMetricsMXBean), and they can be printed to the console at a fixed interval; see the
+ * foundations.db.slowQueryMillis and foundations.db.metricsDumpSeconds properties in
+ * DatabaseConfig.</p>
+ *
+ * <p> Copyright: Lynn Robert Carter © 2025 </p>
+ *
+ * @author Team-25
+ *
+ * @version 1.00		2026-10-16 Initial version
+ */
+public class QueryMetrics implements QueryMetricsMXBean {
+
+	// Distinct SQL strings are tracked up to this number; later ones are counted together
+	static final int MAX_QUERIES = 1000;
+	static final String OTHER_QUERIES = "(other statements)";
+
+	// How many slow query log entries are kept for getRecentSlowQueries
+	static final int RECENT_SLOW_QUERIES = 50;
+
+	// Longest parameter value and SQL shown by the slow query log and the statistics
+	private static final int MAX_VALUE_LENGTH = 64;
+	private static final int MAX_SQL_LENGTH = 100;
+
+	// The histogram has SUB_BUCKETS buckets for every power of two of nanoseconds
+	private static final int SUB_BITS = 3;
+	private static final int SUB_BUCKETS = 1 << SUB_BITS;
+	private static final int BUCKETS = (Long.SIZE - SUB_BITS) * SUB_BUCKETS;
+
+	private static final Object[] NO_PARAMETERS = new Object[0];
+	private static final StackWalker WALKER = StackWalker.getInstance();
+
+	private final ConcurrentHashMap<String, Query> queries = new ConcurrentHashMap<>();
+	private final LongAdder slowQueryCount = new LongAdder();
+	private final ArrayDeque<String> recentSlowQueries = new ArrayDeque<>(RECENT_SLOW_QUERIES);
+	private volatile long slowQueryNanos;
+	private volatile boolean enabled = true;
+
+	private ObjectName registeredAs = null;				// Set while published over JMX
+	private ScheduledExecutorService dumper = null;		// Set while printing periodically
+
+
+	/*******
+	 * <p> Method: QueryMetrics(long slowQueryMillis) </p>
+	 *
+	 * <p> Description: Establish empty metrics.</p>
+	 *
+	 * @param slowQueryMillis is how long a statement may run before the slow query log records
+	 * it; zero records every statement and a negative value none
+	 */
+	public QueryMetrics(long slowQueryMillis) {
+		slowQueryNanos = nanosOf(slowQueryMillis);
+	}
+
+
+	/*******
+	 * <p> Method: void start(String databaseName, int dumpSeconds) </p>
+	 *
+	 * <p> Description: Publish the metrics over JMX and, when asked, start printing them.  A
+	 * failure to publish is reported and otherwise ignored, as the metrics still work.</p>
+	 *
+	 * @param databaseName names these metrics among those of other Databases in the process
+	 *
+	 * @param dumpSeconds is how often the metrics are printed to the console, or 0 for never
+	 */
+	synchronized void start(String databaseName, int dumpSeconds) {
+		close();
+		try {
+			ObjectName name = new ObjectName("FoundationsF25:type=QueryMetrics,database="
+					+ ObjectName.quote(databaseName));
+			ManagementFactory.getPlatformMBeanServer().registerMBean(this, name);
+			registeredAs = name;
+		} catch (JMException | RuntimeException e) {
+			System.err.println("*** WARNING *** The query metrics could not be published over "
+					+ "JMX: " + e);
+		}
+		if (dumpSeconds > 0) {
+			dumper = Executors.newSingleThreadScheduledExecutor(task -> {
+				Thread thread = new Thread(task, "Database query metrics");
+				thread.setDaemon(true);
+				return thread;
+			});
+			dumper.scheduleAtFixedRate(() -> System.out.println(getStatistics()), dumpSeconds,
+					dumpSeconds, TimeUnit.SECONDS);
+		}
+	}
+
+
+	/*******
+	 * <p> Method: void close() </p>
+	 *
+	 * <p> Description: Withdraw the metrics from JMX and stop printing them.  What has been
+	 * counted is kept.</p>
+	 */
+	synchronized void close() {
+		if (registeredAs != null) {
+			try {
+				ManagementFactory.getPlatformMBeanServer().unregisterMBean(registeredAs);
+			} catch (JMException e) {
+				e.printStackTrace();
+			}
+			registeredAs = null;
+		}
+		if (dumper != null) dumper.shutdownNow();
+		dumper = null;
+	}
+
+
+	/*******
+	 * <p> Method: Statement instrument(Statement statement, String sql) </p>
+	 *
+	 * <p> Description: Wrap a statement the pool is about to hand out so its runs are measured.
+	 * CallableStatements are not used by this application and are returned as they are.</p>
+	 *
+	 * @param statement is the statement, cached or not
+	 *
+	 * @param sql is the SQL it was prepared with, or null for a plain Statement, whose SQL
+	 * is given to each execute call
+	 *
+	 * @return the statement to give the caller
+	 */
+	Statement instrument(Statement statement, String sql) {
+		if (!enabled || statement instanceof CallableStatement) return statement;
+		Class<?> type = statement instanceof PreparedStatement ? PreparedStatement.class
+				: Statement.class;
+		return (Statement) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] { type },
+				new StatementHandle(statement, sql == null ? null : queryFor(sql)));
+	}
+
+
+	/*-*******************************************************************************************
+
+	QueryMetricsMXBean
+
+	*/
+
+	@Override
+	public boolean isEnabled() { return enabled; }
+
+	@Override
+	public void setEnabled(boolean enabled) { this.enabled = enabled; }
+
+	@Override
+	public long getSlowQueryThresholdMillis() {
+		long nanos = slowQueryNanos;
+		return nanos == Long.MAX_VALUE ? -1 : TimeUnit.NANOSECONDS.toMillis(nanos);
+	}
+
+	@Override
+	public void setSlowQueryThresholdMillis(long millis) {
+		slowQueryNanos = nanosOf(millis);
+	}
+
+	// A negative threshold records nothing
+	private static long nanosOf(long millis) {
+		return millis < 0 ? Long.MAX_VALUE : TimeUnit.MILLISECONDS.toNanos(millis);
+	}
+
+	@Override
+	public long getExecutionCount() {
+		long total = 0;
+		for (Query query : queries.values()) total += query.executions.sum();
+		return total;
+	}
+
+	@Override
+	public long getErrorCount() {
+		long total = 0;
+		for (Query query : queries.values()) total += query.errors.sum();
+		return total;
+	}
+
+	@Override
+	public long getRowCount() {
+		long total = 0;
+		for (Query query : queries.values()) total += query.rows.sum();
+		return total;
+	}
+
+	@Override
+	public long getSlowQueryCount() { return slowQueryCount.sum(); }
+
+	@Override
+	public List<QueryStatistics> getQueries() {
+		List<QueryStatistics> snapshots = new ArrayList<>(queries.size());
+		for (Query query : queries.values()) {
+			if (query.executions.sum() > 0) snapshots.add(query.snapshot());
+		}
+		snapshots.sort(Comparator.comparingDouble(QueryStatistics::getTotalMillis).reversed());
+		return snapshots;
+	}
+
+	@Override
+	public List<String> getRecentSlowQueries() {
+		synchronized (recentSlowQueries) {
+			return new ArrayList<>(recentSlowQueries);
+		}
+	}
+
+	@Override
+	public String getStatistics() {
+		List<QueryStatistics> snapshots = getQueries();
+		long executions = 0, errors = 0, rows = 0;
+		for (QueryStatistics s : snapshots) {
+			executions += s.getExecutionCount();
+			errors += s.getErrorCount();
+			rows += s.getRowCount();
+		}
+		StringBuilder out = new StringBuilder(String.format(Locale.ROOT, "QueryMetrics "
+				+ "[statements=%d, executions=%d, errors=%d, rows=%d, slow=%d, "
+				+ "slowThreshold=%d ms]", snapshots.size(), executions, errors, rows,
+				getSlowQueryCount(), getSlowQueryThresholdMillis()));
+		if (snapshots.isEmpty()) return out.toString();
+		out.append(String.format(Locale.ROOT, "%n%10s %7s %10s %10s %10s %10s %10s  %s",
+				"calls", "errors", "rows", "p50 us", "p99 us", "max us", "total ms", "statement"));
+		for (QueryStatistics s : snapshots) {
+			out.append(String.format(Locale.ROOT, "%n%10d %7d %10d %10.1f %10.1f %10.1f %10.1f  "
+					+ "%s: %s", s.getExecutionCount(), s.getErrorCount(), s.getRowCount(),
+					s.getP50Micros(), s.getP99Micros(), s.getMaxMicros(), s.getTotalMillis(),
+					s.getCaller(), abbreviate(s.getSql(), MAX_SQL_LENGTH)));
+		}
+		return out.toString();
+	}
+
+	@Override
+	public void reset() {
+		for (Query query : queries.values()) query.reset();
+		slowQueryCount.reset();
+		synchronized (recentSlowQueries) {
+			recentSlowQueries.clear();
+		}
+	}
+
+
+	/*-*******************************************************************************************
+
+	Recording
+
+	*/
+
+	/*
+	 * The metrics of one SQL string, created the first time it is prepared or executed.  The
+	 * caller is found by walking the stack, which is done only then.
+	 */
+	private Query queryFor(String sql) {
+		Query query = queries.get(sql);
+		if (query != null) return query;
+		if (queries.size() >= MAX_QUERIES)
+			return queries.computeIfAbsent(OTHER_QUERIES, k -> new Query("(various)", k));
+		Query created = new Query(callerOf(), sql);
+		query = queries.putIfAbsent(sql, created);
+		return query == null ? created : query;
+	}
+
+	/*
+	 * The first method on the stack that is not part of the pool, the statement cache, this
+	 * class, or the JDK, written as Class.method
+	 */
+	private static String callerOf() {
+		return WALKER.walk(frames -> frames
+				.filter(frame -> !isPlumbing(frame.getClassName()))
+				.findFirst()
+				.map(frame -> {
+					String type = frame.getClassName();
+					type = type.substring(type.lastIndexOf('.') + 1);
+					if (type.indexOf('$') > 0) type = type.substring(0, type.indexOf('$'));
+					String method = frame.getMethodName();
+					if (method.startsWith("lambda$"))
+						method = method.substring(7, Math.max(7, method.indexOf('$', 7)));
+					return type + "." + method;
+				})
+				.orElse("(unknown)"));
+	}
+
+	private static boolean isPlumbing(String className) {
+		return className.startsWith("database.QueryMetrics")
+				|| className.startsWith("database.ConnectionPool")
+				|| className.startsWith("database.StatementCache")
+				|| className.startsWith("java.") || className.startsWith("javax.")
+				|| className.startsWith("jdk.") || className.startsWith("sun.")
+				|| className.startsWith("com.sun.");
+	}
+
+	/*
+	 * Add a run to the slow query log
+	 */
+	private void logSlowQuery(Query query, long nanos, boolean failed, Object[] parameters,
+			int parameterCount, int batched) {
+		slowQueryCount.increment();
+		query.slow.increment();
+		StringBuilder entry = new StringBuilder(LocalTime.now().truncatedTo(ChronoUnit.MILLIS)
+				.toString());
+		entry.append(String.format(Locale.ROOT, " %.3f ms ", nanos / 1e6)).append(query.caller);
+		if (failed) entry.append(" (failed)");
+		entry.append(": ").append(query.sql.replaceAll("\\s+", " ").trim());
+		if (batched > 0) entry.append(" -- batch of ").append(batched);
+		if (parameterCount > 0) {
+			entry.append(batched > 0 ? ", last parameters [" : " -- parameters [");
+			for (int i = 0; i < parameterCount; i++) {
+				if (i > 0) entry.append(", ");
+				Object value = parameters[i];
+				if (value instanceof String || value instanceof Character)
+					entry.append('\'').append(query.sensitive ? "***"
+							: abbreviate(value.toString(), MAX_VALUE_LENGTH)).append('\'');
+				else entry.append(value == null ? "null"
+						: abbreviate(value.toString(), MAX_VALUE_LENGTH));
+			}
+			entry.append(']');
+		}
+		String logged = entry.toString();
+		synchronized (recentSlowQueries) {
+			if (recentSlowQueries.size() == RECENT_SLOW_QUERIES) recentSlowQueries.removeFirst();
+			recentSlowQueries.addLast(logged);
+		}
+		System.err.println("*** WARNING *** Slow query " + logged);
+	}
+
+	/*
+	 * The rows one entry of executeBatch's result stands for; a driver may report that a row
+	 * succeeded without saying how many rows it changed
+	 */
+	private static long rowsOf(long count) {
+		return count > 0 ? count : count == Statement.SUCCESS_NO_INFO ? 1 : 0;
+	}
+
+	private static String abbreviate(String text, int length) {
+		String line = text.replaceAll("\\s+", " ").trim();
+		return line.length() <= length ? line : line.substring(0, length - 3) + "...";
+	}
+
+	/*
+	 * The histogram bucket of a time: exact below SUB_BUCKETS nanoseconds, and above that
+	 * SUB_BUCKETS buckets per power of two
+	 */
+	static int bucketOf(long nanos) {
+		if (nanos < SUB_BUCKETS) return (int) Math.max(0, nanos);
+		int exponent = 63 - Long.numberOfLeadingZeros(nanos);
+		int sub = (int) (nanos >>> (exponent - SUB_BITS)) & (SUB_BUCKETS - 1);
+		return (exponent - SUB_BITS + 1) * SUB_BUCKETS + sub;
+	}
+
+	/*
+	 * The smallest time that falls in a bucket
+	 */
+	static long lowestIn(int bucket) {
+		if (bucket < SUB_BUCKETS) return bucket;
+		int exponent = bucket / SUB_BUCKETS + SUB_BITS - 1;
+		int sub = bucket % SUB_BUCKETS;
+		return (long) (SUB_BUCKETS + sub) << (exponent - SUB_BITS);
+	}
+
+
+	/*
+	 * The metrics of one distinct SQL string
+	 */
+	private static final class Query {
+		final String caller;
+		final String sql;
+		final boolean sensitive;
+		final LongAdder executions = new LongAdder();
+		final LongAdder errors = new LongAdder();
+		final LongAdder rows = new LongAdder();
+		final LongAdder slow = new LongAdder();
+		final LongAdder totalNanos = new LongAdder();
+		final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+		final AtomicLongArray histogram = new AtomicLongArray(BUCKETS);
+
+		Query(String caller, String sql) {
+			this.caller = caller;
+			this.sql = sql;
+			this.sensitive = sql.toLowerCase(Locale.ROOT).contains("password");
+		}
+
+		void record(long nanos, long rowCount, boolean failed) {
+			executions.increment();
+			if (failed) errors.increment();
+			if (rowCount > 0) rows.add(rowCount);
+			totalNanos.add(nanos);
+			maxNanos.accumulate(nanos);
+			histogram.incrementAndGet(bucketOf(nanos));
+		}
+
+		/*
+		 * The top of the bucket holding the given fraction of the runs, but no more than the
+		 * longest run
+		 */
+		long percentileNanos(double fraction) {
+			long[] counts = new long[BUCKETS];
+			long total = 0;
+			for (int i = 0; i < BUCKETS; i++) total += counts[i] = histogram.get(i);
+			if (total == 0) return 0;
+			long rank = Math.max(1, (long) Math.ceil(fraction * total));
+			long max = maxNanos.get();
+			long seen = 0;
+			for (int i = 0; i < BUCKETS - 1; i++) {
+				seen += counts[i];
+				if (seen >= rank) return Math.min(lowestIn(i + 1) - 1, max);
+			}
+			return max;
+		}
+
+		QueryStatistics snapshot() {
+			return new QueryStatistics(caller, sql, executions.sum(), errors.sum(), rows.sum(),
+					slow.sum(), totalNanos.sum() / 1e6, percentileNanos(0.50) / 1e3,
+					percentileNanos(0.99) / 1e3, maxNanos.get() / 1e3);
+		}
+
+		void reset() {
+			executions.reset();
+			errors.reset();
+			rows.reset();
+			slow.reset();
+			totalNanos.reset();
+			maxNanos.reset();
+			for (int i = 0; i < BUCKETS; i++) histogram.set(i, 0);
+		}
+	}
+
+
+	/*
+	 * The caller's view of an instrumented statement.  Parameters are remembered as they are set
+	 * so the slow query log can show them, execute calls are timed, and the result sets of
+	 * queries count their rows as they are read.
+	 */
+	private final class StatementHandle implements InvocationHandler {
+		private final Statement target;
+		private final Query prepared;		// Null for a plain Statement
+		private Query last;					// The query whose result getResultSet returns
+		private Object[] parameters = NO_PARAMETERS;
+		private int parameterCount = 0;
+		private int batched = 0;
+
+		StatementHandle(Statement target, Query prepared) {
+			this.target = target;
+			this.prepared = prepared;
+		}
+
+		@Override
+		public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+			String name = method.getName();
+			if (name.startsWith("execute")) return execute(method, args);
+			if (name.startsWith("set") && args != null && args.length >= 2
+					&& args[0] instanceof Integer) {
+				remember((Integer) args[0], name.equals("setNull") ? null : args[1]);
+			} else {
+				switch (name) {
+				case "clearParameters":
+					Arrays.fill(parameters, null);
+					parameterCount = 0;
+					break;
+				case "addBatch":
+					if (prepared == null && batched == 0) last = queryFor((String) args[0]);
+					batched++;
+					break;
+				case "clearBatch":
+					batched = 0;
+					break;
+				case "equals":
+					return proxy == args[0];
+				case "hashCode":
+					return System.identityHashCode(proxy);
+				default:
+					break;
+				}
+			}
+			Object result = pass(method, args);
+			if (name.equals("getResultSet") && result != null && last != null)
+				return countRows((ResultSet) result, last);
+			return result;
+		}
+
+		private Object execute(Method method, Object[] args) throws Throwable {
+			Query query = prepared;
+			if (args != null && args.length > 0 && args[0] instanceof String)
+				query = queryFor((String) args[0]);
+			else if (query == null) query = last != null ? last : queryFor(OTHER_QUERIES);
+			last = query;
+
+			long start = System.nanoTime();
+			Object result;
+			try {
+				result = method.invoke(target, args);
+			} catch (InvocationTargetException e) {
+				finish(query, System.nanoTime() - start, 0, true);
+				throw e.getCause();
+			}
+			long nanos = System.nanoTime() - start;
+
+			long rows = 0;
+			if (result instanceof ResultSet) {
+				result = countRows((ResultSet) result, query);
+			} else if (result instanceof Number) {
+				rows = ((Number) result).longValue();
+			} else if (result instanceof int[]) {
+				for (int count : (int[]) result) rows += rowsOf(count);
+			} else if (result instanceof long[]) {
+				for (long count : (long[]) result) rows += rowsOf(count);
+			} else if (Boolean.FALSE.equals(result)) {
+				try {
+					rows = target.getLargeUpdateCount();
+				} catch (SQLException e) {
+					// A statement such as SHUTDOWN leaves nothing to ask; it changed no rows
+				}
+			}
+			finish(query, nanos, rows, false);
+			return result;
+		}
+
+		private void finish(Query query, long nanos, long rows, boolean failed) {
+			query.record(nanos, rows, failed);
+			if (nanos >= slowQueryNanos)
+				logSlowQuery(query, nanos, failed, parameters, parameterCount, batched);
+			batched = 0;
+		}
+
+		private void remember(int index, Object value) {
+			if (index < 1) return;
+			if (index > parameters.length)
+				parameters = Arrays.copyOf(parameters, Math.max(index, parameters.length * 2));
+			parameters[index - 1] = value;
+			parameterCount = Math.max(parameterCount, index);
+		}
+
+		private Object pass(Method method, Object[] args) throws Throwable {
+			try {
+				return method.invoke(target, args);
+			} catch (InvocationTargetException e) {
+				throw e.getCause();
+			}
+		}
+	}
+
+
+	/*
+	 * Wrap a result set so the rows read from it are added to the query's row count
+	 */
+	private static ResultSet countRows(ResultSet results, Query query) {
+		return new CountingResultSet(results, query.rows);
+	}
+}
@@ -0,0 +1,121 @@
+package database;
+
+import java.util.List;
+
+/*******
+ * <p> Title: QueryMetricsMXBean Interface. </p>
+ *
+ * <p> Description: The view of a Database's QueryMetrics that is published over JMX, so the
+ * statement latencies, row counts, errors, and slow query log of a running application can be
+ * watched with JConsole or VisualVM.  Each Database registers its metrics under the name
+ * FoundationsF25:type=QueryMetrics,database="&lt;database name&gt;" while it is connected.</p>
+ *
+ * <p> Copyright: Lynn Robert Carter © 2025 </p>
+ *
+ * @author Team-25
+ *
+ * @version 1.00		2026-10-16 Initial version
+ */
+public interface QueryMetricsMXBean {
+
+	/*******
+	 * <p> Method: boolean isEnabled() </p>
+	 *
+	 * @return whether the statements handed out from now on are measured
+	 */
+	boolean isEnabled();
+
+
+	/*******
+	 * <p> Method: void setEnabled(boolean enabled) </p>
+	 *
+	 * <p> Description: Turn the measuring on or off while the application runs.  Statements
+	 * already handed out keep what they had; what has been counted is kept.</p>
+	 *
+	 * @param enabled is true to measure the statements handed out from now on
+	 */
+	void setEnabled(boolean enabled);
+
+
+	/*******
+	 * <p> Method: long getSlowQueryThresholdMillis() </p>
+	 *
+	 * @return how long a statement may run before the slow query log records it; zero records
+	 * every statement and a negative value none
+	 */
+	long getSlowQueryThresholdMillis();
+
+
+	/*******
+	 * <p> Method: void setSlowQueryThresholdMillis(long millis) </p>
+	 *
+	 * <p> Description: Change the slow query threshold while the application runs.</p>
+	 *
+	 * @param millis is the new threshold; zero records every statement and a negative value none
+	 */
+	void setSlowQueryThresholdMillis(long millis);
+
+
+	/*******
+	 * <p> Method: long getExecutionCount() </p>
+	 *
+	 * @return the number of statements executed, failed ones included
+	 */
+	long getExecutionCount();
+
+
+	/*******
+	 * <p> Method: long getErrorCount() </p>
+	 *
+	 * @return the number of statements that threw an SQLException
+	 */
+	long getErrorCount();
+
+
+	/*******
+	 * <p> Method: long getRowCount() </p>
+	 *
+	 * @return the number of rows read by queries and changed by updates
+	 */
+	long getRowCount();
+
+
+	/*******
+	 * <p> Method: long getSlowQueryCount() </p>
+	 *
+	 * @return the number of statements the slow query log has recorded
+	 */
+	long getSlowQueryCount();
+
+
+	/*******
+	 * <p> Method: List&lt;QueryStatistics&gt; getQueries() </p>
+	 *
+	 * @return the metrics of each distinct statement, the most time consuming first
+	 */
+	List<QueryStatistics> getQueries();
+
+
+	/*******
+	 * <p> Method: List&lt;String&gt; getRecentSlowQueries() </p>
+	 *
+	 * @return the latest entries of the slow query log, oldest first
+	 */
+	List<String> getRecentSlowQueries();
+
+
+	/*******
+	 * <p> Method: String getStatistics() </p>
+	 *
+	 * @return a summary line followed by one line per statement, for the console
+	 */
+	String getStatistics();
+
+
+	/*******
+	 * <p> Method: void reset() </p>
+	 *
+	 * <p> Description: Start counting again from zero, for example before a load test.</p>
+	 */
+	void reset();
+}
@@ -0,0 +1,158 @@
+package database;
+
+/*******
+ * <p> Title: QueryStatistics Class. </p>
+ *
+ * <p> Description: A snapshot of the metrics QueryMetrics keeps for one distinct SQL statement:
+ * how often it ran, how many of those runs failed, the rows it read or changed, and the 50th
+ * and 99th percentile and maximum of its execution time.  The percentiles come from a
+ * histogram whose buckets are an eighth of a power of two wide, so they are within about 12% of
+ * the exact value.</p>
+ *
+ * <p> Copyright: Lynn Robert Carter © 2025 </p>
+ *
+ * @author Team-25
+ *
+ * @version 1.00		2026-10-16 Initial version
+ */
+public final class QueryStatistics {
+
+	private final String caller;
+	private final String sql;
+	private final long executionCount;
+	private final long errorCount;
+	private final long rowCount;
+	private final long slowCount;
+	private final double totalMillis;
+	private final double p50Micros;
+	private final double p99Micros;
+	private final double maxMicros;
+
+
+	/*******
+	 * <p> Method: QueryStatistics(String caller, String sql, long executionCount,
+	 * 		long errorCount, long rowCount, long slowCount, double totalMillis, double p50Micros,
+	 * 		double p99Micros, double maxMicros) </p>
+	 *
+	 * <p> Description: Establish a snapshot.</p>
+	 *
+	 * @param caller is the method that prepared the statement, such as Database.getPost
+	 *
+	 * @param sql is the statement
+	 *
+	 * @param executionCount is the number of times it ran
+	 *
+	 * @param errorCount is the number of those runs that threw an SQLException
+	 *
+	 * @param rowCount is the number of rows it read or changed
+	 *
+	 * @param slowCount is the number of runs the slow query log recorded
+	 *
+	 * @param totalMillis is the time spent running it
+	 *
+	 * @param p50Micros is the median execution time
+	 *
+	 * @param p99Micros is the 99th percentile execution time
+	 *
+	 * @param maxMicros is the longest execution time
+	 */
+	public QueryStatistics(String caller, String sql, long executionCount, long errorCount,
+			long rowCount, long slowCount, double totalMillis, double p50Micros, double p99Micros,
+			double maxMicros) {
+		this.caller = caller;
+		this.sql = sql;
+		this.executionCount = executionCount;
+		this.errorCount = errorCount;
+		this.rowCount = rowCount;
+		this.slowCount = slowCount;
+		this.totalMillis = totalMillis;
+		this.p50Micros = p50Micros;
+		this.p99Micros = p99Micros;
+		this.maxMicros = maxMicros;
+	}
+
+
+	/*******
+	 * <p> Method: String getCaller() </p>
+	 *
+	 * @return the method that prepared the statement, such as Database.getPost; when several
+	 * methods share the same SQL this is the first of them to run it
+	 */
+	public String getCaller() { return caller; }
+
+	/*******
+	 * <p> Method: String getSql() </p>
+	 *
+	 * @return the statement
+	 */
+	public String getSql() { return sql; }
+
+	/*******
+	 * <p> Method: long getExecutionCount() </p>
+	 *
+	 * @return the number of times the statement ran, failed runs included
+	 */
+	public long getExecutionCount() { return executionCount; }
+
+	/*******
+	 * <p> Method: long getErrorCount() </p>
+	 *
+	 * @return the number of runs that threw an SQLException
+	 */
+	public long getErrorCount() { return errorCount; }
+
+	/*******
+	 * <p> Method: long getRowCount() </p>
+	 *
+	 * @return the number of rows the statement read or changed
+	 */
+	public long getRowCount() { return rowCount; }
+
+	/*******
+	 * <p> Method: long getSlowCount() </p>
+	 *
+	 * @return the number of runs the slow query log recorded
+	 */
+	public long getSlowCount() { return slowCount; }
+
+	/*******
+	 * <p> Method: double getTotalMillis() </p>
+	 *
+	 * @return the time spent running the statement
+	 */
+	public double getTotalMillis() { return totalMillis; }
+
+	/*******
+	 * <p> Method: double getP50Micros() </p>
+	 *
+	 * @return the median execution time
+	 */
+	public double getP50Micros() { return p50Micros; }
+
+	/*******
+	 * <p> Method: double getP99Micros() </p>
+	 *
+	 * @return the 99th percentile execution time
+	 */
+	public double getP99Micros() { return p99Micros; }
+
+	/*******
+	 * <p> Method: double getMaxMicros() </p>
+	 *
+	 * @return the longest execution time
+	 */
+	public double getMaxMicros() { return maxMicros; }
+
+
+	/*******
+	 * <p> Method: String toString() </p>
+	 *
+	 * @return the snapshot in a form meant for logs
+	 */
+	@Override
+	public String toString() {
+		return String.format("%s: %d calls, %d errors, %d rows, p50=%.1f us, p99=%.1f us, "
+				+ "max=%.1f us, total=%.1f ms: %s", caller, executionCount, errorCount, rowCount,
+				p50Micros, p99Micros, maxMicros, totalMillis, sql);
+	}
+}
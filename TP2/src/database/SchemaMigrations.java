@@ -0,0 +1,279 @@
+package database;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/*******
+ * <p> Title: SchemaMigrations Class. </p>
+ *
+ * <p> Description: A versioned, idempotent migration runner for the Foundations database.  The
+ * schema is described as an ordered list of migrations.  The SchemaVersion table records which
+ * ones have been applied, so on each start only the new ones run, once, in order.</p>
+ *
+ * <p> Every migration is written so running it again does no harm (IF NOT EXISTS and the like).
+ * That way an existing ~/FoundationDatabase created before this class existed is simply brought
+ * up to date, and a start that was interrupted part way through a migration can be repeated.</p>
+ *
+ * <p> To change the schema, add a new Migration to the end of the list with the next version
+ * number.  Never edit or reorder a migration that has already been released.</p>
+ *
+ * <p> Copyright: Lynn Robert Carter © 2025 </p>
+ *
+ * @author Team-25
+ *
+ * @version 1.00		2026-10-16 Initial version
+ */
+class SchemaMigrations {
+
+	/*
+	 * The work done by one migration
+	 */
+	@FunctionalInterface
+	interface Step {
+		void apply(Statement statement) throws SQLException;
+	}
+
+	/*
+	 * One numbered migration
+	 */
+	static class Migration {
+		final int version;
+		final String description;
+		final Step step;
+
+		Migration(int version, String description, Step step) {
+			this.version = version;
+			this.description = description;
+			this.step = step;
+		}
+	}
+
+	/*
+	 * Build a migration from a list of SQL statements that are run in order
+	 */
+	private static Migration sql(int version, String description, String... statements) {
+		return new Migration(version, description, s -> {
+			for (String sql : statements) s.execute(sql);
+		});
+	}
+
+
+	/*-*******************************************************************************************
+
+	The migrations, oldest first
+
+	*/
+
+	private static final List<Migration> MIGRATIONS = List.of(
+
+		// The tables as they were created before migrations were introduced
+		sql(1, "Base tables for users, invitation codes, posts, and replies",
+			"CREATE TABLE IF NOT EXISTS userDB ("
+					+ "id INT AUTO_INCREMENT PRIMARY KEY, "
+					+ "userName VARCHAR(255) UNIQUE, "
+					+ "password VARCHAR(255), "
+					+ "firstName VARCHAR(255), "
+					+ "middleName VARCHAR(255), "
+					+ "lastName VARCHAR (255), "
+					+ "preferredFirstName VARCHAR(255), "
+					+ "emailAddress VARCHAR(255), "
+					+ "adminRole BOOL DEFAULT FALSE, "
+					+ "newRole1 BOOL DEFAULT FALSE, "
+					+ "newRole2 BOOL DEFAULT FALSE)",
+			"CREATE TABLE IF NOT EXISTS InvitationCodes ("
+					+ "code VARCHAR(10) PRIMARY KEY, "
+					+ "emailAddress VARCHAR(255), "
+					+ "role VARCHAR(10))",
+			"CREATE TABLE IF NOT EXISTS Post ("
+					+ "id INT AUTO_INCREMENT PRIMARY KEY, "
+					+ "author VARCHAR(255) NOT NULL, "
+					+ "content VARCHAR(500) NOT NULL, "
+					+ "authorRole VARCHAR(10))",
+			"CREATE TABLE IF NOT EXISTS Reply ("
+					+ "id INT AUTO_INCREMENT PRIMARY KEY, "
+					+ "postID INT NOT NULL, "
+					+ "author VARCHAR(255) NOT NULL, "
+					+ "content VARCHAR(500) NOT NULL, "
+					+ "authorRole VARCHAR(10), "
+					+ "FOREIGN KEY (postID) REFERENCES Post(id))"),
+
+		// Secondary indexes for the columns the queries filter on.  Trailing id columns let the
+		// per-post and per-author lookups return rows in id order straight from the index.
+		// userDB.userName needs nothing extra: its UNIQUE constraint is already an index.
+		sql(2, "Secondary indexes on Reply, Post, userDB, and InvitationCodes",
+			"CREATE INDEX IF NOT EXISTS idx_Reply_postID ON Reply(postID, id)",
+			"CREATE INDEX IF NOT EXISTS idx_Post_author ON Post(author, id)",
+			"CREATE INDEX IF NOT EXISTS idx_Post_authorRole ON Post(authorRole, id)",
+			"CREATE INDEX IF NOT EXISTS idx_userDB_emailAddress ON userDB(emailAddress)",
+			"CREATE INDEX IF NOT EXISTS idx_InvitationCodes_emailAddress "
+					+ "ON InvitationCodes(emailAddress)"),
+
+		// Deleting a post removes its replies in the same statement.  The V1 foreign key was
+		// created without a name, so it is looked up before being replaced.  idx_Reply_postID
+		// from V2 serves the cascade's lookup of a post's replies.
+		new Migration(3, "Cascade deletes from Post to Reply",
+				SchemaMigrations::cascadeReplyDeletes),
+
+		// The full-text search index kept by SqlSearchIndex: one row per term per post or
+		// reply.  The primary key serves term and prefix lookups, idx_SearchTerm_doc the
+		// reindexing of one document, and idx_SearchTerm_postID the removal of a whole thread.
+		// Posts and replies stored before this version are indexed here.
+		new Migration(4, "Full-text search index over posts and replies",
+				SchemaMigrations::createSearchIndex),
+
+		// The log of changes to posts and replies that ChangeFeed polls, so processes sharing
+		// the database see each other's changes.  Polls scan the primary key from the oldest
+		// sequence number that may still be missing; idx_PostChange_changedOn serves the
+		// pruning of old rows.
+		sql(5, "Change log for posts and replies",
+			"CREATE TABLE IF NOT EXISTS PostChange ("
+					+ "seq BIGINT AUTO_INCREMENT PRIMARY KEY, "
+					+ "source BIGINT NOT NULL, "
+					+ "kind CHAR(1) NOT NULL, "
+					+ "subject CHAR(1) NOT NULL, "
+					+ "id INT NOT NULL, "
+					+ "postID INT NOT NULL, "
+					+ "changedOn TIMESTAMP DEFAULT CURRENT_TIMESTAMP)",
+			"CREATE INDEX IF NOT EXISTS idx_PostChange_changedOn ON PostChange(changedOn)")
+	);
+
+
+	/*
+	 * Create the SearchTerm table and index what is already stored
+	 */
+	private static void createSearchIndex(Statement statement) throws SQLException {
+		statement.execute("CREATE TABLE IF NOT EXISTS SearchTerm ("
+				+ "term VARCHAR(" + SearchTokenizer.MAX_TERM_LENGTH + ") NOT NULL, "
+				+ "docType CHAR(1) NOT NULL, "
+				+ "docID INT NOT NULL, "
+				+ "postID INT NOT NULL, "
+				+ "tf INT NOT NULL, "
+				+ "PRIMARY KEY (term, docType, docID))");
+		statement.execute("CREATE INDEX IF NOT EXISTS idx_SearchTerm_doc "
+				+ "ON SearchTerm(docType, docID)");
+		statement.execute("CREATE INDEX IF NOT EXISTS idx_SearchTerm_postID "
+				+ "ON SearchTerm(postID)");
+		SqlSearchIndex.rebuild(statement.getConnection());
+	}
+
+
+	/*
+	 * Replace the Reply to Post foreign key with one that has ON DELETE CASCADE
+	 */
+	private static void cascadeReplyDeletes(Statement statement) throws SQLException {
+		DatabaseMetaData meta = statement.getConnection().getMetaData();
+		List<String> oldKeys = new ArrayList<>();
+		boolean cascading = false;
+		try (ResultSet rs = meta.getImportedKeys(null, null, "REPLY")) {
+			while (rs.next()) {
+				if (!rs.getString("PKTABLE_NAME").equalsIgnoreCase("POST")) continue;
+				if (rs.getShort("DELETE_RULE") == DatabaseMetaData.importedKeyCascade)
+					cascading = true;
+				else
+					oldKeys.add(rs.getString("FK_NAME"));
+			}
+		}
+		for (String name : oldKeys)
+			statement.execute("ALTER TABLE Reply DROP CONSTRAINT \"" + name + "\"");
+		if (!cascading)
+			statement.execute("ALTER TABLE Reply ADD CONSTRAINT fk_Reply_postID "
+					+ "FOREIGN KEY (postID) REFERENCES Post(id) ON DELETE CASCADE");
+	}
+
+
+	/*******
+	 * <p> Method: int latestVersion() </p>
+	 *
+	 * @return the schema version this code expects
+	 */
+	static int latestVersion() {
+		return MIGRATIONS.get(MIGRATIONS.size() - 1).version;
+	}
+
+
+	/*******
+	 * <p> Method: int migrate(Connection connection) </p>
+	 *
+	 * <p> Description: Bring the database up to the latest schema version.  The migrations run
+	 * in one transaction each, committed with the row recording them, but H2 commits every DDL
+	 * statement (CREATE, ALTER, DROP) as it runs, so a migration is not atomic: if one fails part
+	 * way, the statements before the failure stay applied and its version is not recorded.
+	 * That is why every migration must be idempotent; the next start runs the failed one again
+	 * from the beginning and it completes what is missing.</p>
+	 *
+	 * <p> A database whose recorded version is newer than latestVersion() was migrated by a
+	 * newer release of this application.  It is refused rather than used, since this code does
+	 * not know what the newer migrations changed.</p>
+	 *
+	 * @param connection is the connection to migrate through
+	 *
+	 * @return the schema version of the database after migrating
+	 *
+	 * @throws SQLException when a migration fails, in which case earlier migrations stay
+	 * applied, or when the database is newer than this code
+	 */
+	static int migrate(Connection connection) throws SQLException {
+		try (Statement statement = connection.createStatement()) {
+			statement.execute("CREATE TABLE IF NOT EXISTS SchemaVersion ("
+					+ "version INT PRIMARY KEY, "
+					+ "description VARCHAR(255), "
+					+ "appliedOn TIMESTAMP DEFAULT CURRENT_TIMESTAMP)");
+		}
+
+		int current = currentVersion(connection);
+		if (current > latestVersion())
+			throw new SQLException("The database is at schema version " + current
+					+ ", but this application only knows versions up to " + latestVersion()
+					+ "; it was last opened by a newer release.");
+		boolean autoCommit = connection.getAutoCommit();
+		try {
+			connection.setAutoCommit(false);
+			for (Migration m : MIGRATIONS) {
+				if (m.version <= current) continue;
+				System.out.println("*** Applying schema migration " + m.version + ": " +
+						m.description);
+				try (Statement statement = connection.createStatement()) {
+					m.step.apply(statement);
+				}
+				// MERGE keeps this idempotent if another instance recorded it first
+				try (PreparedStatement pstmt = connection.prepareStatement(
+						"MERGE INTO SchemaVersion (version, description) KEY (version) VALUES (?, ?)")) {
+					pstmt.setInt(1, m.version);
+					pstmt.setString(2, m.description);
+					pstmt.executeUpdate();
+				}
+				connection.commit();
+				current = m.version;
+			}
+		} catch (SQLException e) {
+			connection.rollback();
+			throw e;
+		} finally {
+			connection.setAutoCommit(autoCommit);
+		}
+		return current;
+	}
+
+
+	/*******
+	 * <p> Method: int currentVersion(Connection connection) </p>
+	 *
+	 * @param connection is the connection to read through
+	 *
+	 * @return the highest schema version recorded, or 0 for a database that has none
+	 *
+	 * @throws SQLException when the SchemaVersion table cannot be read
+	 */
+	static int currentVersion(Connection connection) throws SQLException {
+		try (Statement statement = connection.createStatement();
+				ResultSet rs = statement.executeQuery("SELECT MAX(version) FROM SchemaVersion")) {
+			return rs.next() ? rs.getInt(1) : 0;
+		}
+	}
+}
@@ -0,0 +1,25 @@
+package database;
+
+/*******
+ * <p> Title: SearchHit Class. </p>
+ *
+ * <p> Description: One ranked post returned by a search index, before the Database attaches
+ * the Post itself.  A hit in a reply counts toward the reply's post.</p>
+ *
+ * <p> Copyright: Lynn Robert Carter © 2025 </p>
+ *
+ * @author Team-25
+ *
+ * @version 1.00		2026-10-16 Initial version
+ */
+final class SearchHit {
+	final int postID;
+	final double score;
+	final int matchingReplies;
+
+	SearchHit(int postID, double score, int matchingReplies) {
+		this.postID = postID;
+		this.score = score;
+		this.matchingReplies = matchingReplies;
+	}
+}
@@ -0,0 +1,143 @@
+package database;
+
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.List;
+
+import entityClasses.Post;
+import entityClasses.Reply;
+
+/*******
+ * <p> Title: SearchIndex Interface. </p>
+ *
+ * <p> Description: A full-text index over post and reply content.  The Database tells the index
+ * about every post and reply it writes, after the write has been committed, and asks it for
+ * ranked posts when searchPosts is called.  SqlSearchIndex keeps the index in a table, for
+ * databases stored on disk; InvertedIndex keeps it in memory, for in-memory databases.</p>
+ *
+ * <p> Both rank the same way.  Each query word matches the same term and, once it is at least
+ * MIN_PREFIX_LENGTH characters long, up to MAX_EXPANSIONS longer terms that start with it, which
+ * count for PREFIX_WEIGHT of an exact match.  A term's weight is ln(1 + documents / documents
+ * containing it), and a document's score adds (1 + ln tf) times the weight for each matching
+ * term.  Reply scores are added to their post.  See SearchQuery for the query syntax; an index
+ * that cannot evaluate operators or phrases ranks by the words alone.</p>
+ *
+ * <p> Copyright: Lynn Robert Carter © 2025 </p>
+ *
+ * @author Team-25
+ *
+ * @version 1.00		2026-10-16 Initial version
+ */
+interface SearchIndex {
+
+	// Prefix matching rules shared by the implementations
+	int MIN_PREFIX_LENGTH = 3;
+	int MAX_EXPANSIONS = 50;
+	double PREFIX_WEIGHT = 0.5;
+
+
+	/*******
+	 * <p> Method: void indexPost(int postID, String content) </p>
+	 *
+	 * <p> Description: Index a new post, or replace the terms of an edited one.</p>
+	 *
+	 * @param postID is the post's id
+	 *
+	 * @param content is the post's text
+	 *
+	 * @throws SQLException if the index cannot be written
+	 */
+	void indexPost(int postID, String content) throws SQLException;
+
+
+	/*******
+	 * <p> Method: void indexReply(int replyID, int postID, String content) </p>
+	 *
+	 * <p> Description: Index a new reply, or replace the terms of an edited one.</p>
+	 *
+	 * @param replyID is the reply's id
+	 *
+	 * @param postID is the id of the post the reply belongs to
+	 *
+	 * @param content is the reply's text
+	 *
+	 * @throws SQLException if the index cannot be written
+	 */
+	void indexReply(int replyID, int postID, String content) throws SQLException;
+
+
+	/*******
+	 * <p> Method: void indexPosts(List&lt;Post&gt; posts) </p>
+	 *
+	 * <p> Description: Index posts that have just been created, so nothing is indexed for them
+	 * yet.</p>
+	 *
+	 * @param posts are newly created posts, with their ids set
+	 *
+	 * @throws SQLException if the index cannot be written
+	 */
+	void indexPosts(List<Post> posts) throws SQLException;
+
+
+	/*******
+	 * <p> Method: void indexReplies(List&lt;Reply&gt; replies) </p>
+	 *
+	 * <p> Description: Index replies that have just been created, so nothing is indexed for
+	 * them yet.</p>
+	 *
+	 * @param replies are newly created replies, with their ids set
+	 *
+	 * @throws SQLException if the index cannot be written
+	 */
+	void indexReplies(List<Reply> replies) throws SQLException;
+
+
+	/*******
+	 * <p> Method: void removeReply(int replyID) </p>
+	 *
+	 * @param replyID is the id of a deleted reply
+	 *
+	 * @throws SQLException if the index cannot be written
+	 */
+	void removeReply(int replyID) throws SQLException;
+
+
+	/*******
+	 * <p> Method: void removePosts(Collection&lt;Integer&gt; postIDs) </p>
+	 *
+	 * <p> Description: Remove deleted posts together with all of their replies.</p>
+	 *
+	 * @param postIDs are the ids of deleted posts
+	 *
+	 * @throws SQLException if the index cannot be written
+	 */
+	void removePosts(Collection<Integer> postIDs) throws SQLException;
+
+
+	/*******
+	 * <p> Method: List&lt;SearchHit&gt; search(String query, int offset, int limit) </p>
+	 *
+	 * <p> Description: Rank the posts whose text, or whose replies' text, matches the query.</p>
+	 *
+	 * @param query is the text typed by the user
+	 *
+	 * @param offset is the number of ranked posts to skip, for paging
+	 *
+	 * @param limit is the largest number of posts to return
+	 *
+	 * @return the hits, best first; empty if nothing matches or the query has no words
+	 *
+	 * @throws SQLException if the index cannot be read
+	 */
+	List<SearchHit> search(String query, int offset, int limit) throws SQLException;
+
+
+	/*******
+	 * <p> Method: String getStatistics() </p>
+	 *
+	 * @return a few lines describing the size of the index, for logging
+	 *
+	 * @throws SQLException if the index cannot be read
+	 */
+	String getStatistics() throws SQLException;
+}
@@ -0,0 +1,154 @@
+package database;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/*******
+ * <p> Title: SearchQuery Class. </p>
+ *
+ * <p> Description: The parsed form of the text typed into a search.  A query is a list of
+ * clauses, and a document matches when it matches any clause.  A clause is a list of elements,
+ * and a document matches a clause when it contains every element.  An element is one word or a
+ * quoted phrase.</p>
+ *
+ * <p> Words written next to each other are alternatives, ranked by how many of them match, the
+ * same as before operators existed.  AND between two elements puts them in one clause, and binds
+ * tighter than OR, which may be written but is the default.  Operators must be upper case, so
+ * "and" and "or" are searched for as words.  A phrase in double quotes matches only the words in
+ * that order, exactly; a plain word of MIN_PREFIX_LENGTH letters or more also matches longer
+ * words that start with it.  So
+ * <code>database AND "connection pool" OR h2</code> finds documents that mention h2, or that
+ * mention a database word and the exact phrase connection pool.</p>
+ *
+ * <p> Copyright: Lynn Robert Carter © 2025 </p>
+ *
+ * @author Team-25
+ *
+ * @version 1.00		2026-10-16 Initial version
+ */
+final class SearchQuery {
+
+	/*
+	 * One word or phrase of a query.  A word has one term; a phrase has its terms in order.
+	 */
+	static final class Element {
+		final List<String> terms;
+		final boolean exact;			// true for quoted text: no prefix matching
+
+		Element(List<String> terms, boolean exact) {
+			this.terms = terms;
+			this.exact = exact;
+		}
+
+		boolean isPhrase() {
+			return terms.size() > 1;
+		}
+	}
+
+	private final List<List<Element>> clauses;
+
+	private SearchQuery(List<List<Element>> clauses) {
+		this.clauses = clauses;
+	}
+
+
+	/*******
+	 * <p> Method: SearchQuery parse(String query) </p>
+	 *
+	 * @param query is the text typed by the user; null is treated as empty
+	 *
+	 * @return the parsed query, which has no clauses when the text holds no words
+	 */
+	static SearchQuery parse(String query) {
+		List<List<Element>> clauses = new ArrayList<>();
+		if (query == null) return new SearchQuery(clauses);
+
+		boolean joinWithAnd = false;
+		int i = 0;
+		while (i < query.length()) {
+			char c = query.charAt(i);
+			if (Character.isWhitespace(c)) {
+				i++;
+				continue;
+			}
+
+			// Find the extent of the next quoted phrase or bare token
+			String text;
+			boolean quoted = (c == '"');
+			if (quoted) {
+				int close = query.indexOf('"', i + 1);
+				if (close < 0) close = query.length();
+				text = query.substring(i + 1, close);
+				i = close + 1;
+			} else {
+				int start = i;
+				while (i < query.length() && !Character.isWhitespace(query.charAt(i))
+						&& query.charAt(i) != '"') i++;
+				text = query.substring(start, i);
+				if (text.equals("AND")) {
+					joinWithAnd = !clauses.isEmpty();
+					continue;
+				}
+				if (text.equals("OR")) {
+					joinWithAnd = false;
+					continue;
+				}
+			}
+
+			// A token such as "e-mail" splits into several terms and is kept together as a phrase
+			List<String> terms = SearchTokenizer.tokenize(text);
+			if (terms.isEmpty()) continue;
+			Element element = new Element(terms, quoted || terms.size() > 1);
+			if (joinWithAnd) clauses.get(clauses.size() - 1).add(element);
+			else {
+				List<Element> clause = new ArrayList<>();
+				clause.add(element);
+				clauses.add(clause);
+			}
+			joinWithAnd = false;
+		}
+		return new SearchQuery(clauses);
+	}
+
+
+	/*******
+	 * <p> Method: List&lt;List&lt;Element&gt;&gt; getClauses() </p>
+	 *
+	 * @return the clauses, any one of which a document must match
+	 */
+	List<List<Element>> getClauses() {
+		return clauses;
+	}
+
+
+	/*******
+	 * <p> Method: boolean isEmpty() </p>
+	 *
+	 * @return true when the query has no words to search for
+	 */
+	boolean isEmpty() {
+		return clauses.isEmpty();
+	}
+
+
+	/*******
+	 * <p> Method: List&lt;Element&gt; getWords() </p>
+	 *
+	 * <p> Description: Every term of the query as its own element, phrases split up and
+	 * operators ignored, for an index that only ranks by the words a document contains.</p>
+	 *
+	 * @return one element per distinct term, in the order they first appear
+	 */
+	List<Element> getWords() {
+		List<Element> words = new ArrayList<>();
+		List<String> seen = new ArrayList<>();
+		for (List<Element> clause : clauses)
+			for (Element e : clause)
+				for (String term : e.terms)
+					if (!seen.contains(term)) {
+						seen.add(term);
+						words.add(new Element(List.of(term), e.exact));
+					}
+		return words;
+	}
+}
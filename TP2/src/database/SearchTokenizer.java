@@ -0,0 +1,69 @@
+package database;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/*******
+ * <p> Title: SearchTokenizer Class. </p>
+ *
+ * <p> Description: Splits post and reply text into the terms the search index stores.  A term
+ * is a run of letters and digits, lower-cased; everything else separates terms.  The same rules
+ * are applied to the text being indexed and to the words typed into a search, so "Java's" in a
+ * post is found by searching for "java".</p>
+ *
+ * <p> Copyright: Lynn Robert Carter © 2025 </p>
+ *
+ * @author Team-25
+ *
+ * @version 1.00		2026-10-16 Initial version
+ */
+final class SearchTokenizer {
+
+	// Longer runs (pasted URLs, hashes) are cut to this length; it matches SearchTerm.term
+	static final int MAX_TERM_LENGTH = 64;
+
+	private SearchTokenizer() {
+	}
+
+
+	/*******
+	 * <p> Method: List&lt;String&gt; tokenize(String text) </p>
+	 *
+	 * @param text is the text to split; null is treated as empty
+	 *
+	 * @return the terms in the order they appear, repeats included
+	 */
+	static List<String> tokenize(String text) {
+		List<String> terms = new ArrayList<>();
+		if (text == null) return terms;
+		int start = -1;
+		for (int i = 0; i <= text.length(); i++) {
+			boolean partOfTerm = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+			if (partOfTerm) {
+				if (start < 0) start = i;
+			} else if (start >= 0) {
+				String term = text.substring(start, Math.min(i, start + MAX_TERM_LENGTH));
+				terms.add(term.toLowerCase(Locale.ROOT));
+				start = -1;
+			}
+		}
+		return terms;
+	}
+
+
+	/*******
+	 * <p> Method: Map&lt;String, Integer&gt; termFrequencies(String text) </p>
+	 *
+	 * @param text is the text to split
+	 *
+	 * @return each distinct term and the number of times it appears, in first-seen order
+	 */
+	static Map<String, Integer> termFrequencies(String text) {
+		Map<String, Integer> counts = new LinkedHashMap<>();
+		for (String term : tokenize(text)) counts.merge(term, 1, Integer::sum);
+		return counts;
+	}
+}
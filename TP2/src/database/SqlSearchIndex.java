@@ -0,0 +1,369 @@
+package database;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.sql.DataSource;
+
+import entityClasses.Post;
+import entityClasses.Reply;
+
+/*******
+ * <p> Title: SqlSearchIndex Class. </p>
+ *
+ * <p> Description: A full-text index over post and reply content, kept in the SearchTerm table.
+ * Each row says that a term occurs tf times in one post or reply.  The table's primary key
+ * starts with the term, so finding every document that holds a term, or every term that starts
+ * with some letters, is an index range scan rather than a scan of the posts.</p>
+ *
+ * <p> The Database calls this class after each successful write, so the index is updated one
+ * document at a time instead of being rebuilt.  rebuild() exists for the schema migration that
+ * creates the table and fills it from the posts and replies already stored.</p>
+ *
+ * <p> Ranking is the tf-idf described in SearchIndex, computed by one grouped join.  This index
+ * ranks by the words of a query only: AND and quoted phrases are read as their words.</p>
+ *
+ * <p> The number of documents, the N of the idf formula, is counted from the Post and Reply
+ * tables by the first search and then kept up to date by the writes made through this index,
+ * so a search does not count both tables again.  It is counted afresh after posts are removed,
+ * since their replies go with them.</p>
+ *
+ * <p> Copyright: Lynn Robert Carter © 2025 </p>
+ *
+ * @author Team-25
+ *
+ * @version 1.00		2026-10-16 Initial version
+ */
+class SqlSearchIndex implements SearchIndex {
+
+	// Document types stored in SearchTerm.docType
+	static final String POST = "P";
+	static final String REPLY = "R";
+
+	// Rows written per executeBatch call
+	private static final int CHUNK_SIZE = 1000;
+
+	private final DataSource dataSource;
+
+	// Posts and replies indexed, or -1 until the next search counts them
+	private final AtomicLong documents = new AtomicLong(-1);
+
+
+	/*******
+	 * <p> Method: SqlSearchIndex(DataSource dataSource) </p>
+	 *
+	 * @param dataSource provides the connections, normally the Database's ConnectionPool
+	 */
+	SqlSearchIndex(DataSource dataSource) {
+		this.dataSource = dataSource;
+	}
+
+
+	/*
+	 * One post or reply to be indexed
+	 */
+	private static class Document {
+		final String type;
+		final int docID;
+		final int postID;
+		final String content;
+
+		Document(String type, int docID, int postID, String content) {
+			this.type = type;
+			this.docID = docID;
+			this.postID = postID;
+			this.content = content;
+		}
+	}
+
+
+	@Override
+	public void indexPost(int postID, String content) throws SQLException {
+		write(List.of(new Document(POST, postID, postID, content)), true);
+	}
+
+
+	@Override
+	public void indexReply(int replyID, int postID, String content) throws SQLException {
+		write(List.of(new Document(REPLY, replyID, postID, content)), true);
+	}
+
+
+	@Override
+	public void indexPosts(List<Post> posts) throws SQLException {
+		List<Document> documents = new ArrayList<>(posts.size());
+		for (Post p : posts)
+			documents.add(new Document(POST, p.getPostID(), p.getPostID(), p.getContent()));
+		write(documents, false);
+	}
+
+
+	@Override
+	public void indexReplies(List<Reply> replies) throws SQLException {
+		List<Document> documents = new ArrayList<>(replies.size());
+		for (Reply r : replies)
+			documents.add(new Document(REPLY, r.getReplyID(), r.getPostID(), r.getContent()));
+		write(documents, false);
+	}
+
+
+	@Override
+	public void removeReply(int replyID) throws SQLException {
+		try (Connection connection = dataSource.getConnection();
+				PreparedStatement pstmt = connection.prepareStatement(
+						"DELETE FROM SearchTerm WHERE docType = ? AND docID = ?")) {
+			pstmt.setString(1, REPLY);
+			pstmt.setInt(2, replyID);
+			if (pstmt.executeUpdate() > 0) addDocuments(-1);
+		}
+	}
+
+
+	@Override
+	public void removePosts(Collection<Integer> postIDs) throws SQLException {
+		try (Connection connection = dataSource.getConnection()) {
+			connection.setAutoCommit(false);
+			try (PreparedStatement pstmt = connection.prepareStatement(
+					"DELETE FROM SearchTerm WHERE postID = ?")) {
+				for (int postID : postIDs) {
+					pstmt.setInt(1, postID);
+					pstmt.addBatch();
+				}
+				pstmt.executeBatch();
+				connection.commit();
+				documents.set(-1);
+			} catch (SQLException e) {
+				connection.rollback();
+				throw e;
+			} finally {
+				connection.setAutoCommit(true);
+			}
+		}
+	}
+
+
+	/*
+	 * Index the current text of each document in one transaction, first deleting whatever was
+	 * indexed for it before when replaceExisting is set
+	 */
+	private void write(List<Document> documents, boolean replaceExisting) throws SQLException {
+		if (documents.isEmpty()) return;
+		try (Connection connection = dataSource.getConnection()) {
+			connection.setAutoCommit(false);
+			try (PreparedStatement delete = connection.prepareStatement(
+					"DELETE FROM SearchTerm WHERE docType = ? AND docID = ?");
+					TermWriter writer = new TermWriter(connection)) {
+				int added = 0;
+				for (Document d : documents) {
+					// A document that had no rows before is a new one
+					if (replaceExisting) {
+						delete.setString(1, d.type);
+						delete.setInt(2, d.docID);
+						if (delete.executeUpdate() == 0) added++;
+					} else {
+						added++;
+					}
+					writer.add(d);
+				}
+				writer.flush();
+				connection.commit();
+				addDocuments(added);
+			} catch (SQLException e) {
+				connection.rollback();
+				throw e;
+			} finally {
+				connection.setAutoCommit(true);
+			}
+		}
+	}
+
+
+	/*
+	 * Adjust the document count, unless it is still to be counted
+	 */
+	private void addDocuments(long delta) {
+		documents.updateAndGet(n -> n < 0 ? n : Math.max(1, n + delta));
+	}
+
+
+	/*
+	 * Batches the SearchTerm rows of any number of documents, CHUNK_SIZE rows per round trip
+	 */
+	private static class TermWriter implements AutoCloseable {
+		private final PreparedStatement insert;
+		private int pending = 0;
+
+		TermWriter(Connection connection) throws SQLException {
+			insert = connection.prepareStatement(
+					"INSERT INTO SearchTerm (term, docType, docID, postID, tf) VALUES (?, ?, ?, ?, ?)");
+		}
+
+		// Add one row per distinct term of the document
+		void add(Document d) throws SQLException {
+			for (Map.Entry<String, Integer> e :
+					SearchTokenizer.termFrequencies(d.content).entrySet()) {
+				insert.setString(1, e.getKey());
+				insert.setString(2, d.type);
+				insert.setInt(3, d.docID);
+				insert.setInt(4, d.postID);
+				insert.setInt(5, e.getValue());
+				insert.addBatch();
+				if (++pending == CHUNK_SIZE) flush();
+			}
+		}
+
+		void flush() throws SQLException {
+			if (pending > 0) insert.executeBatch();
+			pending = 0;
+		}
+
+		@Override
+		public void close() throws SQLException {
+			insert.close();
+		}
+	}
+
+
+	@Override
+	public List<SearchHit> search(String query, int offset, int limit) throws SQLException {
+		List<SearchHit> hits = new ArrayList<>();
+		List<SearchQuery.Element> words = SearchQuery.parse(query).getWords();
+		if (words.isEmpty() || limit < 1) return hits;
+
+		try (Connection connection = dataSource.getConnection()) {
+			Map<String, Double> weights = termWeights(connection, words);
+			if (weights.isEmpty()) return hits;
+
+			// Join the index to the weighted terms and add the scores up per post
+			StringBuilder sql = new StringBuilder("SELECT s.postID, "
+					+ "SUM((1 + LN(s.tf)) * w.weight) AS score, "
+					+ "COUNT(DISTINCT CASE WHEN s.docType = 'R' THEN s.docID END) AS replies "
+					+ "FROM SearchTerm s JOIN (VALUES ");
+			for (int i = 0; i < weights.size(); i++)
+				sql.append(i == 0 ? "" : ", ")
+						.append("(CAST(? AS VARCHAR(64)), CAST(? AS DOUBLE PRECISION))");
+			sql.append(") AS w(term, weight) ON s.term = w.term "
+					+ "GROUP BY s.postID ORDER BY score DESC, s.postID DESC LIMIT ? OFFSET ?");
+
+			try (PreparedStatement pstmt = connection.prepareStatement(sql.toString())) {
+				int p = 1;
+				for (Map.Entry<String, Double> e : weights.entrySet()) {
+					pstmt.setString(p++, e.getKey());
+					pstmt.setDouble(p++, e.getValue());
+				}
+				pstmt.setInt(p++, limit);
+				pstmt.setInt(p, Math.max(0, offset));
+				ResultSet rs = pstmt.executeQuery();
+				while (rs.next())
+					hits.add(new SearchHit(rs.getInt(1), rs.getDouble(2), rs.getInt(3)));
+			}
+		}
+		return hits;
+	}
+
+
+	/*
+	 * Find the indexed terms each word matches and weigh them by inverse document frequency
+	 */
+	private Map<String, Double> termWeights(Connection connection,
+			List<SearchQuery.Element> words) throws SQLException {
+		Map<String, Double> weights = new LinkedHashMap<>();
+		double documents = documentCount(connection);
+		try (PreparedStatement exact = connection.prepareStatement(
+					"SELECT term, COUNT(*) FROM SearchTerm WHERE term = ? GROUP BY term");
+				PreparedStatement prefix = connection.prepareStatement(
+					"SELECT term, COUNT(*) AS df FROM SearchTerm WHERE term >= ? AND term < ? "
+					+ "GROUP BY term ORDER BY df DESC LIMIT ?")) {
+			for (SearchQuery.Element element : words) {
+				String word = element.terms.get(0);
+				PreparedStatement pstmt;
+				if (!element.exact && word.length() >= MIN_PREFIX_LENGTH) {
+					pstmt = prefix;
+					pstmt.setString(1, word);
+					pstmt.setString(2, word + Character.MAX_VALUE);
+					pstmt.setInt(3, MAX_EXPANSIONS);
+				} else {
+					pstmt = exact;
+					pstmt.setString(1, word);
+				}
+				try (ResultSet rs = pstmt.executeQuery()) {
+					while (rs.next()) {
+						String term = rs.getString(1);
+						long df = rs.getLong(2);
+						double weight = Math.log(1 + documents / df);
+						if (!term.equals(word)) weight *= PREFIX_WEIGHT;
+						weights.merge(term, weight, Math::max);
+					}
+				}
+			}
+		}
+		return weights;
+	}
+
+
+	/*
+	 * The number of posts and replies, the N of the idf formula, counted only when not known
+	 */
+	private long documentCount(Connection connection) throws SQLException {
+		long n = documents.get();
+		if (n >= 0) return n;
+		try (Statement statement = connection.createStatement();
+				ResultSet rs = statement.executeQuery(
+						"SELECT (SELECT COUNT(*) FROM Post) + (SELECT COUNT(*) FROM Reply)")) {
+			n = rs.next() ? Math.max(1, rs.getLong(1)) : 1;
+		}
+		// A write that finished during the count is in it already, so only fill in an unknown
+		documents.compareAndSet(-1, n);
+		return n;
+	}
+
+
+	@Override
+	public String getStatistics() throws SQLException {
+		try (Connection connection = dataSource.getConnection();
+				Statement statement = connection.createStatement();
+				ResultSet rs = statement.executeQuery("SELECT COUNT(*), COUNT(DISTINCT term), "
+						+ "COUNT(DISTINCT docType || docID) FROM SearchTerm")) {
+			rs.next();
+			return "search index: SearchTerm table rows=" + rs.getLong(1) + " terms=" +
+					rs.getLong(2) + " documents=" + rs.getLong(3);
+		}
+	}
+
+
+	/*******
+	 * <p> Method: void rebuild(Connection connection) </p>
+	 *
+	 * <p> Description: Empty the SearchTerm table and index every stored post and reply.  The
+	 * caller controls the transaction; the schema migration that creates the table uses this to
+	 * index what was posted before search existed.</p>
+	 *
+	 * @param connection is the connection to work through
+	 *
+	 * @throws SQLException if the posts cannot be read or the index written
+	 */
+	static void rebuild(Connection connection) throws SQLException {
+		try (Statement statement = connection.createStatement();
+				TermWriter writer = new TermWriter(connection)) {
+			statement.execute("DELETE FROM SearchTerm");
+			try (ResultSet rs = statement.executeQuery("SELECT id, content FROM Post")) {
+				while (rs.next())
+					writer.add(new Document(POST, rs.getInt(1), rs.getInt(1), rs.getString(2)));
+			}
+			try (ResultSet rs = statement.executeQuery("SELECT id, postID, content FROM Reply")) {
+				while (rs.next())
+					writer.add(new Document(REPLY, rs.getInt(1), rs.getInt(2), rs.getString(3)));
+			}
+			writer.flush();
+		}
+	}
+}
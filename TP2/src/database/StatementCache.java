@@ -0,0 +1,283 @@
+package database;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/*******
+ * <p> Title: StatementCache Class. </p>
+ *
+ * <p> Description: A per-connection cache of PreparedStatements keyed by their SQL text.  The
+ * Database methods prepare the same constant SQL strings over and over; with this cache the
+ * database parses each one once per connection and the statement is reused afterwards.</p>
+ *
+ * <p> Each pooled connection owns one of these caches, so the Database code does not change:
+ * it still calls connection.prepareStatement(...) inside a try-with-resources block.  The
+ * statement it gets back is a thin wrapper whose close() clears the parameters, closes any open
+ * ResultSet, and returns the statement to the cache instead of closing it.</p>
+ *
+ * <p> The cache holds a bounded number of statements and evicts the least recently used one when
+ * it is full.  If a statement is requested while the cached copy is still in use (for example, a
+ * method that prepares the same SQL twice), an ordinary uncached statement is returned.</p>
+ *
+ * <p> Copyright: Lynn Robert Carter © 2025 </p>
+ *
+ * @author Team-25
+ *
+ * @version 1.00		2026-10-16 Initial version
+ */
+class StatementCache {
+
+	private final int capacity;
+
+	// Access-ordered so the first entry is always the least recently used
+	private final LinkedHashMap<String, CachedStatement> statements =
+			new LinkedHashMap<>(16, 0.75f, true);
+
+	// Counters are shared by every connection in the pool
+	private final LongAdder hits;
+	private final LongAdder misses;
+	private final LongAdder evictions;
+
+
+	/*******
+	 * <p> Method: StatementCache(int capacity, LongAdder hits, LongAdder misses,
+	 * 		LongAdder evictions) </p>
+	 *
+	 * <p> Description: Establish an empty cache.</p>
+	 *
+	 * @param capacity is the most statements this cache keeps open
+	 *
+	 * @param hits is incremented each time a cached statement is reused
+	 *
+	 * @param misses is incremented each time a statement has to be prepared
+	 *
+	 * @param evictions is incremented each time a statement is pushed out of the cache
+	 */
+	StatementCache(int capacity, LongAdder hits, LongAdder misses, LongAdder evictions) {
+		this.capacity = capacity;
+		this.hits = hits;
+		this.misses = misses;
+		this.evictions = evictions;
+	}
+
+
+	/*******
+	 * <p> Method: PreparedStatement prepare(Connection owner, Connection physical, String sql,
+	 * 		int autoGeneratedKeys) </p>
+	 *
+	 * <p> Description: Return a statement for the SQL, reusing the cached one when possible.</p>
+	 *
+	 * @param owner is the pooled handle the caller is using, reported by getConnection()
+	 *
+	 * @param physical is the real connection the statement is prepared on
+	 *
+	 * @param sql is the SQL text
+	 *
+	 * @param autoGeneratedKeys is Statement.RETURN_GENERATED_KEYS or Statement.NO_GENERATED_KEYS
+	 *
+	 * @return a statement whose close() returns it to this cache
+	 *
+	 * @throws SQLException when the statement cannot be prepared
+	 */
+	synchronized PreparedStatement prepare(Connection owner, Connection physical, String sql,
+			int autoGeneratedKeys) throws SQLException {
+		String key = autoGeneratedKeys + ":" + sql;
+		CachedStatement cached = statements.get(key);
+		if (cached != null) {
+			if (cached.inUse)
+				// Already checked out, so hand back a plain statement that really closes
+				return physical.prepareStatement(sql, autoGeneratedKeys);
+			hits.increment();
+		} else {
+			misses.increment();
+			cached = new CachedStatement(physical.prepareStatement(sql, autoGeneratedKeys));
+			statements.put(key, cached);
+			evictIfFull();
+		}
+		cached.inUse = true;
+		return cached.newHandle(owner);
+	}
+
+
+	/*
+	 * Drop least recently used statements until the cache fits.  A statement that is in use is
+	 * marked and closed when it is given back.
+	 */
+	private void evictIfFull() {
+		Iterator<CachedStatement> it = statements.values().iterator();
+		while (statements.size() > capacity && it.hasNext()) {
+			CachedStatement eldest = it.next();
+			it.remove();
+			evictions.increment();
+			if (eldest.inUse) eldest.evicted = true;
+			else eldest.closeQuietly();
+		}
+	}
+
+
+	/*******
+	 * <p> Method: int size() </p>
+	 *
+	 * @return the number of statements currently cached
+	 */
+	synchronized int size() {
+		return statements.size();
+	}
+
+
+	/*******
+	 * <p> Method: void close() </p>
+	 *
+	 * <p> Description: Close every cached statement.  Called before the connection is closed.</p>
+	 */
+	synchronized void close() {
+		for (Map.Entry<String, CachedStatement> e : statements.entrySet()) e.getValue().closeQuietly();
+		statements.clear();
+	}
+
+
+	/*
+	 * Give a statement back to the cache once the caller closes its handle
+	 */
+	private synchronized void giveBack(CachedStatement cached) {
+		cached.inUse = false;
+		if (cached.evicted) cached.closeQuietly();
+	}
+
+
+	/*
+	 * One cached statement
+	 */
+	private class CachedStatement {
+		final PreparedStatement physical;
+		boolean inUse = false;
+		boolean evicted = false;
+
+		CachedStatement(PreparedStatement physical) {
+			this.physical = physical;
+		}
+
+		PreparedStatement newHandle(Connection owner) {
+			return (PreparedStatement) Proxy.newProxyInstance(
+					PreparedStatement.class.getClassLoader(),
+					new Class<?>[] { PreparedStatement.class }, new Handle(this, owner));
+		}
+
+		void closeQuietly() {
+			try {
+				physical.close();
+			} catch (SQLException e) {
+				e.printStackTrace();
+			}
+		}
+	}
+
+
+	/*
+	 * The caller's view of a cached statement.  close() resets the statement and gives it back;
+	 * ResultSets it produced are remembered so they can be closed at that point.
+	 */
+	private class Handle implements InvocationHandler {
+		private final CachedStatement cached;
+		private final Connection owner;
+		private final List<ResultSet> openResults = new ArrayList<>(2);
+		private boolean handleClosed = false;
+
+		Handle(CachedStatement cached, Connection owner) {
+			this.cached = cached;
+			this.owner = owner;
+		}
+
+		@Override
+		public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+			switch (method.getName()) {
+			case "close":
+				if (!handleClosed) {
+					handleClosed = true;
+					reset();
+					giveBack(cached);
+				}
+				return null;
+			case "isClosed":
+				return handleClosed;
+			case "getConnection":
+				return owner;
+			case "equals":
+				return proxy == args[0];
+			case "hashCode":
+				return System.identityHashCode(proxy);
+			case "toString":
+				return "Cached " + cached.physical;
+			default:
+				if (handleClosed) throw new SQLException("Statement has been closed");
+				Object result;
+				try {
+					result = method.invoke(cached.physical, args);
+				} catch (InvocationTargetException e) {
+					throw e.getCause();
+				}
+				if (result instanceof ResultSet) openResults.add((ResultSet) result);
+				return result;
+			}
+		}
+
+		/*
+		 * Put the statement back the way a freshly prepared one would be
+		 */
+		private void reset() {
+			try {
+				for (ResultSet rs : openResults) rs.close();
+				openResults.clear();
+				cached.physical.clearParameters();
+				cached.physical.clearBatch();
+				cached.physical.clearWarnings();
+			} catch (SQLException e) {
+				// A statement that cannot be reset is not safe to reuse
+				cached.evicted = true;
+			}
+		}
+	}
+
+
+	/*******
+	 * <p> Method: boolean isCacheable(Method method) </p>
+	 *
+	 * <p> Description: Only the two prepareStatement forms used by the Database class are
+	 * cached; anything more exotic (result set types, column arrays) is passed straight
+	 * through.</p>
+	 *
+	 * @param method is the Connection method being called
+	 *
+	 * @return true if the call can be served from the cache
+	 */
+	static boolean isCacheable(Method method) {
+		if (!method.getName().equals("prepareStatement")) return false;
+		Class<?>[] p = method.getParameterTypes();
+		return p.length == 1 || (p.length == 2 && p[1] == int.class);
+	}
+
+
+	/*******
+	 * <p> Method: int generatedKeysFlag(Object[] args) </p>
+	 *
+	 * @param args are the arguments of a cacheable prepareStatement call
+	 *
+	 * @return the autoGeneratedKeys flag the call asked for
+	 */
+	static int generatedKeysFlag(Object[] args) {
+		return args.length == 2 ? (Integer) args[1] : Statement.NO_GENERATED_KEYS;
+	}
+}
@@ -0,0 +1,207 @@
+package entityClasses;
+
+/*******
+ * <p> Title: AccountSnapshot Class </p>
+ *
+ * <p> Description: An immutable copy of one user's account as it was when it was read from the
+ *  database.  Database.getUserAccountDetails returns one of these instead of storing the values
+ *  in shared "current user" fields, so any number of sessions can read accounts through the one
+ *  Database object at the same time without overwriting each other's data.</p>
+ *
+ * <p> Because nothing in a snapshot can change, it is safe to share between threads and to keep
+ *  in a cache.  To change an account, use the Database update methods and read a new snapshot;
+ *  use toUser() where a page needs a User object.</p>
+ *
+ * <p> Copyright: Lynn Robert Carter © 2025 </p>
+ *
+ * @author Team-25
+ *
+ * @version 1.00		2026-10-16 Initial version
+ */
+
+public final class AccountSnapshot {
+
+	/*
+	 * These are the attributes of the account, fixed when the snapshot is made
+	 */
+    private final String userName;
+    private final String password;
+    private final String firstName;
+    private final String middleName;
+    private final String lastName;
+    private final String preferredFirstName;
+    private final String emailAddress;
+    private final boolean adminRole;
+    private final boolean role1;
+    private final boolean role2;
+
+
+    /*****
+     * <p> Method: AccountSnapshot(String userName, String password, String fn, String mn,
+     * 		String ln, String pfn, String ea, boolean r1, boolean r2, boolean r3) </p>
+     *
+     * <p> Description: This constructor establishes a snapshot.  The parameters are in the same
+     * order as the User constructor. </p>
+     *
+     * @param userName specifies the account userName
+     *
+     * @param password specifies the account password
+     *
+     * @param fn specifies the first name
+     *
+     * @param mn specifies the middle name
+     *
+     * @param ln specifies the last name
+     *
+     * @param pfn specifies the preferred first name
+     *
+     * @param ea specifies the email address
+     *
+     * @param r1 specifies the Admin role attribute
+     *
+     * @param r2 specifies the role1 attribute
+     *
+     * @param r3 specifies the role2 attribute
+     *
+     */
+    public AccountSnapshot(String userName, String password, String fn, String mn, String ln,
+    		String pfn, String ea, boolean r1, boolean r2, boolean r3) {
+        this.userName = userName;
+        this.password = password;
+        this.firstName = fn;
+        this.middleName = mn;
+        this.lastName = ln;
+        this.preferredFirstName = pfn;
+        this.emailAddress = ea;
+        this.adminRole = r1;
+        this.role1 = r2;
+        this.role2 = r3;
+    }
+
+
+    /*****
+     * <p> Method: AccountSnapshot of(User user) </p>
+     *
+     * <p> Description: Take a snapshot of the values a User object holds right now. </p>
+     *
+     * @param user is the user to copy
+     *
+     * @return the snapshot
+     *
+     */
+    public static AccountSnapshot of(User user) {
+    	return new AccountSnapshot(user.getUserName(), user.getPassword(), user.getFirstName(),
+    			user.getMiddleName(), user.getLastName(), user.getPreferredFirstName(),
+    			user.getEmailAddress(), user.getAdminRole(), user.getNewRole1(),
+    			user.getNewRole2());
+    }
+
+
+    /*****
+     * <p> Method: User toUser() </p>
+     *
+     * <p> Description: Make a new, independent User object holding these values, for pages that
+     * work with User objects. </p>
+     *
+     * @return a new User
+     *
+     */
+    public User toUser() {
+    	return new User(userName, password, firstName, middleName, lastName, preferredFirstName,
+    			emailAddress, adminRole, role1, role2);
+    }
+
+
+    /*****
+     * <p> Method: String getUserName() </p>
+     *
+     * @return the userName
+     */
+    public String getUserName() { return userName; }
+
+
+    /*****
+     * <p> Method: String getPassword() </p>
+     *
+     * @return the password
+     */
+    public String getPassword() { return password; }
+
+
+    /*****
+     * <p> Method: String getFirstName() </p>
+     *
+     * @return the first name
+     */
+    public String getFirstName() { return firstName; }
+
+
+    /*****
+     * <p> Method: String getMiddleName() </p>
+     *
+     * @return the middle name
+     */
+    public String getMiddleName() { return middleName; }
+
+
+    /*****
+     * <p> Method: String getLastName() </p>
+     *
+     * @return the last name
+     */
+    public String getLastName() { return lastName; }
+
+
+    /*****
+     * <p> Method: String getPreferredFirstName() </p>
+     *
+     * @return the preferred first name
+     */
+    public String getPreferredFirstName() { return preferredFirstName; }
+
+
+    /*****
+     * <p> Method: String getEmailAddress() </p>
+     *
+     * @return the email address
+     */
+    public String getEmailAddress() { return emailAddress; }
+
+
+    /*****
+     * <p> Method: boolean getAdminRole() </p>
+     *
+     * @return true if this user plays the Admin role
+     */
+    public boolean getAdminRole() { return adminRole; }
+
+
+    /*****
+     * <p> Method: boolean getNewRole1() </p>
+     *
+     * @return true if this user plays role1
+     */
+    public boolean getNewRole1() { return role1; }
+
+
+    /*****
+     * <p> Method: boolean getNewRole2() </p>
+     *
+     * @return true if this user plays role2
+     */
+    public boolean getNewRole2() { return role2; }
+
+
+    /*****
+     * <p> Method: int getNumRoles() </p>
+     *
+     * @return the number of roles this user plays
+     */
+    public int getNumRoles() {
+    	int numRoles = 0;
+    	if (adminRole) numRoles++;
+    	if (role1) numRoles++;
+    	if (role2) numRoles++;
+    	return numRoles;
+    }
+}
@@ -0,0 +1,241 @@
+package entityClasses;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/*******
+ * <p> Title: IntKeyedMap Class </p>
+ *
+ * <p> Description: A map from int ids to objects that keeps its entries in insertion order and
+ *  never boxes a key.  PostCollection and ReplyCollection use it to find an entry by id in
+ *  constant time while still listing entries in the order they were added.</p>
+ *
+ * <p> The entries live in two dense arrays, keys and values, in insertion order.  A separate
+ *  open-addressing hash table holds, for each key, its position in the dense arrays plus one
+ *  (0 marks an empty slot).  Removing an entry clears its value and leaves a hole; holes are
+ *  squeezed out the next time the entries are read by position or the arrays need to grow.</p>
+ *
+ * <p> Like ArrayList, this class is not synchronized.</p>
+ *
+ * <p> Copyright: Lynn Robert Carter © 2025 </p>
+ *
+ * @author Team-25
+ *
+ * @version 1.00		2026-10-16 Initial version
+ *
+ * @param <V> the type of the values
+ */
+
+final class IntKeyedMap<V> {
+
+    private int[] keys = new int[8];
+    private Object[] values = new Object[8];	// null marks a removed entry
+    private int used = 0;						// Dense slots in use, holes included
+    private int size = 0;						// Entries actually present
+    private int[] table = new int[16];			// Dense position + 1, or 0 for empty
+
+    private final Values view = new Values();
+
+
+    /*****
+     * <p> Method: V get(int key) </p>
+     *
+     * @param key is the id to look up
+     *
+     * @return the value stored for the key, or null if there is none
+     */
+    public V get(int key) {
+        int slot = find(key);
+        return (slot < 0) ? null : value(table[slot] - 1);
+    }
+
+
+    /*****
+     * <p> Method: boolean containsKey(int key) </p>
+     *
+     * @param key is the id to look up
+     *
+     * @return true if a value is stored for the key
+     */
+    public boolean containsKey(int key) {
+        return find(key) >= 0;
+    }
+
+
+    /*****
+     * <p> Method: V put(int key, V value) </p>
+     *
+     * <p> Description: Store a value.  Replacing the value of a key keeps its place in the
+     * order; a new key goes at the end. </p>
+     *
+     * @param key is the id
+     *
+     * @param value is the value to store; it may not be null
+     *
+     * @return the value the key had before, or null if it is new
+     */
+    public V put(int key, V value) {
+        Objects.requireNonNull(value);
+        int slot = find(key);
+        if (slot >= 0) {
+            int index = table[slot] - 1;
+            V old = value(index);
+            values[index] = value;
+            return old;
+        }
+        if (used == keys.length) grow();
+        keys[used] = key;
+        values[used] = value;
+        insert(used);
+        used++;
+        size++;
+        view.changed();
+        return null;
+    }
+
+
+    /*****
+     * <p> Method: V remove(int key) </p>
+     *
+     * @param key is the id to remove
+     *
+     * @return the value that was stored for the key, or null if there was none
+     */
+    public V remove(int key) {
+        int slot = find(key);
+        if (slot < 0) return null;
+        int index = table[slot] - 1;
+        V old = value(index);
+        values[index] = null;
+        size--;
+        view.changed();
+
+        // Shift later entries of the probe run back so lookups never stop at the gap
+        int mask = table.length - 1;
+        int gap = slot;
+        for (int j = (gap + 1) & mask; table[j] != 0; j = (j + 1) & mask) {
+            int home = home(keys[table[j] - 1]);
+            if (((j - home) & mask) >= ((j - gap) & mask)) {
+                table[gap] = table[j];
+                gap = j;
+            }
+        }
+        table[gap] = 0;
+        return old;
+    }
+
+
+    /*****
+     * <p> Method: List&lt;V&gt; values() </p>
+     *
+     * @return a read-only view of the values in insertion order, which follows later changes
+     */
+    public List<V> values() {
+        return view;
+    }
+
+
+    /*****
+     * <p> Method: int size() </p>
+     *
+     * @return the number of entries
+     */
+    public int size() {
+        return size;
+    }
+
+
+    /*****
+     * <p> Method: void clear() </p>
+     *
+     * <p> Description: Remove every entry. </p>
+     */
+    public void clear() {
+        Arrays.fill(values, 0, used, null);
+        Arrays.fill(table, 0);
+        used = 0;
+        size = 0;
+        view.changed();
+    }
+
+
+    /*
+     * The values() view.  Adding a key, removing one, or clearing counts as a change to its
+     * modCount, so its iterators fail fast like ArrayList's when the map changes under them.
+     * Squeezing out holes keeps the order and so is not a change.
+     */
+    private final class Values extends AbstractList<V> {
+        @Override
+        public V get(int index) {
+            Objects.checkIndex(index, size);
+            squeeze();
+            return value(index);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        void changed() {
+            modCount++;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private V value(int index) {
+        return (V) values[index];
+    }
+
+    private int home(int key) {
+        int h = key * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & (table.length - 1);
+    }
+
+    // The table slot holding the key, or -1
+    private int find(int key) {
+        int mask = table.length - 1;
+        for (int slot = home(key); table[slot] != 0; slot = (slot + 1) & mask)
+            if (keys[table[slot] - 1] == key) return slot;
+        return -1;
+    }
+
+    // Add the dense entry at index to the table
+    private void insert(int index) {
+        int mask = table.length - 1;
+        int slot = home(keys[index]);
+        while (table[slot] != 0) slot = (slot + 1) & mask;
+        table[slot] = index + 1;
+    }
+
+    // Make room for one more entry: squeeze out holes if there are many, otherwise double
+    private void grow() {
+        if (used - size >= keys.length / 4) {
+            squeeze();
+            return;
+        }
+        keys = Arrays.copyOf(keys, keys.length * 2);
+        values = Arrays.copyOf(values, values.length * 2);
+        table = new int[keys.length * 2];
+        for (int i = 0; i < used; i++) {
+            if (values[i] != null) insert(i);
+        }
+    }
+
+    // Move the entries together, keeping their order, and rebuild the table
+    private void squeeze() {
+        if (used == size) return;
+        int next = 0;
+        for (int i = 0; i < used; i++) {
+            if (values[i] == null) continue;
+            keys[next] = keys[i];
+            values[next++] = values[i];
+        }
+        Arrays.fill(values, next, used, null);
+        used = next;
+        Arrays.fill(table, 0);
+        for (int i = 0; i < used; i++) insert(i);
+    }
+}
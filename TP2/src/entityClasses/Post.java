@@ -104,8 +104,8 @@ public class Post {
      * <ul>
      * <li><strong>US-02 (Edit Posts):</strong> Required to identify which specific post to 
      *     modify. When a user selects a post in the ListView and clicks "Edit Post", 
-     *     ControllerPosts.performEditPost() extracts this ID using ModelPosts.getID() to 
-     *     query the correct post from the database.</li>
+     *     ControllerPosts.performEditPost() takes this ID from the selected Post to 
+     *     update the correct post in the database.</li>
      * 
      * <li><strong>US-03 (Delete Posts):</strong> Required to identify which post to remove. 
      *     ControllerPosts.performDeletePost() uses this ID to call 
@@ -115,9 +115,9 @@ public class Post {
      *     establishing parent-child relationships. Reply.postId references Post.id to 
      *     retrieve all replies for a given post.</li>
      * 
-     * <li><strong>GUI Selection:</strong> ListView displays posts as formatted strings. When 
-     *     user clicks a post, ModelPosts.getID() parses this ID from the display string to 
-     *     perform subsequent operations.</li>
+     * <li><strong>GUI Selection:</strong> ListView&lt;Post&gt; holds the posts themselves and 
+     *     formats only the rows on screen. When user clicks a post, the selection is the Post, 
+     *     and this ID is read from it to perform subsequent operations.</li>
      * </ul>
      * 
      * <p><strong>Data Flow Example:</strong></p>
@@ -126,7 +126,7 @@ public class Post {
      * 2. ResultSet.getGeneratedKeys() → retrieves new ID
      * 3. Post object created with this ID
      * 4. ModelPosts.formatPostForDisplay() → includes ID in display: "id: 5 author: john..."
-     * 5. User selects post → ModelPosts.getID() parses ID from string
+     * 5. User selects post → the selected item is the Post, read with getPostID()
      * 6. ID passed to Database.updatePost() or Database.deletePost()
      * </pre>
      * 
@@ -436,8 +436,8 @@ public class Post {
      * <p><strong>Usage Scenarios:</strong></p>
      * <ul>
      * <li><strong>US-02 (Edit Posts):</strong> 
-     *     ControllerPosts.performEditPost() extracts ID from selected ListView item using
-     *     ModelPosts.getID(), then passes ID to Database.updatePost(id, newContent) to 
+     *     ControllerPosts.performEditPost() reads the ID of the Post selected in the ListView,
+     *     then passes ID to Database.updatePost(id, newContent) to 
      *     update the correct post.</li>
      * 
      * <li><strong>US-03 (Delete Posts):</strong> 
@@ -525,6 +525,21 @@ public class Post {
         return this.author;
     }
     
+    /**
+     * <p><strong>Method:</strong> isAuthoredBy(String userName)</p>
+     * 
+     * <p><strong>Description:</strong> The ownership rule of US-02 and US-03: only the author
+     * of a post may edit or delete it.  Kept here so the controllers and the automated tests
+     * apply the same rule.  The comparison is case-sensitive, as usernames are.</p>
+     * 
+     * @param userName is the username of the user asking to change the post
+     * 
+     * @return true if that user wrote the post
+     */
+    public boolean isAuthoredBy(String userName) {
+        return this.author != null && this.author.equals(userName);
+    }
+    
     /**
      * Returns the text content of this post.
      * 
@@ -1,58 +1,118 @@
 package entityClasses;
 
-import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
+/*
+ * Posts in the order they were added, indexed by id, by author, and by authorRole.  Lookups by
+ * any of the three do not scan the collection, and the lists returned are read-only views that
+ * follow later changes rather than copies; only a lookup of an author or role with no posts
+ * gives an empty list that stays empty.  Adding a post whose id is already present replaces
+ * the old one in place; add a post again after changing its id or role so the indexes follow.
+ */
 public class PostCollection {
-    
-    private List<Post> posts;
-    
+
+    private final IntKeyedMap<Post> posts = new IntKeyedMap<>();
+    private final Map<String, IntKeyedMap<Post>> byAuthor = new HashMap<>();
+    private final Map<String, IntKeyedMap<Post>> byRole = new HashMap<>();
+
     public PostCollection() {
-        this.posts = new ArrayList<>();
     }
 
     public PostCollection(List<Post> posts) {
-        this.posts = new ArrayList<>(posts);
+        for (Post post : posts) {
+            addPost(post);
+        }
     }
-    
-    public void addPost(Post post) {
-        posts.add(post);
+
+    // Final because the constructor calls it
+    public final void addPost(Post post) {
+        Post old = posts.put(post.getPostID(), post);
+        if (old != null) {
+            unindex(old);
+        }
+        index(byAuthor, post.getAuthor(), post);
+        index(byRole, post.getAuthorRole(), post);
     }
-    
+
     public boolean removePost(Post post) {
-        return posts.remove(post);
+        if (posts.get(post.getPostID()) != post) {
+            return false;
+        }
+        return removePostById(post.getPostID());
     }
-    
+
     public boolean removePostById(int postId) {
-        return posts.removeIf(p -> p.getPostID() == postId);
+        Post old = posts.remove(postId);
+        if (old == null) {
+            return false;
+        }
+        unindex(old);
+        return true;
     }
-    
+
     public List<Post> getAllPosts() {
-        return new ArrayList<>(posts);
+        return posts.values();
     }
-    
+
     public Post getPostById(int postId) {
-        for (Post post : posts) {
-            if (post.getPostID() == postId) {
-                return post;
-            }
-        }
-        return null;
+        return posts.get(postId);
+    }
+
+    public List<Post> getPostsByAuthor(String author) {
+        return lookup(byAuthor, author);
     }
-    
+
+    public List<Post> getPostsByRole(String authorRole) {
+        return lookup(byRole, authorRole);
+    }
+
     public int size() {
         return posts.size();
     }
-    
+
     public boolean isEmpty() {
-        return posts.isEmpty();
+        return posts.size() == 0;
     }
-    
+
+    // The groups are emptied rather than dropped, so views already handed out follow the clear
     public void clear() {
         posts.clear();
+        for (IntKeyedMap<Post> group : byAuthor.values()) {
+            group.clear();
+        }
+        for (IntKeyedMap<Post> group : byRole.values()) {
+            group.clear();
+        }
     }
-    
+
     public String toString() {
         return "PostCollection [" + posts.size() + " posts]";
     }
+
+    // Secondary indexes keep one id map per author or role; null is a key like any other
+    private static void index(Map<String, IntKeyedMap<Post>> index, String key, Post post) {
+        index.computeIfAbsent(key, k -> new IntKeyedMap<>()).put(post.getPostID(), post);
+    }
+
+    private void unindex(Post post) {
+        unindex(byAuthor, post.getAuthor(), post.getPostID());
+        unindex(byRole, post.getAuthorRole(), post.getPostID());
+    }
+
+    private static void unindex(Map<String, IntKeyedMap<Post>> index, String key, int postId) {
+        IntKeyedMap<Post> group = index.get(key);
+        if (group == null) {
+            return;
+        }
+        // An emptied group is kept so views already handed out keep following it
+        group.remove(postId);
+    }
+
+    // A miss adds nothing, so looking up names that never post does not grow the index
+    private static List<Post> lookup(Map<String, IntKeyedMap<Post>> index, String key) {
+        IntKeyedMap<Post> group = index.get(key);
+        return group == null ? List.of() : group.values();
+    }
 }
\ No newline at end of file
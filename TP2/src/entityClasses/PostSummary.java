@@ -0,0 +1,61 @@
+package entityClasses;
+
+/*******
+ * <p> Title: PostSummary Class </p>
+ *
+ * <p> Description: One row of the post list returned by Database.getPostSummaries: a post
+ *  together with the number of replies it has and the id of its most recent reply.  Reply ids
+ *  grow as replies are added, so the latest reply id also orders threads by their last
+ *  activity.  Both figures come from the same query as the post, so a page of summaries costs
+ *  one round trip however long the threads are.</p>
+ *
+ * <p> A summary is a Post, so it can be shown in the same ListView&lt;Post&gt; as any other
+ *  post and handed straight to the code that edits or deletes one.</p>
+ *
+ * <p> Copyright: Lynn Robert Carter © 2025 </p>
+ *
+ * @author Team-25
+ *
+ * @version 1.00		2026-10-16 Initial version
+ */
+
+public final class PostSummary extends Post {
+
+    private final int replyCount;
+    private final int lastReplyID;
+
+
+    /*****
+     * <p> Method: PostSummary(Post post, int replyCount, int lastReplyID) </p>
+     *
+     * <p> Description: This constructor establishes a summary. </p>
+     *
+     * @param post is the post being summarized
+     *
+     * @param replyCount is the number of replies to the post
+     *
+     * @param lastReplyID is the id of the newest reply, or 0 when there are no replies
+     *
+     */
+    public PostSummary(Post post, int replyCount, int lastReplyID) {
+    	super(post.getPostID(), post.getAuthor(), post.getContent(), post.getAuthorRole());
+    	this.replyCount = replyCount;
+    	this.lastReplyID = lastReplyID;
+    }
+
+
+    /*****
+     * <p> Method: int getReplyCount() </p>
+     *
+     * @return the number of replies to the post
+     */
+    public int getReplyCount() { return replyCount; }
+
+
+    /*****
+     * <p> Method: int getLastReplyID() </p>
+     *
+     * @return the id of the newest reply to the post, or 0 when it has no replies
+     */
+    public int getLastReplyID() { return lastReplyID; }
+}
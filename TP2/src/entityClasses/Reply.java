@@ -35,6 +35,11 @@ public class Reply {
         return authorRole;
     }
     
+    // Only the author of a reply may edit or delete it; usernames are case-sensitive
+    public boolean isAuthoredBy(String userName) {
+        return author != null && author.equals(userName);
+    }
+    
     // Setters
     public void setReplyId(int id) {
         this.id = id;
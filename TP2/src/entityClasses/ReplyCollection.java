@@ -1,69 +1,100 @@
 package entityClasses;
 
-import java.util.ArrayList;
 import java.util.List;
 
+/*
+ * Replies in the order they were added, indexed by id and grouped by the post they answer, so
+ * finding a reply or a thread does not scan the collection: getRepliesByPost costs the size of
+ * the thread, not the number of replies held.  The lists returned are read-only views that
+ * follow later changes, except that the thread of a post with no replies is an empty list that
+ * stays empty.  Adding a reply whose id is already present replaces the old one; add a
+ * reply again after changing its id so the indexes follow.
+ */
 public class ReplyCollection {
-    
-    private List<Reply> replies;
-    
+
+    private final IntKeyedMap<Reply> replies = new IntKeyedMap<>();
+    private final IntKeyedMap<IntKeyedMap<Reply>> byPost = new IntKeyedMap<>();
+
     public ReplyCollection() {
-        this.replies = new ArrayList<>();
     }
- 
+
     public ReplyCollection(List<Reply> replies) {
-        this.replies = new ArrayList<>(replies);
+        for (Reply reply : replies) {
+            addReply(reply);
+        }
     }
-    
-    public void addReply(Reply reply) {
-        replies.add(reply);
+
+    // Final because the constructor calls it
+    public final void addReply(Reply reply) {
+        Reply old = replies.put(reply.getReplyID(), reply);
+        if (old != null) {
+            byPost.get(old.getPostID()).remove(old.getReplyID());
+        }
+        thread(reply.getPostID()).put(reply.getReplyID(), reply);
     }
-    
+
     public boolean removeReply(Reply reply) {
-        return replies.remove(reply);
+        if (replies.get(reply.getReplyID()) != reply) {
+            return false;
+        }
+        return removeReplyById(reply.getReplyID());
     }
-    
+
     public boolean removeReplyById(int replyId) {
-        return replies.removeIf(r -> r.getReplyID() == replyId);
+        Reply old = replies.remove(replyId);
+        if (old == null) {
+            return false;
+        }
+        byPost.get(old.getPostID()).remove(replyId);
+        return true;
     }
-    
+
     public List<Reply> getAllReplies() {
-        return new ArrayList<>(replies);
+        return replies.values();
     }
-    
+
     public Reply getReplyById(int replyId) {
-        for (Reply reply : replies) {
-            if (reply.getReplyID() == replyId) {
-                return reply;
-            }
-        }
-        return null;
+        return replies.get(replyId);
     }
-    
+
     public ReplyCollection getRepliesByPost(int postId) {
-        ReplyCollection subset = new ReplyCollection();
-        for (Reply reply : replies) {
-            if (reply.getPostID() == postId) {
-                subset.addReply(reply);
-            }
-        }
-        return subset;
+        return new ReplyCollection(getReplyListByPost(postId));
     }
-    
-    
+
+    // The thread as a read-only view, without building a new collection
+    public List<Reply> getReplyListByPost(int postId) {
+        IntKeyedMap<Reply> thread = byPost.get(postId);
+        return thread == null ? List.of() : thread.values();
+    }
+
     public int size() {
         return replies.size();
     }
-    
+
     public boolean isEmpty() {
-        return replies.isEmpty();
+        return replies.size() == 0;
     }
-    
+
+    // The threads are emptied rather than dropped, so views already handed out follow the clear
     public void clear() {
         replies.clear();
+        for (IntKeyedMap<Reply> thread : byPost.values()) {
+            thread.clear();
+        }
     }
-    
+
     public String toString() {
         return "ReplyCollection [" + replies.size() + " replies]";
     }
+
+    // A post's replies, created when its first reply is added and kept after its last is
+    // removed, so views of it follow later additions
+    private IntKeyedMap<Reply> thread(int postId) {
+        IntKeyedMap<Reply> thread = byPost.get(postId);
+        if (thread == null) {
+            thread = new IntKeyedMap<>();
+            byPost.put(postId, thread);
+        }
+        return thread;
+    }
 }
\ No newline at end of file
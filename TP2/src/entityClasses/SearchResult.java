@@ -0,0 +1,59 @@
+package entityClasses;
+
+/*******
+ * <p> Title: SearchResult Class </p>
+ *
+ * <p> Description: One post found by Database.searchPosts.  A post is found when its own text
+ *  or the text of any of its replies matches the search, so the result also says how many of
+ *  its replies matched.  Results are ranked by score, highest first.</p>
+ *
+ * <p> A result is a Post, so it can be shown in the same ListView&lt;Post&gt; as any other
+ *  post and handed straight to the code that edits or deletes one.</p>
+ *
+ * <p> Copyright: Lynn Robert Carter © 2025 </p>
+ *
+ * @author Team-25
+ *
+ * @version 1.00		2026-10-16 Initial version
+ */
+
+public final class SearchResult extends Post {
+
+    private final double score;
+    private final int matchingReplies;
+
+
+    /*****
+     * <p> Method: SearchResult(Post post, double score, int matchingReplies) </p>
+     *
+     * <p> Description: This constructor establishes a result. </p>
+     *
+     * @param post is the post that was found
+     *
+     * @param score is the relevance score; larger is more relevant
+     *
+     * @param matchingReplies is the number of the post's replies that matched
+     *
+     */
+    public SearchResult(Post post, double score, int matchingReplies) {
+    	super(post.getPostID(), post.getAuthor(), post.getContent(), post.getAuthorRole());
+    	this.score = score;
+    	this.matchingReplies = matchingReplies;
+    }
+
+
+    /*****
+     * <p> Method: double getScore() </p>
+     *
+     * @return the relevance score; larger is more relevant
+     */
+    public double getScore() { return score; }
+
+
+    /*****
+     * <p> Method: int getMatchingReplies() </p>
+     *
+     * @return the number of the post's replies that matched the search
+     */
+    public int getMatchingReplies() { return matchingReplies; }
+}
@@ -1,6 +1,8 @@
 package guiAddRemoveRoles;
 
 import database.Database;
+import entityClasses.AccountSnapshot;
+import guiTools.AsyncDatabase;
 import javafx.collections.FXCollections;
 import javafx.geometry.Pos;
 import javafx.scene.control.ComboBox;
@@ -19,6 +21,9 @@ public class ControllerAddRemoveRoles {
 
 	// Reference for the in-memory database so this package has access
 	private static Database theDatabase = applicationMain.FoundationsMain.database;		
+	
+	// Reads of the selected user's account; only the user selected last is shown
+	private static final AsyncDatabase.Latest accountReads = new AsyncDatabase.Latest();
 
 	
 	/**********
@@ -32,7 +37,6 @@ public class ControllerAddRemoveRoles {
 	protected static void doSelectUser() {
 		ViewAddRemoveRoles.theSelectedUser = 
 				(String) ViewAddRemoveRoles.combobox_SelectUser.getValue();
-		theDatabase.getUserAccountDetails(ViewAddRemoveRoles.theSelectedUser);
 		setupSelectedUser();
 	}
 	
@@ -56,7 +60,8 @@ public class ControllerAddRemoveRoles {
 					ViewAddRemoveRoles.button_UpdateThisUser, ViewAddRemoveRoles.line_Separator1,
 					ViewAddRemoveRoles.label_SelectUser, ViewAddRemoveRoles.combobox_SelectUser, 
 					ViewAddRemoveRoles.line_Separator4, ViewAddRemoveRoles.button_Return,
-					ViewAddRemoveRoles.button_Logout, ViewAddRemoveRoles.button_Quit);
+					ViewAddRemoveRoles.button_Logout, ViewAddRemoveRoles.button_Quit,
+					ViewAddRemoveRoles.indicator_Busy);
 		}
 		else {
 			// Show all the fields as there is a selected user (as opposed to the prompt)
@@ -75,7 +80,8 @@ public class ControllerAddRemoveRoles {
 					ViewAddRemoveRoles.line_Separator4, 
 					ViewAddRemoveRoles.button_Return,
 					ViewAddRemoveRoles.button_Logout,
-					ViewAddRemoveRoles.button_Quit);
+					ViewAddRemoveRoles.button_Quit,
+					ViewAddRemoveRoles.indicator_Busy);
 		}
 		
 		// Add the list of widgets to the stage and show it
@@ -91,32 +97,55 @@ public class ControllerAddRemoveRoles {
 	 * <p> Method: setupSelectedUser() </p>
 	 * 
 	 * <p> Description: This method fetches the current values for the widgets whose values change
-	 * based on which user has been selected and any actions that the admin takes. </p>
+	 * based on which user has been selected and any actions that the admin takes.  The account
+	 * is read in the background; if another user is selected before it arrives, it is dropped.
+	 * </p>
 	 * 
 	 */
 	private static void setupSelectedUser() {
 		System.out.println("*** Entering setupSelectedUser");
 		
+		// Read the selected user's account.  The prompt entry has no account, so it has no roles.
+		String selectedUser = ViewAddRemoveRoles.theSelectedUser;
+		accountReads.run(ViewAddRemoveRoles.indicator_Busy,
+				() -> theDatabase.getUserAccountDetails(selectedUser),
+				account -> showSelectedUser(account));
+	}
+	
+	
+	/**********
+	 * <p> Method: showSelectedUser(AccountSnapshot account) </p>
+	 * 
+	 * <p> Description: This method fills in the widgets for the selected user's account once it
+	 * has been read. </p>
+	 * 
+	 * @param account is the selected user's account, or null for the prompt entry
+	 */
+	private static void showSelectedUser(AccountSnapshot account) {
+		boolean adminRole = account != null && account.getAdminRole();
+		boolean newRole1 = account != null && account.getNewRole1();
+		boolean newRole2 = account != null && account.getNewRole2();
+		
 		// Create the list of roles that could be added for the currently selected user (e.g., Do
 		// not show a role to add that the user already has!)
 		ViewAddRemoveRoles.addList.clear();
 		ViewAddRemoveRoles.addList.add("<Select a role>");
-		if (!theDatabase.getCurrentAdminRole())
+		if (!adminRole)
 			ViewAddRemoveRoles.addList.add("Admin");
-		if (!theDatabase.getCurrentNewRole1())
+		if (!newRole1)
 			ViewAddRemoveRoles.addList.add("Role1");
-		if (!theDatabase.getCurrentNewRole2())
+		if (!newRole2)
 			ViewAddRemoveRoles.addList.add("Role2");
 
 		// Create the list of roles that could be removed for the currently selected user (e.g., Do
 		// not show a role to remove that the user does not have!)
 		ViewAddRemoveRoles.removeList.clear();
 		ViewAddRemoveRoles.removeList.add("<Select a role>");
-		if (theDatabase.getCurrentAdminRole())
+		if (adminRole)
 			ViewAddRemoveRoles.removeList.add("Admin");
-		if (theDatabase.getCurrentNewRole1())
+		if (newRole1)
 			ViewAddRemoveRoles.removeList.add("Role1");
-		if (theDatabase.getCurrentNewRole2())
+		if (newRole2)
 			ViewAddRemoveRoles.removeList.add("Role2");
 		
 		// Create the list or roles that the user currently has with proper use of a comma between
@@ -125,13 +154,13 @@ public class ControllerAddRemoveRoles {
 		String theCurrentRoles = "";
 		
 		// Admin role - It can only be at the head of a list
-		if (theDatabase.getCurrentAdminRole()) {
+		if (adminRole) {
 			theCurrentRoles += "Admin";
 			notTheFirst = true;
 		}
 		
 		// Roles 1 - It could be at the head of the list or later in the list
-		if (theDatabase.getCurrentNewRole1()) {
+		if (newRole1) {
 			if (notTheFirst)
 				theCurrentRoles += ", Role1"; 
 			else {
@@ -141,7 +170,7 @@ public class ControllerAddRemoveRoles {
 		}
 
 		// Roles 2 - It could be at the head of the list or later in the list
-		if (theDatabase.getCurrentNewRole2()) {
+		if (newRole2) {
 			if (notTheFirst)
 				theCurrentRoles += ", Role2"; 
 			else {
@@ -189,14 +218,18 @@ public class ControllerAddRemoveRoles {
 		if (ViewAddRemoveRoles.theAddRole.compareTo("<Select a role>") != 0) {
 			
 			// If an actual role was selected, update the database entry for that user for the role
-			if (theDatabase.updateUserRole(ViewAddRemoveRoles.theSelectedUser,
-					ViewAddRemoveRoles.theAddRole, "true") ) {
-				ViewAddRemoveRoles.combobox_SelectRoleToAdd = new ComboBox <String>();
-				ViewAddRemoveRoles.combobox_SelectRoleToAdd.setItems(FXCollections.
-					observableArrayList(ViewAddRemoveRoles.addList));
-				ViewAddRemoveRoles.combobox_SelectRoleToAdd.getSelectionModel().clearAndSelect(0);		
-				setupSelectedUser();
-			}
+			String selectedUser = ViewAddRemoveRoles.theSelectedUser;
+			String role = ViewAddRemoveRoles.theAddRole;
+			AsyncDatabase.run(ViewAddRemoveRoles.indicator_Busy,
+					() -> theDatabase.updateUserRole(selectedUser, role, "true"), updated -> {
+				if (updated) {
+					ViewAddRemoveRoles.combobox_SelectRoleToAdd = new ComboBox <String>();
+					ViewAddRemoveRoles.combobox_SelectRoleToAdd.setItems(FXCollections.
+						observableArrayList(ViewAddRemoveRoles.addList));
+					ViewAddRemoveRoles.combobox_SelectRoleToAdd.getSelectionModel().clearAndSelect(0);		
+					setupSelectedUser();
+				}
+			});
 		}
 	}
 	
@@ -218,15 +251,19 @@ public class ControllerAddRemoveRoles {
 		if (ViewAddRemoveRoles.theRemoveRole.compareTo("<Select a role>") != 0) {
 			
 			// If an actual role was selected, update the database entry for that user for the role
-			if (theDatabase.updateUserRole(ViewAddRemoveRoles.theSelectedUser, 
-					ViewAddRemoveRoles.theRemoveRole, "false") ) {
-				ViewAddRemoveRoles.combobox_SelectRoleToRemove = new ComboBox <String>();
-				ViewAddRemoveRoles.combobox_SelectRoleToRemove.setItems(FXCollections.
-					observableArrayList(ViewAddRemoveRoles.addList));
-				ViewAddRemoveRoles.combobox_SelectRoleToRemove.getSelectionModel().
-					clearAndSelect(0);		
-				setupSelectedUser();
-			}				
+			String selectedUser = ViewAddRemoveRoles.theSelectedUser;
+			String role = ViewAddRemoveRoles.theRemoveRole;
+			AsyncDatabase.run(ViewAddRemoveRoles.indicator_Busy,
+					() -> theDatabase.updateUserRole(selectedUser, role, "false"), updated -> {
+				if (updated) {
+					ViewAddRemoveRoles.combobox_SelectRoleToRemove = new ComboBox <String>();
+					ViewAddRemoveRoles.combobox_SelectRoleToRemove.setItems(FXCollections.
+						observableArrayList(ViewAddRemoveRoles.addList));
+					ViewAddRemoveRoles.combobox_SelectRoleToRemove.getSelectionModel().
+						clearAndSelect(0);		
+					setupSelectedUser();
+				}
+			});
 		}
 	}
 	
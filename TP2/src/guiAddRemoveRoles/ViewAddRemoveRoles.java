@@ -9,12 +9,14 @@ import javafx.scene.Scene;
 import javafx.scene.control.Button;
 import javafx.scene.control.ComboBox;
 import javafx.scene.control.Label;
+import javafx.scene.control.ProgressIndicator;
 import javafx.scene.layout.Pane;
 import javafx.scene.shape.Line;
 import javafx.scene.text.Font;
 import javafx.stage.Stage;
 import database.Database;
 import entityClasses.User;
+import guiTools.AsyncDatabase;
 
 /*******
  * <p> Title: GUIAddRemoveRolesPage Class. </p>
@@ -84,6 +86,9 @@ public class ViewAddRemoveRoles {
 	protected static Button button_Return = new Button("Return");
 	protected static Button button_Logout = new Button("Logout");
 	protected static Button button_Quit = new Button("Quit");
+	
+	// Spins while this page is waiting for the database
+	protected static ProgressIndicator indicator_Busy = AsyncDatabase.newBusyIndicator(525, 542);
 
 	// This is the end of the GUI objects for the page.
 	
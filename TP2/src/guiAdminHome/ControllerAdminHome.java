@@ -1,6 +1,16 @@
 package guiAdminHome;
 
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.sql.SQLException;
+
+import database.AccountImportReport;
 import database.Database;
+import guiTools.AsyncDatabase;
+import javafx.stage.FileChooser;
 
 /*******
  * <p> Title: GUIAdminHomePage Class. </p>
@@ -39,6 +49,9 @@ public class ControllerAdminHome {
 
 	// Reference for the in-memory database so this package has access
 	private static Database theDatabase = applicationMain.FoundationsMain.database;
+	
+	// The most rows left out by an import that its alert lists
+	private static final int MAX_IMPORT_ERRORS_SHOWN = 20;
 
 	/**********
 	 * <p> 
@@ -55,29 +68,36 @@ public class ControllerAdminHome {
 			return;
 		}
 		
-		// Check to ensure that we are not sending a second message with a new invitation code to
-		// the same email address.  
-		if (theDatabase.emailaddressHasBeenUsed(emailAddress)) {
-			ViewAdminHome.alertEmailError.setContentText(
-					"An invitation has already been sent to this email address.");
-			ViewAdminHome.alertEmailError.showAndWait();
-			return;
-		}
-		
-		// Inform the user that the invitation has been sent and display the invitation code
+		// The database work is done in the background; a null result means the address has
+		// been used before
 		String theSelectedRole = (String) ViewAdminHome.combobox_SelectRole.getValue();
-		String invitationCode = theDatabase.generateInvitationCode(emailAddress,
-				theSelectedRole);
-		String msg = "Code: " + invitationCode + " for role " + theSelectedRole + 
-				" was sent to: " + emailAddress;
-		System.out.println(msg);
-		ViewAdminHome.alertEmailSent.setContentText(msg);
-		ViewAdminHome.alertEmailSent.showAndWait();
-		
-		// Update the Admin Home pages status
-		ViewAdminHome.text_InvitationEmailAddress.setText("");
-		ViewAdminHome.label_NumberOfInvitations.setText("Number of outstanding invitations: " + 
-				theDatabase.getNumberOfInvitations());
+		record Invitation(String code, int outstanding) {}
+		AsyncDatabase.run(ViewAdminHome.indicator_Busy, () -> {
+			// Check to ensure that we are not sending a second message with a new invitation
+			// code to the same email address.  
+			if (theDatabase.emailaddressHasBeenUsed(emailAddress)) return null;
+			String code = theDatabase.generateInvitationCode(emailAddress, theSelectedRole);
+			return new Invitation(code, theDatabase.getNumberOfInvitations());
+		}, invitation -> {
+			if (invitation == null) {
+				ViewAdminHome.alertEmailError.setContentText(
+						"An invitation has already been sent to this email address.");
+				ViewAdminHome.alertEmailError.showAndWait();
+				return;
+			}
+			
+			// Inform the user that the invitation has been sent and display the invitation code
+			String msg = "Code: " + invitation.code() + " for role " + theSelectedRole + 
+					" was sent to: " + emailAddress;
+			System.out.println(msg);
+			ViewAdminHome.alertEmailSent.setContentText(msg);
+			ViewAdminHome.alertEmailSent.showAndWait();
+			
+			// Update the Admin Home pages status
+			ViewAdminHome.text_InvitationEmailAddress.setText("");
+			ViewAdminHome.label_NumberOfInvitations.setText("Number of outstanding invitations: " + 
+					invitation.outstanding());
+		});
 	}
 	
 	/**********
@@ -163,6 +183,62 @@ public class ControllerAdminHome {
 				ViewAdminHome.theUser);
 	}
 	
+	/**********
+	 * <p> 
+	 * 
+	 * Title: importAccounts () Method. </p>
+	 * 
+	 * <p> Description: Protected method that creates accounts in bulk from a CSV or JSON file
+	 * the admin chooses, for setting up a whole course at once.  The import runs in the
+	 * background; when it is done an alert gives the counts and the first of the rows that
+	 * were left out, and the full list is printed to the console.</p>
+	 */
+	protected static void importAccounts() {
+		FileChooser chooser = new FileChooser();
+		chooser.setTitle("Import Accounts");
+		chooser.getExtensionFilters().addAll(
+				new FileChooser.ExtensionFilter("Account files", "*.csv", "*.json"),
+				new FileChooser.ExtensionFilter("All files", "*.*"));
+		File file = chooser.showOpenDialog(ViewAdminHome.theStage);
+		if (file == null) return;
+		
+		// A file that cannot be read or imported is reported to the admin rather than printed
+		record Outcome(AccountImportReport report, String problem, int users) {}
+		AsyncDatabase.run(ViewAdminHome.indicator_Busy, () -> {
+			try (Reader in = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+				AccountImportReport report = theDatabase.importAccounts(in);
+				return new Outcome(report, null, theDatabase.getNumberOfUsers());
+			} catch (IOException | SQLException e) {
+				return new Outcome(null, e.getMessage(), 0);
+			}
+		}, outcome -> {
+			if (outcome.report() == null) {
+				ViewAdminHome.alertImportResult.setHeaderText("No accounts were imported");
+				ViewAdminHome.alertImportResult.setContentText(outcome.problem());
+				ViewAdminHome.alertImportResult.showAndWait();
+				return;
+			}
+			
+			// Show the first few rows left out; the console gets all of them
+			AccountImportReport report = outcome.report();
+			System.out.println(report);
+			StringBuilder shown = new StringBuilder();
+			int count = 0;
+			for (AccountImportReport.RowError error : report.getErrors()) {
+				if (++count > MAX_IMPORT_ERRORS_SHOWN) {
+					shown.append("... and ").append(report.getErrors().size() - MAX_IMPORT_ERRORS_SHOWN)
+						.append(" more, listed on the console");
+					break;
+				}
+				shown.append(error).append('\n');
+			}
+			ViewAdminHome.alertImportResult.setHeaderText(report.getSummary());
+			ViewAdminHome.alertImportResult.setContentText(shown.toString());
+			ViewAdminHome.alertImportResult.showAndWait();
+			ViewAdminHome.label_NumberOfUsers.setText("Number of users: " + outcome.users());
+		});
+	}
+	
 	/**********
 	 * <p> 
 	 * 
@@ -10,6 +10,7 @@ import javafx.scene.control.Alert;
 import javafx.scene.control.Button;
 import javafx.scene.control.ComboBox;
 import javafx.scene.control.Label;
+import javafx.scene.control.ProgressIndicator;
 import javafx.scene.control.TextField;
 import javafx.scene.control.Alert.AlertType;
 import javafx.scene.layout.Pane;
@@ -18,6 +19,7 @@ import javafx.scene.text.Font;
 import javafx.stage.Stage;
 import database.Database;
 import entityClasses.User;
+import guiTools.AsyncDatabase;
 import guiUserUpdate.ViewUserUpdate;
 
 /*******
@@ -104,7 +106,9 @@ public class ViewAdminHome {
 	protected static Button button_ListUsers = new Button("List All Users");
 	protected static Button button_AddRemoveRoles = new Button("Add/Remove Roles");
 	protected static Button button_ViewPost = new Button("View Posts");
+	protected static Button button_ImportAccounts = new Button("Import Accounts");
 	protected static Alert alertNotImplemented = new Alert(AlertType.INFORMATION);
+	protected static Alert alertImportResult = new Alert(AlertType.INFORMATION);
 
 	// This is a separator and it is used to partition the GUI for various tasks
 	private static Line line_Separator4 = new Line(20, 525, width-20,525);
@@ -115,6 +119,9 @@ public class ViewAdminHome {
 	// return is to a fixed page as opposed to the actual page that invoked the pages.
 	protected static Button button_Logout = new Button("Logout");
 	protected static Button button_Quit = new Button("Quit");
+	
+	// Spins while this page is waiting for the database
+	protected static ProgressIndicator indicator_Busy = AsyncDatabase.newBusyIndicator(570, 542);
 
 	// This is the end of the GUI objects for the page.
 	
@@ -170,7 +177,6 @@ public class ViewAdminHome {
 		
 		// Populate the dynamic aspects of the GUI with the data from the user and the current
 		// state of the system.
-		theDatabase.getUserAccountDetails(user.getUserName());		// Fetch this user's data
 		applicationMain.FoundationsMain.activeHomePage = theRole;	// Set this as the active Home																	// UserUpdate page
 
 		// Set the role for potential users to the default (No role selected)
@@ -265,6 +271,10 @@ public class ViewAdminHome {
 		setupButtonUI(button_AddRemoveRoles, "Dialog", 16, 250, Pos.CENTER, 20, 470);
 		button_AddRemoveRoles.setOnAction((event) -> {ControllerAdminHome.addRemoveRoles(); });
 		
+		setupButtonUI(button_ImportAccounts, "Dialog", 16, 200, Pos.CENTER, 475, 420);
+		button_ImportAccounts.setOnAction((event) -> {ControllerAdminHome.importAccounts(); });
+		alertImportResult.setTitle("Import Accounts");
+		
 		// GUI Area 5
 		setupButtonUI(button_Logout, "Dialog", 18, 250, Pos.CENTER, 20, 540);
 		button_Logout.setOnAction((event) -> {ControllerAdminHome.performLogout(); });
@@ -290,7 +300,9 @@ public class ViewAdminHome {
     		line_Separator4, 
     		button_Logout,
     		button_Quit,
-    		button_ViewPost
+    		button_ViewPost,
+    		button_ImportAccounts,
+    		indicator_Busy
     		);
 		
 		// With theRootPane set up with the common widgets, it is up to displayAdminHome to show
@@ -2,6 +2,7 @@ package guiFirstAdmin;
 
 import validators.UserNameRecognizer;
 import validators.Model;
+import validators.ValidationResult;
 import javafx.scene.paint.Color;
 
 /*******
@@ -38,8 +39,9 @@ public class ModelFirstAdmin {
      * @return true if the username is valid, false otherwise
      */
     protected static boolean validateUsername(String username) {
-        String error = UserNameRecognizer.checkForValidUserName(username);
-        if (!error.isEmpty()) {
+        ValidationResult result = UserNameRecognizer.validate(username);
+        if (!result.isValid()) {
+            String error = result.getMessage();
             lastErrorMessage = error;
             ViewFirstAdmin.label_UsernameValidation.setTextFill(Color.RED);
             ViewFirstAdmin.label_UsernameValidation.setText(error);
@@ -84,8 +86,9 @@ public class ModelFirstAdmin {
      * @return true if the password is valid, false otherwise
      */
     protected static boolean validatePassword(String password) {
-        String error = Model.evaluatePassword(password);
-        if (!error.isEmpty()) {
+        ValidationResult result = Model.validatePassword(password);
+        if (!result.isValid()) {
+            String error = result.getMessage();
             lastErrorMessage = error;
             ViewFirstAdmin.label_PasswordValidation.setTextFill(Color.RED);
             ViewFirstAdmin.label_PasswordValidation.setText(error);
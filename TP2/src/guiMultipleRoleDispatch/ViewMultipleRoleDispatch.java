@@ -13,6 +13,7 @@ import javafx.scene.shape.Line;
 import javafx.scene.text.Font;
 import javafx.stage.Stage;
 import database.Database;
+import entityClasses.AccountSnapshot;
 import entityClasses.User;
 
 /*******
@@ -143,14 +144,15 @@ public class ViewMultipleRoleDispatch {
 		setupComboBoxUI(combobox_SelectRole, "Dialog", 16, 100, 305, 105);
 
 		List<String> list = new ArrayList<String>();	// Create a new list empty list
-		theDatabase.getUserAccountDetails(theUser.getUserName());
+		AccountSnapshot account = theDatabase.getUserAccountDetails(theUser.getUserName());
+		if (account == null) account = AccountSnapshot.of(theUser);
 
 		System.out.println("*** Getting multiple role details for user: " + theUser.getUserName());
 		list = new ArrayList<String>();
 		list.add("<Select a role>");
-		if (theDatabase.getCurrentAdminRole()) list.add("Admin");
-		if (theDatabase.getCurrentNewRole1()) list.add("Role1");
-		if (theDatabase.getCurrentNewRole2()) list.add("Role2");
+		if (account.getAdminRole()) list.add("Admin");
+		if (account.getNewRole1()) list.add("Role1");
+		if (account.getNewRole2()) list.add("Role2");
 		combobox_SelectRole.setItems(FXCollections.observableArrayList(list));
 
 		setupButtonUI(button_PerformRole, "Dialog", 16, 100, Pos.CENTER, 495, 105);
@@ -95,9 +95,6 @@ public class ControllerNewAccount {
             theDatabase.removeInvitationAfterUse(
             		ViewNewAccount.text_Invitation.getText());
             
-            // Set the database so it has this user and the current user
-            theDatabase.getUserAccountDetails(username);
-            
             ViewNewAccount.resetValidation(); //Added to clear any previous inputs  TP1 ************************************
 
             // Navigate to the Welcome Login Page
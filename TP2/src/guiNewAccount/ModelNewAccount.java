@@ -2,6 +2,7 @@ package guiNewAccount;
 
 import validators.UserNameRecognizer;
 import validators.Model;
+import validators.ValidationResult;
 import java.util.List;
 import database.Database;
 import javafx.scene.paint.Color;
@@ -41,8 +42,9 @@ public class ModelNewAccount {
     
     
     protected static boolean validateUsername(String username) {
-        String error = UserNameRecognizer.checkForValidUserName(username);
-        if (!error.isEmpty()) {
+        ValidationResult result = UserNameRecognizer.validate(username);
+        if (!result.isValid()) {
+            String error = result.getMessage();
             lastErrorMessage = error;
             ViewNewAccount.label_UsernameValidation.setTextFill(Color.RED);
             ViewNewAccount.label_UsernameValidation.setText(error);
@@ -116,8 +118,9 @@ public class ModelNewAccount {
      * @return true if the password is valid, false otherwise
      */
     protected static boolean validatePassword(String password) {
-        String error = Model.evaluatePassword(password);
-        if (!error.isEmpty()) {
+        ValidationResult result = Model.validatePassword(password);
+        if (!result.isValid()) {
+            String error = result.getMessage();
             lastErrorMessage = error;
             ViewNewAccount.label_PasswordValidation.setTextFill(Color.RED);
             ViewNewAccount.label_PasswordValidation.setText(error);
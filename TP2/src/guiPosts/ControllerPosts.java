@@ -1,9 +1,17 @@
 package guiPosts;
 
 import java.sql.SQLException;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import database.DatabaseChange;
+import database.PageDirection;
 import entityClasses.Post;
+import entityClasses.PostSummary;
 import entityClasses.Reply;
+import entityClasses.SearchResult;
+import guiTools.AsyncDatabase;
+import guiTools.PagedListLoader;
 
 /**
  * <p><strong>Title:</strong> ControllerPosts Class - Student Posts Controller</p>
@@ -73,60 +81,197 @@ import entityClasses.Reply;
  */
 public class ControllerPosts {
     
+    /**
+     * Reads of the replies to a post for the replies panel. Only the thread of the post 
+     * chosen last is shown.
+     * 
+     * @see guiTools.AsyncDatabase.Latest
+     */
+    private static final AsyncDatabase.Latest threadReads = new AsyncDatabase.Latest();
+    
+    /**
+     * Reads that bring the thread on the replies panel up to date after it changed. Kept apart 
+     * from {@link #threadReads} so they never cancel the opening of another thread.
+     */
+    private static final AsyncDatabase.Latest threadRefreshes = new AsyncDatabase.Latest();
+    
     // ===================== POSTS PANEL METHODS ===================
     
     /**
-     * Retrieves and displays all posts from the database.
+     * Retrieves and displays the first page of posts from the database.
      * 
      * <p><strong>Implements:</strong> US-04 (View All Posts)</p>
      * 
      * <p><strong>Process Flow:</strong></p>
      * <ol>
-     * <li>Query database for all posts via {@link database.Database#getAllPosts()}</li>
-     * <li>Clear existing ListView contents</li>
-     * <li>Format each post with role badge via {@link ModelPosts#formatPostForDisplay(Post)}</li>
-     * <li>Add formatted posts to ListView</li>
+     * <li>Clear the search field and point the list's loader at all posts</li>
+     * <li>The loader reads the first page, and later pages as the list is scrolled</li>
      * <li>Switch View to posts panel</li>
      * </ol>
      * 
+     * <p><strong>Paging:</strong> Only {@link ModelPosts#POSTS_PER_PAGE} posts are read at a 
+     * time, so opening the screen costs the same no matter how large the Post table grows. 
+     * Scrolling near the end of the list reads the next page, and at most 
+     * {@link ModelPosts#MAX_POSTS_IN_LIST} posts are held at once.</p>
+     * 
      * <p><strong>Display Format:</strong> Each post shows as:
-     * <code>"id: X author: username [Role] content: post text"</code></p>
+     * <code>"id: X author: username [Role] content: post text (N replies, latest id: R)"</code>
+     * </p>
      * 
      * <p><strong>Role Badges:</strong> Posts display [Admin], [Role1], or [Role2] based on 
      * author's role at time of posting. This helps users quickly identify post context.</p>
      * 
      * <p><strong>User Story Satisfaction:</strong> US-04 requires students to view all posts 
-     * from classmates. This method retrieves ALL posts (no filtering) and displays them in 
-     * a formatted list with clear attribution and role identification.</p>
-     * 
-     * <p><strong>Error Handling:</strong> SQLException caught and printed to console. In 
-     * production, should display user-friendly error dialog.</p>
+     * from classmates. No filtering is applied; every post can be reached by paging, and 
+     * each is displayed with clear attribution and role identification.</p>
      * 
      * @see ViewPosts#list_Posts
      * @see ViewPosts#showPostsPanel()
-     * @see database.Database#getAllPosts()
+     * @see guiTools.PagedListLoader
      */
     public static void performViewPosts() {
-        try {    
-            // US-04: Get all posts from database
-            List<Post> allPosts = ViewPosts.theDatabase.getAllPosts();
-            
-            // Clear existing items in ListView
-            ViewPosts.list_Posts.getItems().clear();
-            
-            // Format and add each post to the display
-            for (Post post : allPosts) { 
-                // Format includes role badge [Admin], [Role1], or [Role2]
-                String displayText = ModelPosts.formatPostForDisplay(post);
-                ViewPosts.list_Posts.getItems().add(displayText);
+        // US-04: Start again from the oldest post, leaving any search
+        ViewPosts.text_Search.clear();
+        ViewPosts.loader_Posts.reset(ALL_POSTS);
+        
+        // Switch to posts panel view
+        ViewPosts.showPostsPanel();
+    }
+    
+    /**
+     * Pages of the full posts list for {@link ViewPosts#loader_Posts}.
+     * 
+     * <p><strong>Implements:</strong> US-04 (View All Posts) - Paging</p>
+     * 
+     * <p>Pages are read with keyset queries from the id of the post at the end of the list, 
+     * so each costs one round trip however far down the list it is. The rows are 
+     * {@link PostSummary} objects, drawn with their role badge and reply count.</p>
+     * 
+     * @see database.Database#getPostSummaries(int, int, database.PageDirection)
+     */
+    private static final PagedListLoader.PageSource<Post> ALL_POSTS =
+    		new PagedListLoader.PageSource<>() {
+        @Override
+        public List<PostSummary> pageAfter(Post last, int position) throws SQLException {
+            int cursor = (last == null) ? 0 : last.getPostID();
+            return ViewPosts.theDatabase.getPostSummaries(cursor, ModelPosts.POSTS_PER_PAGE,
+            		PageDirection.FORWARD);
+        }
+        
+        @Override
+        public List<PostSummary> pageBefore(Post first, int position) throws SQLException {
+            return ViewPosts.theDatabase.getPostSummaries(first.getPostID(),
+            		ModelPosts.POSTS_PER_PAGE, PageDirection.BACKWARD);
+        }
+        
+        @Override
+        public Post reload(Post item) throws SQLException {
+            return ViewPosts.theDatabase.getPostSummary(item.getPostID());
+        }
+    };
+ 
+    /**
+     * Searches posts and replies for the words in the search field.
+     * 
+     * <p><strong>Implements:</strong> US-04 (View Posts) - Search</p>
+     * 
+     * <p>The posts list is replaced by the ranked results, read a page at a time as the list 
+     * is scrolled. A post is listed when its own text or any of its replies matches, so 
+     * discussions can be found by what was said in them. An empty search field returns to the 
+     * full list of posts.</p>
+     * 
+     * @see database.Database#searchPosts(String, int, int)
+     */
+    protected static void performSearch() {
+        String query = ViewPosts.text_Search.getText().trim();
+        if (query.isEmpty()) {
+            performViewPosts();
+            return;
+        }
+        ViewPosts.loader_Posts.reset(new PagedListLoader.PageSource<>() {
+            // Results are ranked rather than in id order, so they are paged by position
+            @Override
+            public List<SearchResult> pageAfter(Post last, int position) throws SQLException {
+                return ViewPosts.theDatabase.searchPosts(query, position, ModelPosts.POSTS_PER_PAGE);
             }
             
-            // Switch to posts panel view
-            ViewPosts.showPostsPanel();
+            @Override
+            public List<SearchResult> pageBefore(Post first, int position) throws SQLException {
+                int start = Math.max(0, position - ModelPosts.POSTS_PER_PAGE);
+                return ViewPosts.theDatabase.searchPosts(query, start, position - start);
+            }
             
-        } catch (SQLException e) {
-            e.printStackTrace();
+            // An edited result keeps its place and figures until the search is run again
+            @Override
+            public Post reload(Post item) throws SQLException {
+                Post post = ViewPosts.theDatabase.getPost(item.getPostID());
+                if (post == null || !(item instanceof SearchResult result)) return post;
+                return new SearchResult(post, result.getScore(), result.getMatchingReplies());
+            }
+        });
+    }
+    
+    /**
+     * Brings the posts and replies on screen up to date with changes to the database.
+     * 
+     * <p><strong>Implements:</strong> US-04 (View Posts), US-05 (Replies) - Live updates</p>
+     * 
+     * <p>Called on the JavaFX thread for every change, whether made by this user or by 
+     * anyone else sharing the database. Rather than reading the whole list again, only what 
+     * changed is applied:</p>
+     * <ul>
+     * <li><strong>Post deleted:</strong> its row is removed, and its thread is closed if open</li>
+     * <li><strong>Post edited, or its replies changed:</strong> its row is read again, for the 
+     *     new content or reply count, and so is its thread if it is open</li>
+     * <li><strong>Post created:</strong> new posts are appended when the list already reaches 
+     *     the end; otherwise they are read as the user scrolls to them</li>
+     * </ul>
+     * 
+     * @param changes the changes of one write, or those made elsewhere since the last look
+     * 
+     * @see database.DatabaseChangeListener
+     * @see guiTools.PagedListLoader
+     */
+    protected static void applyChanges(List<DatabaseChange> changes) {
+        Set<Integer> deleted = new HashSet<>();
+        Set<Integer> touched = new HashSet<>();
+        boolean created = false;
+        for (DatabaseChange change : changes) {
+            boolean post = change.getSubject() == DatabaseChange.Subject.POST;
+            if (post && change.getKind() == DatabaseChange.Kind.DELETED) deleted.add(change.getPostID());
+            else if (post && change.getKind() == DatabaseChange.Kind.CREATED) created = true;
+            else touched.add(change.getPostID());
         }
+        touched.removeAll(deleted);
+        
+        if (!deleted.isEmpty()) ViewPosts.loader_Posts.removeIf(p -> deleted.contains(p.getPostID()));
+        if (!touched.isEmpty()) ViewPosts.loader_Posts.reload(p -> touched.contains(p.getPostID()));
+        if (created) ViewPosts.loader_Posts.loadNewItems();
+        
+        // The thread on the replies panel
+        int open = ViewPosts.currentPostID;
+        if (deleted.contains(open)) ViewPosts.showPostsPanel();
+        else if (touched.contains(open)) refreshThread(open);
+    }
+    
+    /**
+     * Reads the open thread again, leaving the panel that is showing as it is.
+     * 
+     * @param postID the id of the post whose thread is open
+     */
+    private static void refreshThread(int postID) {
+        record PostThread(Post post, List<Reply> replies) {}
+        threadRefreshes.run(null, () -> new PostThread(ViewPosts.theDatabase.getPost(postID),
+        		ViewPosts.theDatabase.getRepliesByPost(postID)), thread -> {
+            // Another thread may have been opened while this one was read
+            if (ViewPosts.currentPostID != postID) return;
+            if (thread.post() == null) {
+                ViewPosts.showPostsPanel();
+                return;
+            }
+            ViewPosts.text_PostInReply.setText(thread.post().getContent());
+            ViewPosts.list_Replies.getItems().setAll(thread.replies());
+        });
     }
  
     /**
@@ -202,12 +347,11 @@ public class ControllerPosts {
      * 
      * <p><strong>Security Process:</strong></p>
      * <ol>
-     * <li>Get selected post ID from ListView</li>
-     * <li>Retrieve full Post object from database</li>
+     * <li>Get the selected Post from ListView</li>
      * <li><strong>CRITICAL:</strong> Compare post.author with current user's username</li>
      * <li><strong>If match:</strong> Delete post from database</li>
      * <li><strong>If no match:</strong> Show error dialog and deny deletion</li>
-     * <li>Refresh posts view</li>
+     * <li>Its row is removed from the posts view by {@link #applyChanges(List)}</li>
      * </ol>
      * 
      * <p><strong>Why This Security Check is Essential:</strong> Per your assignment 
@@ -231,58 +375,50 @@ public class ControllerPosts {
      * <p><strong>Validation:</strong> Checks for null selection before attempting database 
      * operation to prevent NullPointerException.</p>
      * 
+     * <p><strong>Source of Truth:</strong> The selected item is the Post itself, and a post's 
+     * author never changes, so ownership is checked on it without reading the post again.</p>
+     * 
      * @see ViewPosts#list_Posts
-     * @see ModelPosts#getID(String)
-     * @see database.Database#getPost(int)
      * @see database.Database#deletePost(int)
      */
     protected static void performDeletePost() {
-        // Get selected post display string
-        String p = ViewPosts.list_Posts.getSelectionModel().getSelectedItem();
+        // Get selected post
+        Post post = ViewPosts.list_Posts.getSelectionModel().getSelectedItem();
         
         // Validate selection
-        if(p == null) {
+        if(post == null) {
             System.out.println("Need to select a Post");
             return;
         }
         
-        // Extract post ID from display string
-        int id = ModelPosts.getID(p);
-        
-        try {
-            // US-03 SECURITY CHECK: Get the full post object to check ownership
-            Post post = ViewPosts.theDatabase.getPost(id);
+        // US-03 SECURITY CHECK: Compare post author with current user's username
+        if (!post.isAuthoredBy(ViewPosts.theUser.getUserName())) {
+            // NOT the owner - deny access
             
-            // Compare post author with current user's username
-            if (!post.getAuthor().equals(ViewPosts.theUser.getUserName())) {
-                // NOT the owner - deny access
-                
-                // Print to console for debugging
-                System.out.println("ERROR: You can only delete your own posts!");
-                
-                // Show user-friendly error dialog
-                javafx.scene.control.Alert alert = new javafx.scene.control.Alert(
-                    javafx.scene.control.Alert.AlertType.ERROR);
-                alert.setTitle("Permission Denied");
-                alert.setHeaderText("Cannot Delete Post");
-                alert.setContentText("You can only delete your own posts.");
-                
-                // Show dialog and wait for user to click OK
-                alert.showAndWait();
-                
-                // Exit method without deleting
-                return;
-            }
+            // Print to console for debugging
+            System.out.println("ERROR: You can only delete your own posts!");
+            
+            // Show user-friendly error dialog
+            javafx.scene.control.Alert alert = new javafx.scene.control.Alert(
+                javafx.scene.control.Alert.AlertType.ERROR);
+            alert.setTitle("Permission Denied");
+            alert.setHeaderText("Cannot Delete Post");
+            alert.setContentText("You can only delete your own posts.");
             
-            // If we get here, user IS the owner - allow delete
-            ViewPosts.theDatabase.deletePost(id);
+            // Show dialog and wait for user to click OK
+            alert.showAndWait();
             
-        } catch (SQLException e) {
-            e.printStackTrace();
+            // Exit without deleting
+            return;
         }
         
-        // Refresh the posts view
-        performViewPosts();
+        // If we get here, user IS the owner - allow delete; applyChanges removes its row
+        String userName = ViewPosts.theUser.getUserName();
+        AsyncDatabase.run(ViewPosts.indicator_Busy,
+        		() -> ModelPosts.deleteOwnPost(ViewPosts.theDatabase, userName, post),
+        		deleted -> {
+            if (!deleted) System.out.println("The post could not be deleted");
+        });
     }
     
     /**
@@ -293,13 +429,11 @@ public class ControllerPosts {
      * <p><strong>Security Process:</strong></p>
      * <ol>
      * <li>Verify user has selected a post</li>
-     * <li>Extract post ID from selection</li>
-     * <li>Retrieve post from database</li>
-     * <li><strong>CRITICAL:</strong> Verify post.author matches current user</li>
+     * <li><strong>CRITICAL:</strong> Verify the selected post's author matches current user</li>
      * <li><strong>If authorized:</strong> Show edit dialog with current content</li>
      * <li>Validate new content (not empty)</li>
      * <li>Update database with new content</li>
-     * <li>Refresh view</li>
+     * <li>Its row is redrawn by {@link #applyChanges(List)}</li>
      * </ol>
      * 
      * <p><strong>User Story Satisfaction:</strong></p>
@@ -327,45 +461,47 @@ public class ControllerPosts {
      * @see database.Database#updatePost(int, String)
      */
     protected static void performEditPost() {
-        String p = ViewPosts.list_Posts.getSelectionModel().getSelectedItem();
+        Post post = ViewPosts.list_Posts.getSelectionModel().getSelectedItem();
         
-        if(p == null || p.trim().isEmpty()) {
+        if(post == null) {
             System.out.println("Need to select a Post");
             return;
         }
         
-        int id = ModelPosts.getID(p);
-        
-        try {
-            // US-02 SECURITY CHECK: Verify ownership before allowing edit
-            Post post = ViewPosts.theDatabase.getPost(id);
+        // US-02 SECURITY CHECK: Verify ownership before allowing edit
+        if (!post.isAuthoredBy(ViewPosts.theUser.getUserName())) {
+            // NOT the owner - deny access
+            System.out.println("ERROR: You can only edit your own posts!");
             
-            // Compare authors
-            if (!post.getAuthor().equals(ViewPosts.theUser.getUserName())) {
-                // NOT the owner - deny access
-                System.out.println("ERROR: You can only edit your own posts!");
-                
-                // Show error dialog
-                javafx.scene.control.Alert alert = new javafx.scene.control.Alert(
-                    javafx.scene.control.Alert.AlertType.ERROR);
-                alert.setTitle("Permission Denied");
-                alert.setHeaderText("Cannot Edit Post");
-                alert.setContentText("You can only edit your own posts.");
-                alert.showAndWait();
-                
-                // Exit without editing
-                return;
-            }
+            // Show error dialog
+            javafx.scene.control.Alert alert = new javafx.scene.control.Alert(
+                javafx.scene.control.Alert.AlertType.ERROR);
+            alert.setTitle("Permission Denied");
+            alert.setHeaderText("Cannot Edit Post");
+            alert.setContentText("You can only edit your own posts.");
+            alert.showAndWait();
             
-            // Owner verified - proceed with edit
-            
-        } catch (SQLException e) {
-            e.printStackTrace();
-            return;  // Exit on database error
+            // Exit without editing
+            return;
         }
-       
+        
+        // Owner verified - proceed with edit
+        editPostContent(post);
+    }
+    
+    /**
+     * Asks for the new content of a post the user owns and saves it.
+     * 
+     * <p><strong>Implements:</strong> US-02 (Edit Own Posts) - once ownership is verified</p>
+     * 
+     * @param post the post to edit; its content pre-fills the dialog
+     */
+    private static void editPostContent(Post post) {
+        String userName = ViewPosts.theUser.getUserName();
+        
         // Show edit dialog
-        javafx.scene.control.TextInputDialog dialog = new javafx.scene.control.TextInputDialog();
+        javafx.scene.control.TextInputDialog dialog =
+        		new javafx.scene.control.TextInputDialog(post.getContent());
         dialog.setTitle("Edit Post");
         dialog.setHeaderText("Edit the post content:");
         dialog.setContentText("New content:");
@@ -380,13 +516,12 @@ public class ControllerPosts {
                 return;
             }
             
-            try {
-                // Update post with new content
-                ViewPosts.theDatabase.updatePost(id, newText);
-                performViewPosts();
-            } catch (SQLException e) {
-                e.printStackTrace();
-            }
+            // Update post with new content; applyChanges redraws its row
+            AsyncDatabase.run(ViewPosts.indicator_Busy,
+            		() -> ModelPosts.editOwnPost(ViewPosts.theDatabase, userName, post, newText),
+            		updated -> {
+                if (!updated) System.out.println("The post could not be updated");
+            });
         }
     }
     
@@ -458,13 +593,10 @@ public class ControllerPosts {
             return;
         }
         
-        try {
-            ViewPosts.theDatabase.createPost(a, c, role);
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
-        
-        ControllerPosts.performViewPosts();
+        // Save in the background, then go back to the posts; applyChanges adds the new one
+        String r = role;
+        AsyncDatabase.run(ViewPosts.indicator_Busy, () -> ViewPosts.theDatabase.createPost(a, c, r),
+        		postID -> ViewPosts.showPostsPanel());
     }
     
     /**
@@ -519,10 +651,9 @@ public class ControllerPosts {
      * <p><strong>Process Flow:</strong></p>
      * <ol>
      * <li>Validate user has selected a post</li>
-     * <li>Extract post ID from selection</li>
-     * <li>Retrieve and display original post (read-only) for context</li>
+     * <li>Display the selected post (read-only) for context</li>
      * <li>Retrieve all replies for this post</li>
-     * <li>Format and display replies with role badges</li>
+     * <li>Display the replies; each row is formatted with its role badge as it is drawn</li>
      * <li>Store post ID for reply creation</li>
      * <li>Switch to replies panel</li>
      * </ol>
@@ -542,41 +673,31 @@ public class ControllerPosts {
      * @see database.Database#getRepliesByPost(int)
      */
     protected static void performViewReplies() {
-        String p = ViewPosts.list_Posts.getSelectionModel().getSelectedItem();
+        Post post = ViewPosts.list_Posts.getSelectionModel().getSelectedItem();
         
-        if(p == null || p.trim().isEmpty()) {
+        if(post == null) {
             System.out.println("Need to select a Post");
             return;
         }
         
-        int id = ModelPosts.getID(p);
+        int id = post.getPostID();
         
-        try {
-            // US-05: Get and display the original post for context
-            Post post = ViewPosts.theDatabase.getPost(id);
+        // US-05: Read all the replies in the background. If another post is chosen before 
+        // they arrive, only that post's thread is shown.
+        threadReads.run(ViewPosts.indicator_Busy, () -> ViewPosts.theDatabase.getRepliesByPost(id),
+        		replies -> {
+            // Display the original post for context
             ViewPosts.text_PostInReply.setText(post.getContent());
-           
-            // Get all replies for this post
-            List<Reply> postReplies = ViewPosts.theDatabase.getRepliesByPost(id);
-            
-            // Clear existing replies from ListView
-            ViewPosts.list_Replies.getItems().clear();
             
-            // Format and display each reply with role badge
-            for (Reply reply : postReplies) {
-                String displayText = ModelPosts.formatReplyForDisplay(reply);
-                ViewPosts.list_Replies.getItems().add(displayText);
-            }
+            // Show the replies; the list's cells format each with its role badge
+            ViewPosts.list_Replies.getItems().setAll(replies);
             
             // Store current post ID for reply creation
             ViewPosts.currentPostID = id;
             
             // Show replies panel
             ViewPosts.showRepliesPanel();
-            
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
+        });
     }
     
     /**
@@ -591,47 +712,38 @@ public class ControllerPosts {
      * operates on Reply objects instead of Post objects. Prevents users from deleting 
      * others' replies.</p>
      * 
-     * @see database.Database#getReply(int)
      * @see database.Database#deleteReply(int)
      */
     protected static void performDeleteReply() {
-        String r = ViewPosts.list_Replies.getSelectionModel().getSelectedItem();
+        Reply reply = ViewPosts.list_Replies.getSelectionModel().getSelectedItem();
         
-        if(r == null || r.trim().isEmpty()) {
+        if(reply == null) {
             System.out.println("Need to select a Reply");
             return;
         }
         
-        int id = ModelPosts.getID(r);
-        
-        try {
-            // US-05 SECURITY CHECK: Verify ownership
-            Reply reply = ViewPosts.theDatabase.getReply(id);
+        // US-05 SECURITY CHECK: Verify ownership
+        if (!reply.isAuthoredBy(ViewPosts.theUser.getUserName())) {
+            // NOT the owner - deny
+            System.out.println("ERROR: You can only delete your own replies!");
             
-            // Compare authors
-            if (!reply.getAuthor().equals(ViewPosts.theUser.getUserName())) {
-                // NOT the owner - deny
-                System.out.println("ERROR: You can only delete your own replies!");
-                
-                javafx.scene.control.Alert alert = new javafx.scene.control.Alert(
-                    javafx.scene.control.Alert.AlertType.ERROR);
-                alert.setTitle("Permission Denied");
-                alert.setHeaderText("Cannot Delete Reply");
-                alert.setContentText("You can only delete your own replies.");
-                alert.showAndWait();
-                
-                return;
-            }
-            
-            // Owner verified - allow delete
-            ViewPosts.theDatabase.deleteReply(id);
+            javafx.scene.control.Alert alert = new javafx.scene.control.Alert(
+                javafx.scene.control.Alert.AlertType.ERROR);
+            alert.setTitle("Permission Denied");
+            alert.setHeaderText("Cannot Delete Reply");
+            alert.setContentText("You can only delete your own replies.");
+            alert.showAndWait();
             
-        } catch (SQLException e) {
-            e.printStackTrace();
+            return;
         }
         
-        // Refresh replies view
-        performViewReplies();
+        // Owner verified - allow delete; applyChanges refreshes the replies view
+        String userName = ViewPosts.theUser.getUserName();
+        AsyncDatabase.run(ViewPosts.indicator_Busy,
+        		() -> ModelPosts.deleteOwnReply(ViewPosts.theDatabase, userName, reply),
+        		deleted -> {
+            if (!deleted) System.out.println("The reply could not be deleted");
+        });
     }
     
     /**
@@ -648,43 +760,45 @@ public class ControllerPosts {
      * @see database.Database#updateReply(int, String)
      */
     protected static void performEditReply() {
-        String r = ViewPosts.list_Replies.getSelectionModel().getSelectedItem();
+        Reply reply = ViewPosts.list_Replies.getSelectionModel().getSelectedItem();
         
-        if(r == null || r.trim().isEmpty()) {
+        if(reply == null) {
             System.out.println("Need to select a Reply");
             return;
         }
-       
-        int id = ModelPosts.getID(r);
         
-        try {
-            // US-05 SECURITY CHECK: Verify ownership
-            Reply reply = ViewPosts.theDatabase.getReply(id);
-            
-            // Compare authors
-            if (!reply.getAuthor().equals(ViewPosts.theUser.getUserName())) {
-                // NOT the owner - deny
-                System.out.println("ERROR: You can only edit your own replies!");
-                
-                javafx.scene.control.Alert alert = new javafx.scene.control.Alert(
-                    javafx.scene.control.Alert.AlertType.ERROR);
-                alert.setTitle("Permission Denied");
-                alert.setHeaderText("Cannot Edit Reply");
-                alert.setContentText("You can only edit your own replies.");
-                alert.showAndWait();
-                
-                return;
-            }
+        // US-05 SECURITY CHECK: Verify ownership
+        if (!reply.isAuthoredBy(ViewPosts.theUser.getUserName())) {
+            // NOT the owner - deny
+            System.out.println("ERROR: You can only edit your own replies!");
             
-            // Owner verified - proceed with edit
+            javafx.scene.control.Alert alert = new javafx.scene.control.Alert(
+                javafx.scene.control.Alert.AlertType.ERROR);
+            alert.setTitle("Permission Denied");
+            alert.setHeaderText("Cannot Edit Reply");
+            alert.setContentText("You can only edit your own replies.");
+            alert.showAndWait();
             
-        } catch (SQLException e) {
-            e.printStackTrace();
             return;
         }
         
+        // Owner verified - proceed with edit
+        editReplyContent(reply);
+    }
+    
+    /**
+     * Asks for the new content of a reply the user owns and saves it.
+     * 
+     * <p><strong>Implements:</strong> US-05 (Replies) - once ownership is verified</p>
+     * 
+     * @param reply the reply to edit; its content pre-fills the dialog
+     */
+    private static void editReplyContent(Reply reply) {
+        String userName = ViewPosts.theUser.getUserName();
+        
         // Show edit dialog
-        javafx.scene.control.TextInputDialog dialog = new javafx.scene.control.TextInputDialog();
+        javafx.scene.control.TextInputDialog dialog =
+        		new javafx.scene.control.TextInputDialog(reply.getContent());
         dialog.setTitle("Edit Reply");
         dialog.setHeaderText("Edit the reply content:");
         dialog.setContentText("New content:");
@@ -699,13 +813,12 @@ public class ControllerPosts {
                 return;
             }
             
-            try {
-                // Update reply with new content
-                ViewPosts.theDatabase.updateReply(id, newText);
-                performViewReplies();
-            } catch (SQLException e) {
-                e.printStackTrace();
-            }
+            // Update reply with new content; applyChanges refreshes the replies view
+            AsyncDatabase.run(ViewPosts.indicator_Busy,
+            		() -> ModelPosts.editOwnReply(ViewPosts.theDatabase, userName, reply, newText),
+            		updated -> {
+                if (!updated) System.out.println("The reply could not be updated");
+            });
         }
     }
     
@@ -777,16 +890,13 @@ public class ControllerPosts {
             return;
         }
         
-        try {
-            // Create reply with role tag
-            // Uses currentPostID to link reply to post
-            ViewPosts.theDatabase.createReply(ViewPosts.currentPostID, a, c, role);
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
-        
-        // Return to replies view
-        ControllerPosts.performViewReplies();
+        // Create reply with role tag, then return to replies view
+        // Uses currentPostID to link reply to post
+        int postID = ViewPosts.currentPostID;
+        String r = role;
+        AsyncDatabase.run(ViewPosts.indicator_Busy,
+        		() -> ViewPosts.theDatabase.createReply(postID, a, c, r),
+        		replyID -> ViewPosts.showRepliesPanel());
     }    
     
     /**
@@ -1,14 +1,19 @@
 package guiPosts;
 
+import java.sql.SQLException;
+
+import database.Database;
 import entityClasses.Post;
+import entityClasses.PostSummary;
 import entityClasses.Reply;
+import entityClasses.SearchResult;
 
 /**
  * <p><strong>Title:</strong> ModelPosts Class - Student Posts Model</p>
  * 
  * <p><strong>Description:</strong> Model component of the MVC architecture for the student 
  * discussion posts system. This class provides utility methods for formatting posts and 
- * replies for display in the GUI, and parsing IDs from formatted display strings.</p>
+ * replies for display in the GUI.</p>
  * 
  * <p><strong>MVC Role:</strong> Model - Handles data formatting and transformation between 
  * entity objects (Post, Reply) and display strings shown in the View.</p>
@@ -17,15 +22,15 @@ import entityClasses.Reply;
  * <ul>
  * <li><strong>Display Formatting:</strong> Converts Post/Reply objects to user-friendly strings</li>
  * <li><strong>Role Badge Display:</strong> Adds [Admin], [Role1], or [Role2] badges to posts/replies</li>
- * <li><strong>ID Extraction:</strong> Parses post/reply IDs from formatted display strings</li>
  * <li><strong>Data Transformation:</strong> Bridges the gap between raw entity data and GUI presentation</li>
+ * <li><strong>Ownership:</strong> Makes the edits and deletes of posts and replies, and refuses those of content the user does not own</li>
  * </ul>
  * 
  * <p><strong>Supported User Stories:</strong></p>
  * <ul>
  * <li><strong>US-04 (View Posts):</strong> {@link #formatPostForDisplay(Post)} - Formats posts with role badges</li>
  * <li><strong>US-05 (Replies):</strong> {@link #formatReplyForDisplay(Reply)} - Formats replies with role badges</li>
- * <li><strong>US-02/US-03 (Edit/Delete):</strong> {@link #getID(String)} - Extracts IDs for operations</li>
+ * <li><strong>US-04 (View Posts):</strong> {@link #formatListEntryForDisplay(Post)} - Formats one row of the posts list</li>
  * </ul>
  * 
  * <p><strong>Design Pattern:</strong> This class follows the <strong>Utility/Helper pattern</strong> 
@@ -61,63 +66,20 @@ import entityClasses.Reply;
 public class ModelPosts {
 	
 	/**
-	 * Extracts the ID number from a formatted post or reply display string.
-	 * 
-	 * <p><strong>Purpose:</strong> Enables the Controller to identify which post/reply the 
-	 * user selected in the ListView, so operations like edit/delete/view-replies can be 
-	 * performed on the correct entity.</p>
-	 * 
-	 * <p><strong>Input Format:</strong> Expects strings formatted as:
-	 * <code>"id: 5 author: john_doe [Role1] content: Great question!"</code></p>
-	 * 
-	 * <p><strong>Parsing Algorithm:</strong></p>
-	 * <ol>
-	 * <li>Split string on " author: " â†' ["id: 5", "john_doe [Role1] content: ..."]</li>
-	 * <li>Take first part: "id: 5"</li>
-	 * <li>Split on space â†' ["id:", "5"]</li>
-	 * <li>Parse second element as integer â†' 5</li>
-	 * </ol>
-	 * 
-	 * <p><strong>User Story Support:</strong></p>
-	 * <ul>
-	 * <li><strong>US-02 (Edit):</strong> Extract ID to retrieve Post from database for editing</li>
-	 * <li><strong>US-03 (Delete):</strong> Extract ID to identify which post to delete</li>
-	 * <li><strong>US-05 (Replies):</strong> Extract post ID to retrieve replies, or reply ID for edit/delete</li>
-	 * </ul>
+	 * Number of posts read from the database each time the posts list is extended.
 	 * 
-	 * <p><strong>Usage Example:</strong></p>
-	 * <pre>
-	 * // In ControllerPosts.performEditPost():
-	 * String selected = "id: 5 author: john [Role1] content: Question about...";
-	 * int postId = ModelPosts.getID(selected);  // Returns: 5
-	 * Post post = database.getPost(postId);     // Retrieve the actual post
-	 * // Now can perform edit operation
-	 * </pre>
-	 * 
-	 * <p><strong>Error Handling:</strong> Assumes input string is properly formatted. Will 
-	 * throw NumberFormatException if format is unexpected. Should only be called with strings 
-	 * generated by {@link #formatPostForDisplay(Post)} or {@link #formatReplyForDisplay(Reply)}.</p>
-	 * 
-	 * <p><strong>Important:</strong> This method works for BOTH posts and replies since they 
-	 * use the same display format. The caller determines whether to use the ID for Post or 
-	 * Reply operations based on context.</p>
-	 * 
-	 * @param s the formatted display string from ListView (must follow standard format)
-	 * @return the extracted ID number (positive integer)
-	 * @throws NumberFormatException if the string format is invalid
+	 * <p><strong>US-04 (View Posts):</strong> Keeps the posts screen fast as the table grows</p>
+	 */
+	protected static final int POSTS_PER_PAGE = 50;
+	
+	/**
+	 * Most posts the posts list holds at once. Posts scrolled far out of view are dropped and 
+	 * read again if the user scrolls back to them.
 	 * 
-	 * @see #formatPostForDisplay(Post)
-	 * @see #formatReplyForDisplay(Reply)
+	 * <p><strong>US-04 (View Posts):</strong> Keeps memory bounded on a very large board</p>
 	 */
-    protected static int getID(String s) {
-        // Parse "id: X author: Y..." to extract X
-        String[] stuff1 = s.split(" author: ");
-        String temp = stuff1[0];
-        String[] stuff2 = temp.split(" ");
-        int id = Integer.parseInt(stuff2[1]);
-        return id;
-    }
-    
+	protected static final int MAX_POSTS_IN_LIST = 500;
+	
     /**
      * Formats a Post object for display in the ListView with role badge.
      * 
@@ -163,7 +125,7 @@ public class ModelPosts {
      * 
      * <p><strong>Data Flow:</strong></p>
      * <pre>
-     * Database â†' Post object â†' formatPostForDisplay() â†' display string â†' ListView
+     * Database -&gt; Post object -&gt; ListView&lt;Post&gt; -&gt; formatPostForDisplay() as the row is drawn
      * </pre>
      * 
      * @param post the Post entity object to format (must not be null)
@@ -183,6 +145,71 @@ public class ModelPosts {
                "content: " + post.getContent();
     }
     
+    /**
+     * Formats one row of the post list for display in the posts ListView.
+     * 
+     * <p><strong>Implements:</strong> US-04 (View Posts) - Reply counts</p>
+     * 
+     * <p><strong>Output Format:</strong> the post as {@link #formatPostForDisplay(Post)} shows 
+     * it, followed by <code>" (N replies, latest id: R)"</code>, or <code>" (no replies)"</code>.</p>
+     * 
+     * @param summary the post and its reply figures (must not be null)
+     * @return formatted display string
+     * 
+     * @see database.Database#getPostSummaries(int, int, database.PageDirection)
+     */
+    protected static String formatSummaryForDisplay(PostSummary summary) {
+        String text = formatPostForDisplay(summary);
+        int replies = summary.getReplyCount();
+        if (replies == 0) return text + " (no replies)";
+        return text + " (" + replies + (replies == 1 ? " reply" : " replies") + 
+               ", latest id: " + summary.getLastReplyID() + ")";
+    }
+    
+    /**
+     * Formats one search result for display in the posts ListView.
+     * 
+     * <p><strong>Implements:</strong> US-04 (View Posts) - Search</p>
+     * 
+     * <p><strong>Output Format:</strong> the post as {@link #formatPostForDisplay(Post)} shows 
+     * it, followed by <code>" (N matching replies)"</code> when the post was found through its 
+     * replies.</p>
+     * 
+     * @param result the search result to format (must not be null)
+     * @return formatted display string
+     * 
+     * @see database.Database#searchPosts(String, int, int)
+     */
+    protected static String formatSearchResultForDisplay(SearchResult result) {
+        String text = formatPostForDisplay(result);
+        int replies = result.getMatchingReplies();
+        if (replies == 1) return text + " (1 matching reply)";
+        if (replies > 1) return text + " (" + replies + " matching replies)";
+        return text;
+    }
+    
+    /**
+     * Formats one item of the posts ListView, as its cell is drawn.
+     * 
+     * <p><strong>Implements:</strong> US-04 (View Posts) - Display formatting</p>
+     * 
+     * <p>The posts ListView holds the Post objects themselves rather than display strings, 
+     * so only the rows on screen are ever formatted and the selected item is the post to 
+     * act on. The list holds {@link PostSummary} rows when showing all posts and 
+     * {@link SearchResult} rows when showing a search; each is formatted with its extra 
+     * figures, and any other post as {@link #formatPostForDisplay(Post)} shows it.</p>
+     * 
+     * @param post the post in the row (must not be null)
+     * @return formatted display string
+     * 
+     * @see guiPosts.ViewPosts#loader_Posts
+     */
+    protected static String formatListEntryForDisplay(Post post) {
+        if (post instanceof PostSummary summary) return formatSummaryForDisplay(summary);
+        if (post instanceof SearchResult result) return formatSearchResultForDisplay(result);
+        return formatPostForDisplay(post);
+    }
+    
     /**
      * Formats a Reply object for display in the ListView with role badge.
      * 
@@ -214,7 +241,7 @@ public class ModelPosts {
      * 
      * <p><strong>Data Flow:</strong></p>
      * <pre>
-     * Database â†' List&lt;Reply&gt; â†' formatReplyForDisplay() for each â†' display strings â†' ListView
+     * Database -&gt; List&lt;Reply&gt; -&gt; ListView&lt;Reply&gt; -&gt; formatReplyForDisplay() as each row is drawn
      * </pre>
      * 
      * @param reply the Reply entity object to format (must not be null)
@@ -233,4 +260,83 @@ public class ModelPosts {
                " [" + role + "] " +
                "content: " + reply.getContent();
     }
+    
+    // ===================== OWNERSHIP ===================
+    
+    /**
+     * Changes the content of a post, but only for its author.
+     * 
+     * <p><strong>Implements:</strong> US-02 (Edit Own Posts) - the ownership rule is applied 
+     * where the post is written, not only before the edit dialog is shown</p>
+     * 
+     * @param database the database to write to
+     * @param userName the user making the edit
+     * @param post the post to edit
+     * @param content the new content
+     * @return true if the post was updated; false if the user is not its author, in which case 
+     * nothing is written, or if the update failed
+     * @throws SQLException if the post cannot be written
+     * 
+     * @see entityClasses.Post#isAuthoredBy(String)
+     */
+    public static boolean editOwnPost(Database database, String userName, Post post,
+    		String content) throws SQLException {
+        if (!post.isAuthoredBy(userName)) return false;
+        return database.updatePost(post.getPostID(), content);
+    }
+    
+    /**
+     * Deletes a post, but only for its author.
+     * 
+     * <p><strong>Implements:</strong> US-03 (Delete Own Posts)</p>
+     * 
+     * @param database the database to write to
+     * @param userName the user asking for the delete
+     * @param post the post to delete
+     * @return true if the post was deleted; false if the user is not its author, in which case 
+     * nothing is written, or if the delete failed
+     * @throws SQLException if the post cannot be deleted
+     */
+    public static boolean deleteOwnPost(Database database, String userName, Post post)
+    		throws SQLException {
+        if (!post.isAuthoredBy(userName)) return false;
+        return database.deletePost(post.getPostID());
+    }
+    
+    /**
+     * Changes the content of a reply, but only for its author.
+     * 
+     * <p><strong>Implements:</strong> US-05 (Replies) - edit own replies</p>
+     * 
+     * @param database the database to write to
+     * @param userName the user making the edit
+     * @param reply the reply to edit
+     * @param content the new content
+     * @return true if the reply was updated; false if the user is not its author, in which case 
+     * nothing is written, or if the update failed
+     * @throws SQLException if the reply cannot be written
+     */
+    public static boolean editOwnReply(Database database, String userName, Reply reply,
+    		String content) throws SQLException {
+        if (!reply.isAuthoredBy(userName)) return false;
+        return database.updateReply(reply.getReplyID(), content);
+    }
+    
+    /**
+     * Deletes a reply, but only for its author.
+     * 
+     * <p><strong>Implements:</strong> US-05 (Replies) - delete own replies</p>
+     * 
+     * @param database the database to write to
+     * @param userName the user asking for the delete
+     * @param reply the reply to delete
+     * @return true if the reply was deleted; false if the user is not its author, in which case 
+     * nothing is written, or if the delete failed
+     * @throws SQLException if the reply cannot be deleted
+     */
+    public static boolean deleteOwnReply(Database database, String userName, Reply reply)
+    		throws SQLException {
+        if (!reply.isAuthoredBy(userName)) return false;
+        return database.deleteReply(reply.getReplyID());
+    }
 }
\ No newline at end of file
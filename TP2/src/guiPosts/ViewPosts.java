@@ -1,16 +1,24 @@
 package guiPosts;
 
+import javafx.application.Platform;
 import javafx.geometry.Pos;
 import javafx.scene.Scene;
 import javafx.scene.control.Button;
 import javafx.scene.control.Label;
 import javafx.scene.control.ListView;
+import javafx.scene.control.ProgressIndicator;
 import javafx.scene.control.TextArea;
+import javafx.scene.control.TextField;
 import javafx.scene.layout.Pane;
 import javafx.scene.text.Font;
 import javafx.stage.Stage;
 import database.Database;
+import entityClasses.Post;
+import entityClasses.Reply;
 import entityClasses.User;
+import guiTools.AsyncDatabase;
+import guiTools.PagedListLoader;
+import guiTools.TextCellFactory;
 
 /**
  * <p><strong>Title:</strong> ViewPosts Class - Student Posts View</p>
@@ -192,19 +200,42 @@ public class ViewPosts {
 	 */
 	protected static Button button_BackToPosts = new Button("Back To Posts");
 	
+	/**
+	 * Search button - ranks posts by how well they and their replies match the search words.
+	 */
+	protected static Button button_Search = new Button("Search");
+	
 	// ==================== GUI COMPONENTS - LISTS ====================
 	
 	/**
-	 * ListView displaying all posts. Format: "id: X author: Y [Role] content: Z"
+	 * ListView displaying all posts. Holds the posts themselves; each row is drawn as 
+	 * "id: X author: Y [Role] content: Z" by {@link ModelPosts#formatListEntryForDisplay(Post)}
 	 * US-04 (View Posts)
 	 */
-	protected static ListView<String> list_Posts = new ListView<>();
+	protected static ListView<Post> list_Posts = new ListView<>();
+	
+	/**
+	 * Spins while the database is being read or written for this page, above every panel.
+	 * 
+	 * @see guiTools.AsyncDatabase
+	 */
+	protected static ProgressIndicator indicator_Busy = AsyncDatabase.newBusyIndicator(370, 535);
+	
+	/**
+	 * Fills {@link #list_Posts} a page at a time as the user scrolls, from all posts or from 
+	 * the current search. US-04 (View Posts)
+	 * 
+	 * @see guiTools.PagedListLoader
+	 */
+	static PagedListLoader<Post> loader_Posts = new PagedListLoader<>(list_Posts, indicator_Busy,
+			ModelPosts.POSTS_PER_PAGE, ModelPosts.MAX_POSTS_IN_LIST, ModelPosts::formatListEntryForDisplay);
 	
 	/**
-	 * ListView displaying replies for current post. Format: "id: X author: Y [Role] content: Z"
+	 * ListView displaying replies for current post. Holds the replies themselves; each row is 
+	 * drawn as "id: X author: Y [Role] content: Z" by {@link ModelPosts#formatReplyForDisplay(Reply)}
 	 * US-05 (Replies)
 	 */
-	protected static ListView<String> list_Replies = new ListView<>();
+	protected static ListView<Reply> list_Replies = new ListView<>();
 	
 	// ==================== GUI COMPONENTS - TEXT AREAS ====================
 	
@@ -223,6 +254,13 @@ public class ViewPosts {
 	 */
 	protected static TextArea text_ReplyContent = new TextArea();
 	
+	// ==================== GUI COMPONENTS - TEXT FIELDS ====================
+	
+	/**
+	 * TextField for the words to search posts and replies for. Empty shows all posts.
+	 */
+	protected static TextField text_Search = new TextField();
+	
 	// ==================== SCENE AND PANEL STRUCTURE ====================
 	
 	
@@ -269,7 +307,8 @@ public class ViewPosts {
 	 */
 	private ViewPosts(){
 		// Create main pane Add ALL panels to main pane
-		mainPane.getChildren().addAll(postsPanel, createPostPanel, repliesPanel, createReplyPanel);
+		mainPane.getChildren().addAll(postsPanel, createPostPanel, repliesPanel, createReplyPanel,
+				indicator_Busy);
 		// At start, hide everything except posts
 		hideAllPanels();
 		postsPanel();
@@ -278,6 +317,10 @@ public class ViewPosts {
 		createReplyPanel();
 		postsPanel.setVisible(true);
 		ControllerPosts.performViewPosts();
+		
+		// US-04/US-05: Keep the lists current with changes made here or in other sessions
+		theDatabase.addChangeListener(
+				changes -> Platform.runLater(() -> ControllerPosts.applyChanges(changes)));
 	}
 	
 	/**
@@ -291,16 +334,23 @@ public class ViewPosts {
 	 * <li>US-05: View Replies button</li>
 	 * </ul>
 	 * 
-	 * <p><strong>Layout:</strong> Title, ListView, action buttons (Create, View Replies, 
-	 * Delete, Edit, Back), Logout, Quit</p>
+	 * <p><strong>Layout:</strong> Title, search field and button, ListView (read a page at a 
+	 * time as it is scrolled), action buttons (Create, View Replies, Delete, Edit, Back), Logout, Quit</p>
 	 */
 	private void postsPanel() { // First Panel gui that shows all posts and option to create post
 		
 		setupLabelUI(label_ViewPostsTitle, "Arial", 32, width, Pos.CENTER, 0, 10);
 		
-		// US-04: Load all posts
+		// US-04: Search posts and replies; Enter in the field searches too
+		setupTextFieldUI(text_Search, "Dialog", 18, 330, 20, 100);
+		text_Search.setPromptText("Search posts and replies");
+		text_Search.setOnAction((event) -> {ControllerPosts.performSearch(); });
+		setupButtonUI(button_Search, "Dialog", 18, 110, Pos.CENTER, 360, 100);
+		button_Search.setOnAction((event) -> {ControllerPosts.performSearch(); });
+		
+		// US-04: Load all posts; later pages are read as the list is scrolled
 		ControllerPosts.performViewPosts();
-		setupListViewUI(list_Posts, "Dialog", 18, 450, 300, 20, 150 );
+		setupListViewUI(list_Posts, "Dialog", 18, 450, 350, 20, 150 );
 		
 		// US-01: Create Post
 		setupButtonUI(button_CreatePost, "Dialog", 18, 250, Pos.CENTER, 500, 150);
@@ -328,7 +378,8 @@ public class ViewPosts {
         button_Quit.setOnAction((event) -> {ControllerPosts.performQuit(); });
         
         postsPanel.getChildren().addAll(button_Logout, button_Quit, button_viewReplies,button_DeletePost,
-        		button_EditPost, button_CreatePost,list_Posts, label_ViewPostsTitle, button_back);
+        		button_EditPost, button_CreatePost,list_Posts, label_ViewPostsTitle, button_back,
+        		text_Search, button_Search);
 		
 	}
 	
@@ -382,6 +433,7 @@ public class ViewPosts {
 	    
 	    // US-05: ListView for replies
 	    setupListViewUI(list_Replies, "Dialog", 18, 450, 280, 20, 160);
+	    list_Replies.setCellFactory(new TextCellFactory<>(ModelPosts::formatReplyForDisplay));
 	    
 	    // US-05: Create Reply
 	    setupButtonUI(button_CreateReply, "Dialog", 18, 250, Pos.CENTER, 500, 150);
@@ -532,8 +584,25 @@ public class ViewPosts {
 	}
 	
 	/**
-	 * Configures ListView with standard styling. Used for displaying posts and replies 
-	 * with format: "id: X author: Y [Role] content: Z"
+	 * Configures TextField with standard styling.
+	 * 
+	 * @param t TextField to configure
+	 * @param ff font family
+	 * @param f font size
+	 * @param w preferred width
+	 * @param x X coordinate
+	 * @param y Y coordinate
+	 */
+	private static void setupTextFieldUI(TextField t, String ff, double f, double w, double x, double y) {
+		t.setFont(Font.font(ff, f));
+		t.setPrefWidth(w);
+		t.setLayoutX(x);
+		t.setLayoutY(y);
+	}
+	
+	/**
+	 * Configures ListView with standard styling. Used for displaying posts and replies, 
+	 * whose cells show the format: "id: X author: Y [Role] content: Z"
 	 * 
 	 * @param l ListView to configure
 	 * @param ff font family
@@ -543,7 +612,7 @@ public class ViewPosts {
 	 * @param x X coordinate
 	 * @param y Y coordinate
 	 */
-	private static void setupListViewUI(ListView<String> l, String ff, double f, double w, double h, double x, double y) {
+	private static void setupListViewUI(ListView<?> l, String ff, double f, double w, double h, double x, double y) {
 		l.setStyle("-fx-font-family: '" + ff + "'; -fx-font-size: " + f + ";");
 		l.setPrefWidth(w);
 		l.setPrefHeight(h);
@@ -1,9 +1,17 @@
 package guiPostsAdmin;
 
 import java.sql.SQLException;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import database.DatabaseChange;
+import database.PageDirection;
 import entityClasses.Post;
+import entityClasses.PostSummary;
 import entityClasses.Reply;
+import entityClasses.SearchResult;
+import guiTools.AsyncDatabase;
+import guiTools.PagedListLoader;
 
 /*******
  * <p> Title: ControllerPostsAdmin Class </p>
@@ -30,52 +38,170 @@ import entityClasses.Reply;
  */
 public class ControllerPostsAdmin {
     
+    // Reads of the replies to a post; only the thread of the post chosen last is shown
+    private static final AsyncDatabase.Latest threadReads = new AsyncDatabase.Latest();
+    
+    // Reads that bring the open thread up to date after it changed; kept apart from
+    // threadReads so they never cancel the opening of another thread
+    private static final AsyncDatabase.Latest threadRefreshes = new AsyncDatabase.Latest();
+    
     // ===================== POSTS PANEL METHODS ===================
     
     /*******
      * <p> Method: performViewPosts </p>
      * 
-     * <p> Description: Retrieves ALL posts from the database and displays them in the ListView.
-     * This is the first thing users see when they open the posts page.</p>
+     * <p> Description: Displays the first page of posts in the ListView. This is the first
+     * thing users see when they open the posts page.</p>
      * 
      * <p>Process:
-     * 1. Query database for all posts
-     * 2. Clear the ListView to remove old data
-     * 3. Format each post for display (including role badge)
-     * 4. Add formatted strings to ListView
-     * 5. Show the posts panel
+     * 1. Clear the search field
+     * 2. Point the list's loader at all posts, which empties the list and reads the first page
+     * 3. Show the posts panel
      * </p>
      * 
-     * <p>Admin privilege: Gets ALL posts regardless of author.</p>
+     * <p>Later pages are read by the loader when the admin scrolls near the end of the list.</p>
+     * 
+     * <p>Admin privilege: Pages through ALL posts regardless of author.</p>
      */
     protected static void performViewPosts() {
-        try {
-            // Get all posts from the database as a List of Post objects
-            List<Post> allPosts = ViewPostsAdmin.theDatabase.getAllPosts();
-            
-            // Clear any existing items in the ListView
-            // This prevents duplicates if we're refreshing the view
-            ViewPostsAdmin.list_Posts.getItems().clear();
-            
-            // Loop through each Post object in our list
-            for (Post post : allPosts) {
-                // Format the post as a display string (includes role badge)
-                String displayText = ModelPostsAdmin.formatPostForDisplay(post);
-                
-                // Add the formatted string to the ListView
-                // Users will see this in the GUI
-                ViewPostsAdmin.list_Posts.getItems().add(displayText);
+        // Start again from the oldest post, leaving any search
+        ViewPostsAdmin.text_Search.clear();
+        ViewPostsAdmin.loader_Posts.reset(ALL_POSTS);
+        
+        // Make the posts panel visible (hide other panels)
+        ViewPostsAdmin.showPostsPanel();
+    }
+    
+    /*******
+     * <p> Field: ALL_POSTS </p>
+     * 
+     * <p> Description: Reads pages of the full posts list for the list's loader.</p>
+     * 
+     * <p>Why pages? The database only reads one page worth of rows using the primary key
+     * index, starting from the id of the post at the end of the list, so the screen opens just
+     * as quickly with a million posts as with ten.  The reply counts are part of the same
+     * query, so busy threads do not slow it down either.</p>
+     */
+    private static final PagedListLoader.PageSource<Post> ALL_POSTS =
+    		new PagedListLoader.PageSource<>() {
+        // Each row is a PostSummary; the list's cells show its role badge and reply count
+        @Override
+        public List<PostSummary> pageAfter(Post last, int position) throws SQLException {
+            // Nothing loaded yet means start from the oldest post
+            int cursor = (last == null) ? 0 : last.getPostID();
+            return ViewPostsAdmin.theDatabase.getPostSummaries(cursor,
+            		ModelPostsAdmin.POSTS_PER_PAGE, PageDirection.FORWARD);
+        }
+        
+        @Override
+        public List<PostSummary> pageBefore(Post first, int position) throws SQLException {
+            return ViewPostsAdmin.theDatabase.getPostSummaries(first.getPostID(),
+            		ModelPostsAdmin.POSTS_PER_PAGE, PageDirection.BACKWARD);
+        }
+        
+        // A row whose post or replies changed is read again with its new reply figures
+        @Override
+        public Post reload(Post item) throws SQLException {
+            return ViewPostsAdmin.theDatabase.getPostSummary(item.getPostID());
+        }
+    };
+ 
+    /*******
+     * <p> Method: performSearch </p>
+     * 
+     * <p> Description: Replaces the list with the posts that best match the words in the
+     * search field.  A post matches through its own text or through any of its replies, so
+     * admins can find a discussion by something said in it.  Scrolling down reads further
+     * results, best matches first.  An empty search field goes back to the full list.</p>
+     */
+    protected static void performSearch() {
+        String query = ViewPostsAdmin.text_Search.getText().trim();
+        if (query.isEmpty()) {
+            performViewPosts();
+            return;
+        }
+        ViewPostsAdmin.loader_Posts.reset(new PagedListLoader.PageSource<>() {
+            // Results are ranked rather than in id order, so they are paged by position
+            @Override
+            public List<SearchResult> pageAfter(Post last, int position) throws SQLException {
+                return ViewPostsAdmin.theDatabase.searchPosts(query, position,
+                		ModelPostsAdmin.POSTS_PER_PAGE);
             }
             
-            // Make the posts panel visible (hide other panels)
-            ViewPostsAdmin.showPostsPanel();
+            @Override
+            public List<SearchResult> pageBefore(Post first, int position) throws SQLException {
+                int start = Math.max(0, position - ModelPostsAdmin.POSTS_PER_PAGE);
+                return ViewPostsAdmin.theDatabase.searchPosts(query, start, position - start);
+            }
             
-        } catch (SQLException e) {
-            // If database error occurs, print details for debugging
-            e.printStackTrace();
+            // An edited result keeps its place and figures until the search is run again
+            @Override
+            public Post reload(Post item) throws SQLException {
+                Post post = ViewPostsAdmin.theDatabase.getPost(item.getPostID());
+                if (post == null || !(item instanceof SearchResult result)) return post;
+                return new SearchResult(post, result.getScore(), result.getMatchingReplies());
+            }
+        });
+    }
+    
+    /*******
+     * <p> Method: applyChanges </p>
+     * 
+     * <p> Description: Brings the posts list and the open thread up to date with changes to
+     * the database, made here or by anyone else sharing it.  Called on the JavaFX thread.</p>
+     * 
+     * <p>Why not just call performViewPosts? That reads the whole list again from the top and
+     * loses the admin's place.  Applying only what changed is one small read per changed row:
+     * - A deleted post's row is removed (and its thread closed if it is open)
+     * - A post that was edited, or whose replies changed, is read again for its new content
+     *   and reply count (and so is its thread if it is open)
+     * - New posts are appended if the list already reaches the end; otherwise they are read
+     *   when the admin scrolls down to them
+     * </p>
+     * 
+     * @param changes the changes of one write, or those made elsewhere since the last look
+     */
+    protected static void applyChanges(List<DatabaseChange> changes) {
+        // Sort the changes by what has to be done about them
+        Set<Integer> deleted = new HashSet<>();     // Posts to remove
+        Set<Integer> touched = new HashSet<>();     // Posts to read again
+        boolean created = false;                    // New posts to append
+        for (DatabaseChange change : changes) {
+            boolean post = change.getSubject() == DatabaseChange.Subject.POST;
+            if (post && change.getKind() == DatabaseChange.Kind.DELETED) deleted.add(change.getPostID());
+            else if (post && change.getKind() == DatabaseChange.Kind.CREATED) created = true;
+            else touched.add(change.getPostID());
         }
+        touched.removeAll(deleted);
+        
+        if (!deleted.isEmpty())
+            ViewPostsAdmin.loader_Posts.removeIf(p -> deleted.contains(p.getPostID()));
+        if (!touched.isEmpty())
+            ViewPostsAdmin.loader_Posts.reload(p -> touched.contains(p.getPostID()));
+        if (created) ViewPostsAdmin.loader_Posts.loadNewItems();
+        
+        // The thread on the replies panel
+        int open = ViewPostsAdmin.currentPostID;
+        if (deleted.contains(open)) ViewPostsAdmin.showPostsPanel();
+        else if (touched.contains(open)) refreshThread(open);
     }
- 
+    
+    // Read the open thread again, leaving whichever panel is showing as it is
+    private static void refreshThread(int postID) {
+        record PostThread(Post post, List<Reply> replies) {}
+        threadRefreshes.run(null, () -> new PostThread(ViewPostsAdmin.theDatabase.getPost(postID),
+        		ViewPostsAdmin.theDatabase.getRepliesByPost(postID)), thread -> {
+            // Another thread may have been opened while this one was read
+            if (ViewPostsAdmin.currentPostID != postID) return;
+            if (thread.post() == null) {
+                ViewPostsAdmin.showPostsPanel();
+                return;
+            }
+            ViewPostsAdmin.text_PostInReply.setText(thread.post().getContent());
+            ViewPostsAdmin.list_Replies.getItems().setAll(thread.replies());
+        });
+    }
+    
     /*******
      * <p> Method: performCreatePost </p>
      * 
@@ -118,9 +244,9 @@ public class ControllerPostsAdmin {
      * <p>Process:
      * 1. Get the selected item from ListView
      * 2. Validate that something was selected
-     * 3. Extract the post ID from the display string
+     * 3. Take the post ID from the selected Post
      * 4. Delete from database (which also deletes all replies)
-     * 5. Refresh the view
+     * 5. applyChanges removes its row when the change comes back
      * </p>
      * 
      * <p>Safety: Database.deletePost() handles cascading delete of replies.</p>
@@ -128,7 +254,8 @@ public class ControllerPostsAdmin {
     protected static void performDeletePost() {
         // Get the currently selected item from the ListView
         // Returns null if nothing is selected
-        String p = ViewPostsAdmin.list_Posts.getSelectionModel().getSelectedItem();
+        // The list holds Post objects, so the selection is the post itself
+        Post p = ViewPostsAdmin.list_Posts.getSelectionModel().getSelectedItem();
         
         // Check if user actually selected something
         if(p == null) {
@@ -137,22 +264,17 @@ public class ControllerPostsAdmin {
             return;  // Exit the method early - can't delete nothing
         }
         
-        // Extract the post ID from the display string
-        // Uses ModelPostsAdmin.getID() to parse "id: 5 author..." → 5
-        int id = ModelPostsAdmin.getID(p);
-        
-        try {
-            // Delete the post from the database
-            // This also deletes all associated replies (cascading delete)
-            ViewPostsAdmin.theDatabase.deletePost(id);
-            
-        } catch (SQLException e) {
-            // Print error if database operation fails
-            e.printStackTrace();
-        }
-        
-        // Refresh the posts list to show the post is gone
-        performViewPosts();
+        // Get the post ID straight from the Post
+        int id = p.getPostID();
+        
+        // Delete the post from the database in the background
+        // This also deletes all associated replies (cascading delete)
+        // The change comes back through applyChanges, which removes the post's row
+        AsyncDatabase.run(ViewPostsAdmin.indicator_Busy,
+        		() -> ViewPostsAdmin.theDatabase.deletePost(id),
+        		deleted -> {
+            if (!deleted) System.out.println("The post could not be deleted");
+        });
     }
     
     /*******
@@ -163,31 +285,33 @@ public class ControllerPostsAdmin {
      * 
      * <p>Process:
      * 1. Validate a post is selected
-     * 2. Extract post ID
-     * 3. Show input dialog for new content
+     * 2. Get post ID from the selected Post
+     * 3. Show input dialog, pre-filled with the current content
      * 4. Validate new content isn't empty
      * 5. Update database
-     * 6. Refresh view
+     * 6. applyChanges redraws its row when the change comes back
      * </p>
      * 
      * <p>ADMIN PRIVILEGE: No ownership check - can edit anyone's post.</p>
      */
     protected static void performEditPost() {
-        // Get the selected post string from the ListView
-        String p = ViewPostsAdmin.list_Posts.getSelectionModel().getSelectedItem();
+        // Get the selected post from the ListView
+        Post p = ViewPostsAdmin.list_Posts.getSelectionModel().getSelectedItem();
         
-        // Validate selection exists and isn't empty/whitespace
-        if(p == null || p.trim().isEmpty()) {
+        // Validate selection exists
+        if(p == null) {
             System.out.println("Need to select a Post");
             return;  // Exit early if nothing selected
         }
         
-        // Extract the post ID number from the display string
-        int id = ModelPostsAdmin.getID(p);
+        // Get the post ID number from the Post
+        int id = p.getPostID();
        
         // Create a dialog box for text input
         // TextInputDialog is a JavaFX popup with a text field
-        javafx.scene.control.TextInputDialog dialog = new javafx.scene.control.TextInputDialog();
+        // It starts out holding the current content, so small fixes are easy
+        javafx.scene.control.TextInputDialog dialog =
+        		new javafx.scene.control.TextInputDialog(p.getContent());
         
         // Set the dialog's title (shows in window title bar)
         dialog.setTitle("Edit Post");
@@ -214,18 +338,14 @@ public class ControllerPostsAdmin {
                 return;  // Exit without saving - empty posts not allowed
             }
             
-            try {
-                // Update the post in the database with the new content
-                // Note: Only content changes - author, role, ID stay the same
-                ViewPostsAdmin.theDatabase.updatePost(id, newText);
-                
-                // Refresh the view so user sees the updated content
-                performViewPosts();
-                
-            } catch (SQLException e) {
-                // Print error if database update fails
-                e.printStackTrace();
-            }
+            // Update the post in the database with the new content
+            // Note: Only content changes - author, role, ID stay the same
+            // When it is saved, applyChanges redraws its row with the updated content
+            AsyncDatabase.run(ViewPostsAdmin.indicator_Busy,
+            		() -> ViewPostsAdmin.theDatabase.updatePost(id, newText),
+            		updated -> {
+                if (!updated) System.out.println("The post could not be updated");
+            });
         }
         // If result is not present (user clicked Cancel), do nothing
     }
@@ -260,13 +380,10 @@ public class ControllerPostsAdmin {
             return;
         }
         
-        try {
-            ViewPostsAdmin.theDatabase.createPost(a, c, role);
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
-        
-        ControllerPostsAdmin.performViewPosts();
+        // Save in the background, then go back to the posts; applyChanges adds the new one
+        AsyncDatabase.run(ViewPostsAdmin.indicator_Busy,
+        		() -> ViewPostsAdmin.theDatabase.createPost(a, c, role),
+        		postID -> ViewPostsAdmin.showPostsPanel());
     }
     
     /*******
@@ -308,49 +425,39 @@ public class ControllerPostsAdmin {
      * 
      * <p>Process:
      * 1. Validate a post is selected
-     * 2. Extract post ID
-     * 3. Get post content and display it (read-only)
+     * 2. Get post ID from the selected Post
+     * 3. Display the post content (read-only)
      * 4. Get all replies for this post
-     * 5. Format and display replies
+     * 5. Display replies (each row is formatted as it is drawn)
      * 6. Track current post ID for reply creation
      * 7. Show replies panel
      * </p>
      */
     protected static void performViewReplies() {
         // Get the selected post from the ListView
-        String p = ViewPostsAdmin.list_Posts.getSelectionModel().getSelectedItem();
+        Post p = ViewPostsAdmin.list_Posts.getSelectionModel().getSelectedItem();
         
         // Validate that something was selected
-        if(p == null || p.trim().isEmpty()) {
+        if(p == null) {
             System.out.println("Need to select a Post");
             return;  // Exit if no post selected
         }
         
-        // Extract the post ID from the display string
-        int id = ModelPostsAdmin.getID(p);
+        // Get the post ID from the Post
+        int id = p.getPostID();
         
-        try {
-            // Get the Post object from the database using the ID
-            Post post = ViewPostsAdmin.theDatabase.getPost(id);
-            
+        // Get all replies associated with this post ID in the background.  If another post
+        // is chosen before they arrive, they are dropped.
+        threadReads.run(ViewPostsAdmin.indicator_Busy,
+        		() -> ViewPostsAdmin.theDatabase.getRepliesByPost(id),
+        		replies -> {
             // Display the post's content in a read-only text area
             // This shows users which post they're replying to
-            ViewPostsAdmin.text_PostInReply.setText(post.getContent());
-           
-            // Get all replies associated with this post ID
-            List<Reply> postReplies = ViewPostsAdmin.theDatabase.getRepliesByPost(id);
+            ViewPostsAdmin.text_PostInReply.setText(p.getContent());
             
-            // Clear any existing replies from the ListView
-            ViewPostsAdmin.list_Replies.getItems().clear();
-            
-            // Loop through each Reply object
-            for (Reply reply : postReplies) {
-                // Format the reply for display (includes role badge)
-                String displayText = ModelPostsAdmin.formatReplyForDisplay(reply);
-                
-                // Add formatted reply to the ListView
-                ViewPostsAdmin.list_Replies.getItems().add(displayText);
-            }
+            // Put the Reply objects in the ListView; its cells format each one
+            // (with role badge) when its row is drawn
+            ViewPostsAdmin.list_Replies.getItems().setAll(replies);
             
             // Store the current post ID so we know which post to reply to
             // This is used when user creates a new reply
@@ -358,11 +465,7 @@ public class ControllerPostsAdmin {
             
             // Switch to the replies panel view
             ViewPostsAdmin.showRepliesPanel();
-            
-        } catch (SQLException e) {
-            // Print error if database operations fail
-            e.printStackTrace();
-        }
+        });
     }
     
     /*******
@@ -373,35 +476,32 @@ public class ControllerPostsAdmin {
      * 
      * <p>Process:
      * 1. Validate a reply is selected
-     * 2. Extract reply ID
+     * 2. Get reply ID from the selected Reply
      * 3. Delete from database
-     * 4. Refresh replies view
+     * 4. applyChanges refreshes the replies view when the change comes back
      * </p>
      */
     protected static void performDeleteReply() {
         // Get the selected reply from the ListView
-        String r = ViewPostsAdmin.list_Replies.getSelectionModel().getSelectedItem();
+        Reply r = ViewPostsAdmin.list_Replies.getSelectionModel().getSelectedItem();
         
         // Validate selection
-        if(r == null || r.trim().isEmpty()) {
+        if(r == null) {
             System.out.println("Need to select a Reply");
             return;  // Exit if nothing selected
         }
         
-        // Extract the reply ID from the display string
-        int id = ModelPostsAdmin.getID(r);
-        
-        try {
-            // Delete the reply from the database
-            // Note: This is simpler than deleting posts because replies have no children
-            ViewPostsAdmin.theDatabase.deleteReply(id);
-            
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
-        
-        // Refresh the replies view to show the reply is gone
-        performViewReplies();
+        // Get the reply ID from the Reply
+        int id = r.getReplyID();
+        
+        // Delete the reply from the database in the background
+        // Note: This is simpler than deleting posts because replies have no children
+        // The change comes back through applyChanges, which refreshes the replies view
+        AsyncDatabase.run(ViewPostsAdmin.indicator_Busy,
+        		() -> ViewPostsAdmin.theDatabase.deleteReply(id),
+        		deleted -> {
+            if (!deleted) System.out.println("The reply could not be deleted");
+        });
     }
     
     /*******
@@ -415,20 +515,21 @@ public class ControllerPostsAdmin {
      * <p>Process is identical to performEditPost but operates on replies.</p>
      */
     protected static void performEditReply() {
-        // Get selected reply string
-        String r = ViewPostsAdmin.list_Replies.getSelectionModel().getSelectedItem();
+        // Get selected reply
+        Reply r = ViewPostsAdmin.list_Replies.getSelectionModel().getSelectedItem();
         
         // Validate selection
-        if(r == null || r.trim().isEmpty()) {
+        if(r == null) {
             System.out.println("Need to select a Reply");
             return;
         }
        
-        // Extract reply ID
-        int id = ModelPostsAdmin.getID(r);
+        // Get reply ID
+        int id = r.getReplyID();
         
-        // Create and configure the input dialog
-        javafx.scene.control.TextInputDialog dialog = new javafx.scene.control.TextInputDialog();
+        // Create and configure the input dialog, starting from the current content
+        javafx.scene.control.TextInputDialog dialog =
+        		new javafx.scene.control.TextInputDialog(r.getContent());
         dialog.setTitle("Edit Reply");
         dialog.setHeaderText("Edit the reply content:");
         dialog.setContentText("New content:");
@@ -447,17 +548,12 @@ public class ControllerPostsAdmin {
                 return;
             }
             
-            try {
-                // Update the reply in the database
-                ViewPostsAdmin.theDatabase.updateReply(id, newText);
-                
-                // Refresh the replies view
-                performViewReplies();
-                
-            } catch (SQLException e) {
-                e.printStackTrace();
-                System.out.println("Error updating reply");
-            }
+            // Update the reply in the database; applyChanges refreshes the replies view
+            AsyncDatabase.run(ViewPostsAdmin.indicator_Busy,
+            		() -> ViewPostsAdmin.theDatabase.updateReply(id, newText),
+            		updated -> {
+                if (!updated) System.out.println("The reply could not be updated");
+            });
         }
     }
     
@@ -507,18 +603,14 @@ public class ControllerPostsAdmin {
             return;
         }
         
-        try {
-            // Create the reply in the database
-            // Parameters: postID, author, content, role
-            // currentPostID was set when we viewed the post's replies
-            ViewPostsAdmin.theDatabase.createReply(ViewPostsAdmin.currentPostID, a, c, role);
-            
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
-        
-        // Return to the replies view (which now includes the new reply)
-        ControllerPostsAdmin.performViewReplies();
+        // Create the reply in the database
+        // Parameters: postID, author, content, role
+        // currentPostID was set when we viewed the post's replies
+        // Then return to the replies view; applyChanges adds the new reply to it
+        int postID = ViewPostsAdmin.currentPostID;
+        AsyncDatabase.run(ViewPostsAdmin.indicator_Busy,
+        		() -> ViewPostsAdmin.theDatabase.createReply(postID, a, c, role),
+        		replyID -> ViewPostsAdmin.showRepliesPanel());
     }    
     
     /*******
@@ -1,13 +1,15 @@
 package guiPostsAdmin;
 
 import entityClasses.Post;
+import entityClasses.PostSummary;
 import entityClasses.Reply;
+import entityClasses.SearchResult;
 
 /*******
  * <p> Title: ModelPostsAdmin Class </p>
  * 
  * <p> Description: Model class for the Admin Posts view. This class contains utility methods
- * for formatting and extracting data from Post and Reply objects for display in the GUI.</p>
+ * for formatting Post and Reply objects for display in the GUI.</p>
  * 
  * <p>Why a separate Admin model?
  * - Admins see ALL posts/replies, not just their own
@@ -26,49 +28,15 @@ import entityClasses.Reply;
 public class ModelPostsAdmin {
     
     /*******
-     * <p> Method: getID </p>
-     * 
-     * <p> Description: Extracts the ID number from a formatted post or reply string.
-     * This is a parsing method that pulls out the numeric ID from display text.</p>
-     * 
-     * <p>How it works:
-     * 1. Input looks like: "id: 5 author: john [Admin] content: Hello world"
-     * 2. Split by " author: " → ["id: 5", "john [Admin] content: Hello world"]
-     * 3. Take first part: "id: 5"
-     * 4. Split by space → ["id:", "5"]
-     * 5. Take second part and convert to integer: 5
-     * </p>
-     * 
-     * <p>Why do we need this?
-     * - ListView stores display strings, not Post objects
-     * - When user selects a post to edit/delete, we need its ID
-     * - This extracts the ID from the display string
-     * </p>
-     * 
-     * @param s the formatted string containing "id: X author: Y content: Z"
-     * 
-     * @return the extracted ID as an integer
+     * The number of posts read from the database each time the list is extended.
      */
-    protected static int getID(String s) {
-        // Split the string at " author: " to isolate the first part
-        // Example: "id: 5 author: john" becomes ["id: 5", "john [Admin]..."]
-        String[] stuff1 = s.split(" author: ");
-        
-        // Take the first element (everything before " author: ")
-        // This gives us "id: 5"
-        String temp = stuff1[0];
-        
-        // Split this by space to separate "id:" from the number
-        // "id: 5" becomes ["id:", "5"]
-        String[] stuff2 = temp.split(" ");
-        
-        // Take the second element (index 1) which is the ID number
-        // Convert the String "5" to integer 5
-        int id = Integer.parseInt(stuff2[1]);
-        
-        // Return the extracted ID
-        return id;
-    }
+    protected static final int POSTS_PER_PAGE = 50;
+    
+    /*******
+     * The most posts the list holds at once.  Posts scrolled far out of view are dropped and
+     * read again if the admin scrolls back to them, so memory stays bounded on a large board.
+     */
+    protected static final int MAX_POSTS_IN_LIST = 500;
     
     /*******
      * <p> Method: formatPostForDisplay </p>
@@ -79,7 +47,7 @@ public class ModelPostsAdmin {
      * <p>Display format: "id: X author: username [RoleName] content: post text"</p>
      * 
      * <p>Why format posts?
-     * - JavaFX ListView displays strings, not objects
+     * - The ListView holds Post objects; its cells show each one as this string
      * - Users need to see all relevant information at a glance
      * - Role badges help identify who posted what
      * - Consistent formatting makes the interface easier to scan
@@ -106,6 +74,63 @@ public class ModelPostsAdmin {
                "content: " + post.getContent();
     }
     
+    /*******
+     * <p> Method: formatSummaryForDisplay </p>
+     * 
+     * <p> Description: Formats one row of the post list the same way as a post, adding how
+     * many replies it has and the id of the newest one.</p>
+     * 
+     * @param summary the post and its reply figures
+     * 
+     * @return a formatted String ready for display
+     */
+    protected static String formatSummaryForDisplay(PostSummary summary) {
+        String text = formatPostForDisplay(summary);
+        int replies = summary.getReplyCount();
+        if (replies == 0) return text + " (no replies)";
+        return text + " (" + replies + (replies == 1 ? " reply" : " replies") +
+               ", latest id: " + summary.getLastReplyID() + ")";
+    }
+    
+    /*******
+     * <p> Method: formatSearchResultForDisplay </p>
+     * 
+     * <p> Description: Formats one search result the same way as a post, adding how many of
+     * the post's replies matched when there are any.</p>
+     * 
+     * @param result the search result to format
+     * 
+     * @return a formatted String ready for display
+     */
+    protected static String formatSearchResultForDisplay(SearchResult result) {
+        String text = formatPostForDisplay(result);
+        int replies = result.getMatchingReplies();
+        if (replies == 1) return text + " (1 matching reply)";
+        if (replies > 1) return text + " (" + replies + " matching replies)";
+        return text;
+    }
+    
+    /*******
+     * <p> Method: formatListEntryForDisplay </p>
+     * 
+     * <p> Description: Formats one item of the posts ListView, as its cell is drawn.  The list
+     * holds the Post objects themselves, so only the rows on screen are formatted and the
+     * selected item is the post to act on - no ID has to be parsed back out of a string.</p>
+     * 
+     * <p>The list holds PostSummary rows when showing all posts and SearchResult rows when
+     * showing a search, and each is shown with its extra figures.</p>
+     * 
+     * @param post the post in the row
+     * 
+     * @return a formatted String ready for display
+     */
+    protected static String formatListEntryForDisplay(Post post) {
+        // Pick the format by the kind of row; a plain Post gets the plain format
+        if (post instanceof PostSummary summary) return formatSummaryForDisplay(summary);
+        if (post instanceof SearchResult result) return formatSearchResultForDisplay(result);
+        return formatPostForDisplay(post);
+    }
+    
     /*******
      * <p> Method: formatReplyForDisplay </p>
      * 
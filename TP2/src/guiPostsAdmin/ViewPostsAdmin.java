@@ -1,16 +1,24 @@
 package guiPostsAdmin;
 
+import javafx.application.Platform;
 import javafx.geometry.Pos;
 import javafx.scene.Scene;
 import javafx.scene.control.Button;
 import javafx.scene.control.Label;
 import javafx.scene.control.ListView;
+import javafx.scene.control.ProgressIndicator;
 import javafx.scene.control.TextArea;
+import javafx.scene.control.TextField;
 import javafx.scene.layout.Pane;
 import javafx.scene.text.Font;
 import javafx.stage.Stage;
 import database.Database;
+import entityClasses.Post;
+import entityClasses.Reply;
 import entityClasses.User;
+import guiTools.AsyncDatabase;
+import guiTools.PagedListLoader;
+import guiTools.TextCellFactory;
 
 /*******
  * <p> Title: ViewPostsAdmin Class </p>
@@ -78,6 +86,7 @@ public class ViewPostsAdmin {
 	protected static Button button_CreatePost = new Button("Create Post");
 	protected static Button button_DeletePost = new Button("Delete Post");
 	protected static Button button_EditPost = new Button("Edit Post");
+	protected static Button button_Search = new Button("Search");
 	
 	// Create post panel buttons
 	protected static Button button_SubmitPost = new Button("Submit Post");
@@ -95,10 +104,20 @@ public class ViewPostsAdmin {
 	
 	// ========== LIST VIEWS ==========
 	// ListViews display scrollable lists of items (posts or replies)
-	// String type means each list item is a formatted string
+	// Each list item is the entity itself; its cell formats it only when the row is drawn,
+	// and the selected item is the Post or Reply to act on
 	
-	protected static ListView<String> list_Posts = new ListView<>();      // List of all posts
-	protected static ListView<String> list_Replies = new ListView<>();    // List of replies for one post
+	protected static ListView<Post> list_Posts = new ListView<>();        // List of all posts
+	
+	protected static ListView<Reply> list_Replies = new ListView<>();     // List of replies for one post
+	
+	// Spins while the database is being read or written for this page, above every panel
+	protected static ProgressIndicator indicator_Busy = AsyncDatabase.newBusyIndicator(370, 535);
+	
+	// Fills list_Posts a page at a time as it is scrolled, from all posts or from a search
+	static PagedListLoader<Post> loader_Posts = new PagedListLoader<>(list_Posts,
+			indicator_Busy, ModelPostsAdmin.POSTS_PER_PAGE, ModelPostsAdmin.MAX_POSTS_IN_LIST,
+			ModelPostsAdmin::formatListEntryForDisplay);
 	
 	// ========== TEXT AREAS ==========
 	// TextAreas allow multi-line text input/display
@@ -107,6 +126,11 @@ public class ViewPostsAdmin {
 	protected static TextArea text_PostInReply = new TextArea();       // Displays post being replied to
 	protected static TextArea text_ReplyContent = new TextArea();      // For creating new replies
 	
+	// ========== TEXT FIELDS ==========
+	// A TextField takes a single line of input
+	
+	protected static TextField text_Search = new TextField();          // Words to search posts for
+	
 	// ========== SCENE AND PANELS ==========
 	// The scene holds all panels, but only one panel is visible at a time
 	
@@ -185,7 +209,9 @@ public class ViewPostsAdmin {
 	private ViewPostsAdmin(){
 		// Add all four panels to the main pane
 		// They're all added at once but only one is visible at a time
-		mainPane.getChildren().addAll(postsPanel, createPostPanel, repliesPanel, createReplyPanel);
+		// The busy indicator goes last so it shows on top of whichever panel is visible
+		mainPane.getChildren().addAll(postsPanel, createPostPanel, repliesPanel, createReplyPanel,
+				indicator_Busy);
 		
 		// Hide everything initially for clean setup
 		hideAllPanels();
@@ -198,6 +224,11 @@ public class ViewPostsAdmin {
 		
 		// Show the posts panel as the default starting view
 		postsPanel.setVisible(true);
+		
+		// Keep the lists current as posts and replies change, here or in other sessions.
+		// Changes arrive on a background thread, so they are applied on the JavaFX thread.
+		theDatabase.addChangeListener(
+				changes -> Platform.runLater(() -> ControllerPostsAdmin.applyChanges(changes)));
 	}
 	
 	/*******
@@ -207,8 +238,8 @@ public class ViewPostsAdmin {
 	 * This panel allows admins to view, create, edit, delete posts, and view their replies.</p>
 	 * 
 	 * <p>Layout:
-	 * - Title at top
-	 * - ListView of posts (left side, scrollable)
+	 * - Title at top, with a search field and button under it
+	 * - ListView of posts (left side, scrollable), read a page at a time as it is scrolled
 	 * - Action buttons (right side)
 	 * - Navigation buttons (bottom)
 	 * </p>
@@ -217,13 +248,27 @@ public class ViewPostsAdmin {
 		// Set up the title label at the top of the panel
 		setupLabelUI(label_ViewPostsTitle, "Arial", 32, width, Pos.CENTER, 0, 10);
 		
+		// Set up the search field and button above the list
+		// Pressing Enter in the field searches the same as clicking the button
+		setupTextFieldUI(text_Search, "Dialog", 18, 330, 20, 100);
+		text_Search.setPromptText("Search posts and replies");
+		text_Search.setOnAction((event) -> {
+			ControllerPostsAdmin.performSearch();
+		});
+		setupButtonUI(button_Search, "Dialog", 18, 110, Pos.CENTER, 360, 100);
+		button_Search.setOnAction((event) -> {
+			// When clicked, replace the list with the posts that match the search
+			ControllerPostsAdmin.performSearch();
+		});
+		
 		// Load and display all posts from the database
 		// This populates the ListView with current post data
 		ControllerPostsAdmin.performViewPosts();
 		
 		// Set up the ListView that displays all posts
 		// Parameters: widget, font, font size, width, height, x position, y position
-		setupListViewUI(list_Posts, "Dialog", 18, 450, 300, 20, 150);
+		// It reaches down to the Logout button now that pages load as it scrolls
+		setupListViewUI(list_Posts, "Dialog", 18, 450, 350, 20, 150);
 		
 		// Set up "Create Post" button and attach event handler
 		setupButtonUI(button_CreatePost, "Dialog", 18, 250, Pos.CENTER, 500, 150);
@@ -278,7 +323,8 @@ public class ViewPostsAdmin {
         // The order here doesn't affect visual layering (z-index is automatic)
         postsPanel.getChildren().addAll(
         		button_Logout, button_Quit, button_viewReplies, button_DeletePost,
-        		button_EditPost, button_CreatePost, list_Posts, label_ViewPostsTitle, button_back
+        		button_EditPost, button_CreatePost, list_Posts, label_ViewPostsTitle, button_back,
+        		text_Search, button_Search
         );
 	}
 	
@@ -360,6 +406,8 @@ public class ViewPostsAdmin {
 	    
 	    // Set up ListView showing all replies
 	    setupListViewUI(list_Replies, "Dialog", 18, 450, 280, 20, 160);
+	    // Each reply row is formatted when it is drawn
+	    list_Replies.setCellFactory(new TextCellFactory<>(ModelPostsAdmin::formatReplyForDisplay));
 	    
 	    // Set up "Create Reply" button
 	    setupButtonUI(button_CreateReply, "Dialog", 18, 250, Pos.CENTER, 500, 150);
@@ -602,6 +650,26 @@ public class ViewPostsAdmin {
 		t.setLayoutY(y);
 	}
 	
+	/*******
+	 * <p> Method: setupTextFieldUI </p>
+	 * 
+	 * <p> Description: Helper method to configure a TextField with common settings.  A
+	 * TextField is one line high, so only its width is set.</p>
+	 * 
+	 * @param t the TextField to configure
+	 * @param ff font family name
+	 * @param f font size in points
+	 * @param w preferred width
+	 * @param x x-coordinate
+	 * @param y y-coordinate
+	 */
+	private static void setupTextFieldUI(TextField t, String ff, double f, double w, double x, double y) {
+		t.setFont(Font.font(ff, f));
+		t.setPrefWidth(w);
+		t.setLayoutX(x);
+		t.setLayoutY(y);
+	}
+	
 	/*******
 	 * <p> Method: setupListViewUI </p>
 	 * 
@@ -609,7 +677,7 @@ public class ViewPostsAdmin {
 	 * 
 	 * <p>ListView Notes:
 	 * - Displays a scrollable list of items
-	 * - Items are displayed as strings
+	 * - Items are entity objects, displayed as the text their cell factory gives
 	 * - User can select one item at a time (by default)
 	 * - Selected item can be retrieved with getSelectionModel().getSelectedItem()
 	 * </p>
@@ -625,7 +693,7 @@ public class ViewPostsAdmin {
 	 * @param x x-coordinate
 	 * @param y y-coordinate
 	 */
-	private static void setupListViewUI(ListView<String> l, String ff, double f, double w, double h, double x, double y) {
+	private static void setupListViewUI(ListView<?> l, String ff, double f, double w, double h, double x, double y) {
 		// Set font using CSS-style syntax
 		// Format: -fx-font-family: 'FontName'; -fx-font-size: SizePx;
 		l.setStyle("-fx-font-family: '" + ff + "'; -fx-font-size: " + f + ";");
@@ -0,0 +1,194 @@
+package guiTools;
+
+import java.sql.SQLException;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+
+import javafx.application.Platform;
+import javafx.scene.Node;
+import javafx.scene.control.ProgressIndicator;
+
+
+/*******
+ * <p> Title: AsyncDatabase Class. </p>
+ *
+ * <p> Description: Runs Database calls away from the JavaFX Application Thread, so a slow query
+ * never stops the window from repainting or answering the mouse.  A controller passes the call
+ * and what to do with its result; the call runs on a virtual thread and the result is handed
+ * back on the JavaFX thread with Platform.runLater, where it may update the GUI as usual.
+ * Virtual threads are cheap enough to start one per call, and one that waits for a pooled
+ * connection or for H2 does not hold up a platform thread while it waits.</p>
+ *
+ * <p> Each call may name a busy indicator, usually one made by newBusyIndicator, which is
+ * shown for as long as any call naming it is running.</p>
+ *
+ * <p> A read that the user has moved on from should not paint over what they asked for next.
+ * Reads made through a Latest are therefore cancelled when the next read is made through the
+ * same Latest: the result of a cancelled read is never delivered, and if it has not started
+ * it never runs.  Writes are made with run, so they are never cancelled.</p>
+ *
+ * <p> All the methods of this class are to be called on the JavaFX Application Thread.  The
+ * Database is shared by these threads; its connection pool and caches are safe for that.</p>
+ *
+ * <p> Copyright: Lynn Robert Carter © 2025 </p>
+ *
+ * @author Team-25
+ *
+ * @version 1.00		2026-10-16 Initial version
+ */
+
+public final class AsyncDatabase {
+
+	/*******
+	 * <p> Title: Call Interface. </p>
+	 *
+	 * <p> Description: The work done away from the JavaFX thread: one or more Database calls.
+	 * It must not touch the GUI.</p>
+	 *
+	 * @param <T> the type of the result
+	 */
+	@FunctionalInterface
+	public interface Call<T> {
+		T call() throws SQLException;
+	}
+
+
+	/*******
+	 * <p> Title: Latest Class. </p>
+	 *
+	 * <p> Description: A line of reads of which only the most recent matters, such as the
+	 * replies of the post last chosen.  Starting a read cancels the one before it.</p>
+	 */
+	public static final class Latest {
+
+		private CompletableFuture<?> current = null;
+
+		/**********
+		 * <p> Method: run(Node busy, Call&lt;T&gt; call, Consumer&lt;? super T&gt; onResult)
+		 * </p>
+		 *
+		 * <p> Description: Cancels the read before this one, if it is still running, and
+		 * starts this one.  See AsyncDatabase.run. </p>
+		 *
+		 * @param busy is the indicator to show while the call runs, or null for none
+		 *
+		 * @param call is the work to do in the background
+		 *
+		 * @param onResult receives the result on the JavaFX thread, unless cancelled
+		 *
+		 * @return the result to come
+		 */
+		public <T> CompletableFuture<T> run(Node busy, Call<T> call,
+				Consumer<? super T> onResult) {
+			cancel();
+			CompletableFuture<T> future = start(busy, call, onResult, this);
+			current = future;
+			return future;
+		}
+
+		/**********
+		 * <p> Method: cancel() </p>
+		 *
+		 * <p> Description: Cancels the most recent read, if it is still running, so its result
+		 * is not delivered. </p>
+		 */
+		public void cancel() {
+			if (current != null) current.cancel(false);
+			current = null;
+		}
+	}
+
+
+	// One virtual thread per call; Executors keeps these as daemon threads
+	private static final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+	// Calls running for each busy indicator; only used on the JavaFX thread
+	private static final Map<Node, Integer> running = new IdentityHashMap<>();
+
+
+	private AsyncDatabase() {
+	}
+
+
+	/**********
+	 * <p> Method: run(Node busy, Call&lt;T&gt; call, Consumer&lt;? super T&gt; onResult) </p>
+	 *
+	 * <p> Description: Runs a call in the background and gives its result to onResult on the
+	 * JavaFX thread.  If the call throws, the exception is printed, as the controllers did
+	 * before, and onResult is not called. </p>
+	 *
+	 * @param busy is the indicator to show while the call runs, or null for none
+	 *
+	 * @param call is the work to do in the background
+	 *
+	 * @param onResult receives the result on the JavaFX thread
+	 *
+	 * @return the result to come
+	 */
+	public static <T> CompletableFuture<T> run(Node busy, Call<T> call,
+			Consumer<? super T> onResult) {
+		return start(busy, call, onResult, null);
+	}
+
+
+	/**********
+	 * <p> Method: newBusyIndicator(double x, double y) </p>
+	 *
+	 * <p> Description: Makes a small spinning indicator, hidden until a call that names it
+	 * is running. </p>
+	 *
+	 * @param x is the left edge of the indicator
+	 *
+	 * @param y is the top edge of the indicator
+	 *
+	 * @return the indicator, to be added to a view's pane
+	 */
+	public static ProgressIndicator newBusyIndicator(double x, double y) {
+		ProgressIndicator indicator = new ProgressIndicator();
+		indicator.setPrefSize(30, 30);
+		indicator.setLayoutX(x);
+		indicator.setLayoutY(y);
+		indicator.setVisible(false);
+		return indicator;
+	}
+
+
+	private static <T> CompletableFuture<T> start(Node busy, Call<T> call,
+			Consumer<? super T> onResult, Latest owner) {
+		changeBusy(busy, +1);
+		CompletableFuture<T> future = CompletableFuture.supplyAsync(() -> {
+			try {
+				return call.call();
+			} catch (SQLException e) {
+				throw new CompletionException(e);
+			}
+		}, executor);
+
+		// Cancelling completes the future at once, so the indicator may go before the call ends
+		future.whenComplete((result, failure) -> Platform.runLater(() -> {
+			changeBusy(busy, -1);
+			if (future.isCancelled() || (owner != null && owner.current != future)) return;
+			if (failure != null) {
+				Throwable cause = (failure instanceof CompletionException && failure.getCause() != null)
+						? failure.getCause() : failure;
+				cause.printStackTrace();
+				return;
+			}
+			onResult.accept(result);
+		}));
+		return future;
+	}
+
+	private static void changeBusy(Node busy, int change) {
+		if (busy == null) return;
+		int count = running.getOrDefault(busy, 0) + change;
+		if (count > 0) running.put(busy, count);
+		else running.remove(busy);
+		busy.setVisible(count > 0);
+	}
+}
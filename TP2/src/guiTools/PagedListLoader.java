@@ -0,0 +1,320 @@
+package guiTools;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import javafx.collections.ObservableList;
+import javafx.scene.Node;
+import javafx.scene.control.IndexedCell;
+import javafx.scene.control.ListView;
+import javafx.scene.control.skin.VirtualFlow;
+
+
+/*******
+ * <p> Title: PagedListLoader Class. </p>
+ *
+ * <p> Description: Fills a ListView a page at a time as the user scrolls, so a list over a
+ * very large table opens as soon as its first page is read.  Pages are read in the background
+ * with AsyncDatabase, so scrolling stays smooth while they load.  The ListView already draws only
+ * the rows on screen and reuses their cells; this class adds the matching behavior for the
+ * items themselves.  When the user scrolls to within PREFETCH rows of the end of the loaded
+ * items, the next page is read and appended.  The list holds at most maxItems items: once it grows
+ * past that the oldest items are dropped, and they are read back a page at a time when the
+ * user scrolls up to them, so memory stays bounded however far the user scrolls.</p>
+ *
+ * <p> Where the pages come from is up to a PageSource, which may page by a key taken from the
+ * first or last item (keyset paging) or by position (offset paging).</p>
+ *
+ * <p> When the data changes the list need not be read again from the start: removeIf drops
+ * items, reload reads a few items again, and loadNewItems reads what has been added after the
+ * last item.  A view calls these as it is told of changes by a DatabaseChangeListener.</p>
+ *
+ * <p> Copyright: Lynn Robert Carter © 2025 </p>
+ *
+ * @author Team-25
+ *
+ * @version 1.00		2026-10-16 Initial version
+ *
+ * @param <T> the type of the items in the ListView
+ */
+
+public class PagedListLoader<T> {
+
+	/*******
+	 * <p> Title: PageSource Interface. </p>
+	 *
+	 * <p> Description: Reads the pages for a PagedListLoader.  Positions count from the first
+	 * item of the whole list, including items that are not loaded at the moment.</p>
+	 *
+	 * <p> A page that cannot be read must throw SQLException rather than come back short or
+	 * empty: a short page is taken to mean the list ends there.</p>
+	 *
+	 * @param <T> the type of the items in the ListView
+	 */
+	public interface PageSource<T> {
+
+		/*******
+		 * <p> Method: List&lt;? extends T&gt; pageAfter(T last, int position) </p>
+		 *
+		 * @param last is the last item loaded, or null when the list is empty
+		 *
+		 * @param position is the position of the first item wanted
+		 *
+		 * @return up to one page of the items that follow; a short page means there are no more
+		 */
+		List<? extends T> pageAfter(T last, int position) throws SQLException;
+
+		/*******
+		 * <p> Method: List&lt;? extends T&gt; pageBefore(T first, int position) </p>
+		 *
+		 * @param first is the first item loaded
+		 *
+		 * @param position is the position of that first item
+		 *
+		 * @return up to one page of the items just before it, in list order; a short page means
+		 * it reaches the start of the list
+		 */
+		List<? extends T> pageBefore(T first, int position) throws SQLException;
+
+		/*******
+		 * <p> Method: T reload(T item) </p>
+		 *
+		 * <p> Description: Reads an item again after what it shows has changed.  By default
+		 * the item is kept as it is.</p>
+		 *
+		 * @param item is the item as it is in the list
+		 *
+		 * @return the item as it is now, or null when it no longer belongs in the list
+		 */
+		default T reload(T item) throws SQLException {
+			return item;
+		}
+	}
+
+
+	/** Rows from either end of the loaded items at which the next page is read */
+	private static final int PREFETCH = 10;
+
+	private final ListView<T> list;
+	private final int pageSize;
+	private final int maxItems;
+
+	private PageSource<T> source = null;
+	private int firstPosition = 0;			// Position of the first loaded item
+	private boolean atEnd = true;			// No items after the last loaded one
+	private boolean pending = false;		// A page is being read
+	private final Node busy;
+	private final AsyncDatabase.Latest reads = new AsyncDatabase.Latest();
+	private VirtualFlow<?> flow = null;		// The scrolling part of the list, once it is shown
+
+
+	/**********
+	 * <p> Method: PagedListLoader(ListView&lt;T&gt; list, Node busy, int pageSize,
+	 * int maxItems, Function&lt;? super T, String&gt; text) </p>
+	 *
+	 * <p> Description: Sets the cell factory of the list and follows its scrolling.  The list
+	 * is empty until reset gives it a source. </p>
+	 *
+	 * @param list is the ListView to fill
+	 *
+	 * @param busy is the indicator to show while a page is read, or null for none
+	 *
+	 * @param pageSize is the number of items asked of the source at a time
+	 *
+	 * @param maxItems is the most items the list holds at once; at least two pages
+	 *
+	 * @param text gives the text a cell shows for an item
+	 */
+	public PagedListLoader(ListView<T> list, Node busy, int pageSize, int maxItems,
+			Function<? super T, String> text) {
+		this.list = list;
+		this.busy = busy;
+		this.pageSize = pageSize;
+		this.maxItems = Math.max(maxItems, 2 * pageSize);
+		list.setCellFactory(new TextCellFactory<>(text));
+
+		// The skin builds the VirtualFlow that does the scrolling when the list is first shown
+		list.skinProperty().addListener((observable, oldSkin, newSkin) -> {
+			if (list.lookup(".virtual-flow") instanceof VirtualFlow<?> created) {
+				flow = created;
+				flow.positionProperty().addListener((o, oldPosition, newPosition) -> scrolled());
+			}
+		});
+	}
+
+
+	/**********
+	 * <p> Method: reset(PageSource&lt;T&gt; source) </p>
+	 *
+	 * <p> Description: Empties the list and fills it again from the start of a source.  A page
+	 * still being read from the old source is dropped. </p>
+	 *
+	 * @param source is where the items now come from
+	 */
+	public void reset(PageSource<T> source) {
+		reads.cancel();
+		this.source = source;
+		list.getItems().clear();
+		firstPosition = 0;
+		atEnd = false;
+		pending = false;
+		loadNext();
+		list.scrollTo(0);
+	}
+
+
+	/**********
+	 * <p> Method: loadNewItems() </p>
+	 *
+	 * <p> Description: Reads what has been added after the last item, when the list already
+	 * reaches the end of its source.  Otherwise the new items are read as usual when the user
+	 * scrolls down to them. </p>
+	 */
+	public void loadNewItems() {
+		// A page being read may have been read before the new items were added, so read again
+		if (source == null || !(atEnd || pending)) return;
+		atEnd = false;
+		loadNext();
+	}
+
+
+	/**********
+	 * <p> Method: removeIf(Predicate&lt;? super T&gt; which) </p>
+	 *
+	 * <p> Description: Drops loaded items, such as those whose rows were deleted. </p>
+	 *
+	 * @param which says which items to drop
+	 */
+	public void removeIf(Predicate<? super T> which) {
+		list.getItems().removeIf(which);
+	}
+
+
+	/**********
+	 * <p> Method: reload(Predicate&lt;? super T&gt; which) </p>
+	 *
+	 * <p> Description: Reads loaded items again in the background with the source's reload
+	 * and puts the new versions in their places, leaving the rest of the list and its
+	 * scrolling alone.  Items the source says no longer belong are dropped. </p>
+	 *
+	 * @param which says which items to read again
+	 */
+	public void reload(Predicate<? super T> which) {
+		PageSource<T> from = source;
+		if (from == null) return;
+		List<T> stale = new ArrayList<>();
+		for (T item : list.getItems()) if (which.test(item)) stale.add(item);
+		if (stale.isEmpty()) return;
+
+		// A quiet update of what is on screen, so no busy indicator
+		AsyncDatabase.run(null, () -> {
+			List<T> fresh = new ArrayList<>(stale.size());
+			for (T item : stale) fresh.add(from.reload(item));
+			return fresh;
+		}, fresh -> {
+			if (source != from) return;
+			ObservableList<T> items = list.getItems();
+			for (int i = 0; i < stale.size(); i++) {
+				// The item may have moved, or been dropped, while it was read
+				int at = items.indexOf(stale.get(i));
+				if (at < 0) continue;
+				if (fresh.get(i) == null) items.remove(at);
+				else items.set(at, fresh.get(i));
+			}
+		});
+	}
+
+
+	/*
+	 * Reads the next page in the background, then appends it, dropping items from the top if
+	 * the list is then over its limit.  The row at the top of the view stays there.
+	 */
+	private void loadNext() {
+		if (source == null || atEnd) return;
+		ObservableList<T> items = list.getItems();
+		PageSource<T> from = source;
+		T last = items.isEmpty() ? null : items.get(items.size() - 1);
+		int position = firstPosition + items.size();
+		pending = true;
+		reads.run(busy, () -> read(() -> from.pageAfter(last, position)), page -> {
+			pending = false;
+			if (page == null) return;
+			atEnd = page.size() < pageSize;
+			items.addAll(page);
+
+			int excess = items.size() - maxItems;
+			if (excess > 0) {
+				int top = firstVisibleIndex();
+				items.remove(0, excess);
+				firstPosition += excess;
+				list.scrollTo(Math.max(0, top - excess));
+			}
+		});
+	}
+
+
+	/*
+	 * Reads back the page before the first loaded item in the background, then inserts it,
+	 * dropping items from the bottom if the list is then over its limit.  The row at the top
+	 * of the view stays there.
+	 */
+	private void loadPrevious() {
+		ObservableList<T> items = list.getItems();
+		if (source == null || firstPosition == 0 || items.isEmpty()) return;
+		PageSource<T> from = source;
+		T first = items.get(0);
+		int position = firstPosition;
+		pending = true;
+		reads.run(busy, () -> read(() -> from.pageBefore(first, position)), page -> {
+			pending = false;
+			if (page == null) return;
+
+			// The count of dropped items is only a guide when rows were added or deleted since
+			firstPosition = (page.size() < pageSize) ? 0 : Math.max(0, firstPosition - page.size());
+			if (page.isEmpty()) return;
+			int top = firstVisibleIndex();
+			items.addAll(0, page);
+			list.scrollTo(top + page.size());
+
+			int excess = items.size() - maxItems;
+			if (excess > 0) {
+				items.remove(items.size() - excess, items.size());
+				atEnd = false;
+			}
+		});
+	}
+
+
+	// A failed read is reported and gives null, so the list is left as it is and can try again
+	private static <T> List<? extends T> read(AsyncDatabase.Call<List<? extends T>> page) {
+		try {
+			return page.call();
+		} catch (SQLException e) {
+			e.printStackTrace();
+			return null;
+		}
+	}
+
+
+	/*
+	 * Called whenever the list scrolls, including when pages are added or dropped.  Only one
+	 * page is read at a time.
+	 */
+	private void scrolled() {
+		if (pending || source == null) return;
+		IndexedCell<?> first = flow.getFirstVisibleCell();
+		IndexedCell<?> last = flow.getLastVisibleCell();
+		if (first == null || last == null) return;
+		if (!atEnd && last.getIndex() >= list.getItems().size() - PREFETCH) loadNext();
+		else if (firstPosition > 0 && first.getIndex() < PREFETCH) loadPrevious();
+	}
+
+	// The index of the row at the top of the view, or 0 before the list is shown
+	private int firstVisibleIndex() {
+		IndexedCell<?> cell = (flow == null) ? null : flow.getFirstVisibleCell();
+		return (cell == null) ? 0 : cell.getIndex();
+	}
+}
@@ -0,0 +1,64 @@
+package guiTools;
+
+import java.util.function.Function;
+
+import javafx.scene.control.ListCell;
+import javafx.scene.control.ListView;
+import javafx.util.Callback;
+
+
+/*******
+ * <p> Title: TextCellFactory Class. </p>
+ *
+ * <p> Description: The cell factory for a ListView that holds entity objects, such as Post or
+ * Reply, rather than display strings.  Each cell shows the text a function gives for its
+ * item.  The ListView makes only as many cells as fit on screen and reuses them as the list
+ * scrolls, so an item is formatted only when its row is drawn, and the selection is the entity
+ * itself rather than a string its id must be parsed back out of.</p>
+ *
+ * <p> Copyright: Lynn Robert Carter © 2025 </p>
+ *
+ * @author Team-25
+ *
+ * @version 1.00		2026-10-16 Initial version
+ *
+ * @param <T> the type of the items in the ListView
+ */
+
+public class TextCellFactory<T> implements Callback<ListView<T>, ListCell<T>> {
+
+	private final Function<? super T, String> text;
+
+
+	/**********
+	 * <p> Method: TextCellFactory(Function&lt;? super T, String&gt; text) </p>
+	 *
+	 * <p> Description: This constructor establishes the factory. </p>
+	 *
+	 * @param text gives the text a cell shows for an item
+	 */
+	public TextCellFactory(Function<? super T, String> text) {
+		this.text = text;
+	}
+
+
+	/**********
+	 * <p> Method: call(ListView&lt;T&gt; view) </p>
+	 *
+	 * <p> Description: Makes a cell for the ListView. </p>
+	 *
+	 * @param view is the ListView the cell is for
+	 *
+	 * @return a cell that shows the text of its item, or nothing when it is empty
+	 */
+	@Override
+	public ListCell<T> call(ListView<T> view) {
+		return new ListCell<T>() {
+			@Override
+			protected void updateItem(T item, boolean empty) {
+				super.updateItem(item, empty);
+				setText((empty || item == null) ? null : text.apply(item));
+			}
+		};
+	}
+}
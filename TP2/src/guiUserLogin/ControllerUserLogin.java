@@ -2,6 +2,7 @@ package guiUserLogin;
 
 import database.Database;
 import entityClasses.User;
+import guiTools.AsyncDatabase;
 import javafx.stage.Stage;
 
 public class ControllerUserLogin {
@@ -22,12 +23,17 @@ public class ControllerUserLogin {
 
 	private static Stage theStage;	
 	
+	// Login checks; if Log In is clicked again before one finishes, only the last one counts
+	private static final AsyncDatabase.Latest loginReads = new AsyncDatabase.Latest();
+	
 	/**********
 	 * <p> Method: public doLogin() </p>
 	 * 
 	 * <p> Description: This method is called when the user has clicked on the Login button. This
 	 * method checks the username and password to see if they are valid.  If so, it then logs that
-	 * user in my determining which role to use.
+	 * user in my determining which role to use.  The check and the loading of the account and its
+	 * roles are a single database lookup, which runs in the background so the window stays live
+	 * while it does.
 	 * 
 	 * The method reaches batch to the view page and to fetch the information needed rather than
 	 * passing that information as parameters.
@@ -37,10 +43,24 @@ public class ControllerUserLogin {
 		theStage = ts;
 		String username = ViewUserLogin.text_Username.getText();
 		String password = ViewUserLogin.text_Password.getText();
-    	boolean loginResult = false;
     	
-		// Fetch the user and verify the username
-     	if (theDatabase.getUserAccountDetails(username) == false) {
+		// Verify the username and password and fetch the account and its roles in one lookup
+		loginReads.run(ViewUserLogin.indicator_Busy,
+				() -> theDatabase.authenticate(username, password),
+				user -> goToUserHome(user));
+	}
+	
+	
+	/**********
+	 * <p> Method: goToUserHome(User user) </p>
+	 * 
+	 * <p> Description: This method is given the result of the login check.  It reports a bad
+	 * username/password pair, or takes the user to the home page for their role.</p>
+	 * 
+	 * @param user is the account that logged in, or null if the check failed
+	 */
+	private static void goToUserHome(User user) {
+     	if (user == null) {
      		// Don't provide too much information.  Don't say the username is invalid or the
      		// password is invalid.  Just say the pair is invalid.
     		ViewUserLogin.alertUsernamePasswordError.setContentText(
@@ -48,26 +68,8 @@ public class ControllerUserLogin {
     		ViewUserLogin.alertUsernamePasswordError.showAndWait();
     		return;
     	}
-		System.out.println("*** Username is valid");
+		System.out.println("*** Username and password are valid");
 		
-		// Check to see that the login password matches the account password
-    	String actualPassword = theDatabase.getCurrentPassword();
-    	
-    	if (password.compareTo(actualPassword) != 0) {
-    		ViewUserLogin.alertUsernamePasswordError.setContentText(
-    				"Incorrect username/password. Try again!");
-    		ViewUserLogin.alertUsernamePasswordError.showAndWait();
-    		return;
-    	}
-		System.out.println("*** Password is valid for this user");
-		
-		// Establish this user's details
-    	User user = new User(username, password, theDatabase.getCurrentFirstName(), 
-    			theDatabase.getCurrentMiddleName(), theDatabase.getCurrentLastName(), 
-    			theDatabase.getCurrentPreferredFirstName(), theDatabase.getCurrentEmailAddress(), 
-    			theDatabase.getCurrentAdminRole(), 
-    			theDatabase.getCurrentNewRole1(), theDatabase.getCurrentNewRole2());
-    	
     	// See which home page dispatch to use
 		int numberOfRoles = theDatabase.getNumberOfRoles(user);		
 		System.out.println("*** The number of roles: "+ numberOfRoles);
@@ -76,20 +78,11 @@ public class ControllerUserLogin {
 			
 			// Admin role
 			if (user.getAdminRole()) {
-				loginResult = theDatabase.loginAdmin(user);
-				if (loginResult) {
-					guiAdminHome.ViewAdminHome.displayAdminHome(theStage, user);
-				}
+				guiAdminHome.ViewAdminHome.displayAdminHome(theStage, user);
 			} else if (user.getNewRole1()) {
-				loginResult = theDatabase.loginRole1(user);
-				if (loginResult) {
-					guiRole1.ViewRole1Home.displayRole1Home(theStage, user);
-				}
+				guiRole1.ViewRole1Home.displayRole1Home(theStage, user);
 			} else if (user.getNewRole2()) {
-				loginResult = theDatabase.loginRole2(user);
-				if (loginResult) {
-					guiRole2.ViewRole2Home.displayRole2Home(theStage, user);
-				}
+				guiRole2.ViewRole2Home.displayRole2Home(theStage, user);
 				// Other roles
 			} else {
 				System.out.println("***** UserLogin goToUserHome request has an invalid role");
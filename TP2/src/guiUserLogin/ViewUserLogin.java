@@ -6,11 +6,13 @@ import javafx.scene.control.Alert;
 import javafx.scene.control.Button;
 import javafx.scene.control.Label;
 import javafx.scene.control.PasswordField;
+import javafx.scene.control.ProgressIndicator;
 import javafx.scene.control.TextField;
 import javafx.scene.control.Alert.AlertType;
 import javafx.scene.layout.Pane;
 import javafx.scene.text.Font;
 import javafx.stage.Stage;
+import guiTools.AsyncDatabase;
 
 
 /*******
@@ -52,6 +54,7 @@ public class ViewUserLogin {
 	protected static TextField text_Username = new TextField();
 	protected static PasswordField text_Password = new PasswordField();
 	private static Button button_Login = new Button("Log In");	
+	protected static ProgressIndicator indicator_Busy = AsyncDatabase.newBusyIndicator(690, 182);
 
 	private static Label label_AccountSetupInsrtuctions = new Label("No account? "+	
 			"Enter your invitation code and click on the Account Setup button");
@@ -174,7 +177,7 @@ public class ViewUserLogin {
 				label_OperationalStartTitle,
 				label_LogInInsrtuctions, label_AccountSetupInsrtuctions, text_Username,
 				button_Login, text_Password, text_Invitation, button_SetupAccount,
-				button_Quit);
+				button_Quit, indicator_Busy);
 	}
 
 
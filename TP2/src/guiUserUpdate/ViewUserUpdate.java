@@ -158,6 +158,10 @@ public class ViewUserUpdate {
 		// Set the widget values that change from use of page to another use of the page.
 		String s = "";
 		
+		// Read the stored account once, falling back to the User we were given
+		User account = theDatabase.getUser(theUser.getUserName());
+		if (account == null) account = theUser;
+		
 		// Set the dynamic aspects of the window based on the user logged in and the current state
 		// of the various account elements.
 		s = theUser.getUserName();
@@ -165,27 +169,27 @@ public class ViewUserUpdate {
     	if (s == null || s.length() < 1)label_CurrentUsername.setText("<none>");
     	else label_CurrentUsername.setText(s);
 		
-		s = theUser.getPassword();
+		s = account.getPassword();
     	if (s == null || s.length() < 1)label_CurrentPassword.setText("<none>");
     	else label_CurrentPassword.setText(s);
     	
-		s = theUser.getFirstName();
+		s = account.getFirstName();
     	if (s == null || s.length() < 1)label_CurrentFirstName.setText("<none>");
     	else label_CurrentFirstName.setText(s);
        
-        s = theUser.getMiddleName();
+        s = account.getMiddleName();
     	if (s == null || s.length() < 1)label_CurrentMiddleName.setText("<none>");
     	else label_CurrentMiddleName.setText(s);
         
-        s = theUser.getLastName();
+        s = account.getLastName();
     	if (s == null || s.length() < 1)label_CurrentLastName.setText("<none>");
     	else label_CurrentLastName.setText(s);
         
-		s = theUser.getPreferredFirstName();
+		s = account.getPreferredFirstName();
     	if (s == null || s.length() < 1)label_CurrentPreferredFirstName.setText("<none>");
     	else label_CurrentPreferredFirstName.setText(s);
         
-		s = theUser.getEmailAddress();
+		s = account.getEmailAddress();
     	if (s == null || s.length() < 1)label_CurrentEmailAddress.setText("<none>");
     	else label_CurrentEmailAddress.setText(s);
 
@@ -262,8 +266,7 @@ public class ViewUserUpdate {
         setupButtonUI(button_UpdateFirstName, "Dialog", 18, 275, Pos.CENTER, 500, 193);
         button_UpdateFirstName.setOnAction((event) -> {result = dialogUpdateFirstName.showAndWait();
         	result.ifPresent(name -> theDatabase.updateFirstName(theUser.getUserName(), result.get()));
-        	theDatabase.getUserAccountDetails(theUser.getUserName());
-         	String newName = theDatabase.getCurrentFirstName();
+        	String newName = theDatabase.getFirstName(theUser.getUserName());
            	theUser.setFirstName(newName);
         	if (newName == null || newName.length() < 1)label_CurrentFirstName.setText("<none>");
         	else label_CurrentFirstName.setText(newName);
@@ -275,8 +278,7 @@ public class ViewUserUpdate {
         setupButtonUI(button_UpdateMiddleName, "Dialog", 18, 275, Pos.CENTER, 500, 243);
         button_UpdateMiddleName.setOnAction((event) -> {result = dialogUpdateMiddleName.showAndWait();
     		result.ifPresent(name -> theDatabase.updateMiddleName(theUser.getUserName(), result.get()));
-    		theDatabase.getUserAccountDetails(theUser.getUserName());
-    		String newName = theDatabase.getCurrentMiddleName();
+    		String newName = theDatabase.getMiddleName(theUser.getUserName());
            	theUser.setMiddleName(newName);
         	if (newName == null || newName.length() < 1)label_CurrentMiddleName.setText("<none>");
         	else label_CurrentMiddleName.setText(newName);
@@ -288,8 +290,7 @@ public class ViewUserUpdate {
         setupButtonUI(button_UpdateLastName, "Dialog", 18, 275, Pos.CENTER, 500, 293);
         button_UpdateLastName.setOnAction((event) -> {result = dialogUpdateLastName.showAndWait();
     		result.ifPresent(name -> theDatabase.updateLastName(theUser.getUserName(), result.get()));
-    		theDatabase.getUserAccountDetails(theUser.getUserName());
-    		String newName = theDatabase.getCurrentLastName();
+    		String newName = theDatabase.getLastName(theUser.getUserName());
            	theUser.setLastName(newName);
       	if (newName == null || newName.length() < 1)label_CurrentLastName.setText("<none>");
         	else label_CurrentLastName.setText(newName);
@@ -305,8 +306,7 @@ public class ViewUserUpdate {
         	{result = dialogUpdatePreferredFirstName.showAndWait();
     		result.ifPresent(name -> 
     		theDatabase.updatePreferredFirstName(theUser.getUserName(), result.get()));
-    		theDatabase.getUserAccountDetails(theUser.getUserName());
-    		String newName = theDatabase.getCurrentPreferredFirstName();
+    		String newName = theDatabase.getPreferredFirstName(theUser.getUserName());
            	theUser.setPreferredFirstName(newName);
          	if (newName == null || newName.length() < 1)label_CurrentPreferredFirstName.setText("<none>");
         	else label_CurrentPreferredFirstName.setText(newName);
@@ -318,8 +318,7 @@ public class ViewUserUpdate {
         setupButtonUI(button_UpdateEmailAddress, "Dialog", 18, 275, Pos.CENTER, 500, 393);
         button_UpdateEmailAddress.setOnAction((event) -> {result = dialogUpdateEmailAddresss.showAndWait();
     		result.ifPresent(name -> theDatabase.updateEmailAddress(theUser.getUserName(), result.get()));
-    		theDatabase.getUserAccountDetails(theUser.getUserName());
-    		String newEmail = theDatabase.getCurrentEmailAddress();
+    		String newEmail = theDatabase.getEmailAddress(theUser.getUserName());
            	theUser.setEmailAddress(newEmail);
         	if (newEmail == null || newEmail.length() < 1)label_CurrentEmailAddress.setText("<none>");
         	else label_CurrentEmailAddress.setText(newEmail);
@@ -1,6 +1,11 @@
 module FoundationsF25 {
 	requires javafx.controls;
 	requires java.sql;
+	requires java.management;
+	requires jdk.management;
 	
 	opens applicationMain to javafx.graphics, javafx.fxml;
+	
+	// JMX reads the query metrics through their MXBean interface
+	exports database to java.management;
 }
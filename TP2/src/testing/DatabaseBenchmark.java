@@ -0,0 +1,225 @@
+package testing;
+
+import java.lang.management.ManagementFactory;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import database.Database;
+import database.DatabaseConfig;
+import entityClasses.Post;
+import entityClasses.Reply;
+import entityClasses.User;
+
+/**
+ * Benchmark of the {@link Database} calls the GUI makes most, run against an in-memory H2
+ * database seeded with a corpus of a chosen size.
+ *
+ * <p>Covers createPost, getPost, getAllPosts, getRepliesByPost, updatePost, deletePost, and the
+ * login path (authenticate followed by getNumberOfRoles, as ControllerUserLogin does). As with
+ * {@link ReplyCollectionBenchmark}, the project has no build tool to pull in JMH, so this
+ * follows the JMH recipe by hand: warm-up iterations so the JIT compiles the code under test,
+ * several measured iterations, keys chosen before timing, and every result folded into a
+ * checksum that is printed so the work cannot be optimized away. For each call it reports
+ * what JMH's throughput and sample modes and -prof gc would: operations per second, the 50th,
+ * 90th, and 99th percentile and maximum latency, and the bytes allocated per operation and
+ * per second by the benchmark thread.</p>
+ *
+ * <p>Reads go through the Database's caches as they do in the application, so getPost and
+ * getRepliesByPost are served partly from memory once the corpus exceeds the cache sizes and
+ * wholly from memory below them. Writes invalidate the entries they touch, as they do in the
+ * application.</p>
+ *
+ * <p><strong>How to run:</strong> run main with at least 512 MB of heap (-Xmx512m). Optional
+ * arguments are the number of posts, replies per post, and user accounts to seed (defaults
+ * 10000, 5, and 1000), and "nometrics" to turn off the Database's statement metrics, to see
+ * what measuring every statement costs. Keep the printed table of a run as the baseline to compare later runs
+ * with; a change that slows a call or makes it allocate more shows up there.</p>
+ *
+ * <p><strong>Expected result:</strong> with the defaults, getPost, getRepliesByPost, and the
+ * login path have medians of ten to twenty microseconds and change little with the corpus
+ * size. createPost and updatePost take a few tens of microseconds and deletePost a few
+ * hundred, as it also removes the post's replies and search terms. getAllPosts grows with the
+ * number of posts. The maxima include garbage collection pauses and are noisy.</p>
+ *
+ * @author Team-25
+ *
+ * @version 1.0
+ */
+public class DatabaseBenchmark {
+
+    private static final int WARMUP_ITERATIONS = 3;
+    private static final int MEASURED_ITERATIONS = 5;
+    private static final int POINT_OPS = 20_000;        // Calls per iteration, single rows
+    private static final int WRITE_OPS = 2_000;         // Calls per iteration, writes
+    private static final int SCAN_OPS = 10;             // Calls per iteration, getAllPosts
+    private static final String PASSWORD = "Passw0rd!";
+
+    // The benchmark thread's allocation counter; HotSpot and its derivatives provide one
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private static long checksum = 0;
+
+    /**
+     * One benchmarked call, applied to a key chosen in advance.
+     */
+    private interface Operation {
+        long run(int key) throws SQLException;
+    }
+
+    /**
+     * Chooses the keys for one iteration, outside the timing, such as the posts to delete.
+     */
+    private interface Keys {
+        int[] next() throws SQLException;
+    }
+
+    /**
+     * Seeds the database and prints the results of each benchmark.
+     *
+     * @param args optional post count, replies per post, user count, and "nometrics"
+     *
+     * @throws SQLException if seeding or a benchmarked call fails
+     */
+    public static void main(String[] args) throws SQLException {
+        int postCount = (args.length > 0) ? Integer.parseInt(args[0]) : 10_000;
+        int perPost = (args.length > 1) ? Integer.parseInt(args[1]) : 5;
+        int userCount = (args.length > 2) ? Integer.parseInt(args[2]) : 1_000;
+
+        boolean metrics = !(args.length > 3 && args[3].equals("nometrics"));
+
+        Database database = new Database(DatabaseConfig.inMemory("benchmark"));
+        database.connectToDatabase();
+        database.getQueryMetrics().setEnabled(metrics);
+        Random random = new Random(42);
+
+        // Seed the corpus with the batch inserts, which are not themselves being measured
+        long start = System.nanoTime();
+        List<Post> posts = new ArrayList<>(postCount);
+        for (int i = 0; i < postCount; i++) {
+            posts.add(new Post(0, "user" + (i % userCount), "Seeded post " + i + " about topic "
+                    + random.nextInt(100), "Role1"));
+        }
+        int[] postIDs = toArray(database.createPostsBatch(posts));
+        List<Reply> replies = new ArrayList<>(postCount * perPost);
+        for (int i = 0; i < postCount * perPost; i++) {
+            replies.add(new Reply(0, postIDs[random.nextInt(postCount)], "user"
+                    + (i % userCount), "Seeded reply " + i, "Role2"));
+        }
+        database.createRepliesBatch(replies);
+        List<User> users = new ArrayList<>(userCount);
+        for (int i = 0; i < userCount; i++) {
+            users.add(new User("user" + i, PASSWORD, "First" + i, "", "Last" + i, "", "",
+                    false, true, i % 2 == 0));
+        }
+        database.registerBatch(users);
+        System.out.printf("Seeded %,d posts, %,d replies, and %,d users in %d ms; statement "
+                + "metrics %s%n%n", postCount, replies.size(), userCount,
+                (System.nanoTime() - start) / 1_000_000, metrics ? "on" : "off");
+        System.out.printf("%-18s %12s %10s %10s %10s %10s %12s %10s%n", "Benchmark", "ops/s",
+                "p50 us", "p90 us", "p99 us", "max us", "alloc B/op", "alloc MB/s");
+
+        int[] pointKeys = pick(random, postIDs, POINT_OPS);
+        int[] writeKeys = pick(random, postIDs, WRITE_OPS);
+        int[] userKeys = new int[POINT_OPS];
+        for (int i = 0; i < userKeys.length; i++) userKeys[i] = random.nextInt(userCount);
+
+        measure("getPost", () -> pointKeys, key -> database.getPost(key).getContent().length());
+        measure("getRepliesByPost", () -> pointKeys,
+                key -> database.getRepliesByPost(key).size());
+        measure("getAllPosts", () -> new int[SCAN_OPS], key -> database.getAllPosts().size());
+        measure("login", () -> userKeys, key -> {
+            User user = database.authenticate("user" + key, PASSWORD);
+            return database.getNumberOfRoles(user);
+        });
+        measure("createPost", () -> writeKeys,
+                key -> database.createPost("user" + (key % userCount), "Benchmark post " + key,
+                        "Role1"));
+        measure("updatePost", () -> writeKeys,
+                key -> database.updatePost(key, "Edited post " + key) ? 1 : 0);
+
+        // Each iteration deletes posts made for it, so the corpus keeps its size
+        measure("deletePost", () -> {
+            List<Post> doomed = new ArrayList<>(WRITE_OPS);
+            for (int i = 0; i < WRITE_OPS; i++) {
+                doomed.add(new Post(0, "user0", "Post to delete " + i, "Role1"));
+            }
+            return toArray(database.createPostsBatch(doomed));
+        }, key -> database.deletePost(key) ? 1 : 0);
+
+        System.out.println("\nchecksum " + checksum);
+        database.closeConnection();
+    }
+
+    /**
+     * Runs the warm-up and measured iterations of one benchmark and prints a row of results.
+     */
+    private static void measure(String name, Keys keys, Operation operation)
+            throws SQLException {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            runAll(keys.next(), operation, null);
+        }
+        List<long[]> samples = new ArrayList<>();
+        long elapsed = 0;
+        long allocated = 0;
+        long thread = Thread.currentThread().threadId();
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            int[] iterationKeys = keys.next();
+            long[] latencies = new long[iterationKeys.length];
+            long bytesBefore = THREADS.getThreadAllocatedBytes(thread);
+            elapsed += runAll(iterationKeys, operation, latencies);
+            allocated += THREADS.getThreadAllocatedBytes(thread) - bytesBefore;
+            samples.add(latencies);
+        }
+
+        long[] all = samples.stream().flatMapToLong(Arrays::stream).sorted().toArray();
+        double seconds = elapsed / 1e9;
+        System.out.printf("%-18s %,12.0f %,10.1f %,10.1f %,10.1f %,10.1f %,12d %,10.1f%n", name,
+                all.length / seconds, percentile(all, 0.50), percentile(all, 0.90),
+                percentile(all, 0.99), all[all.length - 1] / 1e3, allocated / all.length,
+                allocated / seconds / (1024 * 1024));
+    }
+
+    /**
+     * Runs the operation on every key, recording each call's latency when asked, and returns
+     * the total time taken.
+     */
+    private static long runAll(int[] keys, Operation operation, long[] latencies)
+            throws SQLException {
+        long start = System.nanoTime();
+        long sum = 0;
+        for (int i = 0; i < keys.length; i++) {
+            long before = System.nanoTime();
+            sum += operation.run(keys[i]);
+            if (latencies != null) latencies[i] = System.nanoTime() - before;
+        }
+        long elapsed = System.nanoTime() - start;
+        checksum += sum;
+        return elapsed;
+    }
+
+    /**
+     * The latency at a fraction of the sorted samples, in microseconds.
+     */
+    private static double percentile(long[] sorted, double fraction) {
+        int index = (int) Math.ceil(fraction * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / 1e3;
+    }
+
+    private static int[] pick(Random random, int[] from, int count) {
+        int[] keys = new int[count];
+        for (int i = 0; i < count; i++) {
+            keys[i] = from[random.nextInt(from.length)];
+        }
+        return keys;
+    }
+
+    private static int[] toArray(List<Integer> list) {
+        int[] array = new int[list.size()];
+        for (int i = 0; i < array.length; i++) array[i] = list.get(i);
+        return array;
+    }
+}
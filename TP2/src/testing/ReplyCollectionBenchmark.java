@@ -0,0 +1,162 @@
+package testing;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import entityClasses.Reply;
+import entityClasses.ReplyCollection;
+
+/**
+ * Micro-benchmark for the reply lookups of {@link ReplyCollection} at one million replies.
+ *
+ * <p>Compares the indexed ReplyCollection with the linear scans it replaced, which are kept
+ * below as {@link #scanByPost(List, int)} and {@link #scanById(List, int)}. The project has no
+ * build tool to pull in JMH, so this follows the JMH recipe by hand: a warm-up phase so the JIT
+ * compiles the code under test, several timed iterations, random keys chosen before timing,
+ * and every result folded into a checksum that is printed so the work cannot be optimized
+ * away.</p>
+ *
+ * <p><strong>How to run:</strong> run main with at least 1 GB of heap (-Xmx1g). Optional
+ * arguments are the number of replies and the replies per post (defaults 1000000 and 10).</p>
+ *
+ * <p><strong>Expected result:</strong> the indexed lookups do not change with the number of
+ * replies held: tens of nanoseconds by id, and a couple of microseconds for getRepliesByPost,
+ * which copies a thread of ten replies into a new collection. The scans grow with the number
+ * of replies and take about a millisecond each at one million.</p>
+ *
+ * @author Team-25
+ *
+ * @version 1.0
+ */
+public class ReplyCollectionBenchmark {
+
+    private static final int WARMUP_ITERATIONS = 3;
+    private static final int MEASURED_ITERATIONS = 5;
+    private static final int INDEXED_OPS = 200_000;     // Lookups per iteration, indexed
+    private static final int SCAN_OPS = 20;             // Lookups per iteration, scanning
+
+    private static long checksum = 0;
+
+    /**
+     * One benchmarked operation, applied to a key chosen in advance.
+     */
+    private interface Operation {
+        long run(int key);
+    }
+
+    /**
+     * Builds the data and prints nanoseconds per operation for each benchmark.
+     *
+     * @param args optional reply count and replies per post
+     */
+    public static void main(String[] args) {
+        int replyCount = (args.length > 0) ? Integer.parseInt(args[0]) : 1_000_000;
+        int perPost = (args.length > 1) ? Integer.parseInt(args[1]) : 10;
+        int postCount = Math.max(1, replyCount / perPost);
+
+        // Replies arrive interleaved across threads, as they would in a live forum
+        Random random = new Random(42);
+        List<Reply> list = new ArrayList<>(replyCount);
+        for (int id = 1; id <= replyCount; id++) {
+            list.add(new Reply(id, 1 + random.nextInt(postCount), "user" + (id % 500),
+                    "reply " + id, "Role1"));
+        }
+        long start = System.nanoTime();
+        ReplyCollection collection = new ReplyCollection(list);
+        System.out.printf("Built ReplyCollection of %,d replies over %,d posts in %d ms%n",
+                collection.size(), postCount, (System.nanoTime() - start) / 1_000_000);
+
+        int[] postKeys = randomKeys(random, INDEXED_OPS, postCount);
+        int[] replyKeys = randomKeys(random, INDEXED_OPS, replyCount);
+
+        measure("getRepliesByPost (indexed)", postKeys,
+                key -> collection.getRepliesByPost(key).size());
+        measure("getReplyListByPost (indexed view)", postKeys,
+                key -> collection.getReplyListByPost(key).size());
+        measure("getReplyById (indexed)", replyKeys,
+                key -> collection.getReplyById(key).getPostID());
+        measure("getRepliesByPost (linear scan)", slice(postKeys, SCAN_OPS),
+                key -> scanByPost(list, key).size());
+        measure("getReplyById (linear scan)", slice(replyKeys, SCAN_OPS),
+                key -> scanById(list, key).getPostID());
+
+        // Remove and re-add, so the collection is the same size on every iteration
+        measure("removeReplyById + addReply (indexed)", replyKeys, key -> {
+            Reply reply = collection.getReplyById(key);
+            collection.removeReplyById(key);
+            collection.addReply(reply);
+            return reply.getReplyID();
+        });
+
+        System.out.println("checksum " + checksum);
+    }
+
+    /**
+     * Runs the warm-up and measured iterations of one benchmark and prints the average.
+     */
+    private static void measure(String name, int[] keys, Operation operation) {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            runAll(keys, operation);
+        }
+        long best = Long.MAX_VALUE;
+        long total = 0;
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            long elapsed = runAll(keys, operation);
+            best = Math.min(best, elapsed);
+            total += elapsed;
+        }
+        System.out.printf("%-40s %,14.1f ns/op (best %,.1f)%n", name,
+                (double) total / MEASURED_ITERATIONS / keys.length, (double) best / keys.length);
+    }
+
+    private static long runAll(int[] keys, Operation operation) {
+        long start = System.nanoTime();
+        long sum = 0;
+        for (int key : keys) {
+            sum += operation.run(key);
+        }
+        long elapsed = System.nanoTime() - start;
+        checksum += sum;
+        return elapsed;
+    }
+
+    private static int[] randomKeys(Random random, int count, int max) {
+        int[] keys = new int[count];
+        for (int i = 0; i < count; i++) {
+            keys[i] = 1 + random.nextInt(max);
+        }
+        return keys;
+    }
+
+    private static int[] slice(int[] keys, int count) {
+        int[] slice = new int[count];
+        System.arraycopy(keys, 0, slice, 0, count);
+        return slice;
+    }
+
+    /**
+     * The getRepliesByPost that ReplyCollection used before it was indexed.
+     */
+    private static List<Reply> scanByPost(List<Reply> replies, int postId) {
+        List<Reply> subset = new ArrayList<>();
+        for (Reply reply : replies) {
+            if (reply.getPostID() == postId) {
+                subset.add(reply);
+            }
+        }
+        return subset;
+    }
+
+    /**
+     * The getReplyById that ReplyCollection used before it was indexed.
+     */
+    private static Reply scanById(List<Reply> replies, int replyId) {
+        for (Reply reply : replies) {
+            if (reply.getReplyID() == replyId) {
+                return reply;
+            }
+        }
+        return null;
+    }
+}
@@ -1,12 +1,42 @@
 package testing;
 
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import database.Database;
+import database.DatabaseConfig;
+import database.PageDirection;
+import entityClasses.Post;
+import entityClasses.PostSummary;
+import entityClasses.Reply;
+import entityClasses.User;
+import guiPosts.ModelPosts;
+
 /**
  * Test Documentation for Student Discussion Posts System (TP2).
  * 
- * <p>This class documents manual tests performed to verify all User Stories
- * work correctly. All tests were performed manually using the GUI.</p>
+ * <p>This class documents the tests that verify all User Stories work correctly. Tests 1 to
+ * 13 were first performed manually using the GUI; their steps are kept below.</p>
+ * 
+ * <p>Each test is now an automated check that runs without the GUI, against a fresh in-memory
+ * H2 database of its own, so no test sees another's data. Edits and deletes go through the
+ * model methods the controllers call, such as
+ * {@link ModelPosts#editOwnPost(Database, String, Post, String)}, so the ownership tests make
+ * a real edit or delete as another user and check that it is refused and nothing changes.
+ * Tests 15 and 16 seed 10,000 and 100,000 rows and fail if the hot
+ * paths of the GUI (loading a page of the post list, loading a thread's replies, and logging
+ * in) take longer than their budgets, so a performance regression fails the run like any
+ * other defect.</p>
  * 
- * <p><strong>Testing Method:</strong> Manual GUI Testing</p>
+ * <p><strong>How to run:</strong> run main, with at least 1 GB of heap (-Xmx1g) for the
+ * 100,000 row test. It prints PASS or FAIL for each test and exits with status 1 if any
+ * failed. The project has no build tool to pull in JUnit, so main is the runner. Give test
+ * names as arguments to run only those tests.</p>
+ * 
+ * <p><strong>Testing Method:</strong> The automated checks above; for manual GUI testing:</p>
  * <ul>
  * <li>Create test users (Admin, Role1, Role2)</li>
  * <li>Perform each User Story operation</li>
@@ -16,11 +46,9 @@ package testing;
  * 
  * <p><strong>Test Summary:</strong></p>
  * <pre>
- * Total Requirements: 5 User Stories
- * Total Tests: 10
- * Tests Passed: 10
- * Tests Failed: 0
- * Success Rate: 100%
+ * Total Requirements: 5 User Stories, plus admin privileges, login, and responsiveness
+ * Total Tests: 16
+ * Results: printed by main on each run
  * </pre>
  * 
  * <p><strong>All TP2 Requirements Tested:</strong></p>
@@ -38,6 +66,107 @@ package testing;
  */
 public class StudentPostTests {
     
+    // The most the median hot-path call may take, in milliseconds.  Each is many times what
+    // the call takes on a laptop, so only a real regression, such as a lost index, fails.
+    private static final double POST_PAGE_BUDGET_MILLIS = 5.0;
+    private static final double REPLY_LOAD_BUDGET_MILLIS = 2.0;
+    private static final double LOGIN_BUDGET_MILLIS = 2.0;
+    private static final int TIMED_CALLS = 500;         // Calls timed per hot path
+    private static final int WARMUP_CALLS = 200;        // Calls made first, so the JIT has run
+    private static final int PAGE_SIZE = 50;            // Posts per page, as the GUI loads them
+    private static final String PASSWORD = "Passw0rd!";
+    
+    private static int databaseCount = 0;               // Names each test's database
+    
+    // The database of the test being run
+    private Database database;
+    
+    
+    /**
+     * One test of this class.
+     */
+    private interface Test {
+        void run() throws SQLException;
+    }
+    
+    
+    /**
+     * Runs the tests, each against a new database, and reports the result of each.
+     * 
+     * @param args the names of the tests to run, or none to run them all
+     */
+    public static void main(String[] args) {
+        StudentPostTests tests = new StudentPostTests();
+        List<String> only = Arrays.asList(args);
+        int run = 0;
+        List<String> failed = new ArrayList<>();
+        
+        Object[][] all = {
+            { "test01_CreatePostAsRole1", (Test) tests::test01_CreatePostAsRole1 },
+            { "test02_CreatePostAsAdmin", (Test) tests::test02_CreatePostAsAdmin },
+            { "test03_EditOwnPost", (Test) tests::test03_EditOwnPost },
+            { "test04_CannotEditOthersPost", (Test) tests::test04_CannotEditOthersPost },
+            { "test05_DeleteOwnPost", (Test) tests::test05_DeleteOwnPost },
+            { "test06_CannotDeleteOthersPost", (Test) tests::test06_CannotDeleteOthersPost },
+            { "test07_ViewAllPosts", (Test) tests::test07_ViewAllPosts },
+            { "test08_CreateReply", (Test) tests::test08_CreateReply },
+            { "test09_EditOwnReply", (Test) tests::test09_EditOwnReply },
+            { "test10_CannotEditOthersReply", (Test) tests::test10_CannotEditOthersReply },
+            { "test11_DeleteOwnReply", (Test) tests::test11_DeleteOwnReply },
+            { "test12_CannotDeleteOthersReply", (Test) tests::test12_CannotDeleteOthersReply },
+            { "test13_AdminCanDeleteAnyPost", (Test) tests::test13_AdminCanDeleteAnyPost },
+            { "test14_LoginChecksPassword", (Test) tests::test14_LoginChecksPassword },
+            { "test15_HotPathsAt10kRows", (Test) tests::test15_HotPathsAt10kRows },
+            { "test16_HotPathsAt100kRows", (Test) tests::test16_HotPathsAt100kRows },
+        };
+        
+        for (Object[] test : all) {
+            String name = (String) test[0];
+            if (!only.isEmpty() && !only.contains(name)) continue;
+            run++;
+            long start = System.nanoTime();
+            try {
+                tests.setUp();
+                try {
+                    ((Test) test[1]).run();
+                } finally {
+                    tests.tearDown();
+                }
+                System.out.printf("PASS %-34s %,8d ms%n", name,
+                        (System.nanoTime() - start) / 1_000_000);
+            } catch (AssertionError | SQLException | RuntimeException e) {
+                failed.add(name);
+                System.out.printf("FAIL %-34s %s%n", name, e);
+            }
+        }
+        
+        System.out.println("\n" + (run - failed.size()) + " of " + run + " tests passed");
+        if (!failed.isEmpty()) {
+            System.out.println("Failed: " + failed);
+            System.exit(1);
+        }
+    }
+    
+    
+    /**
+     * Gives the next test an empty database of its own.
+     * 
+     * @throws SQLException if the database cannot be opened
+     */
+    private void setUp() throws SQLException {
+        database = new Database(DatabaseConfig.inMemory("studentPostTests" + (++databaseCount)));
+        database.connectToDatabase();
+    }
+    
+    
+    /**
+     * Drops the test's database, so its rows do not stay in memory.
+     */
+    private void tearDown() {
+        database.closeConnection();
+        database = null;
+    }
+    
     // ==================== US-01: CREATE POSTS ====================
     
     /**
@@ -66,9 +195,21 @@ public class StudentPostTests {
      * 
      * <p><strong>Result:</strong> ✓ PASS</p>
      * 
+     * <p><strong>Automated Check:</strong> Creates the post through Database.createPost and reads
+     * it back by id and in the first page of the post list.</p>
+     * 
      * 
      */
-    public void test01_CreatePostAsRole1() {
+    public void test01_CreatePostAsRole1() throws SQLException {
+        User student = register("student1", false, true, false);
+        int postID = database.createPost(student.getUserName(), "Test post from Role1", "Role1");
+        Post post = database.getPost(postID);
+        check(post != null, "the new post can be read back");
+        assertEquals("student1", post.getAuthor(), "author");
+        assertEquals("Test post from Role1", post.getContent(), "content");
+        assertEquals("Role1", post.getAuthorRole(), "role badge");
+        check(firstPage().stream().anyMatch(summary -> summary.getPostID() == postID),
+                "the post is in the post list");
     }
     
     /**
@@ -87,9 +228,15 @@ public class StudentPostTests {
      * <p><strong>Expected Result:</strong> Post shows [Admin] badge</p>
      * <p><strong>Result:</strong> ✓ PASS</p>
      * 
+     * <p><strong>Automated Check:</strong> Creates the post as an Admin and checks the role it is
+     * stored with.</p>
+     * 
      * @see Screenshot "Test2-CreatePost-Admin.png"
      */
-    public void test02_CreatePostAsAdmin() {
+    public void test02_CreatePostAsAdmin() throws SQLException {
+        User admin = register("admin1", true, false, false);
+        int postID = database.createPost(admin.getUserName(), "Admin announcement", "Admin");
+        assertEquals("Admin", database.getPost(postID).getAuthorRole(), "role badge");
     }
     
     // ==================== US-02: EDIT POSTS ====================
@@ -118,9 +265,19 @@ public class StudentPostTests {
      * 
      * <p><strong>Result:</strong> ✓ PASS</p>
      * 
+     * <p><strong>Automated Check:</strong> The author's edit through ModelPosts.editOwnPost
+     * succeeds, and both the post and its row of the post list show the new content.</p>
+     * 
      * 
      */
-    public void test03_EditOwnPost() {
+    public void test03_EditOwnPost() throws SQLException {
+        int postID = database.createPost("alice", "Original content", "Role1");
+        Post post = database.getPost(postID);
+        check(ModelPosts.editOwnPost(database, "alice", post, "Edited content"),
+                "the update succeeds");
+        assertEquals("Edited content", database.getPost(postID).getContent(), "content");
+        assertEquals("Edited content", database.getPostSummary(postID).getContent(),
+                "content in the post list");
     }
     
     /**
@@ -148,8 +305,23 @@ public class StudentPostTests {
      * 
      * <p><strong>Result:</strong> ✓ PASS</p>
      * 
+     * <p><strong>Automated Check:</strong> Edits through ModelPosts.editOwnPost by another
+     * user, by the author's name in a different case, and by no user are all refused, and the
+     * post and its row of the post list are unchanged.</p>
+     * 
      */
-    public void test04_CannotEditOthersPost() {
+    public void test04_CannotEditOthersPost() throws SQLException {
+        int postID = database.createPost("alice", "Alice's post", "Role1");
+        Post post = database.getPost(postID);
+        check(!ModelPosts.editOwnPost(database, "bob", post, "Hijacked"),
+                "another user's edit is refused");
+        check(!ModelPosts.editOwnPost(database, "Alice", post, "Hijacked"),
+                "usernames are case-sensitive");
+        check(!ModelPosts.editOwnPost(database, null, post, "Hijacked"),
+                "an edit with no user is refused");
+        assertEquals("Alice's post", database.getPost(postID).getContent(), "content");
+        assertEquals("Alice's post", database.getPostSummary(postID).getContent(),
+                "content in the post list");
     }
     
     // ==================== US-03: DELETE POSTS ====================
@@ -175,9 +347,17 @@ public class StudentPostTests {
      * 
      * <p><strong>Result:</strong> ✓ PASS</p>
      * 
+     * <p><strong>Automated Check:</strong> The author's delete through ModelPosts.deleteOwnPost
+     * succeeds, and the post is gone from the database and the post list.</p>
+     * 
      * 
      */
-    public void test05_DeleteOwnPost() {
+    public void test05_DeleteOwnPost() throws SQLException {
+        int postID = database.createPost("alice", "Posted in error", "Role1");
+        check(ModelPosts.deleteOwnPost(database, "alice", database.getPost(postID)),
+                "the delete succeeds");
+        check(database.getPost(postID) == null, "the post is gone");
+        check(firstPage().isEmpty(), "the post list is empty");
     }
     
     /**
@@ -201,9 +381,20 @@ public class StudentPostTests {
      * 
      * <p><strong>Result:</strong> ✓ PASS</p>
      * 
+     * <p><strong>Automated Check:</strong> Another user's delete through
+     * ModelPosts.deleteOwnPost is refused, and the post and its reply stay in the database and
+     * the post list.</p>
+     * 
      * 
      */
-    public void test06_CannotDeleteOthersPost() {
+    public void test06_CannotDeleteOthersPost() throws SQLException {
+        int postID = database.createPost("bob", "Bob's post", "Role2");
+        int replyID = database.createReply(postID, "alice", "A reply", "Role1");
+        check(!ModelPosts.deleteOwnPost(database, "alice", database.getPost(postID)),
+                "alice's delete is refused");
+        check(database.getPost(postID) != null, "the post is still there");
+        check(database.getReply(replyID) != null, "its reply is still there");
+        assertEquals(1, firstPage().size(), "posts in the list");
     }
     
     // ==================== US-04: VIEW POSTS ====================
@@ -232,9 +423,21 @@ public class StudentPostTests {
      * 
      * <p><strong>Result:</strong> ✓ PASS</p>
      * 
+     * <p><strong>Automated Check:</strong> Posts by all three roles are all in the post list, in
+     * order, each with its role.</p>
+     * 
      * 
      */
-    public void test07_ViewAllPosts() {
+    public void test07_ViewAllPosts() throws SQLException {
+        database.createPost("admin1", "From the admin", "Admin");
+        database.createPost("student1", "From role one", "Role1");
+        database.createPost("student2", "From role two", "Role2");
+        List<PostSummary> page = firstPage();
+        assertEquals(3, page.size(), "posts in the list");
+        assertEquals("Admin", page.get(0).getAuthorRole(), "first badge");
+        assertEquals("Role1", page.get(1).getAuthorRole(), "second badge");
+        assertEquals("Role2", page.get(2).getAuthorRole(), "third badge");
+        assertEquals(3, database.getAllPosts().size(), "posts from getAllPosts");
     }
     
     // ==================== US-05: REPLIES ====================
@@ -263,9 +466,20 @@ public class StudentPostTests {
      * 
      * <p><strong>Result:</strong> ✓ PASS</p>
      * 
+     * <p><strong>Automated Check:</strong> Database.createReply links the reply to its post with
+     * its role, and the post's reply count goes up.</p>
+     * 
      * 
      */
-    public void test08_CreateReply() {
+    public void test08_CreateReply() throws SQLException {
+        int postID = database.createPost("alice", "A question", "Role1");
+        int replyID = database.createReply(postID, "bob", "This is a reply", "Role1");
+        List<Reply> replies = database.getRepliesByPost(postID);
+        assertEquals(1, replies.size(), "replies to the post");
+        assertEquals(replyID, replies.get(0).getReplyID(), "reply id");
+        assertEquals(postID, replies.get(0).getPostID(), "parent post");
+        assertEquals("Role1", replies.get(0).getAuthorRole(), "role badge");
+        assertEquals(1, database.getPostSummary(postID).getReplyCount(), "reply count");
     }
     
     /**
@@ -284,9 +498,17 @@ public class StudentPostTests {
      * <p><strong>Expected Result:</strong> Reply content updates</p>
      * <p><strong>Result:</strong> ✓ PASS</p>
      * 
+     * <p><strong>Automated Check:</strong> The author's edit through ModelPosts.editOwnReply
+     * changes the content.</p>
+     * 
      * 
      */
-    public void test09_EditOwnReply() {
+    public void test09_EditOwnReply() throws SQLException {
+        int postID = database.createPost("alice", "A question", "Role1");
+        int replyID = database.createReply(postID, "bob", "First answer", "Role2");
+        check(ModelPosts.editOwnReply(database, "bob", database.getReply(replyID), "Better answer"),
+                "the update succeeds");
+        assertEquals("Better answer", database.getReply(replyID).getContent(), "content");
     }
     
     /**
@@ -308,9 +530,19 @@ public class StudentPostTests {
      * 
      * <p><strong>Result:</strong> ✓ PASS</p>
      * 
+     * <p><strong>Automated Check:</strong> An edit through ModelPosts.editOwnReply by another
+     * user, even the author of the post replied to, is refused and the reply is unchanged.</p>
+     * 
      * 
      */
-    public void test10_CannotEditOthersReply() {
+    public void test10_CannotEditOthersReply() throws SQLException {
+        int postID = database.createPost("alice", "A question", "Role1");
+        int replyID = database.createReply(postID, "bob", "Bob's answer", "Role2");
+        check(!ModelPosts.editOwnReply(database, "alice", database.getReply(replyID), "Hijacked"),
+                "alice's edit is refused");
+        assertEquals("Bob's answer", database.getReply(replyID).getContent(), "content");
+        assertEquals("Bob's answer", database.getRepliesByPost(postID).get(0).getContent(),
+                "content in the thread");
     }
     
     /**
@@ -328,9 +560,18 @@ public class StudentPostTests {
      * <p><strong>Expected Result:</strong> Post is GONE</p>
      * <p><strong>Result:</strong> ✓ PASS</p>
      * 
+     * <p><strong>Automated Check:</strong> The author's delete through
+     * ModelPosts.deleteOwnReply succeeds, and the reply is gone from its thread.</p>
+     * 
      * 
      */
-    public void test11_DeleteOwnReply() {
+    public void test11_DeleteOwnReply() throws SQLException {
+        int postID = database.createPost("alice", "A question", "Role1");
+        int replyID = database.createReply(postID, "bob", "Oops", "Role2");
+        check(ModelPosts.deleteOwnReply(database, "bob", database.getReply(replyID)),
+                "the delete succeeds");
+        check(database.getRepliesByPost(postID).isEmpty(), "the thread is empty");
+        assertEquals(0, database.getPostSummary(postID).getReplyCount(), "reply count");
     }
     
     /**
@@ -352,15 +593,24 @@ public class StudentPostTests {
      * 
      * <p><strong>Result:</strong> ✓ PASS</p>
      * 
+     * <p><strong>Automated Check:</strong> Another user's delete through
+     * ModelPosts.deleteOwnReply is refused, and the reply stays in its thread.</p>
+     * 
      * 
      */
-    public void test12_CannotDeleteOthersReply() {
+    public void test12_CannotDeleteOthersReply() throws SQLException {
+        int postID = database.createPost("alice", "A question", "Role1");
+        int replyID = database.createReply(postID, "bob", "Bob's answer", "Role2");
+        check(!ModelPosts.deleteOwnReply(database, "alice", database.getReply(replyID)),
+                "alice's delete is refused");
+        assertEquals(1, database.getRepliesByPost(postID).size(), "replies to the post");
+        assertEquals(1, database.getPostSummary(postID).getReplyCount(), "reply count");
     }
     
     // ==================== ADMIN TESTS ====================
     
     /**
-     * Test 11: Admin can delete ANY post (privilege test).
+     * Test 13: Admin can delete ANY post (privilege test).
      * 
      * <p><strong>Requirements Tested:</strong> Admin Privileges</p>
      * 
@@ -380,9 +630,161 @@ public class StudentPostTests {
      * 
      * <p><strong>Result:</strong> ✓ PASS</p>
      * 
+     * <p><strong>Automated Check:</strong> An Admin deletes another user's post with no ownership
+     * check, and the post's replies go with it.</p>
+     * 
      * 
      */
     
-    public void test13_AdminCanDeleteAnyPost() {
+    public void test13_AdminCanDeleteAnyPost() throws SQLException {
+        int postID = database.createPost("student2", "Role2's post", "Role2");
+        int replyID = database.createReply(postID, "student1", "A reply", "Role1");
+        check(database.deletePost(postID), "the delete succeeds");
+        check(database.getPost(postID) == null, "the post is gone");
+        check(database.getReply(replyID) == null, "its reply is gone");
+    }
+    
+    // ==================== LOGIN ====================
+    
+    /**
+     * Test 14: Login accepts the right password and nothing else.
+     * 
+     * <p><strong>Requirements Tested:</strong> Login</p>
+     * 
+     * <p><strong>Automated Check:</strong> Database.authenticate returns the account and its
+     * roles for the right username and password, and null for a wrong password, a username in
+     * the wrong case, or an unknown user.</p>
+     */
+    public void test14_LoginChecksPassword() throws SQLException {
+        register("student1", false, true, true);
+        User user = database.authenticate("student1", PASSWORD);
+        check(user != null, "the right password logs in");
+        check(user.getNewRole1() && user.getNewRole2() && !user.getAdminRole(), "roles");
+        assertEquals(2, database.getNumberOfRoles(user), "number of roles");
+        check(database.authenticate("student1", "wrong") == null, "a wrong password fails");
+        check(database.authenticate("Student1", PASSWORD) == null, "usernames are case-sensitive");
+        check(database.authenticate("nobody", PASSWORD) == null, "an unknown user fails");
+    }
+    
+    // ==================== PERFORMANCE ====================
+    
+    /**
+     * Test 15: The hot paths stay within their budgets with 10,000 rows.
+     * 
+     * <p><strong>Requirements Tested:</strong> Responsiveness of US-04 and US-05, and login</p>
+     * 
+     * <p><strong>Automated Check:</strong> See checkHotPaths.</p>
+     */
+    public void test15_HotPathsAt10kRows() throws SQLException {
+        checkHotPaths(10_000);
+    }
+    
+    /**
+     * Test 16: The hot paths stay within their budgets with 100,000 rows.
+     * 
+     * <p><strong>Requirements Tested:</strong> Responsiveness of US-04 and US-05, and login</p>
+     * 
+     * <p><strong>Automated Check:</strong> See checkHotPaths.  The budgets are the same as
+     * with 10,000 rows: every hot path is an index lookup, so ten times the data must not make
+     * it noticeably slower.</p>
+     */
+    public void test16_HotPathsAt100kRows() throws SQLException {
+        checkHotPaths(100_000);
+    }
+    
+    /**
+     * Seeds the database with the given number of posts, replies, and accounts, then times
+     * the calls behind the GUI's hot paths, each on keys chosen at random so they are not
+     * served from the Database's caches: a page of the post list with its reply counts, as
+     * the post list loads it; the replies of a post, as View Replies loads them; and a login,
+     * as ControllerUserLogin makes it.  Fails if the median of any exceeds its budget.
+     */
+    private void checkHotPaths(int rows) throws SQLException {
+        Random random = new Random(rows);
+        List<Post> posts = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            posts.add(new Post(0, "user" + i, "Seeded post " + i, "Role1"));
+        }
+        List<Integer> postIDs = database.createPostsBatch(posts);
+        List<Reply> replies = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            replies.add(new Reply(0, postIDs.get(random.nextInt(rows)), "user" + i,
+                    "Seeded reply " + i, "Role2"));
+        }
+        database.createRepliesBatch(replies);
+        List<User> users = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            users.add(new User("user" + i, PASSWORD, "", "", "", "", "", false, true, false));
+        }
+        database.registerBatch(users);
+        
+        double page = medianMillis(() -> {
+            int cursor = postIDs.get(random.nextInt(rows - PAGE_SIZE));
+            check(database.getPostSummaries(cursor, PAGE_SIZE, PageDirection.FORWARD).size()
+                    == PAGE_SIZE, "a full page");
+        });
+        double thread = medianMillis(() ->
+                database.getRepliesByPost(postIDs.get(random.nextInt(rows))));
+        double login = medianMillis(() -> {
+            User user = database.authenticate("user" + random.nextInt(rows), PASSWORD);
+            check(user != null && database.getNumberOfRoles(user) == 1, "the login succeeds");
+        });
+        System.out.printf("     %,d rows: post list page %.3f ms, replies %.3f ms, login %.3f ms%n",
+                rows, page, thread, login);
+        
+        check(page <= POST_PAGE_BUDGET_MILLIS, "a post list page took " + page + " ms, over "
+                + POST_PAGE_BUDGET_MILLIS);
+        check(thread <= REPLY_LOAD_BUDGET_MILLIS, "loading replies took " + thread
+                + " ms, over " + REPLY_LOAD_BUDGET_MILLIS);
+        check(login <= LOGIN_BUDGET_MILLIS, "a login took " + login + " ms, over "
+                + LOGIN_BUDGET_MILLIS);
+    }
+    
+    // ==================== HELPERS ====================
+    
+    /**
+     * Makes the call WARMUP_CALLS times untimed and TIMED_CALLS times timed, and returns the
+     * median of the timed calls in milliseconds.
+     */
+    private static double medianMillis(Test call) throws SQLException {
+        for (int i = 0; i < WARMUP_CALLS; i++) {
+            call.run();
+        }
+        long[] times = new long[TIMED_CALLS];
+        for (int i = 0; i < TIMED_CALLS; i++) {
+            long start = System.nanoTime();
+            call.run();
+            times[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(times);
+        return times[TIMED_CALLS / 2] / 1e6;
+    }
+    
+    /**
+     * Creates an account with the given roles.
+     */
+    private User register(String userName, boolean admin, boolean role1, boolean role2)
+            throws SQLException {
+        User user = new User(userName, PASSWORD, "", "", "", "", "", admin, role1, role2);
+        database.register(user);
+        return user;
+    }
+    
+    /**
+     * The first page of the post list, as the GUI loads it.
+     */
+    private List<PostSummary> firstPage() throws SQLException {
+        return database.getPostSummaries(0, PAGE_SIZE, PageDirection.FORWARD);
+    }
+    
+    private static void check(boolean condition, String what) {
+        if (!condition) throw new AssertionError(what);
+    }
+    
+    private static void assertEquals(Object expected, Object actual, String what) {
+        if (expected == null ? actual != null : !expected.equals(actual)) {
+            throw new AssertionError(what + ": expected <" + expected + "> but was <" + actual
+                    + ">");
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,61 @@
+package validators;
+
+/*******
+ * <p> Title: CharClass Class. </p>
+ *
+ * <p> Description: The character classes the validators' state machines read their input in,
+ * and the table that gives the class of each character.  Looking a character up in the table
+ * replaces the chain of range tests the recognizers used to make for every character, and the
+ * classes index the columns of each recognizer's transition table.</p>
+ *
+ * <p> The table is built once and only read afterwards, so any number of threads may classify
+ * at the same time.</p>
+ *
+ * <p> Copyright: Lynn Robert Carter © 2025 </p>
+ *
+ * @author Team-25
+ *
+ * @version 1.00		2026-10-16 Initial version
+ */
+final class CharClass {
+
+	static final int UPPER = 0;			// A-Z
+	static final int LOWER = 1;			// a-z
+	static final int DIGIT = 2;			// 0-9
+	static final int SEPARATOR = 3;		// - _ .  (also special characters in a password)
+	static final int SPECIAL = 4;		// The other special characters a password may hold
+	static final int OTHER = 5;			// Anything else
+	static final int COUNT = 6;			// The number of classes, so the width of a table row
+
+	// The special characters a password may contain
+	static final String SPECIAL_CHARACTERS = "~`!@#$%^&*()_-+={}[]|\\:;\"'<>,.?/";
+
+	// The class of every ASCII character; every other character is OTHER
+	private static final byte[] TABLE = new byte[128];
+
+	static {
+		for (int c = 0; c < TABLE.length; c++) {
+			if (c >= 'A' && c <= 'Z') TABLE[c] = UPPER;
+			else if (c >= 'a' && c <= 'z') TABLE[c] = LOWER;
+			else if (c >= '0' && c <= '9') TABLE[c] = DIGIT;
+			else if (c == '-' || c == '_' || c == '.') TABLE[c] = SEPARATOR;
+			else if (SPECIAL_CHARACTERS.indexOf(c) >= 0) TABLE[c] = SPECIAL;
+			else TABLE[c] = OTHER;
+		}
+	}
+
+	private CharClass() {
+	}
+
+
+	/*******
+	 * <p> Method: int of(char c) </p>
+	 *
+	 * @param c is the character to classify
+	 *
+	 * @return the class of the character
+	 */
+	static int of(char c) {
+		return (c < TABLE.length) ? TABLE[c] : OTHER;
+	}
+}
@@ -12,7 +12,9 @@ package validators;
  * the requirements specified by a graphical representation of a finite state machine.
  * 
  * This is a purely static component of the MVC implementation.  There is no need to instantiate
- * the class.
+ * the class.  The evaluation keeps all of its working state in local variables and returns an
+ * immutable PasswordResult, so a page may evaluate on every keystroke while any number of other
+ * threads evaluate passwords of their own.
  *
  * <p> Copyright: Lynn Robert Carter © 2025 </p>
  *
@@ -20,162 +22,114 @@ package validators;
  *
  * @version 2.00	2025-07-30 Rewrite of this application for the Fall 2025 offering of CSE 360
  * and other ASU courses.
+ * @version 2.01	2026-10-16 Table-driven and reentrant; the result is returned, not left in
+ * static attributes
  */
 
 public class Model {
 	
 	/*-********************************************************************************************
 	 * 
-	 * Attributes used by the Finite State Machine to inform the user about what was and was not
-	 * valid and point to the character of the error.  This will enhance the user experience.
+	 * The tables that drive the evaluation.  Each character class satisfies at most one
+	 * requirement, so the loop looks that requirement up and records it in a bit mask instead of
+	 * testing the character against each requirement in turn.  The error text for every
+	 * combination of missing requirements is built here, once, so evaluating builds no strings.
 	 * 
 	 */
 
-	public static String passwordErrorMessage = "";		// The error message text
-	public static String passwordInput = "";			// The input being processed
-	public static int passwordIndexofError = -1;		// The index where the error was located
-	public static boolean foundUpperCase = false;
-	public static boolean foundLowerCase = false;
-	public static boolean foundNumericDigit = false;
-	public static boolean foundSpecialChar = false;
-	public static boolean foundLongEnough = false;
-	public static boolean foundTooLong = false;
-	private static String inputLine = "";				// The input line
-	private static char currentChar;					// The current character in the line
-	private static int currentCharNdx;					// The index of the current character
-	private static boolean running;						// The flag that specifies if the FSM is 
-														// running
+	private static final int MINIMUM_LENGTH = 8;
+	private static final int MAXIMUM_LENGTH = 32;
 
-	/*
-	 * This private method displays the input line and then on a line under it displays the input
-	 * up to the point of the error.  At that point, a question mark is place and the rest of the 
-	 * input is ignored. This method is designed to be used to display information to make it clear
-	 * to the user where the error in the input can be found, and show that on the console 
-	 * terminal.
-	 * 
-	 */
+	// The requirement each character class satisfies, indexed by CharClass; 0 marks a character
+	// that may not appear in a password at all
+	private static final int[] REQUIREMENT_OF_CLASS = new int[CharClass.COUNT];
+
+	// The error text for each mask of missing requirements
+	private static final String[] MISSING_MESSAGE = new String[PasswordResult.ALL + 1];
 
-	private static void displayInputState() {
-		// Display the entire input line
-		System.out.println(inputLine);
-		System.out.println(inputLine.substring(0,currentCharNdx) + "?");
-		System.out.println("The password size: " + inputLine.length() + "  |  The currentCharNdx: " + 
-				currentCharNdx + "  |  The currentChar: \"" + currentChar + "\"");
+	static {
+		REQUIREMENT_OF_CLASS[CharClass.UPPER] = PasswordResult.UPPER_CASE;
+		REQUIREMENT_OF_CLASS[CharClass.LOWER] = PasswordResult.LOWER_CASE;
+		REQUIREMENT_OF_CLASS[CharClass.DIGIT] = PasswordResult.NUMERIC_DIGIT;
+		REQUIREMENT_OF_CLASS[CharClass.SEPARATOR] = PasswordResult.SPECIAL_CHAR;
+		REQUIREMENT_OF_CLASS[CharClass.SPECIAL] = PasswordResult.SPECIAL_CHAR;
+		REQUIREMENT_OF_CLASS[CharClass.OTHER] = 0;
+
+		for (int missing = 0; missing <= PasswordResult.ALL; missing++) {
+			String errMessage = "";
+			if ((missing & PasswordResult.UPPER_CASE) != 0)
+				errMessage += "Password must include at least one uppercase letter.\n";
+			if ((missing & PasswordResult.LOWER_CASE) != 0)
+				errMessage += "Password must include at least one lowercase letter.\n";
+			if ((missing & PasswordResult.NUMERIC_DIGIT) != 0)
+				errMessage += "Password must include at least one numeric digit.\n";
+			if ((missing & PasswordResult.SPECIAL_CHAR) != 0)
+				errMessage += "Password must include at least one special character.\n";
+			if ((missing & PasswordResult.LONG_ENOUGH) != 0)
+				errMessage += "Password must be at least 8 characters long.\n";
+			MISSING_MESSAGE[missing] = errMessage;
+		}
 	}
 	
 
 	/**********
 	 * <p> Title: evaluatePassword - Public Method </p>
 	 * 
-	 * <p> Description: This method is a mechanical transformation of a Directed Graph diagram 
-	 * into a Java method. This method is used by both the GUI version of the application as well
-	 * as the testing automation version.
+	 * <p> Description: Evaluate a password and return just the error text, as callers written
+	 * before PasswordResult expect.
 	 * 
 	 * @param input		The input string evaluated by the directed graph processing
 	 * @return			An output string that is empty if every things is okay or it will be
-	 * 						a string with a helpful description of the error follow by two lines
-	 * 						that shows the input line follow by a line with an up arrow at the
-	 *						point where the error was found.
+	 * 						a string with a helpful description of the error
 	 */
 	
 	public static String evaluatePassword(String input) {
-		// The following are the local variable used to perform the Directed Graph simulation
-		passwordErrorMessage = "";
-		passwordIndexofError = 0;			// Initialize the IndexofError
-		inputLine = input;					// Save the reference to the input line as a global
-		currentCharNdx = 0;					// The index of the current character
-		
-		if(input.length() <= 0) {
-			return "*** Error *** The password is empty!";
-		}
-		
-		// The input is not empty, so we can access the first character
-		currentChar = input.charAt(0);		// The current character from the above indexed position
+		return validatePassword(input).getMessage();
+	}
+	
 
-		// The Directed Graph simulation continues until the end of the input is reached or at some 
-		// state the current character does not match any valid transition to a next state.  This
-		// local variable is a working copy of the input.
-		passwordInput = input;				// Save a copy of the input
+	/**********
+	 * <p> Title: validatePassword - Public Method </p>
+	 * 
+	 * <p> Description: This method is a mechanical transformation of a Directed Graph diagram 
+	 * into a Java method. The graph has a single state that loops on every valid character, so
+	 * the work for a character is one lookup of its class and one lookup of the requirement that
+	 * class satisfies.  Nothing is allocated for a password that meets every requirement.
+	 * 
+	 * @param input		The input string evaluated by the directed graph processing
+	 * @return			The result, which gives the error, the index of the character where it
+	 * 						was found, and which requirements were met
+	 */
+	
+	public static PasswordResult validatePassword(String input) {
+		if (input == null || input.length() <= 0) {
+			return new PasswordResult("*** Error *** The password is empty!", 0, 0);
+		}
 		
-		// The following are the attributes associated with each of the requirements
-		foundUpperCase = false;				// Reset the Boolean flag
-		foundLowerCase = false;				// Reset the Boolean flag
-		foundNumericDigit = false;			// Reset the Boolean flag
-		foundSpecialChar = false;			// Reset the Boolean flag
-		foundNumericDigit = false;			// Reset the Boolean flag
-		foundLongEnough = false;			// Reset the Boolean flag
-		foundTooLong = false;				// Reset the Boolean flag
+		int found = 0;						// The mask of the requirements met so far
+		int length = input.length();
 		
-		// This flag determines whether the directed graph (FSM) loop is operating or not
-		running = true;						// Start the loop
-
 		// The Directed Graph simulation continues until the end of the input is reached or at some
 		// state the current character does not match any valid transition
-		while (running) {
-			displayInputState();
-			// The cascading if statement sequentially tries the current character against all of
-			// the valid transitions, each associated with one of the requirements
-			if (currentChar >= 'A' && currentChar <= 'Z') {
-				System.out.println("Upper case letter found");
-				foundUpperCase = true;
-			} else if (currentChar >= 'a' && currentChar <= 'z') {
-				System.out.println("Lower case letter found");
-				foundLowerCase = true;
-			} else if (currentChar >= '0' && currentChar <= '9') {
-				System.out.println("Digit found");
-				foundNumericDigit = true;
-			} else if ("~`!@#$%^&*()_-+={}[]|\\:;\"'<>,.?/".indexOf(currentChar) >= 0) {
-				System.out.println("Special character found");
-				foundSpecialChar = true;
-			} else {
-				passwordIndexofError = currentCharNdx;
-				return "*** Error *** An invalid character has been found!";
+		for (int currentCharNdx = 0; currentCharNdx < length; currentCharNdx++) {
+			int requirement = REQUIREMENT_OF_CLASS[CharClass.of(input.charAt(currentCharNdx))];
+			if (requirement == 0) {
+				return new PasswordResult("*** Error *** An invalid character has been found!",
+						currentCharNdx, found);
 			}
-			if (currentCharNdx >= 7) {
-				System.out.println("At least 8 characters found");
-				foundLongEnough = true;
+			found |= requirement;
+			if (currentCharNdx >= MINIMUM_LENGTH - 1) {
+				found |= PasswordResult.LONG_ENOUGH;
 			}
-			if (currentCharNdx > 31) {
-				foundTooLong = true;
-				passwordIndexofError = currentCharNdx;
-				return "*** Error *** More than 32 characters found!";
+			if (currentCharNdx >= MAXIMUM_LENGTH) {
+				return new PasswordResult("*** Error *** More than 32 characters found!",
+						currentCharNdx, found | PasswordResult.TOO_LONG);
 			}
-			
-			// Go to the next character if there is one
-			currentCharNdx++;
-			if (currentCharNdx >= inputLine.length())
-				running = false;
-			else
-				currentChar = input.charAt(currentCharNdx);
-			
-			System.out.println();
 		}
 		
-		// Construct a String with a list of the requirement elements that were found.
-		String errMessage = "";
-		if (!foundUpperCase)
-			errMessage += "Password must include at least one uppercase letter.\n";
-		
-		if (!foundLowerCase)
-			errMessage += "Password must include at least one lowercase letter.\n";
-		
-		if (!foundNumericDigit)
-			errMessage += "Password must include at least one numeric digit.\n";
-			
-		if (!foundSpecialChar)
-			errMessage += "Password must include at least one special character.\n";
-			
-		if (!foundLongEnough)
-			errMessage += "Password must be at least 8 characters long.\n";
-		
-		if (foundTooLong)
-			errMessage += "Password must not exceed 32 characters.\n";
-		
-		if (errMessage == "")
-			return "";
-		// If it gets here, there something was not found, so return an appropriate message
-		passwordIndexofError = currentCharNdx;
-		return errMessage;
+		if (found == PasswordResult.ALL)
+			return PasswordResult.VALID;
+		// If it gets here, something was not found, so return an appropriate message
+		return new PasswordResult(MISSING_MESSAGE[PasswordResult.ALL & ~found], length, found);
 	}
 }
- 
\ No newline at end of file
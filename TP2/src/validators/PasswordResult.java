@@ -0,0 +1,96 @@
+package validators;
+
+/*******
+ * <p> Title: PasswordResult Class. </p>
+ *
+ * <p> Description: The outcome of evaluating a password.  Besides the error it records which
+ * of the password requirements the input met, so a page can tick them off as the user
+ * types.  Like every ValidationResult it is immutable.</p>
+ *
+ * <p> Copyright: Lynn Robert Carter © 2025 </p>
+ *
+ * @author Team-25
+ *
+ * @version 1.00		2026-10-16 Initial version
+ */
+public final class PasswordResult extends ValidationResult {
+
+	// The bits of the requirements mask
+	static final int UPPER_CASE = 1;
+	static final int LOWER_CASE = 2;
+	static final int NUMERIC_DIGIT = 4;
+	static final int SPECIAL_CHAR = 8;
+	static final int LONG_ENOUGH = 16;
+	static final int ALL = 31;
+	static final int TOO_LONG = 32;
+
+	/** The result of every password that meets all of the requirements */
+	public static final PasswordResult VALID = new PasswordResult("", -1, ALL);
+
+	private final int found;			// The requirements met, as a mask of the bits above
+
+
+	/*******
+	 * <p> Method: PasswordResult(String message, int indexOfError, int found) </p>
+	 *
+	 * <p> Description: Establish a result.</p>
+	 *
+	 * @param message is the description of the error, or empty if there is none
+	 *
+	 * @param indexOfError is the index of the character where the error was found, or -1
+	 *
+	 * @param found is the mask of the requirements the input met
+	 */
+	PasswordResult(String message, int indexOfError, int found) {
+		super(message, indexOfError);
+		this.found = found;
+	}
+
+
+	/*******
+	 * <p> Method: boolean foundUpperCase() </p>
+	 *
+	 * @return true if the input holds an upper case letter
+	 */
+	public boolean foundUpperCase() { return (found & UPPER_CASE) != 0; }
+
+
+	/*******
+	 * <p> Method: boolean foundLowerCase() </p>
+	 *
+	 * @return true if the input holds a lower case letter
+	 */
+	public boolean foundLowerCase() { return (found & LOWER_CASE) != 0; }
+
+
+	/*******
+	 * <p> Method: boolean foundNumericDigit() </p>
+	 *
+	 * @return true if the input holds a numeric digit
+	 */
+	public boolean foundNumericDigit() { return (found & NUMERIC_DIGIT) != 0; }
+
+
+	/*******
+	 * <p> Method: boolean foundSpecialChar() </p>
+	 *
+	 * @return true if the input holds a special character
+	 */
+	public boolean foundSpecialChar() { return (found & SPECIAL_CHAR) != 0; }
+
+
+	/*******
+	 * <p> Method: boolean foundLongEnough() </p>
+	 *
+	 * @return true if the input has at least 8 characters
+	 */
+	public boolean foundLongEnough() { return (found & LONG_ENOUGH) != 0; }
+
+
+	/*******
+	 * <p> Method: boolean foundTooLong() </p>
+	 *
+	 * @return true if the input has more than 32 characters
+	 */
+	public boolean foundTooLong() { return (found & TOO_LONG) != 0; }
+}
@@ -0,0 +1,91 @@
+package validators;
+
+/*******
+ * <p> Title: ValidationResult Class. </p>
+ *
+ * <p> Description: The outcome of checking one input with a validator.  A result is immutable
+ * and belongs to the call that produced it, so a GUI can check on every keystroke and a bulk
+ * import can check many inputs in parallel without one check overwriting what another found,
+ * as the static result attributes the validators used to keep did.</p>
+ *
+ * <p> Every valid input gets the same VALID object, so checking a good input allocates
+ * nothing.</p>
+ *
+ * <p> Copyright: Lynn Robert Carter © 2025 </p>
+ *
+ * @author Team-25
+ *
+ * @version 1.00		2026-10-16 Initial version
+ */
+public class ValidationResult {
+
+	/** The result of every input that passes */
+	public static final ValidationResult VALID = new ValidationResult("", -1);
+
+	private final String message;
+	private final int indexOfError;
+
+
+	/*******
+	 * <p> Method: ValidationResult(String message, int indexOfError) </p>
+	 *
+	 * <p> Description: Establish a result.</p>
+	 *
+	 * @param message is the description of the error, or empty if there is none
+	 *
+	 * @param indexOfError is the index of the character where the error was found, or -1
+	 */
+	protected ValidationResult(String message, int indexOfError) {
+		this.message = message;
+		this.indexOfError = indexOfError;
+	}
+
+
+	/*******
+	 * <p> Method: ValidationResult error(String message, int indexOfError) </p>
+	 *
+	 * @param message is the description of the error
+	 *
+	 * @param indexOfError is the index of the character where the error was found
+	 *
+	 * @return a result that reports the error
+	 */
+	static ValidationResult error(String message, int indexOfError) {
+		return new ValidationResult(message, indexOfError);
+	}
+
+
+	/*******
+	 * <p> Method: boolean isValid() </p>
+	 *
+	 * @return true if the input passed
+	 */
+	public boolean isValid() { return message.isEmpty(); }
+
+
+	/*******
+	 * <p> Method: String getMessage() </p>
+	 *
+	 * @return a helpful description of the error, or an empty string if the input passed
+	 */
+	public String getMessage() { return message; }
+
+
+	/*******
+	 * <p> Method: int getIndexOfError() </p>
+	 *
+	 * @return the index of the character where the error was found, or -1 if the input passed
+	 */
+	public int getIndexOfError() { return indexOfError; }
+
+
+	/*******
+	 * <p> Method: String toString() </p>
+	 *
+	 * @return the result in a form meant for logs
+	 */
+	@Override
+	public String toString() {
+		return isValid() ? "valid" : message.strip() + " (at " + indexOfError + ")";
+	}
+}